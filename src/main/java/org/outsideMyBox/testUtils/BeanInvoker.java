@@ -0,0 +1,54 @@
+/**
+ * Copyright (C) 2011 Franck Valentin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.outsideMyBox.testUtils;
+
+/**
+ * Calls the accessors, setters and constructors of a beanLike class, identified by the slots and
+ * constructor indexes of its {@link BeanLikeMetadata}.<br/>
+ * Implementations are immutable and thread safe.<br/>
+ * This interface is only public so that the invokers generated at runtime in their own class loader
+ * (see {@link GeneratedInvoker}) can implement it: it isn't part of the API.
+ */
+public interface BeanInvoker {
+
+	/**
+	 * Call the accessor of a property.
+	 * @param beanLike Instance of the beanLike.
+	 * @param slot Slot of the property.
+	 * @return The value returned by the accessor (boxed if needed).
+	 * @throws BeanLikeTesterException if the call failed.
+	 */
+	Object get(Object beanLike, int slot);
+
+	/**
+	 * Call the setter of a property.
+	 * @param beanLike Instance of the beanLike.
+	 * @param slot Slot of the property, which must have a setter.
+	 * @param value Value to set.
+	 * @throws BeanLikeTesterException if the call failed.
+	 */
+	void set(Object beanLike, int slot, Object value);
+
+	/**
+	 * Call a constructor.
+	 * @param constructorIndex Index of the constructor.
+	 * @param arguments Constructor's parameters.
+	 * @return The new instance.
+	 * @throws BeanLikeTesterException if the call failed.
+	 */
+	Object newInstance(int constructorIndex, Object[] arguments);
+
+}
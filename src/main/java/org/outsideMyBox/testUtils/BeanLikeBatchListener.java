@@ -0,0 +1,32 @@
+/**
+ * Copyright (C) 2011 Franck Valentin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.outsideMyBox.testUtils;
+
+/**
+ * Receives the results of {@link BeanLikeTester#checkBatch(BeanLikeReport.Phase, Iterable, BeanLikeBatchListener)} as soon as
+ * each pair of value sets has been checked, so that the pairs and their results don't need to be kept in memory.
+ */
+public interface BeanLikeBatchListener {
+
+	/**
+	 * Called for each pair, in the order of the pairs and on the thread checking the batch.
+	 * @param index Index of the pair in the batch.
+	 * @param pair Pair checked.
+	 * @param failure The failure of the pair or null if it passes the check.
+	 */
+	void onResult(long index, ValueSetPair pair, BeanLikeFailure failure);
+
+}
@@ -0,0 +1,121 @@
+/**
+ * Copyright (C) 2011 Franck Valentin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.outsideMyBox.testUtils;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Results of {@link BeanLikeTester#benchmarkSynchronizedMethods(PropertiesAndValues, int[], int)}: the throughput and
+ * the latencies of the synchronized accessors and setters for each number of threads (level).<br/>
+ * A bean that scales keeps a scaling efficiency close to 1 as the number of threads grows.
+ */
+public final class BeanLikeContentionReport {
+
+	// ------------------------------------  Class variables  ----------------------------------------
+
+	private static final int CALLS_PER_SECOND = 0;
+	private static final int MEDIAN           = 1;
+	private static final int P99              = 2;
+	private static final int P999             = 3;
+	private static final int MAX              = 4;
+
+	// -----------------------------------  Instance variables  ------------------------------------
+
+	private final Class<?>     beanLikeClass;
+	private final List<String> synchronizedMethodNames;
+	private final int[]        threadCounts;
+	private final long[][]     levels;
+
+	// ------------------------------------  Constructors  -------------------------------------------
+
+	/**
+	 * @param beanLikeClass Class benchmarked.
+	 * @param synchronizedMethodNames Names of the synchronized accessors and setters.
+	 * @param threadCounts Number of threads of each level.
+	 * @param levels Calls per second, median, 99th and 99.9th percentiles and maximum of the latencies in nanoseconds, for each level.
+	 */
+	BeanLikeContentionReport(Class<?> beanLikeClass, List<String> synchronizedMethodNames, int[] threadCounts, long[][] levels) {
+		this.beanLikeClass = beanLikeClass;
+		this.synchronizedMethodNames = Collections.unmodifiableList(synchronizedMethodNames);
+		this.threadCounts = threadCounts;
+		this.levels = levels;
+	}
+
+	// ------------------------------------  Public methods  -----------------------------------------
+
+	public Class<?> getBeanLikeClass() {
+		return beanLikeClass;
+	}
+
+	/** @return The names of the synchronized accessors and setters benchmarked. Empty if the bean doesn't have any. */
+	public List<String> getSynchronizedMethodNames() {
+		return synchronizedMethodNames;
+	}
+
+	/** @return Number of levels, 0 if the bean doesn't have any synchronized accessor or setter. */
+	public int getLevelCount() {
+		return threadCounts.length;
+	}
+
+	public int getThreadCount(int level) {
+		return threadCounts[level];
+	}
+
+	/** @return Calls per second of all the threads of a level. */
+	public long getCallsPerSecond(int level) {
+		return levels[level][CALLS_PER_SECOND];
+	}
+
+	public long getMedianLatencyNanos(int level) {
+		return levels[level][MEDIAN];
+	}
+
+	public long getP99LatencyNanos(int level) {
+		return levels[level][P99];
+	}
+
+	public long getP999LatencyNanos(int level) {
+		return levels[level][P999];
+	}
+
+	public long getMaxLatencyNanos(int level) {
+		return levels[level][MAX];
+	}
+
+	/**
+	 * @return Throughput of a level compared to the throughput of the first level multiplied by the ratio of their numbers of threads:
+	 *         1 if the methods scale linearly, 1/n if n times more threads don't make more calls.
+	 */
+	public double getScalingEfficiency(int level) {
+		final double expected = levels[0][CALLS_PER_SECOND] * (double) threadCounts[level] / threadCounts[0];
+		return expected == 0 ? 0 : levels[level][CALLS_PER_SECOND] / expected;
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder report = new StringBuilder("BeanLikeContentionReport [").append(beanLikeClass.getName()).append(", synchronized methods=")
+		                                                                            .append(synchronizedMethodNames);
+		for (int level = 0; level < threadCounts.length; level++) {
+			report.append("\n  threads=").append(threadCounts[level]).append(": ").append(getCallsPerSecond(level)).append(" calls/s, median=")
+			      .append(getMedianLatencyNanos(level)).append("ns, p99=").append(getP99LatencyNanos(level)).append("ns, p99.9=")
+			      .append(getP999LatencyNanos(level)).append("ns, max=").append(getMaxLatencyNanos(level)).append("ns, efficiency=")
+			      .append(Math.round(getScalingEfficiency(level) * 100)).append('%');
+		}
+		return report.append("\n]").toString();
+	}
+
+}
@@ -0,0 +1,74 @@
+/**
+ * Copyright (C) 2011 Franck Valentin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.outsideMyBox.testUtils;
+
+/**
+ * Failure of a check made by a {@link BeanLikeTester}, returned by its <code>check*</code> methods.<br/>
+ * Unlike a {@link BeanLikeTesterException} a failure doesn't capture any stack trace and its message is only
+ * rendered when it is asked for, so failures that are expected and discarded (e.g. when many sets of values
+ * are tried) are cheap. {@link #toException()} creates the exception thrown by the <code>test*</code> methods.
+ * <p>
+ * The message is made of the parts given at creation, converted with {@link String#valueOf(Object)} when it is
+ * rendered. The parts can be beanLike instances: their toString() is then called at that time.
+ */
+public final class BeanLikeFailure {
+
+	// -----------------------------------  Instance variables  ------------------------------------
+
+	private final Object[] messageParts;
+	private String         message;
+
+	// ------------------------------------  Constructors  -------------------------------------------
+
+	/**
+	 * @param messageParts Parts of the message, concatenated when the message is rendered.
+	 */
+	BeanLikeFailure(Object... messageParts) {
+		this.messageParts = messageParts;
+	}
+
+	// ------------------------------------  Public methods  -----------------------------------------
+
+	/**
+	 * Render the message of the failure (only once).
+	 * @return The same message as the one of the exception thrown by the corresponding <code>test*</code> method.
+	 */
+	public String getMessage() {
+		String rendered = message;
+		if (rendered == null) {
+			final StringBuilder builder = new StringBuilder();
+			for (final Object part : messageParts) {
+				builder.append(String.valueOf(part));
+			}
+			rendered = builder.toString();
+			message = rendered;
+		}
+		return rendered;
+	}
+
+	/**
+	 * @return A new exception with the message of the failure.
+	 */
+	public BeanLikeTesterException toException() {
+		return new BeanLikeTesterException(getMessage());
+	}
+
+	@Override
+	public String toString() {
+		return "BeanLikeFailure [" + getMessage() + "]";
+	}
+
+}
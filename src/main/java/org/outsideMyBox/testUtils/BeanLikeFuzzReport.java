@@ -0,0 +1,152 @@
+/**
+ * Copyright (C) 2011 Franck Valentin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.outsideMyBox.testUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Results of {@link BeanLikeTester#fuzz(PropertiesAndValues, long, int, long)} for each worker.<br/>
+ * A worker stops at its first failure: the seed of the value set that failed reproduces it with
+ * {@link BeanLikeTester#checkFuzzedValueSet(PropertiesAndValues, long)}.
+ */
+public final class BeanLikeFuzzReport {
+
+	// -----------------------------------  Instance variables  ------------------------------------
+
+	private final Class<?>          beanLikeClass;
+	private final long              seed;
+	private final long[]            valueSetCounts;
+	private final BeanLikeFailure[] failures;
+	private final long[]            failureSeeds;
+	private final long              elapsedNanos;
+
+	// ------------------------------------  Constructors  -------------------------------------------
+
+	/**
+	 * @param beanLikeClass Class fuzzed.
+	 * @param seed Seed of the fuzzing.
+	 * @param valueSetCounts Number of value sets checked, indexed by worker.
+	 * @param failures Failure of each worker or null if it hasn't failed.
+	 * @param failureSeeds Seed of the value set that failed, indexed by worker.
+	 * @param elapsedNanos Duration of the fuzzing.
+	 */
+	BeanLikeFuzzReport(Class<?> beanLikeClass, long seed, long[] valueSetCounts, BeanLikeFailure[] failures, long[] failureSeeds, long elapsedNanos) {
+		this.beanLikeClass = beanLikeClass;
+		this.seed = seed;
+		this.valueSetCounts = valueSetCounts;
+		this.failures = failures;
+		this.failureSeeds = failureSeeds;
+		this.elapsedNanos = elapsedNanos;
+	}
+
+	// ------------------------------------  Private methods  ----------------------------------------
+
+	private int findFirstFailedWorker() {
+		for (int worker = 0; worker < failures.length; worker++) {
+			if (failures[worker] != null) {
+				return worker;
+			}
+		}
+		return -1;
+	}
+
+	// ------------------------------------  Public methods  -----------------------------------------
+
+	public Class<?> getBeanLikeClass() {
+		return beanLikeClass;
+	}
+
+	/** @return The seed of the fuzzing: the same seed draws the same value sets. */
+	public long getSeed() {
+		return seed;
+	}
+
+	public int getWorkerCount() {
+		return valueSetCounts.length;
+	}
+
+	/** @return Number of value sets checked by all the workers. */
+	public long getValueSetCount() {
+		long count = 0;
+		for (final long valueSetCount : valueSetCounts) {
+			count += valueSetCount;
+		}
+		return count;
+	}
+
+	/** @return Number of workers that found a failure. */
+	public int getFailureCount() {
+		int count = 0;
+		for (final BeanLikeFailure failure : failures) {
+			if (failure != null) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/** @return The failure found by a worker or null. */
+	public BeanLikeFailure getFailure(int worker) {
+		return failures[worker];
+	}
+
+	/**
+	 * @return The seed of the value set that failed for a worker.
+	 * @throws BeanLikeTesterException if the worker hasn't failed.
+	 */
+	public long getFailureSeed(int worker) {
+		if (failures[worker] == null) {
+			throw new BeanLikeTesterException("The worker " + worker + " hasn't failed");
+		}
+		return failureSeeds[worker];
+	}
+
+	public boolean isSuccessful() {
+		return findFirstFailedWorker() < 0;
+	}
+
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+
+	public double getValueSetsPerSecond() {
+		return elapsedNanos == 0 ? 0 : (getValueSetCount() * (double) TimeUnit.SECONDS.toNanos(1)) / elapsedNanos;
+	}
+
+	/**
+	 * @throws BeanLikeTesterException with the failure of the first worker that failed and the seed reproducing it.
+	 */
+	public void throwIfFailed() {
+		final int worker = findFirstFailedWorker();
+		if (worker >= 0) {
+			throw new BeanLikeTesterException("The value set of seed " + failureSeeds[worker] + " failed: " + failures[worker].getMessage());
+		}
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder report = new StringBuilder("BeanLikeFuzzReport [").append(beanLikeClass.getName()).append(", seed=").append(seed)
+		                                                                        .append(", valueSets=").append(getValueSetCount()).append(", valueSets/s=")
+		                                                                        .append(Math.round(getValueSetsPerSecond()));
+		for (int worker = 0; worker < failures.length; worker++) {
+			if (failures[worker] != null) {
+				report.append("\n  worker ").append(worker).append(", seed ").append(failureSeeds[worker]).append(": ").append(failures[worker].getMessage());
+			}
+		}
+		return report.append("\n]").toString();
+	}
+
+}
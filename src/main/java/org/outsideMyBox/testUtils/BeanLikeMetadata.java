@@ -0,0 +1,412 @@
+/**
+ * Copyright (C) 2011 Franck Valentin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.outsideMyBox.testUtils;
+
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.WrongMethodTypeException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Introspection results of a beanLike class for a given constructors' mapping: mutable properties
+ * and the result of the verifications done when a {@link BeanLikeTester} is created.
+ * <p>
+ * Each gettable property is also given a dense index (its slot) in the alphabetical order of the
+ * property names, so that the tests can work on arrays indexed by slot instead of maps indexed by name.
+ * The slots are only computed for valid beanLike classes.
+ * <p>
+ * The accessors, setters and constructors of a valid class are called through a {@link BeanInvoker}
+ * created on first use for each {@link InvocationMode}. A mode unsupported by the class or the runtime
+ * falls back to the next slower one.
+ * <p>
+ * Instances are immutable and cached by their {@link ClassMetadata}, so testers created for the same
+ * class and an equal mapping share the same instance.
+ */
+final class BeanLikeMetadata {
+
+	// -----------------------------------  Instance variables  ------------------------------------
+
+	private final ClassMetadata                     classMetadata;
+	private final Map<List<Class<?>>, List<String>> constructorsSignaturesAndProperties;
+	private final Set<String>                       mutablePropertyNames;
+	private final String                            verificationFailure;
+
+	private final String[]                          propertyNames;
+	private final Map<String, Integer>              slotsByPropertyName;
+	private final Method[]                          accessorsBySlot;
+	private final Method[]                          settersBySlot;
+	private final int[]                             setterSlots;
+	private final int[]                             mutableSlots;
+	private final ConstructorPlan[]                 constructorPlans;
+	private final int[]                             constructorIndexesBySlot;
+	private final Class<?>[]                        primitiveTypesBySlot;
+	private final int[]                             primitiveIndexesBySlot;
+	private final int                               primitiveCount;
+	private final AtomicReferenceArray<BeanInvoker> invokersByMode;
+
+	// ------------------------------------  Constructors  -------------------------------------------
+
+	BeanLikeMetadata(ClassMetadata classMetadata, Map<List<Class<?>>, List<String>> constructorsSignaturesAndProperties) {
+		this.classMetadata = classMetadata;
+		this.constructorsSignaturesAndProperties = constructorsSignaturesAndProperties;
+		mutablePropertyNames = Collections.unmodifiableSet(findMutablePropertyNames());
+		verificationFailure = verify();
+
+		if (verificationFailure == null) {
+			final Map<String, Method> accessors = classMetadata.getAccessors();
+			final Map<String, Method> setters = classMetadata.getSetters();
+			final int propertyCount = accessors.size();
+
+			propertyNames = accessors.keySet().toArray(new String[propertyCount]);
+			Arrays.sort(propertyNames);
+			slotsByPropertyName = new HashMap<String, Integer>();
+			accessorsBySlot = new Method[propertyCount];
+			settersBySlot = new Method[propertyCount];
+			for (int slot = 0; slot < propertyCount; slot++) {
+				slotsByPropertyName.put(propertyNames[slot], Integer.valueOf(slot));
+				accessorsBySlot[slot] = accessors.get(propertyNames[slot]);
+				settersBySlot[slot] = setters.get(propertyNames[slot]);
+			}
+			primitiveTypesBySlot = new Class<?>[propertyCount];
+			primitiveIndexesBySlot = new int[propertyCount];
+			int primitiveIndex = 0;
+			for (int slot = 0; slot < propertyCount; slot++) {
+				final Class<?> type = accessorsBySlot[slot].getReturnType();
+				if (type.isPrimitive()) {
+					primitiveTypesBySlot[slot] = type;
+					primitiveIndexesBySlot[slot] = primitiveIndex++;
+				}
+				else {
+					primitiveIndexesBySlot[slot] = -1;
+				}
+			}
+			primitiveCount = primitiveIndex;
+			setterSlots = toSlots(setters.keySet());
+			mutableSlots = toSlots(mutablePropertyNames);
+
+			final Constructor<?>[] constructors = classMetadata.getBeanLikeClass().getConstructors();
+			constructorPlans = new ConstructorPlan[constructors.length];
+			constructorIndexesBySlot = new int[propertyCount];
+			Arrays.fill(constructorIndexesBySlot, -1);
+			for (int index = 0; index < constructors.length; index++) {
+				final List<String> constructorPropertyNames = constructorsSignaturesAndProperties.get(Arrays.asList(constructors[index].getParameterTypes()));
+				final int[] argumentSlots = constructorPropertyNames == null ? new int[0] : toSlots(constructorPropertyNames);
+				constructorPlans[index] = new ConstructorPlan(constructors[index], argumentSlots);
+				for (final int slot : argumentSlots) {
+					if (constructorIndexesBySlot[slot] == -1) {
+						constructorIndexesBySlot[slot] = index;
+					}
+				}
+			}
+			invokersByMode = new AtomicReferenceArray<BeanInvoker>(InvocationMode.values().length);
+		}
+		else {
+			propertyNames = null;
+			slotsByPropertyName = null;
+			accessorsBySlot = null;
+			settersBySlot = null;
+			setterSlots = null;
+			mutableSlots = null;
+			constructorPlans = null;
+			constructorIndexesBySlot = null;
+			primitiveTypesBySlot = null;
+			primitiveIndexesBySlot = null;
+			primitiveCount = 0;
+			invokersByMode = null;
+		}
+	}
+
+	// ------------------------------------  Private methods  ----------------------------------------
+
+	/**
+	 * Get the properties that can be set by either a constructor or a setter.
+	 * @return Set of mutable properties.
+	 */
+	private Set<String> findMutablePropertyNames() {
+		final Set<String> settableProperties = new HashSet<String>();
+		for (final List<String> props : constructorsSignaturesAndProperties.values()) {
+			settableProperties.addAll(props);
+		}
+		settableProperties.addAll(classMetadata.getSetters().keySet());
+		return settableProperties;
+	}
+
+	/**
+	 * Convert property names into slots.
+	 * @param names Property names. They must all have an accessor.
+	 * @return The slots, sorted if 'names' is a set, in the same order as 'names' otherwise.
+	 */
+	private int[] toSlots(Collection<String> names) {
+		final int[] slots = new int[names.size()];
+		int i = 0;
+		for (final String name : names) {
+			slots[i++] = slotsByPropertyName.get(name).intValue();
+		}
+		if (names instanceof Set<?>) {
+			Arrays.sort(slots);
+		}
+		return slots;
+	}
+
+	/**
+	 * Create the invoker of a mode or, if it isn't supported by the class or the runtime, of the next slower mode.
+	 * @param mode Invocation mode.
+	 * @return The invoker.
+	 */
+	private BeanInvoker createInvoker(InvocationMode mode) {
+		switch (mode) {
+			case LAMBDA:
+				try {
+					return new LambdaInvoker(this);
+				} catch (final IllegalAccessException | LambdaConversionException | LinkageError | WrongMethodTypeException | IllegalArgumentException e) {
+					// The class isn't accessible or visible from this package, the functions can't be generated
+					// or an accessor has parameters.
+				}
+				return getInvoker(InvocationMode.METHOD_HANDLE);
+			case GENERATED:
+				try {
+					return new GeneratedInvoker(this);
+				} catch (final IllegalAccessException | LinkageError | WrongMethodTypeException | IllegalArgumentException e) {
+					// The class isn't accessible from another package or the generated class is invalid.
+				}
+				return getInvoker(InvocationMode.METHOD_HANDLE);
+			case METHOD_HANDLE:
+				try {
+					return new MethodHandleInvoker(this);
+				} catch (final IllegalAccessException | LinkageError | WrongMethodTypeException | IllegalArgumentException e) {
+					// The class or one of its methods isn't accessible from this package or an accessor has parameters:
+					// the reflection API reports the invalid calls when they are made.
+				}
+				return getInvoker(InvocationMode.REFLECTION);
+			default:
+				return new ReflectionInvoker(this);
+		}
+	}
+
+	/**
+	 * Run all the verifications in the order they have to be reported.
+	 * @return The message of the first verification that fails or null if they all succeed.
+	 */
+	private String verify() {
+		String failure = verifyConstructorSignaturesMatchSignaturesFromArgs();
+		if (failure == null) {
+			failure = classMetadata.getInvalidMethodMessage();
+		}
+		if (failure == null) {
+			failure = verifyAllPropertiesHaveAnAccessor();
+		}
+		return failure;
+	}
+
+	/**
+	 * Verify that the beanLike constructors' signatures to test are the same as the ones defined by the beanLike class.
+	 * @return The failure message if at least one of the signatures doesn't correspond to a constructor, null otherwise.
+	 */
+	private String verifyConstructorSignaturesMatchSignaturesFromArgs() {
+		final Set<List<Class<?>>> signaturesFromArgs = constructorsSignaturesAndProperties.keySet();
+		final Set<List<Class<?>>> signaturesFromConstructor = classMetadata.getConstructorSignatures();
+		if (!signaturesFromArgs.equals(signaturesFromConstructor)) {
+			return "The signatures from the constructor's argument must be the same as the bean:\nFrom args:  " + signaturesFromArgs + "\nFrom object:"
+			       + signaturesFromConstructor;
+		}
+		return null;
+	}
+
+	/**
+	 * Verify that all properties have an accessor
+	 * @return The failure message if a property doesn't have any accessor, null otherwise.
+	 */
+	private String verifyAllPropertiesHaveAnAccessor() {
+		final Set<String> nonAccessibleProperties = new HashSet<String>(mutablePropertyNames);
+		nonAccessibleProperties.removeAll(classMetadata.getAccessors().keySet());
+		if (!nonAccessibleProperties.isEmpty()) {
+			return "The following properties don't have any accessor:" + nonAccessibleProperties;
+		}
+		return null;
+	}
+
+	// ------------------------------------  Package methods  ----------------------------------------
+
+	/**
+	 * Return the (cached) metadata of a class for a constructors' mapping.
+	 * @param beanLikeClass Class to introspect.
+	 * @param constructorsSignaturesAndProperties Constructors' mapping (must not be null).
+	 * @return The metadata.
+	 */
+	static BeanLikeMetadata of(Class<?> beanLikeClass, Map<List<Class<?>>, List<String>> constructorsSignaturesAndProperties) {
+		return ClassMetadata.forClass(beanLikeClass).forMapping(constructorsSignaturesAndProperties);
+	}
+
+	/**
+	 * Throw the result of the verifications.
+	 * @throws BeanLikeTesterException if at least one of the signatures doesn't correspond to a constructor or
+	 *         the constructors doesn't only define properties or setters or accessors are invalid.
+	 */
+	void verifyIsValid() {
+		if (verificationFailure != null) {
+			throw new BeanLikeTesterException(verificationFailure);
+		}
+	}
+
+	/** @return true if the verifications succeeded, i.e. {@link #verifyIsValid()} doesn't throw any exception. */
+	boolean isValid() {
+		return verificationFailure == null;
+	}
+
+	ClassMetadata getClassMetadata() {
+		return classMetadata;
+	}
+
+	Class<?> getBeanLikeClass() {
+		return classMetadata.getBeanLikeClass();
+	}
+
+	/** @return Unmodifiable copy of the constructors' mapping. */
+	Map<List<Class<?>>, List<String>> getConstructorsSignaturesAndProperties() {
+		return constructorsSignaturesAndProperties;
+	}
+
+	Map<String, Method> getAccessors() {
+		return classMetadata.getAccessors();
+	}
+
+	Map<String, Method> getSetters() {
+		return classMetadata.getSetters();
+	}
+
+	Set<String> getMutablePropertyNames() {
+		return mutablePropertyNames;
+	}
+
+	// --- Slots (only available for valid beanLike classes).
+
+	/** @return Number of slots, i.e. of gettable properties. */
+	int getPropertyCount() {
+		return propertyNames.length;
+	}
+
+	String getPropertyName(int slot) {
+		return propertyNames[slot];
+	}
+
+	/**
+	 * @param propertyName Property name.
+	 * @return The slot of the property or -1 if the property isn't gettable.
+	 */
+	int getSlot(String propertyName) {
+		final Integer slot = slotsByPropertyName.get(propertyName);
+		return slot == null ? -1 : slot.intValue();
+	}
+
+	Method getAccessor(int slot) {
+		return accessorsBySlot[slot];
+	}
+
+	/** @return The generic type of the property, see {@link ClassMetadata#getPropertyType(String)}. */
+	Type getPropertyType(int slot) {
+		return classMetadata.getPropertyType(propertyNames[slot]);
+	}
+
+	/** @return The setter of the property or null if it doesn't have any. */
+	Method getSetter(int slot) {
+		return settersBySlot[slot];
+	}
+
+	boolean isSettable(int slot) {
+		return settersBySlot[slot] != null;
+	}
+
+	/** @return The slots of the properties with a setter, in ascending order. The array must not be modified. */
+	int[] getSetterSlots() {
+		return setterSlots;
+	}
+
+	/** @return The slots of the properties settable by a setter or a constructor, in ascending order. The array must not be modified. */
+	int[] getMutableSlots() {
+		return mutableSlots;
+	}
+
+	/** @return Number of public constructors. */
+	int getConstructorCount() {
+		return constructorPlans.length;
+	}
+
+	/** @return The plan of the public constructor at this index, in the order of {@link Class#getConstructors()}. */
+	ConstructorPlan getConstructorPlan(int index) {
+		return constructorPlans[index];
+	}
+
+	/** @return The public constructor at this index, in the order of {@link Class#getConstructors()}. */
+	Constructor<?> getConstructor(int index) {
+		return constructorPlans[index].getConstructor();
+	}
+
+	/** @return The slots of the constructor's parameters, in the order of the parameters. The array must not be modified. */
+	int[] getConstructorArgumentSlots(int index) {
+		return constructorPlans[index].getArgumentSlots();
+	}
+
+	/** @return The index of the first constructor that sets the property or -1 if no constructor sets it. */
+	int getConstructorIndexSettingSlot(int slot) {
+		return constructorIndexesBySlot[slot];
+	}
+
+	/**
+	 * Return the invoker calling the accessors, setters and constructors of the class, creating it on first use.
+	 * @param mode Requested invocation mode.
+	 * @return The invoker of the mode or of the next slower mode supported by the class and the runtime.
+	 */
+	BeanInvoker getInvoker(InvocationMode mode) {
+		final BeanInvoker invoker = invokersByMode.get(mode.ordinal());
+		if (invoker != null) {
+			return invoker;
+		}
+		synchronized (invokersByMode) {
+			BeanInvoker createdInvoker = invokersByMode.get(mode.ordinal());
+			if (createdInvoker == null) {
+				createdInvoker = createInvoker(mode);
+				invokersByMode.set(mode.ordinal(), createdInvoker);
+			}
+			return createdInvoker;
+		}
+	}
+
+	/** @return The primitive type returned by the accessor of the property or null if the property isn't a primitive. */
+	Class<?> getPrimitiveType(int slot) {
+		return primitiveTypesBySlot[slot];
+	}
+
+	/** @return The index of the property among the primitive properties or -1 if the property isn't a primitive. */
+	int getPrimitiveIndex(int slot) {
+		return primitiveIndexesBySlot[slot];
+	}
+
+	/** @return Number of properties whose accessor returns a primitive. */
+	int getPrimitiveCount() {
+		return primitiveCount;
+	}
+
+}
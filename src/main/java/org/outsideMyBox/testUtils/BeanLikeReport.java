@@ -0,0 +1,113 @@
+/**
+ * Copyright (C) 2011 Franck Valentin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.outsideMyBox.testUtils;
+
+/**
+ * Results of the phases of {@link BeanLikeTester#testBeanLike(PropertiesAndValues, PropertiesAndValues)} when
+ * they are run concurrently.<br/>
+ * The results are kept per phase and always read in the order of {@link Phase}, so the report (and the exception
+ * thrown by {@link #throwIfFailed()}) doesn't depend on the order in which the phases completed: it is the same
+ * as when the phases are run one after another.
+ */
+public final class BeanLikeReport {
+
+	/** Phases of a complete beanLike test, in the order they are reported. */
+	public enum Phase {
+		DEFAULT_VALUES, MUTATORS_AND_ACCESSORS, EQUALS_AND_HASH, TO_STRING
+	}
+
+	// -----------------------------------  Instance variables  ------------------------------------
+
+	private final Class<?>           beanLikeClass;
+	private final BeanLikeFailure[]  failures;
+	private final RuntimeException[] exceptions;
+
+	// ------------------------------------  Constructors  -------------------------------------------
+
+	/**
+	 * @param beanLikeClass Class tested.
+	 * @param failures Failures indexed by phase ordinal (null for the phases that succeeded).
+	 * @param exceptions Exceptions thrown by the phases indexed by phase ordinal (null for the phases that didn't throw any).
+	 */
+	BeanLikeReport(Class<?> beanLikeClass, BeanLikeFailure[] failures, RuntimeException[] exceptions) {
+		this.beanLikeClass = beanLikeClass;
+		this.failures = failures;
+		this.exceptions = exceptions;
+	}
+
+	// ------------------------------------  Public methods  -----------------------------------------
+
+	public Class<?> getBeanLikeClass() {
+		return beanLikeClass;
+	}
+
+	/** @return true if no phase failed or threw an exception. */
+	public boolean isSuccessful() {
+		for (final Phase phase : Phase.values()) {
+			if ((failures[phase.ordinal()] != null) || (exceptions[phase.ordinal()] != null)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/** @return The failure of a phase or null if the phase succeeded or threw an exception. */
+	public BeanLikeFailure getFailure(Phase phase) {
+		return failures[phase.ordinal()];
+	}
+
+	/**
+	 * @return The exception thrown by a phase (e.g. by an accessor or a constructor of the beanLike)
+	 *         or null if the phase didn't throw any.
+	 */
+	public RuntimeException getException(Phase phase) {
+		return exceptions[phase.ordinal()];
+	}
+
+	/**
+	 * Throw the result of the first phase (in the order of {@link Phase}) that failed.
+	 * @throws RuntimeException the exception thrown by the phase or a {@link BeanLikeTesterException} created from its failure.
+	 */
+	public void throwIfFailed() {
+		for (final Phase phase : Phase.values()) {
+			if (exceptions[phase.ordinal()] != null) {
+				throw exceptions[phase.ordinal()];
+			}
+			if (failures[phase.ordinal()] != null) {
+				throw failures[phase.ordinal()].toException();
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder report = new StringBuilder("BeanLikeReport [").append(beanLikeClass.getName());
+		for (final Phase phase : Phase.values()) {
+			report.append("\n  ").append(phase).append(": ");
+			if (exceptions[phase.ordinal()] != null) {
+				report.append("exception ").append(exceptions[phase.ordinal()]);
+			}
+			else if (failures[phase.ordinal()] != null) {
+				report.append("failure ").append(failures[phase.ordinal()].getMessage());
+			}
+			else {
+				report.append("ok");
+			}
+		}
+		return report.append("\n]").toString();
+	}
+
+}
@@ -0,0 +1,322 @@
+/**
+ * Copyright (C) 2011 Franck Valentin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.outsideMyBox.testUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Find the beanLike classes of directories (e.g. 'target/classes'), jars or packages.<br/>
+ * A class is a beanLike if a {@link BeanLikeTester} can test it without any constructor mapping: a public concrete class
+ * with a public default constructor, valid accessors and setters and at least one property.
+ * Classes needing a mapping of their constructors aren't found.
+ * <p>
+ * The roots (directories and jars) are walked in parallel on a {@link ForkJoinPool}. The class files are first parsed
+ * by {@link ClassFileFilter} and only the candidates are loaded, without being initialised, and checked by tasks of
+ * the same pool. The jars are read through the zip file system, whose central directory is read once through a channel.
+ */
+public final class BeanLikeScanner {
+
+	// ------------------------------------  Class variables  ----------------------------------------
+
+	private static final String               CLASS_SUFFIX     = ".class";
+
+	/** Maximum number of classes loaded and checked by a single task. */
+	static final int                          CLASSES_PER_TASK = 64;
+
+	private static final Comparator<Class<?>> BY_NAME = new Comparator<Class<?>>() {
+		@Override
+		public int compare(Class<?> class1, Class<?> class2) {
+			return class1.getName().compareTo(class2.getName());
+		}
+	};
+
+	// -----------------------------------  Instance variables  ------------------------------------
+
+	private final ClassLoader  classLoader;
+	private final ForkJoinPool pool;
+
+	// ------------------------------------  Constructors  -------------------------------------------
+
+	/**
+	 * @param classLoader Class loader loading the classes found. It must see the directories and jars scanned.
+	 * @param pool Pool walking the roots and checking the classes.
+	 */
+	public BeanLikeScanner(ClassLoader classLoader, ForkJoinPool pool) {
+		this.classLoader = classLoader;
+		this.pool = pool;
+	}
+
+	/**
+	 * Create a scanner using the context class loader of the current thread and the common pool.
+	 */
+	public BeanLikeScanner() {
+		this(Thread.currentThread().getContextClassLoader(), ForkJoinPool.commonPool());
+	}
+
+	// ------------------------------------  Private methods  ----------------------------------------
+
+	/**
+	 * List the classes of a directory.
+	 * @param root Root of the class names, e.g. 'target/classes'.
+	 * @param start Directory to walk, the root or one of its packages.
+	 * @param classNames List filled with the names of the classes that may be beanLikes.
+	 */
+	private static void listClasses(final Path root, Path start, final List<String> classNames) throws IOException {
+		if (!Files.isDirectory(start)) {
+			return;
+		}
+		Files.walkFileTree(start, new SimpleFileVisitor<Path>() {
+			@Override
+			public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) throws IOException {
+				final String className = toClassName(root.relativize(file));
+				if ((className != null) && ClassFileFilter.isCandidate(Files.readAllBytes(file))) {
+					classNames.add(className);
+				}
+				return FileVisitResult.CONTINUE;
+			}
+		});
+	}
+
+	/** @return The name of the class of a relative path or null if the path isn't a class (or is a module or package info). */
+	private static String toClassName(Path relativePath) {
+		final String path = relativePath.toString().replace(relativePath.getFileSystem().getSeparator(), "/");
+		if (!path.endsWith(CLASS_SUFFIX) || path.endsWith("module-info.class") || path.endsWith("package-info.class")) {
+			return null;
+		}
+		return path.substring(0, path.length() - CLASS_SUFFIX.length()).replace('/', '.');
+	}
+
+	/**
+	 * List the classes of a directory or a jar.
+	 * @param location Directory or jar.
+	 * @param packagePath Path of the package to list, e.g. 'org/outsideMyBox', or an empty string for all the classes.
+	 * @return The names of the classes that may be beanLikes.
+	 */
+	private static List<String> listClasses(Path location, String packagePath) throws IOException {
+		final List<String> classNames = new ArrayList<String>();
+		if (Files.isDirectory(location)) {
+			listClasses(location, packagePath.isEmpty() ? location : location.resolve(packagePath), classNames);
+		}
+		else if (Files.isRegularFile(location)) {
+			final FileSystem jar = FileSystems.newFileSystem(location, (ClassLoader) null);
+			try {
+				final Path root = jar.getPath("/");
+				listClasses(root, packagePath.isEmpty() ? root : root.resolve(packagePath), classNames);
+			} finally {
+				jar.close();
+			}
+		}
+		return classNames;
+	}
+
+	/**
+	 * @return The class if it is a beanLike, null otherwise (including when it can't be loaded).
+	 */
+	private Class<?> loadIfBeanLike(String className) {
+		try {
+			final Class<?> candidate = Class.forName(className, false, classLoader);
+			final int modifiers = candidate.getModifiers();
+			if (!Modifier.isPublic(modifiers) || Modifier.isAbstract(modifiers) || candidate.isInterface() || candidate.isEnum()
+			    || candidate.isAnnotation() || candidate.isAnonymousClass() || candidate.isLocalClass()
+			    || (candidate.isMemberClass() && !Modifier.isStatic(modifiers))) {
+				return null;
+			}
+			final BeanLikeMetadata metadata = BeanLikeMetadata.of(candidate, BeanLikeTester.NOARG_SIGNATUREANDPROPS);
+			return metadata.isValid() && (metadata.getPropertyCount() > 0) ? candidate : null;
+		} catch (final ClassNotFoundException e) {
+			return null;
+		} catch (final LinkageError e) {
+			// A dependency of the class is missing.
+			return null;
+		} catch (final SecurityException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Check the classes of the locations and keep the beanLike ones.
+	 * @param locations Directories and jars.
+	 * @param packagePath Path of the package to scan or an empty string.
+	 * @return The beanLike classes sorted by name.
+	 */
+	private List<Class<?>> scan(List<Path> locations, String packagePath) {
+		final List<LocationTask> locationTasks = new ArrayList<LocationTask>(locations.size());
+		for (final Path location : locations) {
+			locationTasks.add(new LocationTask(location, packagePath));
+		}
+		final List<String> classNames = new ArrayList<String>();
+		for (final LocationTask task : pool.invoke(new LocationsTask(locationTasks))) {
+			classNames.addAll(task.getRawResult());
+		}
+
+		final String[] names = classNames.toArray(new String[classNames.size()]);
+		final Class<?>[] beanLikes = new Class<?>[names.length];
+		if (names.length > 0) {
+			pool.invoke(new ClassesTask(names, beanLikes, 0, names.length));
+		}
+		// The same class can be found in several locations.
+		final Set<Class<?>> uniqueBeanLikes = new HashSet<Class<?>>(Arrays.asList(beanLikes));
+		uniqueBeanLikes.remove(null);
+		final List<Class<?>> found = new ArrayList<Class<?>>(uniqueBeanLikes);
+		Collections.sort(found, BY_NAME);
+		return found;
+	}
+
+	// ------------------------------------  Public methods  -----------------------------------------
+
+	/**
+	 * Find the beanLike classes of directories and jars.
+	 * @param locations Directories (roots of the packages) and jars.
+	 * @return The beanLike classes sorted by name.
+	 * @throws BeanLikeTesterException if a location can't be read.
+	 */
+	public List<Class<?>> scan(Path... locations) {
+		return scan(Arrays.asList(locations), "");
+	}
+
+	/**
+	 * Find the beanLike classes of a package and its sub-packages, in all the directories and jars where the class loader finds it.
+	 * @param packageName Name of the package, e.g. 'org.outsideMyBox.dto', or an empty string for the root package.
+	 * @return The beanLike classes sorted by name.
+	 * @throws BeanLikeTesterException if a location can't be read.
+	 */
+	public List<Class<?>> scanPackage(String packageName) {
+		final String packagePath = packageName.replace('.', '/');
+		final List<Path> locations = new ArrayList<Path>();
+		try {
+			final Enumeration<URL> resources = classLoader.getResources(packagePath);
+			while (resources.hasMoreElements()) {
+				final URL resource = resources.nextElement();
+				final String url = resource.toString();
+				if ("file".equals(resource.getProtocol())) {
+					// Remove the package from the directory to find the root of the class names.
+					Path root = Paths.get(resource.toURI());
+					// The root package is the root itself: "".split("/") has one element.
+					for (int i = 0; !packagePath.isEmpty() && (i < packagePath.split("/").length); i++) {
+						root = root.getParent();
+					}
+					locations.add(root);
+				}
+				else if ("jar".equals(resource.getProtocol()) && url.startsWith("jar:file:")) {
+					locations.add(Paths.get(new URL(url.substring("jar:".length(), url.indexOf("!/"))).toURI()));
+				}
+			}
+		} catch (final IOException e) {
+			throw new BeanLikeTesterException("Unable to find the package " + packageName, e);
+		} catch (final URISyntaxException e) {
+			throw new BeanLikeTesterException("Unable to find the package " + packageName, e);
+		}
+		return scan(locations, packagePath);
+	}
+
+	@Override
+	public String toString() {
+		return "BeanLikeScanner [classLoader=" + classLoader + ", parallelism=" + pool.getParallelism() + "]";
+	}
+
+	// ------------------------------------  Tasks  --------------------------------------------------
+
+	/** List the classes of a directory or a jar. */
+	private static final class LocationTask extends RecursiveTask<List<String>> {
+		private static final long serialVersionUID = 1L;
+
+		private final Path        location;
+		private final String      packagePath;
+
+		LocationTask(Path location, String packagePath) {
+			this.location = location;
+			this.packagePath = packagePath;
+		}
+
+		@Override
+		protected List<String> compute() {
+			try {
+				return listClasses(location, packagePath);
+			} catch (final IOException e) {
+				throw new BeanLikeTesterException("Unable to read " + location, e);
+			}
+		}
+	}
+
+	/** Run the listing of all the locations in parallel. */
+	private static final class LocationsTask extends RecursiveTask<List<LocationTask>> {
+		private static final long        serialVersionUID = 1L;
+
+		private final List<LocationTask> locationTasks;
+
+		LocationsTask(List<LocationTask> locationTasks) {
+			this.locationTasks = locationTasks;
+		}
+
+		@Override
+		protected List<LocationTask> compute() {
+			invokeAll(locationTasks);
+			return locationTasks;
+		}
+	}
+
+	/** Load and check a range of classes, split in two until the range has at most {@link BeanLikeScanner#CLASSES_PER_TASK} classes. */
+	private final class ClassesTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final String[]    classNames;
+		private final Class<?>[]  beanLikes;
+		private final int         from;
+		private final int         to;
+
+		ClassesTask(String[] classNames, Class<?>[] beanLikes, int from, int to) {
+			this.classNames = classNames;
+			this.beanLikes = beanLikes;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if ((to - from) <= CLASSES_PER_TASK) {
+				for (int i = from; i < to; i++) {
+					beanLikes[i] = loadIfBeanLike(classNames[i]);
+				}
+				return;
+			}
+			final int middle = (from + to) >>> 1;
+			invokeAll(new ClassesTask(classNames, beanLikes, from, middle), new ClassesTask(classNames, beanLikes, middle, to));
+		}
+	}
+
+}
@@ -0,0 +1,157 @@
+/**
+ * Copyright (C) 2011 Franck Valentin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.outsideMyBox.testUtils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Results of {@link BeanLikeTester#checkConcurrentMutatorsAndAccessors(PropertiesAndValues, PropertiesAndValues, int, int)}
+ * for each property having a setter.<br/>
+ * A property is thread-safe if no torn value, lost update or unpublished value has been found.
+ */
+public final class BeanLikeStressReport {
+
+	// ------------------------------------  Class variables  ----------------------------------------
+
+	private static final int TORN_VALUES        = 0;
+	private static final int LOST_UPDATES       = 1;
+	private static final int UNPUBLISHED_VALUES = 2;
+
+	// -----------------------------------  Instance variables  ------------------------------------
+
+	private final Class<?> beanLikeClass;
+	private final int      threadCount;
+	private final int      iterations;
+	private final String[] propertyNames;
+	private final double[] operationsPerSecond;
+	private final long[][] problemCounts;
+
+	// ------------------------------------  Constructors  -------------------------------------------
+
+	/**
+	 * @param beanLikeClass Class stressed.
+	 * @param threadCount Number of threads.
+	 * @param iterations Number of set-then-get per thread and property during the race.
+	 * @param propertyNames Properties stressed.
+	 * @param operationsPerSecond Calls to the setter and the accessor per second during the race, indexed like the properties.
+	 * @param problemCounts Number of torn values, lost updates and unpublished values, indexed like the properties.
+	 */
+	BeanLikeStressReport(Class<?> beanLikeClass, int threadCount, int iterations, String[] propertyNames, double[] operationsPerSecond, long[][] problemCounts) {
+		this.beanLikeClass = beanLikeClass;
+		this.threadCount = threadCount;
+		this.iterations = iterations;
+		this.propertyNames = propertyNames;
+		this.operationsPerSecond = operationsPerSecond;
+		this.problemCounts = problemCounts;
+	}
+
+	// ------------------------------------  Private methods  ----------------------------------------
+
+	private int indexOf(String propertyName) {
+		for (int index = 0; index < propertyNames.length; index++) {
+			if (propertyNames[index].equals(propertyName)) {
+				return index;
+			}
+		}
+		throw new BeanLikeTesterException("The property '" + propertyName + "' hasn't been stressed");
+	}
+
+	private boolean isThreadSafe(int index) {
+		final long[] counts = problemCounts[index];
+		return (counts[TORN_VALUES] == 0) && (counts[LOST_UPDATES] == 0) && (counts[UNPUBLISHED_VALUES] == 0);
+	}
+
+	// ------------------------------------  Public methods  -----------------------------------------
+
+	public Class<?> getBeanLikeClass() {
+		return beanLikeClass;
+	}
+
+	public int getThreadCount() {
+		return threadCount;
+	}
+
+	public int getIterations() {
+		return iterations;
+	}
+
+	/** @return The properties stressed, i.e. the ones having a setter. */
+	public List<String> getPropertyNames() {
+		return Collections.unmodifiableList(Arrays.asList(propertyNames));
+	}
+
+	/** @return Calls to the setter and the accessor of the property per second while the threads were racing. */
+	public double getOperationsPerSecond(String propertyName) {
+		return operationsPerSecond[indexOf(propertyName)];
+	}
+
+	/** @return Number of values read while racing that were neither of the values set. */
+	public long getTornValueCount(String propertyName) {
+		return problemCounts[indexOf(propertyName)][TORN_VALUES];
+	}
+
+	/** @return Number of reads, once the threads had set different values at the same time, that returned neither of them. */
+	public long getLostUpdateCount(String propertyName) {
+		return problemCounts[indexOf(propertyName)][LOST_UPDATES];
+	}
+
+	/** @return Number of values set by a thread that another thread didn't see in time. */
+	public long getUnpublishedValueCount(String propertyName) {
+		return problemCounts[indexOf(propertyName)][UNPUBLISHED_VALUES];
+	}
+
+	/** @return true if no problem has been found for any property. */
+	public boolean isSuccessful() {
+		return getFailure() == null;
+	}
+
+	/** @return The failure of the first property (in alphabetical order) that isn't thread-safe or null. */
+	public BeanLikeFailure getFailure() {
+		for (int index = 0; index < propertyNames.length; index++) {
+			if (!isThreadSafe(index)) {
+				final long[] counts = problemCounts[index];
+				return new BeanLikeFailure("The property '", propertyNames[index], "' isn't thread-safe: ", Long.valueOf(counts[TORN_VALUES]),
+				                           " torn value(s), ", Long.valueOf(counts[LOST_UPDATES]), " lost update(s), ",
+				                           Long.valueOf(counts[UNPUBLISHED_VALUES]), " unpublished value(s) with ", Integer.valueOf(threadCount), " threads");
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @throws BeanLikeTesterException if a property isn't thread-safe.
+	 */
+	public void throwIfFailed() {
+		final BeanLikeFailure failure = getFailure();
+		if (failure != null) {
+			throw failure.toException();
+		}
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder report = new StringBuilder("BeanLikeStressReport [").append(beanLikeClass.getName()).append(", threads=").append(threadCount);
+		for (int index = 0; index < propertyNames.length; index++) {
+			final long[] counts = problemCounts[index];
+			report.append("\n  ").append(propertyNames[index]).append(": ").append(Math.round(operationsPerSecond[index])).append(" ops/s, torn=")
+			      .append(counts[TORN_VALUES]).append(", lost=").append(counts[LOST_UPDATES]).append(", unpublished=").append(counts[UNPUBLISHED_VALUES]);
+		}
+		return report.append("\n]").toString();
+	}
+
+}
@@ -0,0 +1,311 @@
+/**
+ * Copyright (C) 2011 Franck Valentin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.outsideMyBox.testUtils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+import org.outsideMyBox.testUtils.BeanLikeTester.ConstructorSignatureAndPropertiesMapping;
+import org.outsideMyBox.testUtils.BeanLikeTester.PropertiesAndValues;
+
+/**
+ * Test many beanLike classes in one call, e.g. a whole layer of DTOs.<br/>
+ * Each class added to the suite is tested like with {@link BeanLikeTester#testBeanLike(PropertiesAndValues, PropertiesAndValues)}.
+ * The classes are tested by the tasks of a work-stealing {@link ForkJoinPool}: the range of classes is split in two until
+ * a task tests a single class, so idle workers steal the remaining halves and the throughput grows with the number of cores.<br/>
+ * The tasks don't share any lock: each one writes the result of its class in its own slot of the arrays of the
+ * {@link BeanLikeSuiteReport}, and the results are read once all the tasks have been joined.
+ * <p>
+ * The classes must be added before the suite is run, from a single thread. A suite can be run several times.
+ * <p>
+ * Beans doing blocking work in their accessors (e.g. lazy loading from a file) are better tested with
+ * {@link #runOnVirtualThreads(int)}: each class is tested by its own virtual thread when the runtime has them, and the
+ * number of classes tested at the same time is only limited by the concurrency cap.
+ */
+public final class BeanLikeSuite {
+
+	// ------------------------------------  Class variables  ----------------------------------------
+
+	/** Run the phases of a class on the thread testing the class, the parallelism is between the classes. */
+	private static final Executor CALLING_THREAD = new Executor() {
+		@Override
+		public void execute(Runnable command) {
+			command.run();
+		}
+	};
+
+	/** Number of platform threads per core used instead of virtual threads by {@link #runOnVirtualThreads(int)}. */
+	static final int PLATFORM_THREADS_PER_CORE = 4;
+
+	// -----------------------------------  Instance variables  ------------------------------------
+
+	private final InvocationStrategy invocationStrategy;
+	private final List<Entry>        entries = new ArrayList<Entry>();
+
+	// ------------------------------------  Constructors  -------------------------------------------
+
+	/**
+	 * Create an empty suite.
+	 * @param invocationStrategy Strategy of the testers created for the classes.
+	 *        If null, the default one of {@link BeanLikeTester} is used.
+	 */
+	public BeanLikeSuite(InvocationStrategy invocationStrategy) {
+		this.invocationStrategy = invocationStrategy;
+	}
+
+	/**
+	 * Create an empty suite whose testers use the default invocation strategy.
+	 */
+	public BeanLikeSuite() {
+		this(null);
+	}
+
+	// ------------------------------------  Package methods  ----------------------------------------
+
+	/**
+	 * Test a class of the suite. The exceptions and errors thrown when the tester is created or by a check that doesn't
+	 * report them (e.g. a StackOverflowError in a recursive hashCode()) are kept in the results, so that they only fail
+	 * this class whatever the way the suite is run.
+	 * @param entries Classes of the suite.
+	 * @param index Index of the class to test.
+	 * @param reports Reports of the classes, filled at 'index'.
+	 * @param exceptions Exceptions and errors thrown while testing the classes, filled at 'index'.
+	 */
+	static void testEntry(Entry[] entries, int index, BeanLikeReport[] reports, Throwable[] exceptions) {
+		final Entry entry = entries[index];
+		try {
+			final BeanLikeTester tester = new BeanLikeTester(entry.beanLikeClass, entry.mapping, entry.invocationStrategy);
+			reports[index] = tester.checkBeanLike(entry.defaultValues, entry.otherValues, CALLING_THREAD);
+		} catch (final RuntimeException | Error e) {
+			exceptions[index] = e;
+		}
+	}
+
+	/**
+	 * Create an executor starting a virtual thread per task, if the runtime has virtual threads.<br/>
+	 * The method is looked up by reflection as the library is compiled for runtimes without virtual threads.
+	 * @return The executor or null if virtual threads aren't available (or are a disabled preview feature).
+	 */
+	static ExecutorService newVirtualThreadExecutor() {
+		try {
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (final NoSuchMethodException e) {
+			return null;
+		} catch (final IllegalAccessException e) {
+			return null;
+		} catch (final InvocationTargetException e) {
+			return null;
+		}
+	}
+
+	/** @return The classes added to the suite, in the order they were added. */
+	Entry[] getEntries() {
+		return entries.toArray(new Entry[entries.size()]);
+	}
+
+	// ------------------------------------  Public methods  -----------------------------------------
+
+	/**
+	 * Add a beanLike class to the suite.
+	 * @param beanLikeClass The 'beanLike' to test.
+	 * @param constructorsSignaturesAndProperties The signature of all the possible constructors (see {@link BeanLikeTester}).
+	 *        For beans the map can be empty or null.
+	 * @param propsWithDefaultValue Property names (keys) and their default value.
+	 * @param propsWithOtherValue Property names (keys) and their value different from 'propsWithDefaultValue'.
+	 */
+	public void add(Class<?> beanLikeClass, ConstructorSignatureAndPropertiesMapping constructorsSignaturesAndProperties,
+	                PropertiesAndValues propsWithDefaultValue, PropertiesAndValues propsWithOtherValue) {
+		if ((beanLikeClass == null) || (propsWithDefaultValue == null) || (propsWithOtherValue == null)) {
+			throw new BeanLikeTesterException("The class and the values must not be null");
+		}
+		entries.add(new Entry(beanLikeClass, constructorsSignaturesAndProperties, invocationStrategy, propsWithDefaultValue, propsWithOtherValue));
+	}
+
+	/**
+	 * Add a bean (i.e. a class only having a default constructor) to the suite.
+	 * @param beanClass The bean to test.
+	 * @param propsWithDefaultValue Property names (keys) and their default value.
+	 * @param propsWithOtherValue Property names (keys) and their value different from 'propsWithDefaultValue'.
+	 */
+	public void add(Class<?> beanClass, PropertiesAndValues propsWithDefaultValue, PropertiesAndValues propsWithOtherValue) {
+		add(beanClass, null, propsWithDefaultValue, propsWithOtherValue);
+	}
+
+	/** @return Number of classes in the suite. */
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Test all the classes of the suite on a pool and wait for the results.
+	 * @param pool Pool running the tests.
+	 * @return The results of all the classes, in the order they were added.
+	 */
+	public BeanLikeSuiteReport run(ForkJoinPool pool) {
+		final Entry[] suiteEntries = getEntries();
+		final BeanLikeReport[] reports = new BeanLikeReport[suiteEntries.length];
+		final Throwable[] exceptions = new Throwable[suiteEntries.length];
+		final long start = System.nanoTime();
+		if (suiteEntries.length > 0) {
+			pool.invoke(new EntriesTask(suiteEntries, reports, exceptions, 0, suiteEntries.length));
+		}
+		return new BeanLikeSuiteReport(suiteEntries, reports, exceptions, System.nanoTime() - start);
+	}
+
+	/**
+	 * Test all the classes of the suite on an executor, each class by its own task, and wait for the results.<br/>
+	 * The tasks are submitted from the calling thread, which waits for a permit of a {@link Semaphore} before
+	 * submitting each task: at most 'maxConcurrency' classes are tested (or waiting to be tested) at the same time,
+	 * whatever the size of the suite and the executor.
+	 * @param executor Executor running the tests. It isn't shut down.
+	 * @param maxConcurrency Maximum number of classes tested at the same time.
+	 * @return The results of all the classes, in the order they were added.
+	 * @throws BeanLikeTesterException if 'maxConcurrency' isn't strictly positive or the current thread is interrupted.
+	 */
+	public BeanLikeSuiteReport run(Executor executor, int maxConcurrency) {
+		if (maxConcurrency < 1) {
+			throw new BeanLikeTesterException("The maximum concurrency must be strictly positive: " + maxConcurrency);
+		}
+		final Entry[] suiteEntries = getEntries();
+		final BeanLikeReport[] reports = new BeanLikeReport[suiteEntries.length];
+		final Throwable[] exceptions = new Throwable[suiteEntries.length];
+		final Semaphore permits = new Semaphore(maxConcurrency);
+		final CountDownLatch done = new CountDownLatch(suiteEntries.length);
+		final long start = System.nanoTime();
+		try {
+			for (int entryIndex = 0; entryIndex < suiteEntries.length; entryIndex++) {
+				final int index = entryIndex;
+				permits.acquire();
+				try {
+					executor.execute(new Runnable() {
+						@Override
+						public void run() {
+							try {
+								testEntry(suiteEntries, index, reports, exceptions);
+							} finally {
+								permits.release();
+								done.countDown();
+							}
+						}
+					});
+				} catch (final RejectedExecutionException e) {
+					permits.release();
+					throw e;
+				}
+			}
+			done.await();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new BeanLikeTesterException("Interrupted while testing the suite", e);
+		}
+		return new BeanLikeSuiteReport(suiteEntries, reports, exceptions, System.nanoTime() - start);
+	}
+
+	/**
+	 * Test all the classes of the suite, each class on its own virtual thread, and wait for the results.<br/>
+	 * If the runtime doesn't have virtual threads, the classes are tested by a pool of at most
+	 * {@value #PLATFORM_THREADS_PER_CORE} platform threads per core.
+	 * @param maxConcurrency Maximum number of classes tested at the same time (see {@link #run(Executor, int)}).
+	 * @return The results of all the classes, in the order they were added.
+	 * @throws BeanLikeTesterException if 'maxConcurrency' isn't strictly positive or the current thread is interrupted.
+	 */
+	public BeanLikeSuiteReport runOnVirtualThreads(int maxConcurrency) {
+		if (maxConcurrency < 1) {
+			throw new BeanLikeTesterException("The maximum concurrency must be strictly positive: " + maxConcurrency);
+		}
+		ExecutorService executor = newVirtualThreadExecutor();
+		if (executor == null) {
+			executor = Executors.newFixedThreadPool(Math.min(maxConcurrency, PLATFORM_THREADS_PER_CORE * Runtime.getRuntime().availableProcessors()));
+		}
+		try {
+			return run(executor, maxConcurrency);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Same as {@link #run(ForkJoinPool)} with the common pool.
+	 * @return The results of all the classes, in the order they were added.
+	 */
+	public BeanLikeSuiteReport run() {
+		return run(ForkJoinPool.commonPool());
+	}
+
+	@Override
+	public String toString() {
+		return "BeanLikeSuite [classes=" + entries.size() + ", invocationStrategy=" + invocationStrategy + "]";
+	}
+
+	// ------------------------------------  Entries  ------------------------------------------------
+
+	/** A class of the suite with the parameters of its tester. */
+	static final class Entry {
+		final Class<?>                                 beanLikeClass;
+		final ConstructorSignatureAndPropertiesMapping mapping;
+		final InvocationStrategy                       invocationStrategy;
+		final PropertiesAndValues                      defaultValues;
+		final PropertiesAndValues                      otherValues;
+
+		Entry(Class<?> beanLikeClass, ConstructorSignatureAndPropertiesMapping mapping, InvocationStrategy invocationStrategy,
+		      PropertiesAndValues defaultValues, PropertiesAndValues otherValues) {
+			this.beanLikeClass = beanLikeClass;
+			this.mapping = mapping;
+			this.invocationStrategy = invocationStrategy;
+			this.defaultValues = defaultValues;
+			this.otherValues = otherValues;
+		}
+	}
+
+	/** Test a range of classes, split in two until the range contains a single class. */
+	private static final class EntriesTask extends RecursiveAction {
+		private static final long      serialVersionUID = 1L;
+
+		private final Entry[]          entries;
+		private final BeanLikeReport[] reports;
+		private final Throwable[]      exceptions;
+		private final int              from;
+		private final int              to;
+
+		EntriesTask(Entry[] entries, BeanLikeReport[] reports, Throwable[] exceptions, int from, int to) {
+			this.entries = entries;
+			this.reports = reports;
+			this.exceptions = exceptions;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from == 1) {
+				testEntry(entries, from, reports, exceptions);
+				return;
+			}
+			final int middle = (from + to) >>> 1;
+			invokeAll(new EntriesTask(entries, reports, exceptions, from, middle), new EntriesTask(entries, reports, exceptions, middle, to));
+		}
+	}
+
+}
@@ -0,0 +1,141 @@
+/**
+ * Copyright (C) 2011 Franck Valentin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.outsideMyBox.testUtils;
+
+import java.util.concurrent.TimeUnit;
+
+import org.outsideMyBox.testUtils.BeanLikeSuite.Entry;
+
+/**
+ * Results of a {@link BeanLikeSuite}, in the order the classes were added to the suite.<br/>
+ * The result of a class is either its {@link BeanLikeReport} or the exception thrown when its tester was created
+ * (e.g. invalid mapping of the constructors) or the exception or error that interrupted its tests.
+ */
+public final class BeanLikeSuiteReport {
+
+	// -----------------------------------  Instance variables  ------------------------------------
+
+	private final Entry[]          entries;
+	private final BeanLikeReport[] reports;
+	private final Throwable[]      exceptions;
+	private final long             elapsedNanos;
+
+	// ------------------------------------  Constructors  -------------------------------------------
+
+	/**
+	 * @param entries Classes of the suite.
+	 * @param reports Reports indexed like the classes (null for the classes whose tester couldn't be created or run).
+	 * @param exceptions Exceptions and errors thrown when creating or running the testers indexed like the classes.
+	 * @param elapsedNanos Duration of the run.
+	 */
+	BeanLikeSuiteReport(Entry[] entries, BeanLikeReport[] reports, Throwable[] exceptions, long elapsedNanos) {
+		this.entries = entries;
+		this.reports = reports;
+		this.exceptions = exceptions;
+		this.elapsedNanos = elapsedNanos;
+	}
+
+	// ------------------------------------  Private methods  ----------------------------------------
+
+	private boolean isSuccessful(int index) {
+		return (exceptions[index] == null) && (reports[index] != null) && reports[index].isSuccessful();
+	}
+
+	// ------------------------------------  Public methods  -----------------------------------------
+
+	/** @return Number of classes tested. */
+	public int size() {
+		return entries.length;
+	}
+
+	public Class<?> getBeanLikeClass(int index) {
+		return entries[index].beanLikeClass;
+	}
+
+	/** @return The report of a class or null if its tester couldn't be created or run. */
+	public BeanLikeReport getReport(int index) {
+		return reports[index];
+	}
+
+	/** @return The exception or error thrown when the tester of a class was created or run, or null. */
+	public Throwable getException(int index) {
+		return exceptions[index];
+	}
+
+	/** @return Number of classes that failed. */
+	public int getFailureCount() {
+		int count = 0;
+		for (int index = 0; index < entries.length; index++) {
+			if (!isSuccessful(index)) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/** @return true if all the classes passed the tests. */
+	public boolean isSuccessful() {
+		return getFailureCount() == 0;
+	}
+
+	/** @return Duration of the run in nanoseconds. */
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+
+	/** @return Number of classes tested per second. */
+	public double getClassesPerSecond() {
+		return elapsedNanos == 0 ? 0 : entries.length * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+	}
+
+	/**
+	 * Throw the result of the first class (in the order of the suite) that failed.
+	 * @throws RuntimeException the exception thrown when creating or running its tester or the one of
+	 *         {@link BeanLikeReport#throwIfFailed()}.
+	 * @throws Error the error thrown when running its tester.
+	 */
+	public void throwIfFailed() {
+		for (int index = 0; index < entries.length; index++) {
+			final Throwable exception = exceptions[index];
+			if (exception instanceof Error) {
+				throw (Error) exception;
+			}
+			if (exception != null) {
+				throw (RuntimeException) exception;
+			}
+			if (reports[index] != null) {
+				reports[index].throwIfFailed();
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder report = new StringBuilder("BeanLikeSuiteReport [classes=").append(entries.length).append(", failures=")
+		                                                                               .append(getFailureCount()).append(", classesPerSecond=")
+		                                                                               .append(Math.round(getClassesPerSecond()));
+		for (int index = 0; index < entries.length; index++) {
+			if (exceptions[index] != null) {
+				report.append("\n  ").append(entries[index].beanLikeClass.getName()).append(": exception ").append(exceptions[index]);
+			}
+			else if (!isSuccessful(index)) {
+				report.append("\n  ").append(reports[index]);
+			}
+		}
+		return report.append("\n]").toString();
+	}
+
+}
@@ -0,0 +1,101 @@
+/**
+ * Copyright (C) 2011 Franck Valentin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.outsideMyBox.testUtils;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * A single check of a beanLike created by {@link BeanLikeTester#createTestNodes(PropertiesAndValues, PropertiesAndValues)}.<br/>
+ * The nodes don't share any object and can be run in any order, from any thread. They don't depend on a test framework:
+ * <ul>
+ * <li>TestNG: return {@link #toDataProvider(List)} from a <code>@DataProvider(parallel = true)</code> and call
+ *     {@link #run()} from the <code>@Test</code> using it. The name of the node is used as the parameter of the test.
+ *     For a <code>@Factory</code>, create a test instance per node.</li>
+ * <li>JUnit 5: return the nodes mapped to <code>DynamicTest.dynamicTest(node.getName(), node::run)</code> from a
+ *     <code>@TestFactory</code>.</li>
+ * </ul>
+ */
+public final class BeanLikeTestNode implements Runnable {
+
+	// -----------------------------------  Instance variables  ------------------------------------
+
+	private final String                    name;
+	private final Callable<BeanLikeFailure> check;
+
+	// ------------------------------------  Constructors  -------------------------------------------
+
+	/**
+	 * @param name Name of the node, e.g. 'ValidBean setAString on constructor()'.
+	 * @param check Check returning the failure or null.
+	 */
+	BeanLikeTestNode(String name, Callable<BeanLikeFailure> check) {
+		this.name = name;
+		this.check = check;
+	}
+
+	// ------------------------------------  Public methods  -----------------------------------------
+
+	/**
+	 * Create the parameters of a TestNG data provider: one row per node with the node as its only parameter.
+	 * @param nodes Test nodes.
+	 * @return The parameters of the data provider.
+	 */
+	public static Object[][] toDataProvider(List<BeanLikeTestNode> nodes) {
+		final Object[][] parameters = new Object[nodes.size()][];
+		for (int i = 0; i < parameters.length; i++) {
+			parameters[i] = new Object[] { nodes.get(i) };
+		}
+		return parameters;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Run the check of the node.
+	 * @return The failure or null if the check succeeds.
+	 * @throws BeanLikeTesterException if an accessor, a setter or a constructor throws an exception.
+	 */
+	public BeanLikeFailure check() {
+		try {
+			return check.call();
+		} catch (final RuntimeException e) {
+			throw e;
+		} catch (final Exception e) {
+			throw new BeanLikeTesterException(e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Run the check of the node.
+	 * @throws BeanLikeTesterException if the check fails.
+	 */
+	@Override
+	public void run() {
+		final BeanLikeFailure failure = check();
+		if (failure != null) {
+			throw failure.toException();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return name;
+	}
+
+}
@@ -16,18 +16,24 @@
 package org.outsideMyBox.testUtils;
 
 import java.lang.reflect.Array;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.Method;
-import java.text.MessageFormat;
+import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RecursiveTask;
+
+import org.outsideMyBox.testUtils.BeanLikeReport.Phase;
 
 /**
  * This class provides methods to easily and quickly test and improve the test coverage of 'bean like'
@@ -43,6 +49,10 @@ import java.util.Set;
  * <p>
  * All the initial values, setters, getters, non default constructors, hashCode(), equals(), toString()
  * can be automatic tested from a map of default and non default property/value.
+ * <p>
+ * A tester is read-only once created: its fields are final, the introspection of the class and the vectors of
+ * values are immutable and the invokers are thread-safe. The same tester can therefore run several tests at the
+ * same time, e.g. the verifications of each constructor on an executor.
  */
 public final class BeanLikeTester {
 	
@@ -70,7 +80,13 @@ public final class BeanLikeTester {
 		private static final long serialVersionUID = 1L;
 	}
 
-	private static final ConstructorSignatureAndPropertiesMapping NOARG_SIGNATUREANDPROPS = new ConstructorSignatureAndPropertiesMapping();
+	static final ConstructorSignatureAndPropertiesMapping NOARG_SIGNATUREANDPROPS = new ConstructorSignatureAndPropertiesMapping();
+
+	/** Maximum number of mutable properties tested by a single fork/join task. */
+	static final int SEQUENTIAL_SLOTS_CUTOFF = 8;
+
+	/** Maximum number of random values drawn to get one different from the default value of a property. */
+	private static final int MAX_DRAWS = 64;
 
 	static {
 		NOARG_SIGNATUREANDPROPS.put(Collections.<Class<?>> emptyList(), Collections.<String> emptyList());
@@ -85,36 +101,55 @@ public final class BeanLikeTester {
 
 	// -----------------------------------  Instance variables  ------------------------------------
 
-	private final Class<?>                                 beanLikeClass;
-	private final ConstructorSignatureAndPropertiesMapping constructorsSignaturesAndProperties;
-	private final Set<String>                              gettablePropertyNames;
-	private final Set<String>                              settablePropertyNames;
-	private final Set<String>                              mutablePropertyNames;
-	private final Map<String, Method>                      accessors;
-	private final Map<String, Method>                      setters;
+	private final Class<?>         beanLikeClass;
+	private final BeanLikeMetadata metadata;
+	private final Set<String>      gettablePropertyNames;
+	private final Set<String>      mutablePropertyNames;
+	private final int              propertyCount;
+	private final BeanInvoker      invoker;
 
 	// ------------------------------------  Constructors  -------------------------------------------
 	/**
-	 * Create a BeanLikeTester with a specific beanLike to test.
+	 * Create a BeanLikeTester with a specific beanLike to test.<br/>
+	 * The introspection of the class is shared by all the testers created for the same class and mapping.
 	 * @param beanLikeClass The 'beanLike' to test.
 	 * @param constructorsSignaturesAndProperties The signature of all the possible constructors
 	 *        (The parameters of the constructors must only set properties).<br/>
 	 *        key: constructor's signature. value: corresponding property name.<br/>
 	 *        For beans the map can be empty or null.
+	 * @param invocationStrategy How the accessors, setters and constructors are called: an {@link InvocationMode}
+	 *        or a strategy selecting the mode before each call, like {@link TieredInvocationStrategy}.
+	 *        If null, {@link InvocationMode#METHOD_HANDLE} is used.
 	 * @throws BeanLikeTesterException if at least one of the signatures doesn't correspond to a constructor or
 	 *         the constructors doesn't only define properties or setters or accessors are invalid.
 	 */
-	public BeanLikeTester(Class<?> beanLikeClass, ConstructorSignatureAndPropertiesMapping constructorsSignaturesAndProperties) {
+	public BeanLikeTester(Class<?> beanLikeClass, ConstructorSignatureAndPropertiesMapping constructorsSignaturesAndProperties, InvocationStrategy invocationStrategy) {
+		metadata = BeanLikeMetadata.of(beanLikeClass, constructorsSignaturesAndProperties == null ? NOARG_SIGNATUREANDPROPS : constructorsSignaturesAndProperties);
+		metadata.verifyIsValid();
 		this.beanLikeClass = beanLikeClass;
-		this.constructorsSignaturesAndProperties = constructorsSignaturesAndProperties == null ? NOARG_SIGNATUREANDPROPS : constructorsSignaturesAndProperties;
-		accessors = getAccessors();
-		setters = getSetters();
-		gettablePropertyNames = accessors.keySet();
-		settablePropertyNames = setters.keySet();
-		mutablePropertyNames = getMutableProperyNames();
-		verifyConstructorSignaturesMatchSignaturesFromArgs();
-		verifySettersAndAccessorsAreValid();
-		verifyAllPropertiesHaveAnAccessor();
+		gettablePropertyNames = metadata.getAccessors().keySet();
+		mutablePropertyNames = metadata.getMutablePropertyNames();
+		propertyCount = metadata.getPropertyCount();
+		if (invocationStrategy == null) {
+			invoker = metadata.getInvoker(InvocationMode.METHOD_HANDLE);
+		}
+		else if (invocationStrategy instanceof InvocationMode) {
+			invoker = metadata.getInvoker((InvocationMode) invocationStrategy);
+		}
+		else {
+			invoker = new StrategyInvoker(metadata, invocationStrategy);
+		}
+	}
+
+	/**
+	 * Create a BeanLikeTester with a specific beanLike to test, calling its methods with the default
+	 * invocation mode ({@link InvocationMode#METHOD_HANDLE}).
+	 * @param beanLikeClass The 'beanLike' to test.
+	 * @param constructorsSignaturesAndProperties See {@link #BeanLikeTester(Class, ConstructorSignatureAndPropertiesMapping, InvocationStrategy) }
+	 * @throws BeanLikeTesterException See {@link #BeanLikeTester(Class, ConstructorSignatureAndPropertiesMapping, InvocationStrategy) }
+	 */
+	public BeanLikeTester(Class<?> beanLikeClass, ConstructorSignatureAndPropertiesMapping constructorsSignaturesAndProperties) {
+		this(beanLikeClass, constructorsSignaturesAndProperties, InvocationMode.METHOD_HANDLE);
 	}
 
 	/**
@@ -128,317 +163,887 @@ public final class BeanLikeTester {
 
 	// ------------------------------------  Private methods  ----------------------------------------
 
-	/**
-	 * Get the properties that can be set by either a constructor or a setter.
-	 * @return Set of mutable properties.
-	 */
-	private Set<String> getMutableProperyNames() {
-		final Set<String> settableProperties = new HashSet<String>();
-		for (final List<String> props : constructorsSignaturesAndProperties.values()) {
-			settableProperties.addAll(props);
+	private static Object[] createArrayFromArrayObject(Object o) {
+		if(!o.getClass().getComponentType().isPrimitive())
+			return (Object[])o;
+
+		int arrayLength = Array.getLength(o);
+		Object elements[] = new Object[arrayLength];
+		for(int i = 0; i < arrayLength; i++){
+			elements[i] = Array.get(o, i);
 		}
-		settableProperties.addAll(settablePropertyNames);
-		return settableProperties;
+		return elements;
+	}
+
+	static boolean areValuesDifferent(Object value1, Object value2) {
+		if ((value1 !=null) && (value2 != null) && (value1.getClass().isArray()) && (value2.getClass().isArray())) {
+			final Object[] array1 = createArrayFromArrayObject(value1);
+			final Object[] array2 = createArrayFromArrayObject(value2);
+			return !Arrays.deepEquals(array1, array2);
+		}
+		final boolean conditionToFail1 = (value1 != null) && ((value2 == null) || !value1.equals(value2));
+		final boolean conditionToFail2 = (value2 != null) && ((value1 == null) || !value2.equals(value1));
+		return conditionToFail1 || conditionToFail2;
 	}
 
 	/**
-	 * Verify that the beanLike constructors' signatures to test are the same as the ones defined by the beanLike class.
-	  * @throws BeanLikeTesterException if at least one of the signatures doesn't correspond to a constructor.
+	 * Convert a map of properties and values into a vector.<br/>
+	 * The properties that aren't gettable are ignored and the missing ones are null.
+	 * @param propertiesAndValues Property names and their value.
+	 * @return The vector of values.
 	 */
-	private void verifyConstructorSignaturesMatchSignaturesFromArgs() {
-		final Set<List<Class<?>>> signaturesFromArgs = constructorsSignaturesAndProperties.keySet();
-		final Set<List<Class<?>>> signaturesFromConstructor = new HashSet<List<Class<?>>>();
-
-		for (final Constructor<?> constructor : beanLikeClass.getConstructors()) {
-			final List<Class<?>> signature = Arrays.asList(constructor.getParameterTypes());
-			signaturesFromConstructor.add(signature);
+	private PropertyValueVector toSlotValues(PropertiesAndValues propertiesAndValues) {
+		return PropertyValueVector.of(metadata, propertiesAndValues, true);
+	}
 
+	/**
+	 * Verify that a vector of values can be used by this tester.
+	 * @param values Vector to verify.
+	 * @throws BeanLikeTesterException if the vector has been created for another class or constructors' mapping.
+	 */
+	private void verifyHasTheSameLayout(PropertyValueVector values) {
+		final BeanLikeMetadata layout = values.getLayout();
+		if ((layout != metadata)
+		    && ((layout.getBeanLikeClass() != beanLikeClass) || !layout.getConstructorsSignaturesAndProperties().equals(metadata.getConstructorsSignaturesAndProperties()))) {
+			throw new BeanLikeTesterException("The values must be created by a tester of the same class and with the same constructors' mapping.\nValues: "
+			                                  + layout.getBeanLikeClass().getName() + "\nTester: " + beanLikeClass.getName());
 		}
-		if (!signaturesFromArgs.equals(signaturesFromConstructor)) {
-			throw new BeanLikeTesterException("The signatures from the constructor's argument must be the same as the bean:\nFrom args:  " + signaturesFromArgs
-			                                  + "\nFrom object:" + signaturesFromConstructor);
+	}
+
+	private boolean areValuesDifferent(PropertyValueVector values, int slot, Object value) {
+		if (values.isStoredAsPrimitive(slot)) {
+			return !values.isSamePrimitiveValue(slot, value);
 		}
+		return areValuesDifferent(values.get(slot), value);
 	}
 
 	/**
-	 * Test that all the setters return void, the 'is' accessors return a boolean and the other getters an object.
-	 * @throws BeanLikeTesterException if one of the previous condition is not met.
+	 * Set a property via its setter.
+	 * @param beanLike beanLike to set the property to.
+	 * @param slot Slot of the property.
+	 * @param value Property's value.
+	 * @throws BeanLikeTesterException if the property couldn't be set.
 	 */
-	private void verifySettersAndAccessorsAreValid() {
-		final Method[] methods = beanLikeClass.getMethods();
+	private void setProperty(Object beanLike, int slot, Object value) {
+		invoker.set(beanLike, slot, value);
+	}
 
-		for (final Method method : methods) {
-			final String methodName = method.getName();
-			if (isSetter(method)) {
-					throw new BeanLikeTesterException("The method '" + methodName + "' must not return an object.");
-			}
-			if (isIsGetter(method)) {
-					throw new BeanLikeTesterException("The method '" + methodName + "' doesn't return a boolean");
-			}
-			else if (isGetGetter(method)) {
-					throw new BeanLikeTesterException("The method '" + methodName + "' doesn't return an object");
+	private Object getProperty(Object beanLike, int slot) {
+		return invoker.get(beanLike, slot);
+	}
+
+	/**
+	 * Get a new beanLike instance using a specific constructor and properties values.
+	 * @param constructorIndex Index of the constructor used to create the new instance.
+	 * @param values Values indexed by slot.<br/>
+	 *               The properties unused by the constructor are ignored.
+	 * @return New beanLike instance.
+	 * @throws BeanLikeTesterException if the instance couldn't be created.
+	 */
+	private Object getNewInstance(int constructorIndex, PropertyValueVector values) {
+		return invoker.newInstance(constructorIndex, metadata.getConstructorPlan(constructorIndex).getArguments(values));
+	}
+
+	/**
+	 * Check that the beanLike object returns the expected value for the properties 'slotsToVerify'.
+	 * @param beanLike Object to test.
+	 * @param slotsToVerify Slots of the properties to verify.
+	 * @param expectedValues Values expected.
+	 * @return The failure if the object doesn't return an expected value, null otherwise.
+	 */
+	private BeanLikeFailure checkPropertyValuesFromAccessors(Object beanLike, int[] slotsToVerify, PropertyValueVector expectedValues) {
+		for (final int slot : slotsToVerify) {
+			final BeanLikeFailure failure = checkPropertyValueFromAccessor(beanLike, slot, expectedValues);
+			if (failure != null) {
+				return failure;
 			}
 		}
+		return null;
 	}
 
-	private boolean isSetter(Method method) {
-	   return method.getName().startsWith("set") && !method.getReturnType().equals(Void.TYPE);
-   }
+	/**
+	 * Check that the beanLike object returns the expected value for the property at 'slot'.
+	 * @param beanLike Instance to test.
+	 * @param slot Slot of the property to verify.
+	 * @param expectedValues Values expected.
+	 * @return The failure if the object doesn't return the expected value, null otherwise.
+	 */
+	private BeanLikeFailure checkPropertyValueFromAccessor(Object beanLike, int slot, PropertyValueVector expectedValues) {
+		final Object returnedValue = getProperty(beanLike, slot);
+		if (areValuesDifferent(expectedValues, slot, returnedValue)) {
+			return new BeanLikeFailure("The value of the property '", metadata.getPropertyName(slot), "' returned (", returnedValue,
+			                           ") is not the same as the one expected (", expectedValues.get(slot), ")");
+		}
+		return null;
+	}
 
-	private boolean isIsGetter(Method method) {
-	   return method.getName().startsWith("is") && !method.getReturnType().equals(Boolean.class) && !method.getReturnType().equals(boolean.class);
-   }
-	
-	private boolean isGetGetter(Method method) {
-	   return method.getName().startsWith("get") && !method.getName().equals("getClass") && (method.getParameterTypes().length == 0) && method.getReturnType().equals(Void.TYPE);
-   }
-	
 	/**
-	 * Verify that all properties have an accessor
-	  * @throws BeanLikeTesterException if the verification fails.
+	 * Check that the property names to test are the same as the beanLike properties.
+	 * @param propertyNamesToTest Property names to test.
+	 * @return The failure if the set of properties to test is different from the properties accessible from the object, null otherwise.
 	 */
-	private void verifyAllPropertiesHaveAnAccessor() {
-		final Set<String> nonAccessibleProperties = new HashSet<String>(mutablePropertyNames);
-		nonAccessibleProperties.removeAll(gettablePropertyNames);
-		if (!nonAccessibleProperties.isEmpty()) {
-			throw new BeanLikeTesterException("The following properties don't have any accessor:" + nonAccessibleProperties);
+	private BeanLikeFailure checkPropertyNamesAreTheSameAs(Set<String> propertyNamesToTest) {
+		if (!gettablePropertyNames.equals(propertyNamesToTest)) {
+			return new BeanLikeFailure("The set of properties to test is different from the properties accessible from the object:\nFrom object: ",
+			                           gettablePropertyNames, "\nTo test:     ", propertyNamesToTest);
+		}
+		return null;
+	}
+
+	private BeanLikeFailure checkContainsAtLeastAllMutableProperties(Set<String> properties) {
+		if (!properties.containsAll(mutablePropertyNames)) {
+			return new BeanLikeFailure("The properties defined in parameter must at least contain all the settable properties of the object.\nParameter:",
+			                           properties, "\nObject:", mutablePropertyNames);
 		}
+		return null;
 	}
 
 	/**
-	 * Create a new instance of a class using a constructor with parameters.
-	 * @param fullyQualifiedClassName Fully qualified class name of the instance to create.
-	 * @param constructorSignature Signature of the constructor to use.
-	 * @param constructorParams Constructor's parameters.
-	 * @return New instance.
-	 * @throws BeanLikeTesterException if the instance couldn't be created.
+	 * Check that two sets of properties contain at least all the mutable properties.
+	 * @return The failure of the first set that doesn't, null if they both do.
 	 */
-	private static Object createNewInstance(String fullyQualifiedClassName, Class<?>[] constructorSignature, Object... constructorParams) {
-		try {
-			final Class<?> classToInstantiate = Class.forName(fullyQualifiedClassName);
-			final Constructor<? extends Object> classConstructor = classToInstantiate.getConstructor(constructorSignature);
-			return classConstructor.newInstance(constructorParams);
-		} catch (final Exception e) {
-			final String msg = MessageFormat.format("exception msg: {0} \n\tfullyQualifiedClassName: {1} \n\tconstructorSignature: {2} \n\tconstructorParams: {3}",
-			                                        e,
-			                                        fullyQualifiedClassName,
-			                                        Arrays.asList(constructorSignature),
-			                                        Arrays.asList(constructorParams));
-			throw new BeanLikeTesterException(msg, e);
+	private BeanLikeFailure checkContainsAtLeastAllMutableProperties(Set<String> properties, Set<String> otherProperties) {
+		final BeanLikeFailure failure = checkContainsAtLeastAllMutableProperties(properties);
+		return failure != null ? failure : checkContainsAtLeastAllMutableProperties(otherProperties);
+	}
+
+	/**
+	 * Check that two vectors contain at least all the mutable properties.
+	 * @return The failure of the first vector that doesn't, null if they both do.
+	 * @throws BeanLikeTesterException if a vector has been created for another class.
+	 */
+	private BeanLikeFailure checkContainsAtLeastAllMutableProperties(PropertyValueVector values, PropertyValueVector otherValues) {
+		verifyHasTheSameLayout(values);
+		verifyHasTheSameLayout(otherValues);
+		for (final PropertyValueVector vector : new PropertyValueVector[] { values, otherValues }) {
+			for (final int slot : metadata.getMutableSlots()) {
+				if (!vector.contains(slot)) {
+					return checkContainsAtLeastAllMutableProperties(vector.getPropertyNames());
+				}
+			}
 		}
+		return null;
 	}
 
 	/**
-	 * Invoke an object's method.
-	 * @param object Object.
-	 * @param method Method to invoke.
-	 * @param args Method's arguments.
-	 * @return Object returned by the method invocation.
-	 * @throws BeanLikeTesterException if an exception occurred.
+	 * Create an object with the default values except for one property.
+	 * @param defaultValues Default values.
+	 * @param slot Slot of the property to set.
+	 * @param valuesToSet Values containing the value of the property to set.
+	 * @return The new object.
 	 */
-	private static Object invokeMethod(Object object, Method method, Object... args) {
-		try {
-			return method.invoke(object, args);
-		} catch (final Exception e) {
-			throw new BeanLikeTesterException(e.getMessage(), e);
+	private Object createObjectWithSecificPropertySet(PropertyValueVector defaultValues, int slot, PropertyValueVector valuesToSet) {
+		// If possible create an object with default values and then set the property.
+		if (metadata.isSettable(slot)) {
+			final Object object = createObjectWithDefaultValues(defaultValues);
+			setProperty(object, slot, valuesToSet.get(slot));
+			return object;
+		}
+
+		// If no setters existed then use the first constructor that could set the property.
+		final int constructorIndex = metadata.getConstructorIndexSettingSlot(slot);
+		if (constructorIndex != -1) {
+			return getNewInstance(constructorIndex, defaultValues.withValueOf(slot, valuesToSet));
 		}
+		throw new RuntimeException("The property '" + metadata.getPropertyName(slot) + "' must be settable by either a setter or a constructor!");
 	}
 
-	private static String getPropertyNameFromMethodName(String methodName) {
-		final String propertyName = methodName.replaceFirst("^is|set|get", "");
-		return Character.toLowerCase(propertyName.charAt(0)) + propertyName.substring(1);
+	private Object createObjectWithDefaultValues(PropertyValueVector defaultValues) {
+		// Create the object with default values (any constructor will do).
+		return getNewInstance(0, defaultValues);
 	}
 
-	private static Object[] createArrayFromArrayObject(Object o) {
-		if(!o.getClass().getComponentType().isPrimitive())
-			return (Object[])o;
+	private static boolean areValuesDifferent(PropertyValueVector values, PropertyValueVector otherValues, int slot) {
+		if (values.isStoredAsPrimitive(slot) && otherValues.isStoredAsPrimitive(slot)) {
+			return !values.isSamePrimitiveValue(slot, otherValues);
+		}
+		return areValuesDifferent(values.get(slot), otherValues.get(slot));
+	}
 
-		int arrayLength = Array.getLength(o);
-		Object elements[] = new Object[arrayLength];
-		for(int i = 0; i < arrayLength; i++){
-			elements[i] = Array.get(o, i);
+	private BeanLikeFailure checkAllValuesFromMutablePropsAreDifferent(PropertyValueVector values, PropertyValueVector otherValues) {
+		for (final int slot : metadata.getMutableSlots()) {
+			if (!areValuesDifferent(values, otherValues, slot)) {
+				return new BeanLikeFailure("The value of the  property '", metadata.getPropertyName(slot), "' must be different in the parameters.");
+			}
 		}
-		return elements;
+		return null;
 	}
 
-	private static boolean areValuesDifferent(Object value1, Object value2) {
-		if ((value1 !=null) && (value2 != null) && (value1.getClass().isArray()) && (value2.getClass().isArray())) {
-			final Object[] array1 = createArrayFromArrayObject(value1);
-			final Object[] array2 = createArrayFromArrayObject(value2);
-			return !Arrays.deepEquals(array1, array2);
+	private static void throwIfFailed(BeanLikeFailure failure) {
+		if (failure != null) {
+			throw failure.toException();
 		}
-		final boolean conditionToFail1 = (value1 != null) && ((value2 == null) || !value1.equals(value2));
-		final boolean conditionToFail2 = (value2 != null) && ((value1 == null) || !value2.equals(value1));
-		return conditionToFail1 || conditionToFail2;
 	}
 
 	/**
-	 * Set a property via its setter.
-	 * @param beanLike beanLike to set the property to.
-	 * @param propertyName Property name.
-	 * @param value Property's value.
-	 * @throws BeanLikeTesterException if the property couldn't be set.
+	 * Verify the parameters of each phase of testBeanLike().
+	 * @return The failures of the verifications indexed by phase ordinal.
 	 */
-	private void setProperty(Object beanLike, String propertyName, Object value) {
-		final Method setter = setters.get(propertyName);
-		invokeMethod(beanLike, setter, new Object[] { value });
+	private BeanLikeFailure[] checkPhasesParameters(Set<String> defaultPropertyNames, BeanLikeFailure mutablePropertiesFailure) {
+		final BeanLikeFailure[] failures = new BeanLikeFailure[Phase.values().length];
+		failures[Phase.DEFAULT_VALUES.ordinal()] = checkPropertyNamesAreTheSameAs(defaultPropertyNames);
+		failures[Phase.MUTATORS_AND_ACCESSORS.ordinal()] = mutablePropertiesFailure;
+		failures[Phase.EQUALS_AND_HASH.ordinal()] = mutablePropertiesFailure;
+		failures[Phase.TO_STRING.ordinal()] = mutablePropertiesFailure;
+		return failures;
 	}
 
 	/**
-	 * Get all the accessors.
-	 * @return List of accessors.
+	 * Run the phases of testBeanLike() on an executor and wait for all of them.
+	 * @param defaultValues Default values.
+	 * @param otherValues Values different from the default ones.
+	 * @param failures Failures of the verifications of the parameters indexed by phase ordinal.
+	 *                 The phases that already have a failure aren't run. The array is filled with the results.
+	 * @param executor Executor running the phases.
+	 * @return The report of all the phases.
+	 * @throws BeanLikeTesterException if the current thread is interrupted while waiting for the phases.
 	 */
-	private Map<String, Method> getAccessors() {
-		final Map<String, Method> propsAndAccessors = new HashMap<String, Method>();
-		final Method[] methods = beanLikeClass.getMethods();
+	private BeanLikeReport runPhases(final PropertyValueVector defaultValues, final PropertyValueVector otherValues, BeanLikeFailure[] failures, Executor executor) {
+		final Phase[] phases = Phase.values();
+		final RuntimeException[] exceptions = new RuntimeException[phases.length];
+		final List<FutureTask<BeanLikeFailure>> tasks = new ArrayList<FutureTask<BeanLikeFailure>>(phases.length);
+		for (final Phase phase : phases) {
+			FutureTask<BeanLikeFailure> task = null;
+			if (failures[phase.ordinal()] == null) {
+				task = new FutureTask<BeanLikeFailure>(new Callable<BeanLikeFailure>() {
+					@Override
+					public BeanLikeFailure call() {
+						return doCheck(phase, defaultValues, otherValues);
+					}
+				});
+				executor.execute(task);
+			}
+			tasks.add(task);
+		}
 
-		for (final Method method : methods) {
-			final String methodName = method.getName();
-			if (methodName.startsWith("is")) {
-				propsAndAccessors.put(getPropertyNameFromMethodName(methodName), method);
+		awaitTasks(tasks, failures, exceptions);
+		return new BeanLikeReport(beanLikeClass, failures, exceptions);
+	}
+
+	/**
+	 * Wait for tasks running on an executor.
+	 * @param tasks Tasks to wait for. The null ones are ignored.
+	 * @param failures Filled with the results of the tasks, at the index of the tasks.
+	 * @param exceptions Filled with the exceptions thrown by the tasks, at the index of the tasks.
+	 * @throws BeanLikeTesterException if the current thread is interrupted while waiting for the tasks.
+	 */
+	private void awaitTasks(List<FutureTask<BeanLikeFailure>> tasks, BeanLikeFailure[] failures, RuntimeException[] exceptions) {
+		for (int index = 0; index < tasks.size(); index++) {
+			final FutureTask<BeanLikeFailure> task = tasks.get(index);
+			if (task == null) {
+				continue;
 			}
-			else if (methodName.startsWith("get") && !methodName.equals("getClass") && (method.getParameterTypes().length == 0)) {
-				propsAndAccessors.put(getPropertyNameFromMethodName(methodName), method);
+			try {
+				failures[index] = task.get();
+			} catch (final ExecutionException e) {
+				final Throwable cause = e.getCause();
+				if (cause instanceof Error) {
+					throw (Error) cause;
+				}
+				exceptions[index] = cause instanceof RuntimeException ? (RuntimeException) cause : new BeanLikeTesterException(cause.getMessage(), (Exception) cause);
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				for (final FutureTask<BeanLikeFailure> remainingTask : tasks) {
+					if (remainingTask != null) {
+						remainingTask.cancel(true);
+					}
+				}
+				throw new BeanLikeTesterException("Interrupted while testing " + beanLikeClass.getName(), e);
 			}
 		}
-		return propsAndAccessors;
 	}
 
 	/**
-	 * Get a new beanLike instance using a specific constructor and properties values.
-	 * @param constructor Constructor used to create the new instance.
-	 * @param propertiesAndValues List of property names and their corresponding values.<br/>
-	 *                            The properties unused by the constructor are ignored.
-	 * @return New beanLike instance.
+	 * Run the verification of a phase for each constructor on an executor and wait for all of them.<br/>
+	 * The result is the same as when the constructors are verified sequentially: the failure or the exception of the
+	 * first constructor that doesn't pass the verification.
+	 * @param phase {@link Phase#DEFAULT_VALUES} or {@link Phase#MUTATORS_AND_ACCESSORS}.
+	 * @param values Default values.
+	 * @param otherValues Values different from the default ones (unused for {@link Phase#DEFAULT_VALUES}).
+	 * @param executor Executor running the verifications.
+	 * @return The failure or null if the verifications succeed.
+	 */
+	private BeanLikeFailure checkEachConstructor(final Phase phase, final PropertyValueVector values, final PropertyValueVector otherValues, Executor executor) {
+		final int constructorCount = metadata.getConstructorCount();
+		final List<FutureTask<BeanLikeFailure>> tasks = new ArrayList<FutureTask<BeanLikeFailure>>(constructorCount);
+		for (int constructorIndex = 0; constructorIndex < constructorCount; constructorIndex++) {
+			final int index = constructorIndex;
+			final FutureTask<BeanLikeFailure> task = new FutureTask<BeanLikeFailure>(new Callable<BeanLikeFailure>() {
+				@Override
+				public BeanLikeFailure call() {
+					return phase == Phase.DEFAULT_VALUES ? checkDefaultValuesOfConstructor(index, values)
+					                                     : checkMutatorsAndAccessorsOfConstructor(index, values, otherValues);
+				}
+			});
+			executor.execute(task);
+			tasks.add(task);
+		}
+
+		final BeanLikeFailure[] failures = new BeanLikeFailure[constructorCount];
+		final RuntimeException[] exceptions = new RuntimeException[constructorCount];
+		awaitTasks(tasks, failures, exceptions);
+		for (int constructorIndex = 0; constructorIndex < constructorCount; constructorIndex++) {
+			if (exceptions[constructorIndex] != null) {
+				throw exceptions[constructorIndex];
+			}
+			if (failures[constructorIndex] != null) {
+				return failures[constructorIndex];
+			}
+		}
+		return null;
+	}
+
+	/** @return A short description of a constructor, e.g. 'constructor(String, List)'. */
+	private String describeConstructor(int constructorIndex) {
+		final StringBuilder description = new StringBuilder("constructor(");
+		final Class<?>[] parameterTypes = metadata.getConstructor(constructorIndex).getParameterTypes();
+		for (int i = 0; i < parameterTypes.length; i++) {
+			description.append(i == 0 ? "" : ", ").append(parameterTypes[i].getSimpleName());
+		}
+		return description.append(')').toString();
+	}
+
+	private BeanLikeTestNode newTestNode(NodeCheck check, int constructorIndex, int index, PropertyValueVector defaultValues, PropertyValueVector otherValues,
+	                                     String description) {
+		return new BeanLikeTestNode(beanLikeClass.getSimpleName() + " " + description, new TestNodeCheck(check, constructorIndex, index, defaultValues, otherValues));
+	}
+
+	// ------------------------------------  Test implementations  -----------------------------------
+
+	private BeanLikeFailure doCheck(Phase phase, PropertyValueVector defaultValues, PropertyValueVector otherValues) {
+		switch (phase) {
+			case DEFAULT_VALUES:
+				return doCheckDefaultValues(defaultValues, null);
+			case MUTATORS_AND_ACCESSORS:
+				return doCheckMutatorsAndAccessors(defaultValues, otherValues, null);
+			case EQUALS_AND_HASH:
+				return doCheckEqualsAndHash(defaultValues, otherValues, null);
+			default:
+				return doCheckToString(defaultValues, otherValues, null);
+		}
+	}
+
+	private BeanLikeFailure doCheckDefaultValues(PropertyValueVector expectedValues, Executor executor) {
+		if (executor != null) {
+			return checkEachConstructor(Phase.DEFAULT_VALUES, expectedValues, null, executor);
+		}
+		// Test the initial value for all the possible ways to create the object. 
+		for (int constructorIndex = 0; constructorIndex < metadata.getConstructorCount(); constructorIndex++) {
+			final BeanLikeFailure failure = checkDefaultValuesOfConstructor(constructorIndex, expectedValues);
+			if (failure != null) {
+				return failure;
+			}
+		}
+		return null;
+	}
+
+	private BeanLikeFailure checkDefaultValuesOfConstructor(int constructorIndex, PropertyValueVector expectedValues) {
+		final Object beanLike = getNewInstance(constructorIndex, expectedValues);
+
+		for (int slot = 0; slot < propertyCount; slot++) {
+			final BeanLikeFailure failure = checkPropertyValueFromAccessor(beanLike, slot, expectedValues);
+			if (failure != null) {
+				return failure;
+			}
+		}
+		return null;
+	}
+
+	private BeanLikeFailure doCheckMutatorsAndAccessors(PropertyValueVector values, PropertyValueVector otherValues, Executor executor) {
+		if (executor != null) {
+			return checkEachConstructor(Phase.MUTATORS_AND_ACCESSORS, values, otherValues, executor);
+		}
+		// --- Test the modification from all the constructors.
+		for (int constructorIndex = 0; constructorIndex < metadata.getConstructorCount(); constructorIndex++) {
+			final BeanLikeFailure failure = checkMutatorsAndAccessorsOfConstructor(constructorIndex, values, otherValues);
+			if (failure != null) {
+				return failure;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Test a setter on an object created by a constructor, as {@link #checkMutatorsAndAccessorsOfConstructor(int, PropertyValueVector, PropertyValueVector)}
+	 * does for all the setters.
 	 */
-	private Object getNewInstance(Constructor<?> constructor, PropertiesAndValues propertiesAndValues) {
-		final Class<?>[] constructorSignature = constructor.getParameterTypes();
+	private BeanLikeFailure checkSetterOfConstructor(int constructorIndex, int slot, PropertyValueVector values, PropertyValueVector otherValues) {
+		final Object beanLike = getNewInstance(constructorIndex, otherValues);
+		for (final PropertyValueVector roundValues : new PropertyValueVector[] { values, otherValues }) {
+			setProperty(beanLike, slot, roundValues.get(slot));
+			final BeanLikeFailure failure = checkPropertyValueFromAccessor(beanLike, slot, roundValues);
+			if (failure != null) {
+				return failure;
+			}
+		}
+		return null;
+	}
 
-		final List<String> propertyNames = constructorsSignaturesAndProperties.get(Arrays.asList(constructorSignature));
-		final List<Object> propertyValues = new ArrayList<Object>();
+	private BeanLikeFailure checkMutatorsAndAccessorsOfConstructor(int constructorIndex, PropertyValueVector values, PropertyValueVector otherValues) {
+		final Object beanLike = getNewInstance(constructorIndex, otherValues);
+		// If it's not a constructor by default, test that the properties defined by the constructor's arguments are effectively set.
+		BeanLikeFailure failure = checkPropertyValuesFromAccessors(beanLike, metadata.getConstructorArgumentSlots(constructorIndex), otherValues);
+		if (failure != null) {
+			return failure;
+		}
 
-		if (propertyNames != null) {
-			for (final String propertyName : propertyNames) {
-				propertyValues.add(propertiesAndValues.get(propertyName));
+		// --- Test the modifications from the setters.
+		// As a non default value may have already been set by the constructor, we first set the default value, check it and
+		// then set another value and check it again.
+		// For default values and then other values:
+		for (final PropertyValueVector roundValues : new PropertyValueVector[] { values, otherValues }) {
+			// For all the setters:
+			for (final int slot : metadata.getSetterSlots()) {
+				setProperty(beanLike, slot, roundValues.get(slot));
+				failure = checkPropertyValueFromAccessor(beanLike, slot, roundValues);
+				if (failure != null) {
+					return failure;
+				}
 			}
 		}
-		return createNewInstance(beanLikeClass.getName(), constructorSignature, propertyValues.toArray());
+		return null;
+	}
+
+	private BeanLikeFailure doCheckEqualsAndHash(PropertyValueVector defaultValues, PropertyValueVector otherValues, ForkJoinPool pool) {
+		final BeanLikeFailure failure = checkAllValuesFromMutablePropsAreDifferent(defaultValues, otherValues);
+		if (failure != null) {
+			return failure;
+		}
+
+		final Object defaultObj = createObjectWithDefaultValues(defaultValues);
+		final BeanLikeFailure equalsFailure = checkEqualsWithoutOtherValues(defaultObj);
+		if (equalsFailure != null) {
+			return equalsFailure;
+		}
+
+		// Test only the mutable properties.
+		if (isForkJoinWorthIt(pool)) {
+			return pool.invoke(new MutableSlotsTask(Phase.EQUALS_AND_HASH, defaultValues, otherValues, 0, metadata.getMutableSlots().length));
+		}
+		return checkEqualsAndHashOfMutableSlots(defaultObj, defaultValues, otherValues, 0, metadata.getMutableSlots().length);
 	}
 
 	/**
-	 * Return all the setters.
-	 * @return List of setters
+	 * Test equals() with the object itself, null and an object of another class.
+	 * @return The failure or null if equals() returns the expected results.
 	 */
-	private Map<String, Method> getSetters() {
-		final Map<String, Method> propsAndSetters = new HashMap<String, Method>();
-		final Method[] methods = beanLikeClass.getMethods();
+	private BeanLikeFailure checkEqualsWithoutOtherValues(Object defaultObj) {
+		// Verify that the bean is equal to itself.
+		if (!defaultObj.equals(defaultObj)) {
+			return new BeanLikeFailure("The equals method must return true when the object is compared to itself:\nObject:", defaultObj);
+		}
+
+		if (defaultObj.equals(null)) {
+			return new BeanLikeFailure("The comparison with null must return false.\nObject:", defaultObj);
+		}
 
-		for (final Method method : methods) {
-			final String methodName = method.getName();
-			if (methodName.startsWith("set")) {
-				propsAndSetters.put(getPropertyNameFromMethodName(methodName), method);
+		if (defaultObj.equals(AClassToBeTestedAgainst.instance)) {
+			return new BeanLikeFailure("The comparison with another class must return false.\nObject:", defaultObj);
+		}
+		return null;
+	}
+
+	/**
+	 * Test equals() and hashCode() for a range of the mutable properties.
+	 * @param defaultObj Object created with the default values.
+	 * @param defaultValues Default values.
+	 * @param otherValues Values different from the default ones.
+	 * @param from Index of the first mutable slot to test (inclusive).
+	 * @param to Index of the last mutable slot to test (exclusive).
+	 * @return The failure of the first property that fails or null.
+	 */
+	private BeanLikeFailure checkEqualsAndHashOfMutableSlots(Object defaultObj, PropertyValueVector defaultValues, PropertyValueVector otherValues, int from, int to) {
+		final int defaultHashCode = defaultObj.hashCode();
+		final int[] mutableSlots = metadata.getMutableSlots();
+		for (int i = from; i < to; i++) {
+			final int slot = mutableSlots[i];
+			final Object otherObject1 = createObjectWithSecificPropertySet(defaultValues, slot, otherValues);
+			final int otherHashCode1 = otherObject1.hashCode();
+
+			if (defaultHashCode == otherHashCode1) {
+				return new BeanLikeFailure("The hashcodes of different objects should be different for the tests, please change the values or check that hashcode() is correct\nobject1:",
+				                           defaultObj, " hashcode:", Integer.valueOf(defaultHashCode), "\nobject2:", otherObject1, " hashcode:", Integer.valueOf(otherHashCode1));
+			}
+
+			// Verify that the bean is not equal to the default one as one property has been changed.
+			final boolean equals1 = otherObject1.equals(defaultObj);
+			final boolean equals2 = defaultObj.equals(otherObject1);
+			if (equals1 || equals2) {
+				return new BeanLikeFailure("The equals method must return false for the comparison between objects with different properties:\nobject1:",
+				                           otherObject1, "\nobject2:", defaultObj);
+			}
+
+			// Create another object exactly the same properties to test equals() and hashCode()
+			final Object otherObject2 = createObjectWithSecificPropertySet(defaultValues, slot, otherValues);
+			final int otherHashCode2 = otherObject2.hashCode();
+			// Two beans with the same properties must be equal.
+			if (!otherObject1.equals(otherObject2)) {
+				return new BeanLikeFailure("The equals method should return true for the comparison between objects with the same properties:\nobject1:",
+				                           otherObject1, "\nobject2:", otherObject2);
+			}
+
+			// Two beans with the same properties must have the same hashcode.
+			if (!(otherHashCode1 == otherHashCode2)) {
+				return new BeanLikeFailure("The hashcodes must be equal:\nobject1:", otherObject1, " hashcode:", Integer.valueOf(otherHashCode1), "\nobject2:",
+				                           otherObject2, " hashcode:", Integer.valueOf(otherHashCode2));
 			}
 		}
-		return propsAndSetters;
+		return null;
 	}
 
 	/**
-	 * Verify that the beanLike object returns the expected value for the properties 'propertiesToVerify'.
-	 * @param beanLike Object to test.
-	 * @param propertiesToVerify List of properties to verify.
-	 * @param propertiesAndValuesExpected Property names and their corresponding value expected.
-	 * @throws BeanLikeTesterException if the object doesn't return an expected value.
+	 * Draw a value set and test the mutators, the accessors, equals() and hashCode() with it.
+	 * @param defaultValues Default values.
+	 * @param valueSetSeed Seed of the value set.
+	 * @param drawer Drawer of the worker.
+	 * @param random Generator of the worker, reseeded with 'valueSetSeed'.
+	 * @param otherValues Vector of the worker, refilled with the values drawn.
+	 * @return The failure or null if the tests succeed.
+	 * @throws BeanLikeTesterException if the type of a property can't be drawn.
 	 */
-	private void verifyPropertyValuesFromAccessors(Object beanLike, List<String> propertiesToVerify, final PropertiesAndValues propertiesAndValuesExpected) {
-		for (final String propertyToVerify : propertiesToVerify) {
-			verifyPropertyValueFromAccessor(beanLike, propertyToVerify, propertiesAndValuesExpected.get(propertyToVerify));
+	private BeanLikeFailure checkValueSet(PropertyValueVector defaultValues, long valueSetSeed, RandomValueDrawer drawer, SplitMix64 random,
+	                                      PropertyValueVector otherValues) {
+		random.reset(valueSetSeed);
+		for (final int slot : metadata.getMutableSlots()) {
+			int drawCount = 0;
+			do {
+				if (++drawCount > MAX_DRAWS) {
+					return new BeanLikeFailure("Unable to draw a value of the property '", metadata.getPropertyName(slot), "' different from its default value: ",
+					                           defaultValues.get(slot));
+				}
+				drawer.draw(random, slot, otherValues);
+			} while (!areValuesDifferent(defaultValues, otherValues, slot));
+		}
+
+		try {
+			final BeanLikeFailure failure = doCheckMutatorsAndAccessors(defaultValues, otherValues, null);
+			return failure != null ? failure : doCheckEqualsAndHash(defaultValues, otherValues, null);
+		} catch (final RuntimeException e) {
+			// e.g. a setter rejecting the value drawn.
+			return new BeanLikeFailure("Exception thrown: ", e);
+		}
+	}
+
+	private BeanLikeFailure doCheckToString(PropertyValueVector defaultValues, PropertyValueVector otherValues, ForkJoinPool pool) {
+		final BeanLikeFailure failure = checkAllValuesFromMutablePropsAreDifferent(defaultValues, otherValues);
+		if (failure != null) {
+			return failure;
 		}
+
+		// Test only the mutable properties.
+		if (isForkJoinWorthIt(pool)) {
+			return pool.invoke(new MutableSlotsTask(Phase.TO_STRING, defaultValues, otherValues, 0, metadata.getMutableSlots().length));
+		}
+		return checkToStringOfMutableSlots(createObjectWithDefaultValues(defaultValues).toString(), defaultValues, otherValues, 0, metadata.getMutableSlots().length);
 	}
 
 	/**
-	 * Verify that the beanLike object returns the expected value for the property 'propertyName'.
-	 * @param beanLike Instance to test.
-	 * @param propertyName Property to verify.
-	 * @param expectedValue Expected value.
-	 * @throws BeanLikeTesterException if the object doesn't return the expected value.
+	 * Test toString() for a range of the mutable properties.
+	 * @param toStringFromDefaultValues Result of toString() for an object created with the default values.
+	 * @param defaultValues Default values.
+	 * @param otherValues Values different from the default ones.
+	 * @param from Index of the first mutable slot to test (inclusive).
+	 * @param to Index of the last mutable slot to test (exclusive).
+	 * @return The failure of the first property that fails or null.
 	 */
-	private void verifyPropertyValueFromAccessor(Object beanLike, String propertyName, Object expectedValue) {
-		final Object returnedValue = getProperty(beanLike, propertyName);
-		if (areValuesDifferent(expectedValue, returnedValue)) {
-			throw new BeanLikeTesterException("The value of the property '" + propertyName + "' returned (" + returnedValue
-			                                  + ") is not the same as the one expected (" + expectedValue + ")");
+	private BeanLikeFailure checkToStringOfMutableSlots(String toStringFromDefaultValues, PropertyValueVector defaultValues, PropertyValueVector otherValues, int from, int to) {
+		final int[] mutableSlots = metadata.getMutableSlots();
+		for (int i = from; i < to; i++) {
+			final int slot = mutableSlots[i];
+			final Object object = createObjectWithSecificPropertySet(defaultValues, slot, otherValues);
+			final String toStringFromOtherValues = object.toString();
+			if (!areValuesDifferent(toStringFromDefaultValues, toStringFromOtherValues)) {
+				return new BeanLikeFailure("The result of toString() should depend on the property '", metadata.getPropertyName(slot), "'");
+			}
 		}
+		return null;
 	}
 
-	private Object getProperty(Object beanLike, String propertyName) {
-		final Method accessor = accessors.get(propertyName);
-		final Object returnedValue = invokeMethod(beanLike, accessor, (Object[]) null);
-		return returnedValue;
+	private boolean isForkJoinWorthIt(ForkJoinPool pool) {
+		return (pool != null) && (metadata.getMutableSlots().length > SEQUENTIAL_SLOTS_CUTOFF);
 	}
 
 	/**
-	 * Verify that the property names to test are the same as the beanLike properties.
-	 * @param propertyNamesToTest Property names to test.
-	 * @throws BeanLikeTesterException if the set of properties to test is different from the properties accessible from the object.
+	 * Test equals() and hashCode() or toString() for a range of the mutable properties, split into subtasks
+	 * until the ranges have at most {@link BeanLikeTester#SEQUENTIAL_SLOTS_CUTOFF} properties.<br/>
+	 * Each leaf task creates its own object with the default values, so no object is shared between threads.
+	 * The failure returned is the one of the lowest failing slot, as when the properties are tested sequentially.
 	 */
-	private void verifyPropertyNamesAreTheSameAs(Set<String> propertyNamesToTest) {
-		if (!gettablePropertyNames.equals(propertyNamesToTest)) {
-			throw new BeanLikeTesterException("The set of properties to test is different from the properties accessible from the object:\nFrom object: "
-			                                  + gettablePropertyNames + "\nTo test:     " + propertyNamesToTest);
+	private final class MutableSlotsTask extends RecursiveTask<BeanLikeFailure> {
+		private static final long         serialVersionUID = 1L;
+
+		private final Phase               phase;
+		private final PropertyValueVector defaultValues;
+		private final PropertyValueVector otherValues;
+		private final int                 from;
+		private final int                 to;
+
+		MutableSlotsTask(Phase phase, PropertyValueVector defaultValues, PropertyValueVector otherValues, int from, int to) {
+			this.phase = phase;
+			this.defaultValues = defaultValues;
+			this.otherValues = otherValues;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected BeanLikeFailure compute() {
+			if ((to - from) <= SEQUENTIAL_SLOTS_CUTOFF) {
+				final Object defaultObj = createObjectWithDefaultValues(defaultValues);
+				if (phase == Phase.EQUALS_AND_HASH) {
+					return checkEqualsAndHashOfMutableSlots(defaultObj, defaultValues, otherValues, from, to);
+				}
+				return checkToStringOfMutableSlots(defaultObj.toString(), defaultValues, otherValues, from, to);
+			}
+			final int middle = (from + to) >>> 1;
+			final MutableSlotsTask upperHalf = new MutableSlotsTask(phase, defaultValues, otherValues, middle, to);
+			upperHalf.fork();
+			final BeanLikeFailure lowerHalfFailure = new MutableSlotsTask(phase, defaultValues, otherValues, from, middle).compute();
+			final BeanLikeFailure upperHalfFailure = upperHalf.join();
+			return lowerHalfFailure != null ? lowerHalfFailure : upperHalfFailure;
 		}
 	}
 
-	private void verifyContainsAtLeastAllMutableProperties(Set<String> properties) {
-		if (!properties.containsAll(mutablePropertyNames)) {
-			throw new BeanLikeTesterException("The properties defined in parameter must at least contain all the settable properties of the object.\nParameter:"
-			                                  + properties + "\nObject:" + mutablePropertyNames);
+	/** Checks made by the test nodes. */
+	private enum NodeCheck {
+		DEFAULT_VALUES, CONSTRUCTOR_ARGUMENTS, SETTER, EQUALS, EQUALS_AND_HASH, TO_STRING
+	}
+
+	/**
+	 * A single check of a test node, on its own objects: the nodes of a tester can run in any order and at the same time.
+	 */
+	private final class TestNodeCheck implements Callable<BeanLikeFailure> {
+		private final NodeCheck           check;
+		private final int                 constructorIndex;
+		/** Slot of the setter or index of the mutable property. */
+		private final int                 index;
+		private final PropertyValueVector defaultValues;
+		private final PropertyValueVector otherValues;
+
+		TestNodeCheck(NodeCheck check, int constructorIndex, int index, PropertyValueVector defaultValues, PropertyValueVector otherValues) {
+			this.check = check;
+			this.constructorIndex = constructorIndex;
+			this.index = index;
+			this.defaultValues = defaultValues;
+			this.otherValues = otherValues;
+		}
+
+		@Override
+		public BeanLikeFailure call() {
+			switch (check) {
+				case DEFAULT_VALUES:
+					return checkDefaultValuesOfConstructor(constructorIndex, defaultValues);
+				case CONSTRUCTOR_ARGUMENTS:
+					return checkPropertyValuesFromAccessors(getNewInstance(constructorIndex, otherValues), metadata.getConstructorArgumentSlots(constructorIndex),
+					                                        otherValues);
+				case SETTER:
+					return checkSetterOfConstructor(constructorIndex, index, defaultValues, otherValues);
+				case EQUALS:
+					return checkEqualsWithoutOtherValues(createObjectWithDefaultValues(defaultValues));
+				case EQUALS_AND_HASH:
+					return checkEqualsAndHashOfMutableSlots(createObjectWithDefaultValues(defaultValues), defaultValues, otherValues, index, index + 1);
+				default:
+					return checkToStringOfMutableSlots(createObjectWithDefaultValues(defaultValues).toString(), defaultValues, otherValues, index, index + 1);
+			}
 		}
 	}
 
-	private Object createObjectWithSecificPropertySet(PropertiesAndValues propsWithDefaultValue, String property, Object value) {
-		final PropertiesAndValues propsWithValue = new PropertiesAndValues(propsWithDefaultValue);
-		propsWithValue.put(property, value);
+	/**
+	 * Check of the pairs of a batch, one after the other, keeping what can be reused from one pair to the next:
+	 * the default vector already validated and the default object (or its toString()), which only depends on the
+	 * values of the parameters of the first constructor.
+	 */
+	private final class BatchCheck {
+		private final Phase         phase;
+		private PropertyValueVector validatedDefaultValues;
+		private Object              defaultObj;
+		private BeanLikeFailure     defaultObjFailure;
+		private String              defaultToString;
+
+		BatchCheck(Phase phase) {
+			this.phase = phase;
+		}
 
-		// If possible create an object with default values and then set the property.
-		if (settablePropertyNames.contains(property)) {
-			final Object object = createObjectWithDefaultValues(propsWithDefaultValue);
-			setProperty(object, property, value);
-			return object;
+		private boolean haveSameConstructorArguments(PropertyValueVector values, PropertyValueVector otherValues) {
+			for (final int slot : metadata.getConstructorArgumentSlots(0)) {
+				if (areValuesDifferent(values, otherValues, slot)) {
+					return false;
+				}
+			}
+			return true;
 		}
 
-		// If no setters existed then find the first combination constructor that could set the property.
-		for (final Entry<List<Class<?>>, List<String>> entry : constructorsSignaturesAndProperties.entrySet()) {
-			final List<String> constructorPropertyNames = entry.getValue();
-			if (constructorPropertyNames.contains(property)) {
-				final Class<?>[] constructorSignature = entry.getKey().toArray(new Class[0]);
-				final List<Object> constructorValues = new ArrayList<Object>();
-				for (final String propertyName : constructorPropertyNames) {
-					constructorValues.add(propsWithValue.get(propertyName));
+		/**
+		 * @return The failure of the pair or null if it passes the check.
+		 * @throws BeanLikeTesterException if a vector has been created for another class or a setter or a constructor throws an exception.
+		 */
+		BeanLikeFailure check(ValueSetPair pair) {
+			final PropertyValueVector defaultValues = pair.getDefaultValues();
+			final PropertyValueVector otherValues = pair.getOtherValues();
+			if (defaultValues != validatedDefaultValues) {
+				verifyHasTheSameLayout(defaultValues);
+				// The default values must contain all the properties to check them.
+				final BeanLikeFailure failure = phase == Phase.DEFAULT_VALUES ? checkPropertyNamesAreTheSameAs(defaultValues.getPropertyNames())
+				                                                              : checkContainsAtLeastAllMutableProperties(defaultValues, defaultValues);
+				if (failure != null) {
+					return failure;
+				}
+				if ((validatedDefaultValues == null) || !haveSameConstructorArguments(validatedDefaultValues, defaultValues)) {
+					// Created again when needed.
+					defaultObj = null;
+					defaultToString = null;
 				}
-				return createNewInstance(beanLikeClass.getName(), constructorSignature, constructorValues.toArray());
+				validatedDefaultValues = defaultValues;
+			}
+			if (phase == Phase.DEFAULT_VALUES) {
+				return doCheckDefaultValues(defaultValues, null);
+			}
+
+			BeanLikeFailure failure = checkContainsAtLeastAllMutableProperties(otherValues, otherValues);
+			if (failure == null) {
+				failure = checkAllValuesFromMutablePropsAreDifferent(defaultValues, otherValues);
+			}
+			if (failure != null) {
+				return failure;
+			}
+			final int mutableSlotCount = metadata.getMutableSlots().length;
+			switch (phase) {
+				case MUTATORS_AND_ACCESSORS:
+					return doCheckMutatorsAndAccessors(defaultValues, otherValues, null);
+				case EQUALS_AND_HASH:
+					if (defaultObj == null) {
+						defaultObj = createObjectWithDefaultValues(defaultValues);
+						defaultObjFailure = checkEqualsWithoutOtherValues(defaultObj);
+					}
+					return defaultObjFailure != null ? defaultObjFailure : checkEqualsAndHashOfMutableSlots(defaultObj, defaultValues, otherValues, 0, mutableSlotCount);
+				default:
+					if (defaultToString == null) {
+						defaultToString = createObjectWithDefaultValues(defaultValues).toString();
+					}
+					return checkToStringOfMutableSlots(defaultToString, defaultValues, otherValues, 0, mutableSlotCount);
 			}
 		}
-		throw new RuntimeException("The property '" + property + "' must be settable by either a setter or a constructor!");
 	}
 
-	private Object createObjectWithDefaultValues(PropertiesAndValues propsWithDefaultValue) {
-		// Create the object with default values (any constructor will do).
-		final Constructor<?> constructor = beanLikeClass.getConstructors()[0];
-		return getNewInstance(constructor, propsWithDefaultValue);
-	}
+	/**
+	 * Worker of the fuzzing, checking the value sets drawn from its own stream until the first failure.<br/>
+	 * The number of value sets checked and the seed of the failing one are written at the index of the worker.
+	 */
+	private final class FuzzWorker implements Callable<BeanLikeFailure> {
+		private final int                 worker;
+		private final SplitMix64          stream;
+		private final long                valueSetCount;
+		private final PropertyValueVector defaultValues;
+		private final ValueGenerator      generator;
+		private final long[]              valueSetCounts;
+		private final long[]              failureSeeds;
+
+		FuzzWorker(int worker, SplitMix64 stream, long valueSetCount, PropertyValueVector defaultValues, ValueGenerator generator, long[] valueSetCounts,
+		           long[] failureSeeds) {
+			this.worker = worker;
+			this.stream = stream;
+			this.valueSetCount = valueSetCount;
+			this.defaultValues = defaultValues;
+			this.generator = generator;
+			this.valueSetCounts = valueSetCounts;
+			this.failureSeeds = failureSeeds;
+		}
 
-	private void verifyAllValuesFromMutablePropsAreDifferent(PropertiesAndValues propsWithValue, PropertiesAndValues propsWithOtherValue) {
-		for (final Entry<String, Object> entry : propsWithValue.entrySet()) {
-			final String property = entry.getKey();
-			final Object value = entry.getValue();
-			if (mutablePropertyNames.contains(property) && !areValuesDifferent(value, propsWithOtherValue.get(property))) {
-				throw new BeanLikeTesterException("The value of the  property '" + property + "' must be different in the parameters.");
+		@Override
+		public BeanLikeFailure call() {
+			final RandomValueDrawer drawer = new RandomValueDrawer(metadata, generator);
+			final SplitMix64 random = new SplitMix64(0L);
+			final PropertyValueVector otherValues = newValueVector();
+			for (long count = 0; (count < valueSetCount) && !Thread.currentThread().isInterrupted(); count++) {
+				final long valueSetSeed = stream.nextLong();
+				final BeanLikeFailure failure = checkValueSet(defaultValues, valueSetSeed, drawer, random, otherValues);
+				valueSetCounts[worker] = count + 1;
+				if (failure != null) {
+					failureSeeds[worker] = valueSetSeed;
+					return failure;
+				}
 			}
+			return null;
 		}
 	}
 
 	// ------------------------------------  Public methods  -----------------------------------------
 
+	/**
+	 * Create an empty vector of values for the properties of the beanLike tested.
+	 * @return A new vector without any value.
+	 * @see PropertyValueVector
+	 */
+	public PropertyValueVector newValueVector() {
+		return new PropertyValueVector(metadata);
+	}
+
+	/**
+	 * Create a vector of values for the properties of the beanLike tested.
+	 * @param propertiesAndValues Property names and their value.
+	 * @return A new vector with the same values as 'propertiesAndValues'.
+	 * @throws BeanLikeTesterException if one of the properties isn't a property of the beanLike tested.
+	 * @see PropertyValueVector
+	 */
+	public PropertyValueVector toValueVector(PropertiesAndValues propertiesAndValues) {
+		return PropertyValueVector.of(metadata, propertiesAndValues, false);
+	}
+
+	/**
+	 * Generate the default values of the properties from their types.<br/>
+	 * An object is created with the first constructor, whose parameters are the default values of their type (null, 0 or false),
+	 * and the default values are the ones returned by its accessors.
+	 * @param generator Generator of the values.
+	 * @return Property names and their default value.
+	 * @throws BeanLikeTesterException if the type of a constructor's parameter isn't supported by the generator or the object couldn't be created.
+	 */
+	public PropertiesAndValues generateDefaultValues(ValueGenerator generator) {
+		final Class<?>[] parameterTypes = metadata.getConstructor(0).getParameterTypes();
+		final int[] argumentSlots = metadata.getConstructorArgumentSlots(0);
+		PropertyValueVector arguments = newValueVector();
+		for (int i = 0; i < argumentSlots.length; i++) {
+			arguments = arguments.with(metadata.getPropertyName(argumentSlots[i]), generator.generateDefaultValue(parameterTypes[i]));
+		}
+		final Object beanLike = getNewInstance(0, arguments);
+
+		final PropertiesAndValues defaultValues = new PropertiesAndValues();
+		for (int slot = 0; slot < propertyCount; slot++) {
+			defaultValues.put(metadata.getPropertyName(slot), getProperty(beanLike, slot));
+		}
+		return defaultValues;
+	}
+
+	/**
+	 * Generate values of the mutable properties from the accessors' generic return types.<br/>
+	 * The type variables bound by the superclasses are resolved, e.g. a 'List&lt;T&gt;' property declared by 'Holder&lt;T&gt;'
+	 * contains Integers for a class extending 'Holder&lt;Integer&gt;'.<br/>
+	 * Each value is different from the default one returned by {@link #generateDefaultValues(ValueGenerator)},
+	 * so that the values can be used by {@link #testBeanLike(PropertiesAndValues, PropertiesAndValues)}.
+	 * @param generator Generator of the values.
+	 * @return Property names and their value.
+	 * @throws BeanLikeTesterException if the type of a property isn't supported by the generator
+	 *                                 or if the generator can't give a value different from the default one.
+	 */
+	public PropertiesAndValues generateOtherValues(ValueGenerator generator) {
+		final PropertiesAndValues defaultValues = generateDefaultValues(generator);
+		final PropertiesAndValues otherValues = new PropertiesAndValues();
+		for (final int slot : metadata.getMutableSlots()) {
+			final String propertyName = metadata.getPropertyName(slot);
+			final Type type = metadata.getPropertyType(slot);
+			final Object defaultValue = defaultValues.get(propertyName);
+			Object value = generator.generateValue(type, 0);
+			if (!areValuesDifferent(defaultValue, value)) {
+				value = generator.generateValue(type, 1);
+				if (!areValuesDifferent(defaultValue, value)) {
+					throw new BeanLikeTesterException("Unable to generate a value different from the default one (" + defaultValue + ") for the property '"
+					                                  + propertyName + "'");
+				}
+			}
+			otherValues.put(propertyName, value);
+		}
+		return otherValues;
+	}
+
 	/**
 	 * Test that the default value of the properties (returned by the accessors) 
 	 * are the same as the one defined by the parameter.<br/>
@@ -450,22 +1055,83 @@ public final class BeanLikeTester {
 	 *                        or the properties defined by 'expectedDefaultValues' don't correspond to the beanLike properties.
 	 */
 	public void testDefaultValues(PropertiesAndValues expectedDefaultValues) {
+		throwIfFailed(checkDefaultValues(expectedDefaultValues));
+	}
 
-		verifyPropertyNamesAreTheSameAs(expectedDefaultValues.keySet());
-		// Test the initial value for all the possible ways to create the object. 
-		for (final Constructor<?> constructor : beanLikeClass.getConstructors()) {
-			final Object beanLike = getNewInstance(constructor, expectedDefaultValues);
-
-			for (final Entry<String, Method> entry : accessors.entrySet()) {
-				final String propertyName = entry.getKey();
-				final Object expected = expectedDefaultValues.get(propertyName);
-				final Object returned = getProperty(beanLike, propertyName);
-				if (areValuesDifferent(returned, expected)) {
-					throw new BeanLikeTesterException("The value of the property '" + propertyName + "' returned (" + returned
-					                                  + ") is not the same as the one expected (" + expected + ")");
-				}
-			}
-		}
+	/**
+	 * Same as {@link #testDefaultValues(PropertiesAndValues)} with a vector of values.
+	 * @param expectedDefaultValues Properties and their expected default value.
+	 * @throws BeanLikeTesterException if the test fails or the vector has been created for another class.
+	 */
+	public void testDefaultValues(PropertyValueVector expectedDefaultValues) {
+		throwIfFailed(checkDefaultValues(expectedDefaultValues));
+	}
+
+	/**
+	 * Same as {@link #testDefaultValues(PropertiesAndValues)} but returns the failure instead of throwing an exception.
+	 * @param expectedDefaultValues Property names and their expected default value.
+	 * @return The failure or null if the test succeeds.
+	 * @throws BeanLikeTesterException if an accessor or a constructor throws an exception.
+	 */
+	public BeanLikeFailure checkDefaultValues(PropertiesAndValues expectedDefaultValues) {
+		return checkDefaultValues(expectedDefaultValues, null);
+	}
+
+	/**
+	 * Same as {@link #testDefaultValues(PropertyValueVector)} but returns the failure instead of throwing an exception.
+	 * @param expectedDefaultValues Properties and their expected default value.
+	 * @return The failure or null if the test succeeds.
+	 * @throws BeanLikeTesterException if the vector has been created for another class or an accessor or a constructor throws an exception.
+	 */
+	public BeanLikeFailure checkDefaultValues(PropertyValueVector expectedDefaultValues) {
+		return checkDefaultValues(expectedDefaultValues, null);
+	}
+
+	/**
+	 * Same as {@link #testDefaultValues(PropertiesAndValues)} but the objects created by each constructor are tested
+	 * by tasks running on an executor.<br/>
+	 * The exception thrown is the same as when the constructors are tested sequentially.
+	 * @param expectedDefaultValues Property names and their expected default value.
+	 * @param executor Executor running the tasks.
+	 * @throws BeanLikeTesterException if the test fails.
+	 */
+	public void testDefaultValues(PropertiesAndValues expectedDefaultValues, Executor executor) {
+		throwIfFailed(checkDefaultValues(expectedDefaultValues, executor));
+	}
+
+	/**
+	 * Same as {@link #testDefaultValues(PropertiesAndValues, Executor)} with a vector of values.
+	 * @param expectedDefaultValues Properties and their expected default value.
+	 * @param executor Executor running the tasks.
+	 * @throws BeanLikeTesterException if the test fails or the vector has been created for another class.
+	 */
+	public void testDefaultValues(PropertyValueVector expectedDefaultValues, Executor executor) {
+		throwIfFailed(checkDefaultValues(expectedDefaultValues, executor));
+	}
+
+	/**
+	 * Same as {@link #testDefaultValues(PropertiesAndValues, Executor)} but returns the failure instead of throwing an exception.
+	 * @param expectedDefaultValues Property names and their expected default value.
+	 * @param executor Executor running the tasks or null to test the constructors on the calling thread.
+	 * @return The failure or null if the test succeeds.
+	 * @throws BeanLikeTesterException if an accessor or a constructor throws an exception.
+	 */
+	public BeanLikeFailure checkDefaultValues(PropertiesAndValues expectedDefaultValues, Executor executor) {
+		final BeanLikeFailure failure = checkPropertyNamesAreTheSameAs(expectedDefaultValues.keySet());
+		return failure != null ? failure : doCheckDefaultValues(toSlotValues(expectedDefaultValues), executor);
+	}
+
+	/**
+	 * Same as {@link #testDefaultValues(PropertyValueVector, Executor)} but returns the failure instead of throwing an exception.
+	 * @param expectedDefaultValues Properties and their expected default value.
+	 * @param executor Executor running the tasks or null to test the constructors on the calling thread.
+	 * @return The failure or null if the test succeeds.
+	 * @throws BeanLikeTesterException if the vector has been created for another class or an accessor or a constructor throws an exception.
+	 */
+	public BeanLikeFailure checkDefaultValues(PropertyValueVector expectedDefaultValues, Executor executor) {
+		verifyHasTheSameLayout(expectedDefaultValues);
+		final BeanLikeFailure failure = checkPropertyNamesAreTheSameAs(expectedDefaultValues.getPropertyNames());
+		return failure != null ? failure : doCheckDefaultValues(expectedDefaultValues, executor);
 	}
 
 	/**
@@ -479,37 +1145,245 @@ public final class BeanLikeTester {
 	 * @throws BeanLikeTesterException if the test fails.
 	 */
 	public void testMutatorsAndAccessors(PropertiesAndValues propsWithValue, PropertiesAndValues otherPropsWithValue) {
-		verifyContainsAtLeastAllMutableProperties(propsWithValue.keySet());
-		verifyContainsAtLeastAllMutableProperties(otherPropsWithValue.keySet());
+		throwIfFailed(checkMutatorsAndAccessors(propsWithValue, otherPropsWithValue));
+	}
 
-		// --- Test the modification from all the constructors.
-		for (final Constructor<?> constructor : beanLikeClass.getConstructors()) {
-			final List<Class<?>> constructorSignature = Arrays.asList(constructor.getParameterTypes());
-
-			final Object beanLike = getNewInstance(constructor, otherPropsWithValue);
-			// If it's not a constructor by default, test that the properties defined by the constructor's arguments are effectively set.
-			if (!constructorSignature.isEmpty()) {
-				final List<String> propertyNamesInConstructor = constructorsSignaturesAndProperties.get(constructorSignature);
-				verifyPropertyValuesFromAccessors(beanLike, propertyNamesInConstructor, otherPropsWithValue);
-			}
-
-			// --- Test the modifications from the setters.
-			// As a non default value may have already been set by the constructor, we first set the default value, check it and
-			// then set another value and check it again.
-			final List<PropertiesAndValues> rounds = new ArrayList<PropertiesAndValues>();
-			rounds.add(propsWithValue);
-			rounds.add(otherPropsWithValue);
-			// For default values and then other values:
-			for (final PropertiesAndValues propertiesAndValues : rounds) {
-				// For all the setters:
-				for (final Entry<String, Method> entry : setters.entrySet()) {
-					final String propertyName = entry.getKey();
-					final Object valueToSet = propertiesAndValues.get(propertyName);
-					setProperty(beanLike, propertyName, valueToSet);
-					verifyPropertyValueFromAccessor(beanLike, propertyName, valueToSet);
-				}
+	/**
+	 * Same as {@link #testMutatorsAndAccessors(PropertiesAndValues, PropertiesAndValues)} with vectors of values.
+	 * @param values Properties and their value. It must at least contain all the settable properties.
+	 * @param otherValues Properties and their value different from 'values'. It must at least contain all the settable properties.
+	 * @throws BeanLikeTesterException if the test fails or a vector has been created for another class.
+	 */
+	public void testMutatorsAndAccessors(PropertyValueVector values, PropertyValueVector otherValues) {
+		throwIfFailed(checkMutatorsAndAccessors(values, otherValues));
+	}
+
+	/**
+	 * Same as {@link #testMutatorsAndAccessors(PropertiesAndValues, PropertiesAndValues)} but returns the failure instead of throwing an exception.
+	 * @param propsWithValue Property names (keys) and their value.
+	 * @param otherPropsWithValue Property names (keys) and their value different from 'propsWithValue'.
+	 * @return The failure or null if the test succeeds.
+	 * @throws BeanLikeTesterException if an accessor, a setter or a constructor throws an exception.
+	 */
+	public BeanLikeFailure checkMutatorsAndAccessors(PropertiesAndValues propsWithValue, PropertiesAndValues otherPropsWithValue) {
+		return checkMutatorsAndAccessors(propsWithValue, otherPropsWithValue, null);
+	}
+
+	/**
+	 * Same as {@link #testMutatorsAndAccessors(PropertyValueVector, PropertyValueVector)} but returns the failure instead of throwing an exception.
+	 * @param values Properties and their value.
+	 * @param otherValues Properties and their value different from 'values'.
+	 * @return The failure or null if the test succeeds.
+	 * @throws BeanLikeTesterException if a vector has been created for another class or an accessor, a setter or a constructor throws an exception.
+	 */
+	public BeanLikeFailure checkMutatorsAndAccessors(PropertyValueVector values, PropertyValueVector otherValues) {
+		return checkMutatorsAndAccessors(values, otherValues, null);
+	}
+
+	/**
+	 * Same as {@link #testMutatorsAndAccessors(PropertiesAndValues, PropertiesAndValues)} but the objects created by each
+	 * constructor are tested by tasks running on an executor.<br/>
+	 * The exception thrown is the same as when the constructors are tested sequentially.
+	 * @param propsWithValue Property names (keys) and their value.
+	 * @param otherPropsWithValue Property names (keys) and their value different from 'propsWithValue'.
+	 * @param executor Executor running the tasks.
+	 * @throws BeanLikeTesterException if the test fails.
+	 */
+	public void testMutatorsAndAccessors(PropertiesAndValues propsWithValue, PropertiesAndValues otherPropsWithValue, Executor executor) {
+		throwIfFailed(checkMutatorsAndAccessors(propsWithValue, otherPropsWithValue, executor));
+	}
+
+	/**
+	 * Same as {@link #testMutatorsAndAccessors(PropertiesAndValues, PropertiesAndValues, Executor)} with vectors of values.
+	 * @param values Properties and their value.
+	 * @param otherValues Properties and their value different from 'values'.
+	 * @param executor Executor running the tasks.
+	 * @throws BeanLikeTesterException if the test fails or a vector has been created for another class.
+	 */
+	public void testMutatorsAndAccessors(PropertyValueVector values, PropertyValueVector otherValues, Executor executor) {
+		throwIfFailed(checkMutatorsAndAccessors(values, otherValues, executor));
+	}
+
+	/**
+	 * Same as {@link #testMutatorsAndAccessors(PropertiesAndValues, PropertiesAndValues, Executor)} but returns the failure instead of throwing an exception.
+	 * @param propsWithValue Property names (keys) and their value.
+	 * @param otherPropsWithValue Property names (keys) and their value different from 'propsWithValue'.
+	 * @param executor Executor running the tasks or null to test the constructors on the calling thread.
+	 * @return The failure or null if the test succeeds.
+	 * @throws BeanLikeTesterException if an accessor, a setter or a constructor throws an exception.
+	 */
+	public BeanLikeFailure checkMutatorsAndAccessors(PropertiesAndValues propsWithValue, PropertiesAndValues otherPropsWithValue, Executor executor) {
+		final BeanLikeFailure failure = checkContainsAtLeastAllMutableProperties(propsWithValue.keySet(), otherPropsWithValue.keySet());
+		return failure != null ? failure : doCheckMutatorsAndAccessors(toSlotValues(propsWithValue), toSlotValues(otherPropsWithValue), executor);
+	}
+
+	/**
+	 * Same as {@link #testMutatorsAndAccessors(PropertyValueVector, PropertyValueVector, Executor)} but returns the failure instead of throwing an exception.
+	 * @param values Properties and their value.
+	 * @param otherValues Properties and their value different from 'values'.
+	 * @param executor Executor running the tasks or null to test the constructors on the calling thread.
+	 * @return The failure or null if the test succeeds.
+	 * @throws BeanLikeTesterException if a vector has been created for another class or an accessor, a setter or a constructor throws an exception.
+	 */
+	public BeanLikeFailure checkMutatorsAndAccessors(PropertyValueVector values, PropertyValueVector otherValues, Executor executor) {
+		final BeanLikeFailure failure = checkContainsAtLeastAllMutableProperties(values, otherValues);
+		return failure != null ? failure : doCheckMutatorsAndAccessors(values, otherValues, executor);
+	}
+
+	/**
+	 * Test that the setters and accessors of a single instance can be called from several threads at once.<br/>
+	 * For each property having a setter, the threads race to set the values of 'propsWithValue' and 'otherPropsWithValue'
+	 * and read them back, then set different values at the same time and finally wait for a value set by a single thread.
+	 * The values read must be the ones set: no torn value, no lost update and all the values published to the other threads.
+	 * 
+	 * @param propsWithValue Property names (keys) and their value.<br/>
+	 *                       It must at least contain all the settable properties.
+	 * @param otherPropsWithValue Property names (keys) and their value different from 'propsWithValue'.</br>
+	 *                            It must at least contain all the settable properties.
+	 * @param threadCount Number of threads calling the setters and accessors at the same time (at least 2).
+	 * @param iterations Number of set-then-get per thread and property while racing.
+	 * @throws BeanLikeTesterException if the test fails.
+	 */
+	public void testConcurrentMutatorsAndAccessors(PropertiesAndValues propsWithValue, PropertiesAndValues otherPropsWithValue, int threadCount, int iterations) {
+		checkConcurrentMutatorsAndAccessors(propsWithValue, otherPropsWithValue, threadCount, iterations).throwIfFailed();
+	}
+
+	/**
+	 * Same as {@link #testConcurrentMutatorsAndAccessors(PropertiesAndValues, PropertiesAndValues, int, int)} but returns
+	 * the results of each property, with the number of calls per second, instead of throwing an exception.
+	 * @param propsWithValue Property names (keys) and their value.
+	 * @param otherPropsWithValue Property names (keys) and their value different from 'propsWithValue'.
+	 * @param threadCount Number of threads calling the setters and accessors at the same time (at least 2).
+	 * @param iterations Number of set-then-get per thread and property while racing.
+	 * @return The results of each property having a setter.
+	 * @throws BeanLikeTesterException if the parameters are invalid or a setter, an accessor or a constructor throws an exception.
+	 */
+	public BeanLikeStressReport checkConcurrentMutatorsAndAccessors(PropertiesAndValues propsWithValue, PropertiesAndValues otherPropsWithValue,
+	                                                                int threadCount, int iterations) {
+		throwIfFailed(checkContainsAtLeastAllMutableProperties(propsWithValue.keySet(), otherPropsWithValue.keySet()));
+		return checkConcurrentMutatorsAndAccessors(toSlotValues(propsWithValue), toSlotValues(otherPropsWithValue), threadCount, iterations);
+	}
+
+	/**
+	 * Same as {@link #checkConcurrentMutatorsAndAccessors(PropertiesAndValues, PropertiesAndValues, int, int)} with vectors of values.
+	 * @param values Properties and their value.
+	 * @param otherValues Properties and their value different from 'values'.
+	 * @param threadCount Number of threads calling the setters and accessors at the same time (at least 2).
+	 * @param iterations Number of set-then-get per thread and property while racing.
+	 * @return The results of each property having a setter.
+	 * @throws BeanLikeTesterException if the parameters are invalid, a vector has been created for another class
+	 *         or a setter, an accessor or a constructor throws an exception.
+	 */
+	public BeanLikeStressReport checkConcurrentMutatorsAndAccessors(PropertyValueVector values, PropertyValueVector otherValues, int threadCount, int iterations) {
+		if ((threadCount < 2) || (iterations < 1)) {
+			throw new BeanLikeTesterException("At least 2 threads and 1 iteration are needed (threads: " + threadCount + ", iterations: " + iterations + ")");
+		}
+		throwIfFailed(checkContainsAtLeastAllMutableProperties(values, otherValues));
+		throwIfFailed(checkAllValuesFromMutablePropsAreDifferent(values, otherValues));
+		return new ConcurrentStress(metadata, invoker, threadCount, iterations).run(createObjectWithDefaultValues(values), values, otherValues);
+	}
+
+	/**
+	 * Split the tests of {@link #testBeanLike(PropertiesAndValues, PropertiesAndValues)} into independent test nodes, so that
+	 * a failure doesn't hide the other ones and the test runner can run the nodes in parallel. The nodes are:
+	 *    <ul>
+	 *    <li>the default values of the objects created by each constructor,</li>
+	 *    <li>the properties set by the arguments of each constructor,</li>
+	 *    <li>each setter on the objects created by each constructor,</li>
+	 *    <li>equals() with the object itself, null and another class,</li>
+	 *    <li>equals() and hashCode(), then toString(), for each mutable property.</li>
+	 *    </ul>
+	 * Each node creates its own objects. See {@link BeanLikeTestNode} to run them from TestNG or JUnit.
+	 * 
+	 * @param propsWithDefaultValue Property names (keys) and their default value.
+	 * @param propsWithOtherValue Property names (keys) and their value different from 'propsWithDefaultValue'.
+	 * @return The test nodes, in the order of testBeanLike().
+	 * @throws BeanLikeTesterException if the properties of the parameters don't correspond to the beanLike ones or
+	 *         the values of a mutable property aren't different.
+	 */
+	public List<BeanLikeTestNode> createTestNodes(PropertiesAndValues propsWithDefaultValue, PropertiesAndValues propsWithOtherValue) {
+		throwIfFailed(checkPropertyNamesAreTheSameAs(propsWithDefaultValue.keySet()));
+		throwIfFailed(checkContainsAtLeastAllMutableProperties(propsWithDefaultValue.keySet(), propsWithOtherValue.keySet()));
+		return createTestNodes(toSlotValues(propsWithDefaultValue), toSlotValues(propsWithOtherValue));
+	}
+
+	/**
+	 * Same as {@link #createTestNodes(PropertiesAndValues, PropertiesAndValues)} with vectors of values.
+	 * @param defaultValues Properties and their default value.
+	 * @param otherValues Properties and their value different from 'defaultValues'.
+	 * @return The test nodes, in the order of testBeanLike().
+	 * @throws BeanLikeTesterException if the properties of the vectors don't correspond to the beanLike ones,
+	 *         the values of a mutable property aren't different or a vector has been created for another class.
+	 */
+	public List<BeanLikeTestNode> createTestNodes(PropertyValueVector defaultValues, PropertyValueVector otherValues) {
+		verifyHasTheSameLayout(defaultValues);
+		throwIfFailed(checkPropertyNamesAreTheSameAs(defaultValues.getPropertyNames()));
+		throwIfFailed(checkContainsAtLeastAllMutableProperties(defaultValues, otherValues));
+		throwIfFailed(checkAllValuesFromMutablePropsAreDifferent(defaultValues, otherValues));
+
+		final int constructorCount = metadata.getConstructorCount();
+		final int[] setterSlots = metadata.getSetterSlots();
+		final int[] mutableSlots = metadata.getMutableSlots();
+		final List<BeanLikeTestNode> nodes = new ArrayList<BeanLikeTestNode>();
+		for (int constructorIndex = 0; constructorIndex < constructorCount; constructorIndex++) {
+			nodes.add(newTestNode(NodeCheck.DEFAULT_VALUES, constructorIndex, -1, defaultValues, otherValues, "default values of " + describeConstructor(constructorIndex)));
+		}
+		for (int constructorIndex = 0; constructorIndex < constructorCount; constructorIndex++) {
+			final String constructor = describeConstructor(constructorIndex);
+			nodes.add(newTestNode(NodeCheck.CONSTRUCTOR_ARGUMENTS, constructorIndex, -1, defaultValues, otherValues, "arguments of " + constructor));
+			for (final int slot : setterSlots) {
+				nodes.add(newTestNode(NodeCheck.SETTER, constructorIndex, slot, defaultValues, otherValues,
+				                      metadata.getSetter(slot).getName() + " on " + constructor));
 			}
 		}
+		nodes.add(newTestNode(NodeCheck.EQUALS, -1, -1, defaultValues, otherValues, "equals"));
+		for (int i = 0; i < mutableSlots.length; i++) {
+			nodes.add(newTestNode(NodeCheck.EQUALS_AND_HASH, -1, i, defaultValues, otherValues, "equals and hashCode of " + metadata.getPropertyName(mutableSlots[i])));
+		}
+		for (int i = 0; i < mutableSlots.length; i++) {
+			nodes.add(newTestNode(NodeCheck.TO_STRING, -1, i, defaultValues, otherValues, "toString of " + metadata.getPropertyName(mutableSlots[i])));
+		}
+		return nodes;
+	}
+
+	/**
+	 * Benchmark the contention on the synchronized accessors and setters (found with {@link java.lang.reflect.Modifier#isSynchronized(int)}).<br/>
+	 * For each number of threads, the threads share a single instance and call all the synchronized methods in turn.
+	 * The report gives for each number of threads the throughput, the latencies (median, 99th and 99.9th percentiles, maximum)
+	 * and how far the throughput is from a linear scaling.
+	 * 
+	 * @param propsWithValue Property names (keys) and their value, set by the synchronized setters.<br/>
+	 *                       It must at least contain all the settable properties.
+	 * @param threadCounts Numbers of threads to benchmark, e.g. {1, 2, 4, 8}.
+	 * @param iterations Number of calls per thread and number of threads.
+	 * @return The results for each number of threads or a report without result if the beanLike doesn't have any synchronized accessor or setter.
+	 * @throws BeanLikeTesterException if the parameters are invalid or an accessor, a setter or a constructor throws an exception.
+	 */
+	public BeanLikeContentionReport benchmarkSynchronizedMethods(PropertiesAndValues propsWithValue, int[] threadCounts, int iterations) {
+		throwIfFailed(checkContainsAtLeastAllMutableProperties(propsWithValue.keySet()));
+		return benchmarkSynchronizedMethods(toSlotValues(propsWithValue), threadCounts, iterations);
+	}
+
+	/**
+	 * Same as {@link #benchmarkSynchronizedMethods(PropertiesAndValues, int[], int)} with a vector of values.
+	 * @param values Properties and their value. It must at least contain all the settable properties.
+	 * @param threadCounts Numbers of threads to benchmark.
+	 * @param iterations Number of calls per thread and number of threads.
+	 * @return The results for each number of threads or a report without result if the beanLike doesn't have any synchronized accessor or setter.
+	 * @throws BeanLikeTesterException if the parameters are invalid, the vector has been created for another class
+	 *         or an accessor, a setter or a constructor throws an exception.
+	 */
+	public BeanLikeContentionReport benchmarkSynchronizedMethods(PropertyValueVector values, int[] threadCounts, int iterations) {
+		if ((threadCounts == null) || (threadCounts.length == 0) || (iterations < 1)) {
+			throw new BeanLikeTesterException("At least 1 number of threads and 1 iteration are needed");
+		}
+		for (final int threadCount : threadCounts) {
+			if (threadCount < 1) {
+				throw new BeanLikeTesterException("The numbers of threads must be strictly positive: " + Arrays.toString(threadCounts));
+			}
+		}
+		throwIfFailed(checkContainsAtLeastAllMutableProperties(values, values));
+		return new ContentionBenchmark(metadata, invoker).run(createObjectWithDefaultValues(values), values, threadCounts, iterations);
 	}
 
 	/**
@@ -522,64 +1396,300 @@ public final class BeanLikeTester {
 	 * @throws BeanLikeTesterException if the test fails.
 	 */
 	public void testEqualsAndHash(PropertiesAndValues propsWithDefaultValue, PropertiesAndValues propsWithOtherValue) {
-		verifyContainsAtLeastAllMutableProperties(propsWithDefaultValue.keySet());
-		verifyContainsAtLeastAllMutableProperties(propsWithOtherValue.keySet());
-		verifyAllValuesFromMutablePropsAreDifferent(propsWithDefaultValue, propsWithOtherValue);
+		throwIfFailed(checkEqualsAndHash(propsWithDefaultValue, propsWithOtherValue));
+	}
 
-		final Object defaultObj = createObjectWithDefaultValues(propsWithDefaultValue);
-		final int defaultHashCode = defaultObj.hashCode();
+	/**
+	 * Same as {@link #testEqualsAndHash(PropertiesAndValues, PropertiesAndValues)} with vectors of values.
+	 * @param defaultValues Properties and their value. It must at least contain all the settable properties.
+	 * @param otherValues Properties and their value different from 'defaultValues'. It must at least contain all the settable properties.
+	 * @throws BeanLikeTesterException if the test fails or a vector has been created for another class.
+	 */
+	public void testEqualsAndHash(PropertyValueVector defaultValues, PropertyValueVector otherValues) {
+		throwIfFailed(checkEqualsAndHash(defaultValues, otherValues));
+	}
 
-		// Verify that the bean is equal to itself.
-		if (!defaultObj.equals(defaultObj)) {
-			throw new BeanLikeTesterException("The equals method must return true when the object is compared to itself:\nObject:" + defaultObj);
+	/**
+	 * Same as {@link #testEqualsAndHash(PropertiesAndValues, PropertiesAndValues)} but returns the failure instead of throwing an exception.
+	 * @param propsWithDefaultValue Property names (keys) and their value.
+	 * @param propsWithOtherValue Property names (keys) and their value different from 'propsWithDefaultValue'.
+	 * @return The failure or null if the test succeeds.
+	 * @throws BeanLikeTesterException if a setter or a constructor throws an exception.
+	 */
+	public BeanLikeFailure checkEqualsAndHash(PropertiesAndValues propsWithDefaultValue, PropertiesAndValues propsWithOtherValue) {
+		return checkEqualsAndHash(propsWithDefaultValue, propsWithOtherValue, null);
+	}
+
+	/**
+	 * Same as {@link #testEqualsAndHash(PropertyValueVector, PropertyValueVector)} but returns the failure instead of throwing an exception.
+	 * @param defaultValues Properties and their value.
+	 * @param otherValues Properties and their value different from 'defaultValues'.
+	 * @return The failure or null if the test succeeds.
+	 * @throws BeanLikeTesterException if a vector has been created for another class or a setter or a constructor throws an exception.
+	 */
+	public BeanLikeFailure checkEqualsAndHash(PropertyValueVector defaultValues, PropertyValueVector otherValues) {
+		return checkEqualsAndHash(defaultValues, otherValues, null);
+	}
+
+	/**
+	 * Same as {@link #testEqualsAndHash(PropertiesAndValues, PropertiesAndValues)} but the properties are tested by
+	 * fork/join tasks of {@value #SEQUENTIAL_SLOTS_CUTOFF} properties at most. Beans with fewer mutable properties
+	 * are tested on the calling thread.<br/>
+	 * The exception thrown is the same as when the properties are tested sequentially.
+	 * @param propsWithDefaultValue Property names (keys) and their value.
+	 * @param propsWithOtherValue Property names (keys) and their value different from 'propsWithDefaultValue'.
+	 * @param pool Pool running the tasks.
+	 * @throws BeanLikeTesterException if the test fails.
+	 */
+	public void testEqualsAndHash(PropertiesAndValues propsWithDefaultValue, PropertiesAndValues propsWithOtherValue, ForkJoinPool pool) {
+		throwIfFailed(checkEqualsAndHash(propsWithDefaultValue, propsWithOtherValue, pool));
+	}
+
+	/**
+	 * Same as {@link #testEqualsAndHash(PropertiesAndValues, PropertiesAndValues, ForkJoinPool)} with vectors of values.
+	 * @param defaultValues Properties and their value.
+	 * @param otherValues Properties and their value different from 'defaultValues'.
+	 * @param pool Pool running the tasks.
+	 * @throws BeanLikeTesterException if the test fails or a vector has been created for another class.
+	 */
+	public void testEqualsAndHash(PropertyValueVector defaultValues, PropertyValueVector otherValues, ForkJoinPool pool) {
+		throwIfFailed(checkEqualsAndHash(defaultValues, otherValues, pool));
+	}
+
+	/**
+	 * Same as {@link #testEqualsAndHash(PropertiesAndValues, PropertiesAndValues, ForkJoinPool)} but returns the failure instead of throwing an exception.
+	 * @param propsWithDefaultValue Property names (keys) and their value.
+	 * @param propsWithOtherValue Property names (keys) and their value different from 'propsWithDefaultValue'.
+	 * @param pool Pool running the tasks or null to test the properties on the calling thread.
+	 * @return The failure or null if the test succeeds.
+	 * @throws BeanLikeTesterException if a setter or a constructor throws an exception.
+	 */
+	public BeanLikeFailure checkEqualsAndHash(PropertiesAndValues propsWithDefaultValue, PropertiesAndValues propsWithOtherValue, ForkJoinPool pool) {
+		final BeanLikeFailure failure = checkContainsAtLeastAllMutableProperties(propsWithDefaultValue.keySet(), propsWithOtherValue.keySet());
+		return failure != null ? failure : doCheckEqualsAndHash(toSlotValues(propsWithDefaultValue), toSlotValues(propsWithOtherValue), pool);
+	}
+
+	/**
+	 * Same as {@link #testEqualsAndHash(PropertyValueVector, PropertyValueVector, ForkJoinPool)} but returns the failure instead of throwing an exception.
+	 * @param defaultValues Properties and their value.
+	 * @param otherValues Properties and their value different from 'defaultValues'.
+	 * @param pool Pool running the tasks or null to test the properties on the calling thread.
+	 * @return The failure or null if the test succeeds.
+	 * @throws BeanLikeTesterException if a vector has been created for another class or a setter or a constructor throws an exception.
+	 */
+	public BeanLikeFailure checkEqualsAndHash(PropertyValueVector defaultValues, PropertyValueVector otherValues, ForkJoinPool pool) {
+		final BeanLikeFailure failure = checkContainsAtLeastAllMutableProperties(defaultValues, otherValues);
+		return failure != null ? failure : doCheckEqualsAndHash(defaultValues, otherValues, pool);
+	}
+
+	/**
+	 * Create the pairs of value sets covering the branches of equals() from candidate values of the properties,
+	 * see {@link EqualsCoveringArray}.<br/>
+	 * e.g. with the candidates {null, "a", "b"} for a String property set by the first constructor and {0, 1} for an int property
+	 * the array has two rows: (null, "a") and ("a", "b") for the String, (0, 1) for the int.<br/>
+	 * The properties that aren't set by the first constructor keep the default value of the object, read from an object
+	 * created with the first candidate value of the constructor's parameters.
+	 * @param candidateValues Property names and the values that can be used for them, including null.<br/>
+	 *                        It must contain at least two different values for each mutable property.
+	 *                        The null values of the primitive properties are ignored.
+	 * @return The covering array.
+	 * @throws BeanLikeTesterException if a mutable property doesn't have at least two different candidate values
+	 *                                 or the object couldn't be created.
+	 */
+	public EqualsCoveringArray createEqualsCoveringArray(Map<String, ? extends Collection<?>> candidateValues) {
+		final List<String> propertyNames = new ArrayList<String>();
+		final Set<String> primitivePropertyNames = new HashSet<String>();
+		for (final int slot : metadata.getMutableSlots()) {
+			final String propertyName = metadata.getPropertyName(slot);
+			propertyNames.add(propertyName);
+			if (metadata.getAccessor(slot).getReturnType().isPrimitive()) {
+				primitivePropertyNames.add(propertyName);
+			}
 		}
 
-		if (defaultObj.equals(null)) {
-			throw new BeanLikeTesterException("The comparison with null must return false.\nObject:" + defaultObj);
+		// The default values of the properties that aren't constructor's parameters are given by the object.
+		PropertyValueVector arguments = newValueVector();
+		final Set<Integer> argumentSlots = new HashSet<Integer>();
+		for (final int slot : metadata.getConstructorArgumentSlots(0)) {
+			final String propertyName = metadata.getPropertyName(slot);
+			final Collection<?> candidates = candidateValues.get(propertyName);
+			if ((candidates != null) && !candidates.isEmpty()) {
+				arguments = arguments.with(propertyName, candidates.iterator().next());
+			}
+			argumentSlots.add(Integer.valueOf(slot));
+		}
+		final Object beanLike = getNewInstance(0, arguments);
+		final Map<String, Object> fixedDefaultValues = new HashMap<String, Object>();
+		for (final int slot : metadata.getMutableSlots()) {
+			if (!argumentSlots.contains(Integer.valueOf(slot))) {
+				fixedDefaultValues.put(metadata.getPropertyName(slot), getProperty(beanLike, slot));
+			}
 		}
+		return new EqualsCoveringArray(propertyNames, primitivePropertyNames, fixedDefaultValues, candidateValues);
+	}
 
-		if (defaultObj.equals(AClassToBeTestedAgainst.instance)) {
-			throw new BeanLikeTesterException("The comparison with another class must return false.\nObject:" + defaultObj);
+	/**
+	 * Run {@link #testEqualsAndHash(PropertiesAndValues, PropertiesAndValues)} with each row of a covering array.
+	 * @param coveringArray Array created by {@link #createEqualsCoveringArray(Map)}.
+	 * @throws BeanLikeTesterException if the test fails for one of the rows.
+	 */
+	public void testEqualsAndHash(EqualsCoveringArray coveringArray) {
+		throwIfFailed(checkEqualsAndHash(coveringArray));
+	}
+
+	/**
+	 * Same as {@link #testEqualsAndHash(EqualsCoveringArray)} but returns the failure instead of throwing an exception.
+	 * @param coveringArray Array created by {@link #createEqualsCoveringArray(Map)}.
+	 * @return The failure of the first row that fails or null if the test succeeds for all the rows.
+	 * @throws BeanLikeTesterException if a setter or a constructor throws an exception.
+	 */
+	public BeanLikeFailure checkEqualsAndHash(EqualsCoveringArray coveringArray) {
+		for (int row = 0; row < coveringArray.size(); row++) {
+			final BeanLikeFailure failure = checkEqualsAndHash(coveringArray.getDefaultValues(row), coveringArray.getOtherValues(row));
+			if (failure != null) {
+				return failure;
+			}
 		}
+		return null;
+	}
 
-		for (final Entry<String, Object> entry : propsWithOtherValue.entrySet()) {
-			final String property = entry.getKey();
-			final Object value = entry.getValue();
-			// Test only the mutable properties.
-			if (mutablePropertyNames.contains(property)) {
-				final Object otherObject1 = createObjectWithSecificPropertySet(propsWithDefaultValue, property, value);
-				final int otherHashCode1 = otherObject1.hashCode();
+	/**
+	 * Check many pairs of value sets with a single call: same as calling the <code>check*</code> method of the phase
+	 * (e.g. {@link #checkEqualsAndHash(PropertyValueVector, PropertyValueVector)}) for each pair, but the pairs are
+	 * validated only once per default vector and the default object is created again only when the parameters of the
+	 * first constructor differ from the ones of the previous pair. So the pairs should be grouped by default values.<br/>
+	 * The pairs are read one at a time and their result is given to the listener at once: the batch can be a lazy
+	 * Iterable of any size.
+	 * @param phase Phase checked for each pair (only the default values of the pairs are used by {@link Phase#DEFAULT_VALUES}).
+	 * @param pairs Pairs of default and other values.
+	 * @param listener Listener receiving the result of each pair.
+	 * @return Number of pairs that failed.
+	 * @throws BeanLikeTesterException if a vector has been created for another class or a setter or a constructor throws an exception.
+	 */
+	public long checkBatch(Phase phase, Iterable<ValueSetPair> pairs, BeanLikeBatchListener listener) {
+		final BatchCheck batchCheck = new BatchCheck(phase);
+		long index = 0;
+		long failureCount = 0;
+		for (final ValueSetPair pair : pairs) {
+			final BeanLikeFailure failure = batchCheck.check(pair);
+			if (failure != null) {
+				failureCount++;
+			}
+			listener.onResult(index++, pair, failure);
+		}
+		return failureCount;
+	}
 
-				if (!areValuesDifferent(defaultHashCode, otherHashCode1)) {
-					throw new BeanLikeTesterException("The hashcodes of different objects should be different for the tests, please change the values or check that hashcode() is correct\nobject1:"
-					                                  + defaultObj + " hashcode:" + defaultHashCode + "\nobject2:" + otherObject1 + " hashcode:" + otherHashCode1);
-				}
+	/**
+	 * Same as {@link #checkBatch(Phase, Iterable, BeanLikeBatchListener)} but stops at the first pair that fails.
+	 * @param phase Phase checked for each pair.
+	 * @param pairs Pairs of default and other values.
+	 * @throws BeanLikeTesterException if the check fails for a pair.
+	 */
+	public void testBatch(Phase phase, Iterable<ValueSetPair> pairs) {
+		final BatchCheck batchCheck = new BatchCheck(phase);
+		for (final ValueSetPair pair : pairs) {
+			throwIfFailed(batchCheck.check(pair));
+		}
+	}
 
-				// Verify that the bean is not equal to the default one as one property has been changed.
-				final boolean equals1 = otherObject1.equals(defaultObj);
-				final boolean equals2 = defaultObj.equals(otherObject1);
-				if (equals1 || equals2) {
-					throw new BeanLikeTesterException("The equals method must return false for the comparison between objects with different properties:\nobject1:"
-					                                  + otherObject1 + "\nobject2:" + defaultObj);
-				}
+	/**
+	 * Fuzz the beanLike: run {@link #testMutatorsAndAccessors(PropertiesAndValues, PropertiesAndValues)} and
+	 * {@link #testEqualsAndHash(PropertiesAndValues, PropertiesAndValues)} with random value sets, on several workers.<br/>
+	 * The stream of each worker is split from a generator seeded with 'seed', so the same seed checks the same value sets.
+	 * Each value set is drawn from its own seed, reported with the failure it causes and reproducible with
+	 * {@link #checkFuzzedValueSet(PropertiesAndValues, long)}. A worker stops at its first failure.<br/>
+	 * The values are drawn from the types of the properties, see {@link RandomValueDrawer}; the types that can't be drawn randomly
+	 * are given by a {@link ValueGenerator}.
+	 * @param propsWithDefaultValue Property names and their default value. It must at least contain all the mutable properties.
+	 * @param seed Seed of the fuzzing.
+	 * @param workerCount Number of workers, each one running on the common fork/join pool.
+	 * @param valueSetsPerWorker Number of value sets checked by each worker.
+	 * @return The results of the workers.
+	 * @throws BeanLikeTesterException if the parameters are invalid or the type of a property can't be drawn.
+	 */
+	public BeanLikeFuzzReport fuzz(PropertiesAndValues propsWithDefaultValue, long seed, int workerCount, long valueSetsPerWorker) {
+		throwIfFailed(checkContainsAtLeastAllMutableProperties(propsWithDefaultValue.keySet()));
+		return fuzz(toSlotValues(propsWithDefaultValue), seed, workerCount, valueSetsPerWorker);
+	}
 
-				// Create another object exactly the same properties to test equals() and hashCode()
-				final Object otherObject2 = createObjectWithSecificPropertySet(propsWithDefaultValue, property, value);
-				final int otherHashCode2 = otherObject2.hashCode();
-				// Two beans with the same properties must be equal.
-				if (!otherObject1.equals(otherObject2)) {
-					throw new BeanLikeTesterException("The equals method should return true for the comparison between objects with the same properties:\nobject1:"
-					                                  + otherObject1 + "\nobject2:" + otherObject2);
-				}
+	/**
+	 * Same as {@link #fuzz(PropertiesAndValues, long, int, long)} with a vector of values.
+	 * @param defaultValues Properties and their default value.
+	 * @param seed Seed of the fuzzing.
+	 * @param workerCount Number of workers, each one running on the common fork/join pool.
+	 * @param valueSetsPerWorker Number of value sets checked by each worker.
+	 * @return The results of the workers.
+	 * @throws BeanLikeTesterException if the parameters are invalid, the vector has been created for another class
+	 *                                 or the type of a property can't be drawn.
+	 */
+	public BeanLikeFuzzReport fuzz(PropertyValueVector defaultValues, long seed, int workerCount, long valueSetsPerWorker) {
+		return fuzz(defaultValues, seed, workerCount, valueSetsPerWorker, ForkJoinPool.commonPool());
+	}
 
-				// Two beans with the same properties must have the same hashcode.
-				if (!(otherHashCode1 == otherHashCode2)) {
-					throw new BeanLikeTesterException("The hashcodes must be equal:\nobject1:" + otherObject1 + " hashcode:" + otherHashCode1 + "\nobject2:"
-					                                  + otherObject2 + " hashcode:" + otherHashCode2);
-				}
+	/**
+	 * Same as {@link #fuzz(PropertyValueVector, long, int, long)} with the workers running on an executor.
+	 * @param defaultValues Properties and their default value.
+	 * @param seed Seed of the fuzzing.
+	 * @param workerCount Number of workers.
+	 * @param valueSetsPerWorker Number of value sets checked by each worker.
+	 * @param executor Executor running the workers.
+	 * @return The results of the workers.
+	 * @throws BeanLikeTesterException if the parameters are invalid, the vector has been created for another class
+	 *                                 or the type of a property can't be drawn.
+	 */
+	public BeanLikeFuzzReport fuzz(PropertyValueVector defaultValues, long seed, int workerCount, long valueSetsPerWorker, Executor executor) {
+		if ((workerCount < 1) || (valueSetsPerWorker < 1)) {
+			throw new BeanLikeTesterException("At least 1 worker and 1 value set are needed (workers: " + workerCount + ", value sets: " + valueSetsPerWorker + ")");
+		}
+		throwIfFailed(checkContainsAtLeastAllMutableProperties(defaultValues, defaultValues));
+
+		final long start = System.nanoTime();
+		final SplitMix64 master = new SplitMix64(seed);
+		final ValueGenerator generator = new ValueGenerator();
+		final long[] valueSetCounts = new long[workerCount];
+		final long[] failureSeeds = new long[workerCount];
+		final List<FutureTask<BeanLikeFailure>> tasks = new ArrayList<FutureTask<BeanLikeFailure>>(workerCount);
+		for (int worker = 0; worker < workerCount; worker++) {
+			final FutureTask<BeanLikeFailure> task = new FutureTask<BeanLikeFailure>(new FuzzWorker(worker, master.split(), valueSetsPerWorker, defaultValues,
+			                                                                                          generator, valueSetCounts, failureSeeds));
+			tasks.add(task);
+			executor.execute(task);
+		}
 
+		final BeanLikeFailure[] failures = new BeanLikeFailure[workerCount];
+		final RuntimeException[] exceptions = new RuntimeException[workerCount];
+		awaitTasks(tasks, failures, exceptions);
+		for (final RuntimeException exception : exceptions) {
+			if (exception != null) {
+				throw exception;
 			}
 		}
+		return new BeanLikeFuzzReport(beanLikeClass, seed, valueSetCounts, failures, failureSeeds, System.nanoTime() - start);
+	}
+
+	/**
+	 * Check the value set of a fuzzing again, e.g. the one that failed.
+	 * @param propsWithDefaultValue Property names and their default value, the same as the ones given to the fuzzing.
+	 * @param valueSetSeed Seed of the value set, see {@link BeanLikeFuzzReport#getFailureSeed(int)}.
+	 * @return The failure or null if the value set passes the tests.
+	 * @throws BeanLikeTesterException if the properties are invalid or the type of a property can't be drawn.
+	 */
+	public BeanLikeFailure checkFuzzedValueSet(PropertiesAndValues propsWithDefaultValue, long valueSetSeed) {
+		throwIfFailed(checkContainsAtLeastAllMutableProperties(propsWithDefaultValue.keySet()));
+		return checkFuzzedValueSet(toSlotValues(propsWithDefaultValue), valueSetSeed);
+	}
+
+	/**
+	 * Same as {@link #checkFuzzedValueSet(PropertiesAndValues, long)} with a vector of values.
+	 * @param defaultValues Properties and their default value, the same as the ones given to the fuzzing.
+	 * @param valueSetSeed Seed of the value set, see {@link BeanLikeFuzzReport#getFailureSeed(int)}.
+	 * @return The failure or null if the value set passes the tests.
+	 * @throws BeanLikeTesterException if the vector is invalid or the type of a property can't be drawn.
+	 */
+	public BeanLikeFailure checkFuzzedValueSet(PropertyValueVector defaultValues, long valueSetSeed) {
+		throwIfFailed(checkContainsAtLeastAllMutableProperties(defaultValues, defaultValues));
+		return checkValueSet(defaultValues, valueSetSeed, new RandomValueDrawer(metadata, new ValueGenerator()), new SplitMix64(0L), newValueVector());
 	}
 
 	/**
@@ -592,25 +1702,90 @@ public final class BeanLikeTester {
 	 * @throws BeanLikeTesterException if the test fails.
 	 */
 	public void testToString(PropertiesAndValues propsWithDefaultValue, PropertiesAndValues propsWithOtherValue) {
-		verifyContainsAtLeastAllMutableProperties(propsWithDefaultValue.keySet());
-		verifyContainsAtLeastAllMutableProperties(propsWithOtherValue.keySet());
-		verifyAllValuesFromMutablePropsAreDifferent(propsWithDefaultValue, propsWithOtherValue);
-
-		final Object defaultObj = createObjectWithDefaultValues(propsWithDefaultValue);
-		final String toStringFromDefaultValues = defaultObj.toString();
-
-		for (final Entry<String, Object> entry : propsWithOtherValue.entrySet()) {
-			final String property = entry.getKey();
-			final Object value = entry.getValue();
-			// Test only the mutable properties.
-			if (mutablePropertyNames.contains(property)) {
-				final Object object = createObjectWithSecificPropertySet(propsWithDefaultValue, property, value);
-				final String toStringFromOtherValues = object.toString();
-				if (!areValuesDifferent(toStringFromDefaultValues, toStringFromOtherValues)) {
-					throw new BeanLikeTesterException("The result of toString() should depend on the property '" + property + "'");
-				}
-			}
-		}
+		throwIfFailed(checkToString(propsWithDefaultValue, propsWithOtherValue));
+	}
+
+	/**
+	 * Same as {@link #testToString(PropertiesAndValues, PropertiesAndValues)} with vectors of values.
+	 * @param defaultValues Properties and their value. It must at least contain all the settable properties.
+	 * @param otherValues Properties and their value different from 'defaultValues'. It must at least contain all the settable properties.
+	 * @throws BeanLikeTesterException if the test fails or a vector has been created for another class.
+	 */
+	public void testToString(PropertyValueVector defaultValues, PropertyValueVector otherValues) {
+		throwIfFailed(checkToString(defaultValues, otherValues));
+	}
+
+	/**
+	 * Same as {@link #testToString(PropertiesAndValues, PropertiesAndValues)} but returns the failure instead of throwing an exception.
+	 * @param propsWithDefaultValue Property names (keys) and their value.
+	 * @param propsWithOtherValue Property names (keys) and their value different from 'propsWithDefaultValue'.
+	 * @return The failure or null if the test succeeds.
+	 * @throws BeanLikeTesterException if a setter or a constructor throws an exception.
+	 */
+	public BeanLikeFailure checkToString(PropertiesAndValues propsWithDefaultValue, PropertiesAndValues propsWithOtherValue) {
+		return checkToString(propsWithDefaultValue, propsWithOtherValue, null);
+	}
+
+	/**
+	 * Same as {@link #testToString(PropertyValueVector, PropertyValueVector)} but returns the failure instead of throwing an exception.
+	 * @param defaultValues Properties and their value.
+	 * @param otherValues Properties and their value different from 'defaultValues'.
+	 * @return The failure or null if the test succeeds.
+	 * @throws BeanLikeTesterException if a vector has been created for another class or a setter or a constructor throws an exception.
+	 */
+	public BeanLikeFailure checkToString(PropertyValueVector defaultValues, PropertyValueVector otherValues) {
+		return checkToString(defaultValues, otherValues, null);
+	}
+
+	/**
+	 * Same as {@link #testToString(PropertiesAndValues, PropertiesAndValues)} but the properties are tested by
+	 * fork/join tasks of {@value #SEQUENTIAL_SLOTS_CUTOFF} properties at most. Beans with fewer mutable properties
+	 * are tested on the calling thread.<br/>
+	 * The exception thrown is the same as when the properties are tested sequentially.
+	 * @param propsWithDefaultValue Property names (keys) and their value.
+	 * @param propsWithOtherValue Property names (keys) and their value different from 'propsWithDefaultValue'.
+	 * @param pool Pool running the tasks.
+	 * @throws BeanLikeTesterException if the test fails.
+	 */
+	public void testToString(PropertiesAndValues propsWithDefaultValue, PropertiesAndValues propsWithOtherValue, ForkJoinPool pool) {
+		throwIfFailed(checkToString(propsWithDefaultValue, propsWithOtherValue, pool));
+	}
+
+	/**
+	 * Same as {@link #testToString(PropertiesAndValues, PropertiesAndValues, ForkJoinPool)} with vectors of values.
+	 * @param defaultValues Properties and their value.
+	 * @param otherValues Properties and their value different from 'defaultValues'.
+	 * @param pool Pool running the tasks.
+	 * @throws BeanLikeTesterException if the test fails or a vector has been created for another class.
+	 */
+	public void testToString(PropertyValueVector defaultValues, PropertyValueVector otherValues, ForkJoinPool pool) {
+		throwIfFailed(checkToString(defaultValues, otherValues, pool));
+	}
+
+	/**
+	 * Same as {@link #testToString(PropertiesAndValues, PropertiesAndValues, ForkJoinPool)} but returns the failure instead of throwing an exception.
+	 * @param propsWithDefaultValue Property names (keys) and their value.
+	 * @param propsWithOtherValue Property names (keys) and their value different from 'propsWithDefaultValue'.
+	 * @param pool Pool running the tasks or null to test the properties on the calling thread.
+	 * @return The failure or null if the test succeeds.
+	 * @throws BeanLikeTesterException if a setter or a constructor throws an exception.
+	 */
+	public BeanLikeFailure checkToString(PropertiesAndValues propsWithDefaultValue, PropertiesAndValues propsWithOtherValue, ForkJoinPool pool) {
+		final BeanLikeFailure failure = checkContainsAtLeastAllMutableProperties(propsWithDefaultValue.keySet(), propsWithOtherValue.keySet());
+		return failure != null ? failure : doCheckToString(toSlotValues(propsWithDefaultValue), toSlotValues(propsWithOtherValue), pool);
+	}
+
+	/**
+	 * Same as {@link #testToString(PropertyValueVector, PropertyValueVector, ForkJoinPool)} but returns the failure instead of throwing an exception.
+	 * @param defaultValues Properties and their value.
+	 * @param otherValues Properties and their value different from 'defaultValues'.
+	 * @param pool Pool running the tasks or null to test the properties on the calling thread.
+	 * @return The failure or null if the test succeeds.
+	 * @throws BeanLikeTesterException if a vector has been created for another class or a setter or a constructor throws an exception.
+	 */
+	public BeanLikeFailure checkToString(PropertyValueVector defaultValues, PropertyValueVector otherValues, ForkJoinPool pool) {
+		final BeanLikeFailure failure = checkContainsAtLeastAllMutableProperties(defaultValues, otherValues);
+		return failure != null ? failure : doCheckToString(defaultValues, otherValues, pool);
 	}
 
 	/**
@@ -629,10 +1804,112 @@ public final class BeanLikeTester {
 	 * @throws BeanLikeTesterException if the test fails.
 	 */
 	public void testBeanLike(PropertiesAndValues propsWithDefaultValue, PropertiesAndValues propsWithOtherValue) {
-		testDefaultValues(propsWithDefaultValue);
-		testMutatorsAndAccessors(propsWithDefaultValue, propsWithOtherValue);
-		testEqualsAndHash(propsWithDefaultValue, propsWithOtherValue);
-		testToString(propsWithDefaultValue, propsWithOtherValue);
+		throwIfFailed(checkBeanLike(propsWithDefaultValue, propsWithOtherValue));
+	}
+
+	/**
+	 * Same as {@link #testBeanLike(PropertiesAndValues, PropertiesAndValues)} with vectors of values.
+	 * @param defaultValues Properties and their default value. It must contain all the properties.
+	 * @param otherValues Properties and their value different from 'defaultValues'. It must at least contain all the settable properties.
+	 * @throws BeanLikeTesterException if the test fails or a vector has been created for another class.
+	 */
+	public void testBeanLike(PropertyValueVector defaultValues, PropertyValueVector otherValues) {
+		throwIfFailed(checkBeanLike(defaultValues, otherValues));
+	}
+
+	/**
+	 * Same as {@link #testBeanLike(PropertiesAndValues, PropertiesAndValues)} but returns the first failure instead of throwing an exception.
+	 * @param propsWithDefaultValue Property names (keys) and their default value.
+	 * @param propsWithOtherValue Property names (keys) and their value different from 'propsWithDefaultValue'.
+	 * @return The failure or null if all the tests succeed.
+	 * @throws BeanLikeTesterException if an accessor, a setter or a constructor throws an exception.
+	 */
+	public BeanLikeFailure checkBeanLike(PropertiesAndValues propsWithDefaultValue, PropertiesAndValues propsWithOtherValue) {
+		BeanLikeFailure failure = checkDefaultValues(propsWithDefaultValue);
+		if (failure == null) {
+			failure = checkMutatorsAndAccessors(propsWithDefaultValue, propsWithOtherValue);
+		}
+		if (failure == null) {
+			failure = checkEqualsAndHash(propsWithDefaultValue, propsWithOtherValue);
+		}
+		if (failure == null) {
+			failure = checkToString(propsWithDefaultValue, propsWithOtherValue);
+		}
+		return failure;
+	}
+
+	/**
+	 * Same as {@link #testBeanLike(PropertyValueVector, PropertyValueVector)} but returns the first failure instead of throwing an exception.
+	 * @param defaultValues Properties and their default value.
+	 * @param otherValues Properties and their value different from 'defaultValues'.
+	 * @return The failure or null if all the tests succeed.
+	 * @throws BeanLikeTesterException if a vector has been created for another class or an accessor, a setter or a constructor throws an exception.
+	 */
+	public BeanLikeFailure checkBeanLike(PropertyValueVector defaultValues, PropertyValueVector otherValues) {
+		BeanLikeFailure failure = checkDefaultValues(defaultValues);
+		if (failure == null) {
+			failure = checkMutatorsAndAccessors(defaultValues, otherValues);
+		}
+		if (failure == null) {
+			failure = checkEqualsAndHash(defaultValues, otherValues);
+		}
+		if (failure == null) {
+			failure = checkToString(defaultValues, otherValues);
+		}
+		return failure;
+	}
+
+	/**
+	 * Same as {@link #testBeanLike(PropertiesAndValues, PropertiesAndValues)} but the four tests are run concurrently on an executor.<br/>
+	 * Each test creates its own instances; the tester and the values are only read, so the tests are independent.
+	 * The exception thrown is the one of the first test (in the order of {@link Phase}) that failed,
+	 * i.e. the same as when the tests are run one after another.
+	 * @param propsWithDefaultValue Property names (keys) and their default value.
+	 * @param propsWithOtherValue Property names (keys) and their value different from 'propsWithDefaultValue'.
+	 * @param executor Executor running the tests (e.g. a thread pool shared by many testers).
+	 * @throws BeanLikeTesterException if a test fails.
+	 */
+	public void testBeanLike(PropertiesAndValues propsWithDefaultValue, PropertiesAndValues propsWithOtherValue, Executor executor) {
+		checkBeanLike(propsWithDefaultValue, propsWithOtherValue, executor).throwIfFailed();
+	}
+
+	/**
+	 * Same as {@link #testBeanLike(PropertiesAndValues, PropertiesAndValues, Executor)} with vectors of values.
+	 * @param defaultValues Properties and their default value. It must contain all the properties.
+	 * @param otherValues Properties and their value different from 'defaultValues'. It must at least contain all the settable properties.
+	 * @param executor Executor running the tests.
+	 * @throws BeanLikeTesterException if a test fails or a vector has been created for another class.
+	 */
+	public void testBeanLike(PropertyValueVector defaultValues, PropertyValueVector otherValues, Executor executor) {
+		checkBeanLike(defaultValues, otherValues, executor).throwIfFailed();
+	}
+
+	/**
+	 * Run the four tests of {@link #testBeanLike(PropertiesAndValues, PropertiesAndValues)} concurrently on an executor
+	 * and report the results of all of them.
+	 * @param propsWithDefaultValue Property names (keys) and their default value.
+	 * @param propsWithOtherValue Property names (keys) and their value different from 'propsWithDefaultValue'.
+	 * @param executor Executor running the tests.
+	 * @return The report of the tests, which doesn't depend on the order in which they completed.
+	 */
+	public BeanLikeReport checkBeanLike(PropertiesAndValues propsWithDefaultValue, PropertiesAndValues propsWithOtherValue, Executor executor) {
+		final BeanLikeFailure[] failures = checkPhasesParameters(propsWithDefaultValue.keySet(),
+		                                                         checkContainsAtLeastAllMutableProperties(propsWithDefaultValue.keySet(), propsWithOtherValue.keySet()));
+		return runPhases(toSlotValues(propsWithDefaultValue), toSlotValues(propsWithOtherValue), failures, executor);
+	}
+
+	/**
+	 * Same as {@link #checkBeanLike(PropertiesAndValues, PropertiesAndValues, Executor)} with vectors of values.
+	 * @param defaultValues Properties and their default value.
+	 * @param otherValues Properties and their value different from 'defaultValues'.
+	 * @param executor Executor running the tests.
+	 * @return The report of the tests.
+	 * @throws BeanLikeTesterException if a vector has been created for another class.
+	 */
+	public BeanLikeReport checkBeanLike(PropertyValueVector defaultValues, PropertyValueVector otherValues, Executor executor) {
+		verifyHasTheSameLayout(defaultValues);
+		final BeanLikeFailure[] failures = checkPhasesParameters(defaultValues.getPropertyNames(), checkContainsAtLeastAllMutableProperties(defaultValues, otherValues));
+		return runPhases(defaultValues, otherValues, failures, executor);
 	}
 
 }
\ No newline at end of file
@@ -0,0 +1,263 @@
+/**
+ * Copyright (C) 2011 Franck Valentin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.outsideMyBox.testUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Decide from its class file whether a class can be a beanLike, without loading it.<br/>
+ * Only the constant pool, the access flags, the super class, the interfaces, the methods and the InnerClasses attribute
+ * are read. A class is a candidate if it is public, concrete, top level or static nested, has a public default constructor
+ * and either declares a public accessor or may inherit one (its super class isn't Object or it implements an interface
+ * that may have default methods).<br/>
+ * The filter only rejects classes that can't be beanLikes: the candidates still have to be checked once loaded.
+ * Class files that can't be parsed are candidates, so that the class loader reports the problem.
+ */
+final class ClassFileFilter {
+
+	// ------------------------------------  Class variables  ----------------------------------------
+
+	private static final int         MAGIC               = 0xCAFEBABE;
+
+	private static final int         ACC_PUBLIC          = 0x0001;
+	private static final int         ACC_STATIC          = 0x0008;
+	private static final int         ACC_INTERFACE       = 0x0200;
+	private static final int         ACC_ABSTRACT        = 0x0400;
+	private static final int         ACC_ANNOTATION      = 0x2000;
+	private static final int         ACC_ENUM            = 0x4000;
+	private static final int         ACC_MODULE          = 0x8000;
+	private static final int         NOT_BEANLIKE_CLASS  = ACC_INTERFACE | ACC_ABSTRACT | ACC_ANNOTATION | ACC_ENUM | ACC_MODULE;
+
+	private static final int         CONSTANT_UTF8       = 1;
+	private static final int         CONSTANT_LONG       = 5;
+	private static final int         CONSTANT_DOUBLE     = 6;
+	private static final int         CONSTANT_CLASS      = 7;
+
+	/** Interfaces without any accessor commonly implemented by beans. */
+	private static final Set<String> INTERFACES_WITHOUT_ACCESSOR = new HashSet<String>(Arrays.asList("java/io/Serializable", "java/lang/Cloneable",
+	                                                                                                "java/lang/Comparable"));
+
+	// -----------------------------------  Instance variables  ------------------------------------
+
+	private final ByteBuffer classFile;
+	/** Offset of each entry of the constant pool (after its tag). */
+	private int[]            constantOffsets;
+	private byte[]           constantTags;
+
+	// ------------------------------------  Constructors  -------------------------------------------
+
+	private ClassFileFilter(byte[] classFile) {
+		this.classFile = ByteBuffer.wrap(classFile);
+	}
+
+	// ------------------------------------  Private methods  ----------------------------------------
+
+	private int readUnsignedShort() {
+		return classFile.getShort() & 0xFFFF;
+	}
+
+	private void skip(int length) {
+		classFile.position(classFile.position() + length);
+	}
+
+	private void readConstantPool() {
+		final int constantCount = readUnsignedShort();
+		constantOffsets = new int[constantCount];
+		constantTags = new byte[constantCount];
+		for (int index = 1; index < constantCount; index++) {
+			final byte tag = classFile.get();
+			constantTags[index] = tag;
+			constantOffsets[index] = classFile.position();
+			switch (tag) {
+				case CONSTANT_UTF8:
+					skip(readUnsignedShort());
+					break;
+				case CONSTANT_LONG:
+				case CONSTANT_DOUBLE:
+					skip(8);
+					// Takes two entries.
+					index++;
+					break;
+				case 3: // Integer
+				case 4: // Float
+				case 9: // Fieldref
+				case 10: // Methodref
+				case 11: // InterfaceMethodref
+				case 12: // NameAndType
+				case 17: // Dynamic
+				case 18: // InvokeDynamic
+					skip(4);
+					break;
+				case 15: // MethodHandle
+					skip(3);
+					break;
+				case CONSTANT_CLASS:
+				case 8: // String
+				case 16: // MethodType
+				case 19: // Module
+				case 20: // Package
+					skip(2);
+					break;
+				default:
+					throw new IllegalArgumentException("Unknown constant pool tag " + tag);
+			}
+		}
+	}
+
+	private String getUtf8(int index) {
+		if (constantTags[index] != CONSTANT_UTF8) {
+			throw new IllegalArgumentException("The constant " + index + " isn't a string");
+		}
+		final int offset = constantOffsets[index];
+		final int length = ((classFile.get(offset) & 0xFF) << 8) | (classFile.get(offset + 1) & 0xFF);
+		try {
+			return new DataInputStream(new ByteArrayInputStream(classFile.array(), offset, length + 2)).readUTF();
+		} catch (final IOException e) {
+			throw new IllegalArgumentException(e);
+		}
+	}
+
+	private String getClassName(int index) {
+		if (constantTags[index] != CONSTANT_CLASS) {
+			throw new IllegalArgumentException("The constant " + index + " isn't a class");
+		}
+		final int offset = constantOffsets[index];
+		return getUtf8(((classFile.get(offset) & 0xFF) << 8) | (classFile.get(offset + 1) & 0xFF));
+	}
+
+	private void skipAttributes() {
+		final int attributeCount = readUnsignedShort();
+		for (int i = 0; i < attributeCount; i++) {
+			skip(2);
+			skip(classFile.getInt());
+		}
+	}
+
+	private static boolean isAccessor(String name, String descriptor) {
+		if (!descriptor.startsWith("()") || descriptor.endsWith("V")) {
+			return false;
+		}
+		return (name.startsWith("get") && (name.length() > 3) && !name.equals("getClass")) || (name.startsWith("is") && (name.length() > 2));
+	}
+
+	/**
+	 * @return The access flags of a nested class from the InnerClasses attribute or -1 if the class isn't nested.
+	 */
+	private int findNestedClassAccessFlags(int thisClass) {
+		final int attributeCount = readUnsignedShort();
+		for (int i = 0; i < attributeCount; i++) {
+			final String attributeName = getUtf8(readUnsignedShort());
+			final int length = classFile.getInt();
+			if (!attributeName.equals("InnerClasses")) {
+				skip(length);
+				continue;
+			}
+			final int classCount = readUnsignedShort();
+			for (int j = 0; j < classCount; j++) {
+				final int innerClass = readUnsignedShort();
+				skip(4);
+				final int innerAccessFlags = readUnsignedShort();
+				if (innerClass == thisClass) {
+					return innerAccessFlags;
+				}
+			}
+		}
+		return -1;
+	}
+
+	private boolean isCandidate() {
+		if (classFile.getInt() != MAGIC) {
+			throw new IllegalArgumentException("Not a class file");
+		}
+		skip(4);
+		readConstantPool();
+
+		final int accessFlags = readUnsignedShort();
+		if (((accessFlags & ACC_PUBLIC) == 0) || ((accessFlags & NOT_BEANLIKE_CLASS) != 0)) {
+			return false;
+		}
+		final int thisClass = readUnsignedShort();
+		final int superClass = readUnsignedShort();
+		boolean mayInheritAccessors = (superClass != 0) && !getClassName(superClass).equals("java/lang/Object");
+		final int interfaceCount = readUnsignedShort();
+		for (int i = 0; i < interfaceCount; i++) {
+			mayInheritAccessors |= !INTERFACES_WITHOUT_ACCESSOR.contains(getClassName(readUnsignedShort()));
+		}
+
+		final int fieldCount = readUnsignedShort();
+		for (int i = 0; i < fieldCount; i++) {
+			skip(6);
+			skipAttributes();
+		}
+
+		boolean hasDefaultConstructor = false;
+		boolean hasAccessor = false;
+		final int methodCount = readUnsignedShort();
+		for (int i = 0; i < methodCount; i++) {
+			final int methodAccessFlags = readUnsignedShort();
+			final String name = getUtf8(readUnsignedShort());
+			final String descriptor = getUtf8(readUnsignedShort());
+			skipAttributes();
+			if (((methodAccessFlags & ACC_PUBLIC) == 0) || ((methodAccessFlags & ACC_STATIC) != 0)) {
+				continue;
+			}
+			if (name.equals("<init>")) {
+				hasDefaultConstructor |= descriptor.equals("()V");
+			}
+			else {
+				hasAccessor |= isAccessor(name, descriptor);
+			}
+		}
+		if (!hasDefaultConstructor || (!hasAccessor && !mayInheritAccessors)) {
+			return false;
+		}
+
+		// A nested class must be public and static.
+		if (getClassName(thisClass).indexOf('$') != -1) {
+			final int nestedAccessFlags = findNestedClassAccessFlags(thisClass);
+			if (nestedAccessFlags != -1) {
+				return ((nestedAccessFlags & ACC_PUBLIC) != 0) && ((nestedAccessFlags & ACC_STATIC) != 0);
+			}
+		}
+		return true;
+	}
+
+	// ------------------------------------  Package methods  ----------------------------------------
+
+	/**
+	 * @param classFile Content of a class file.
+	 * @return false if the class can't be a beanLike, true if it may be one or the class file can't be parsed.
+	 */
+	static boolean isCandidate(byte[] classFile) {
+		try {
+			return new ClassFileFilter(classFile).isCandidate();
+		} catch (final IllegalArgumentException e) {
+			return true;
+		} catch (final BufferUnderflowException e) {
+			return true;
+		} catch (final IndexOutOfBoundsException e) {
+			return true;
+		}
+	}
+
+}
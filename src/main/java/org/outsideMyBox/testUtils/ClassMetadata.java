@@ -0,0 +1,284 @@
+/**
+ * Copyright (C) 2011 Franck Valentin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.outsideMyBox.testUtils;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Introspection results of a beanLike class that don't depend on the constructors' mapping:
+ * accessors, setters, constructor signatures and the validity of the setters and accessors.
+ * <p>
+ * Instances are shared by all the {@link BeanLikeTester} testing the same class and are thread safe:
+ * the introspection results are immutable while the metadata per mapping, the resolved property types
+ * and the invocation count are filled as the class is tested.<br/>
+ * They are attached to their class through a {@link ClassValue}, which holds them no longer than the class
+ * itself: the metadata (and the methods, invokers and generated classes it references) never prevents
+ * a class and its class loader from being unloaded.
+ */
+final class ClassMetadata {
+
+	// ------------------------------------  Class variables  ----------------------------------------
+
+	private static final String IS_PREFIX  = "is";
+	private static final String GET_PREFIX = "get";
+	private static final String SET_PREFIX = "set";
+
+	private static final ClassValue<ClassMetadata> CACHE = new ClassValue<ClassMetadata>() {
+		@Override
+		protected ClassMetadata computeValue(Class<?> beanLikeClass) {
+			return new ClassMetadata(beanLikeClass);
+		}
+	};
+
+	// -----------------------------------  Instance variables  ------------------------------------
+
+	private final Class<?>                                                   beanLikeClass;
+	private final Map<String, Method>                                        accessors;
+	private final Map<String, Method>                                        setters;
+	private final Set<List<Class<?>>>                                        constructorSignatures;
+	private final String                                                     invalidMethodMessage;
+	private final Map<Map<List<Class<?>>, List<String>>, BeanLikeMetadata> metadataPerMapping;
+	private final AtomicLong                                                 invocationCount;
+	private final ConcurrentMap<String, Type>                                propertyTypes;
+	private volatile PropertyTypeResolver                                    typeResolver;
+
+	// ------------------------------------  Constructors  -------------------------------------------
+
+	private ClassMetadata(Class<?> beanLikeClass) {
+		this.beanLikeClass = beanLikeClass;
+		final Map<String, Method> propsAndAccessors = new HashMap<String, Method>();
+		final Map<String, Method> propsAndSetters = new HashMap<String, Method>();
+		invalidMethodMessage = introspectMethods(propsAndAccessors, propsAndSetters);
+		accessors = Collections.unmodifiableMap(propsAndAccessors);
+		setters = Collections.unmodifiableMap(propsAndSetters);
+		constructorSignatures = Collections.unmodifiableSet(findConstructorSignatures());
+		metadataPerMapping = new HashMap<Map<List<Class<?>>, List<String>>, BeanLikeMetadata>();
+		invocationCount = new AtomicLong();
+		propertyTypes = new ConcurrentHashMap<String, Type>();
+	}
+
+	// ------------------------------------  Private methods  ----------------------------------------
+
+	/**
+	 * Classify all the public methods in a single pass.<br/>
+	 * Setters are the methods starting with 'set', accessors the methods starting with 'is' and the ones
+	 * starting with 'get' without any parameter (except getClass()).<br/>
+	 * Setters must return void, the 'is' accessors a boolean and the other getters an object.
+	 * @param propsAndAccessors Map filled with the property names and their accessor.
+	 * @param propsAndSetters Map filled with the property names and their setter.
+	 * @return The description of the first invalid method found or null if they are all valid.
+	 */
+	private String introspectMethods(Map<String, Method> propsAndAccessors, Map<String, Method> propsAndSetters) {
+		String invalidMethod = null;
+		for (final Method method : beanLikeClass.getMethods()) {
+			final String methodName = method.getName();
+			final Class<?> returnType = method.getReturnType();
+			String problem = null;
+
+			if (methodName.startsWith(SET_PREFIX)) {
+				putProperty(propsAndSetters, methodName, SET_PREFIX.length(), method);
+				if (returnType != Void.TYPE) {
+					problem = "' must not return an object.";
+				}
+			}
+			else if (methodName.startsWith(IS_PREFIX)) {
+				putProperty(propsAndAccessors, methodName, IS_PREFIX.length(), method);
+				if ((returnType != Boolean.class) && (returnType != boolean.class)) {
+					problem = "' doesn't return a boolean";
+				}
+			}
+			else if (methodName.startsWith(GET_PREFIX) && (method.getParameterTypes().length == 0) && !methodName.equals("getClass")) {
+				putProperty(propsAndAccessors, methodName, GET_PREFIX.length(), method);
+				if (returnType == Void.TYPE) {
+					problem = "' doesn't return an object";
+				}
+			}
+
+			if ((problem != null) && (invalidMethod == null)) {
+				invalidMethod = "The method '" + methodName + problem;
+			}
+		}
+		return invalidMethod;
+	}
+
+	/**
+	 * Add a setter or an accessor to a map, using the property name derived from the method name.<br/>
+	 * Methods only made of the prefix (e.g. 'get()') don't define any property and are ignored, and so are the
+	 * bridge methods overridden by a method with a more specific type.
+	 * @param propsAndMethods Map to add the method to.
+	 * @param methodName Name of the method.
+	 * @param prefixLength Length of the prefix ('is', 'get' or 'set') to remove.
+	 * @param method Method to add.
+	 */
+	private static void putProperty(Map<String, Method> propsAndMethods, String methodName, int prefixLength, Method method) {
+		final int propertyNameLength = methodName.length() - prefixLength;
+		if (propertyNameLength > 0) {
+			final char[] propertyName = new char[propertyNameLength];
+			methodName.getChars(prefixLength, methodName.length(), propertyName, 0);
+			propertyName[0] = Character.toLowerCase(propertyName[0]);
+			final String name = new String(propertyName);
+			if (!method.isBridge() || !propsAndMethods.containsKey(name)) {
+				propsAndMethods.put(name, method);
+			}
+		}
+	}
+
+	/** @return The resolver of the generic types, created on first use as most classes are tested without it. */
+	private PropertyTypeResolver getTypeResolver() {
+		PropertyTypeResolver resolver = typeResolver;
+		if (resolver == null) {
+			// At worst the hierarchy is walked twice concurrently.
+			resolver = new PropertyTypeResolver(beanLikeClass);
+			typeResolver = resolver;
+		}
+		return resolver;
+	}
+
+	private Set<List<Class<?>>> findConstructorSignatures() {
+		final Set<List<Class<?>>> signaturesFromConstructor = new HashSet<List<Class<?>>>();
+		for (final Constructor<?> constructor : beanLikeClass.getConstructors()) {
+			signaturesFromConstructor.add(Collections.unmodifiableList(Arrays.asList(constructor.getParameterTypes())));
+		}
+		return signaturesFromConstructor;
+	}
+
+	/**
+	 * Create an immutable copy of a mapping so that it can safely be used as a key.
+	 * @param constructorsSignaturesAndProperties Mapping to copy.
+	 * @return Immutable copy.
+	 */
+	private static Map<List<Class<?>>, List<String>> copyOf(Map<List<Class<?>>, List<String>> constructorsSignaturesAndProperties) {
+		final Map<List<Class<?>>, List<String>> copy = new HashMap<List<Class<?>>, List<String>>();
+		for (final Map.Entry<List<Class<?>>, List<String>> entry : constructorsSignaturesAndProperties.entrySet()) {
+			final List<String> propertyNames = entry.getValue() == null ? null : Collections.unmodifiableList(new ArrayList<String>(entry.getValue()));
+			copy.put(Collections.unmodifiableList(new ArrayList<Class<?>>(entry.getKey())), propertyNames);
+		}
+		return Collections.unmodifiableMap(copy);
+	}
+
+	// ------------------------------------  Package methods  ----------------------------------------
+
+	/**
+	 * Return the metadata of a class, introspecting it only if it isn't already in the cache.
+	 * @param beanLikeClass Class to introspect.
+	 * @return The class metadata.
+	 */
+	static ClassMetadata forClass(Class<?> beanLikeClass) {
+		// At worst the same class is introspected twice concurrently, only one result being kept.
+		return CACHE.get(beanLikeClass);
+	}
+
+	/**
+	 * Return the metadata of this class for a specific constructors' mapping, creating it only if
+	 * it hasn't been used with an equal mapping before.
+	 * @param constructorsSignaturesAndProperties Constructors' mapping (must not be null).
+	 * @return The metadata for this mapping.
+	 */
+	BeanLikeMetadata forMapping(Map<List<Class<?>>, List<String>> constructorsSignaturesAndProperties) {
+		synchronized (metadataPerMapping) {
+			final BeanLikeMetadata cached = metadataPerMapping.get(constructorsSignaturesAndProperties);
+			if (cached != null) {
+				return cached;
+			}
+		}
+		final Map<List<Class<?>>, List<String>> mapping = copyOf(constructorsSignaturesAndProperties);
+		final BeanLikeMetadata metadata = new BeanLikeMetadata(this, mapping);
+		synchronized (metadataPerMapping) {
+			final BeanLikeMetadata cached = metadataPerMapping.get(mapping);
+			if (cached != null) {
+				return cached;
+			}
+			metadataPerMapping.put(mapping, metadata);
+			return metadata;
+		}
+	}
+
+	Class<?> getBeanLikeClass() {
+		return beanLikeClass;
+	}
+
+	/** @return Unmodifiable map of property names and their accessor. */
+	Map<String, Method> getAccessors() {
+		return accessors;
+	}
+
+	/** @return Unmodifiable map of property names and their setter. */
+	Map<String, Method> getSetters() {
+		return setters;
+	}
+
+	/** @return Unmodifiable set of the signatures of the public constructors. */
+	Set<List<Class<?>>> getConstructorSignatures() {
+		return constructorSignatures;
+	}
+
+	/**
+	 * Return the generic type of a property, resolved against the class hierarchy (see {@link PropertyTypeResolver}).<br/>
+	 * It is the return type of the accessor or, if the property has no accessor, the parameter type of the setter.
+	 * The type of each property is only resolved once.
+	 * @param propertyName Name of the property.
+	 * @return The resolved type or null if the class doesn't have this property.
+	 */
+	Type getPropertyType(String propertyName) {
+		Type type = propertyTypes.get(propertyName);
+		if (type == null) {
+			final Method accessor = accessors.get(propertyName);
+			final Method setter = setters.get(propertyName);
+			if (accessor != null) {
+				type = getTypeResolver().resolve(accessor.getGenericReturnType());
+			}
+			else if ((setter != null) && (setter.getParameterTypes().length == 1)) {
+				type = getTypeResolver().resolve(setter.getGenericParameterTypes()[0]);
+			}
+			else {
+				return null;
+			}
+			final Type existingType = propertyTypes.putIfAbsent(propertyName, type);
+			if (existingType != null) {
+				type = existingType;
+			}
+		}
+		return type;
+	}
+
+	/** @return The description of the first invalid setter or accessor, or null if they are all valid. */
+	String getInvalidMethodMessage() {
+		return invalidMethodMessage;
+	}
+
+	/**
+	 * Count a call made on the class through an {@link InvocationStrategy} that isn't an {@link InvocationMode}
+	 * and hasn't selected a final mode yet.
+	 * @return The number of calls, including this one.
+	 */
+	long incrementInvocationCount() {
+		return invocationCount.incrementAndGet();
+	}
+
+}
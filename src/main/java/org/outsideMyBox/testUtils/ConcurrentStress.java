@@ -0,0 +1,233 @@
+/**
+ * Copyright (C) 2011 Franck Valentin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.outsideMyBox.testUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Call the setters and accessors of a single beanLike instance from several threads at once.<br/>
+ * The properties are stressed one after another. For each property, all the threads:
+ * <ol>
+ * <li>race: each one sets alternately the two values of the property and reads it back. A value that is neither of
+ *     them is a torn value,</li>
+ * <li>set different values at the same time (half of them each value) and, once all of them are done, read the property.
+ *     A value that is neither of them mixes the concurrent writes: part of the updates was lost,</li>
+ * <li>wait for a single thread to set a new value and read the property until they see it. A value that isn't seen
+ *     within {@value #PUBLICATION_TIMEOUT_MILLIS} ms has never been published.</li>
+ * </ol>
+ * The problems found are only the ones that occurred during the run: a thread-safe result isn't a proof.<br/>
+ * If a setter or an accessor throws an exception, the other threads stop at their next synchronisation point.
+ */
+final class ConcurrentStress {
+
+	// ------------------------------------  Class variables  ----------------------------------------
+
+	static final int  LOST_UPDATE_ROUNDS         = 32;
+	static final int  PUBLICATION_ROUNDS         = 8;
+	static final long PUBLICATION_TIMEOUT_MILLIS = 500;
+
+	// -----------------------------------  Instance variables  ------------------------------------
+
+	private final BeanLikeMetadata metadata;
+	private final BeanInvoker      invoker;
+	private final int              threadCount;
+	private final int              iterations;
+
+	// ------------------------------------  Constructors  -------------------------------------------
+
+	/**
+	 * @param metadata Metadata of the beanLike.
+	 * @param invoker Invoker calling the setters and accessors.
+	 * @param threadCount Number of threads calling the setters and accessors at the same time.
+	 * @param iterations Number of set-then-get per thread and property during the race.
+	 */
+	ConcurrentStress(BeanLikeMetadata metadata, BeanInvoker invoker, int threadCount, int iterations) {
+		this.metadata = metadata;
+		this.invoker = invoker;
+		this.threadCount = threadCount;
+		this.iterations = iterations;
+	}
+
+	// ------------------------------------  Private methods  ----------------------------------------
+
+	/**
+	 * @return The value set at a step of the lost update and publication rounds. Two consecutive steps have different values
+	 *         and, in a lost update round, the threads of consecutive indexes too.
+	 */
+	private static Object valueAtStep(int step, Object value, Object otherValue) {
+		return (step & 1) == 0 ? otherValue : value;
+	}
+
+	private static boolean isNeither(Object read, Object value, Object otherValue) {
+		return BeanLikeTester.areValuesDifferent(read, value) && BeanLikeTester.areValuesDifferent(read, otherValue);
+	}
+
+	/**
+	 * Wait for the other threads.
+	 * @throws CancellationException if another thread has failed.
+	 */
+	private static void awaitOtherThreads(Phaser phaser) throws InterruptedException {
+		if (phaser.awaitAdvanceInterruptibly(phaser.arrive()) < 0) {
+			throw new CancellationException("Another thread has failed");
+		}
+	}
+
+	/**
+	 * Script run by each thread for a property.
+	 * @return Number of calls made during the race.
+	 */
+	private long stressProperty(int threadIndex, Object beanLike, int slot, Object value, Object otherValue, Phaser phaser,
+	                            AtomicLong raceNanos, AtomicLong tornValues, AtomicLong lostUpdates, AtomicLong unpublishedValues)
+	                            throws InterruptedException {
+		// --- Race.
+		awaitOtherThreads(phaser);
+		final long start = System.nanoTime();
+		for (int i = 0; i < iterations; i++) {
+			final Object written = ((threadIndex + i) & 1) == 0 ? value : otherValue;
+			invoker.set(beanLike, slot, written);
+			if (isNeither(invoker.get(beanLike, slot), value, otherValue)) {
+				tornValues.incrementAndGet();
+			}
+		}
+		awaitOtherThreads(phaser);
+		raceNanos.addAndGet(System.nanoTime() - start);
+
+		// --- Different values set at the same time by the threads.
+		int step = 0;
+		for (; step < LOST_UPDATE_ROUNDS; step++) {
+			awaitOtherThreads(phaser);
+			invoker.set(beanLike, slot, valueAtStep(step + threadIndex, value, otherValue));
+			awaitOtherThreads(phaser);
+			if (isNeither(invoker.get(beanLike, slot), value, otherValue)) {
+				lostUpdates.incrementAndGet();
+			}
+		}
+
+		// --- New value set by a single thread, different from the one left by the previous rounds.
+		if (threadIndex == 0) {
+			invoker.set(beanLike, slot, valueAtStep(step + 1, value, otherValue));
+		}
+		for (int round = 0; round < PUBLICATION_ROUNDS; round++, step++) {
+			final Object expected = valueAtStep(step, value, otherValue);
+			awaitOtherThreads(phaser);
+			if (round % threadCount == threadIndex) {
+				invoker.set(beanLike, slot, expected);
+			}
+			else {
+				final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(PUBLICATION_TIMEOUT_MILLIS);
+				while (BeanLikeTester.areValuesDifferent(invoker.get(beanLike, slot), expected)) {
+					if (System.nanoTime() - deadline > 0) {
+						unpublishedValues.incrementAndGet();
+						break;
+					}
+				}
+			}
+			awaitOtherThreads(phaser);
+		}
+		return 2L * iterations;
+	}
+
+	// ------------------------------------  Package methods  ----------------------------------------
+
+	/**
+	 * Stress all the properties having a setter.
+	 * @param beanLike Instance shared by the threads.
+	 * @param values Values of the properties.
+	 * @param otherValues Values of the properties different from 'values'.
+	 * @return The results per property.
+	 * @throws BeanLikeTesterException if a setter or an accessor throws an exception or the current thread is interrupted.
+	 */
+	BeanLikeStressReport run(final Object beanLike, PropertyValueVector values, PropertyValueVector otherValues) {
+		final int[] setterSlots = metadata.getSetterSlots();
+		final String[] propertyNames = new String[setterSlots.length];
+		final double[] operationsPerSecond = new double[setterSlots.length];
+		final long[][] problemCounts = new long[setterSlots.length][];
+
+		final ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+		try {
+			for (int i = 0; i < setterSlots.length; i++) {
+				final int slot = setterSlots[i];
+				final Object value = values.get(slot);
+				final Object otherValue = otherValues.get(slot);
+				final Phaser phaser = new Phaser(threadCount);
+				final AtomicLong raceNanos = new AtomicLong();
+				final AtomicLong tornValues = new AtomicLong();
+				final AtomicLong lostUpdates = new AtomicLong();
+				final AtomicLong unpublishedValues = new AtomicLong();
+				final AtomicReference<Throwable> firstException = new AtomicReference<Throwable>();
+
+				invoker.set(beanLike, slot, value);
+				final List<Future<Long>> futures = new ArrayList<Future<Long>>(threadCount);
+				for (int thread = 0; thread < threadCount; thread++) {
+					final int threadIndex = thread;
+					futures.add(executor.submit(new Callable<Long>() {
+						@Override
+						public Long call() throws Exception {
+							try {
+								return Long.valueOf(stressProperty(threadIndex, beanLike, slot, value, otherValue, phaser, raceNanos, tornValues,
+								                                   lostUpdates, unpublishedValues));
+							} catch (final Throwable e) {
+								// Release the other threads, whether they are already waiting or not.
+								firstException.compareAndSet(null, e);
+								phaser.forceTermination();
+								throw e;
+							}
+						}
+					}));
+				}
+
+				long operations = 0;
+				for (final Future<Long> future : futures) {
+					try {
+						operations += future.get().longValue();
+					} catch (final ExecutionException e) {
+						firstException.compareAndSet(null, e.getCause());
+					}
+				}
+				if (firstException.get() != null) {
+					final Throwable exception = firstException.get();
+					if (exception instanceof Error) {
+						throw (Error) exception;
+					}
+					throw exception instanceof RuntimeException ? (RuntimeException) exception : new BeanLikeTesterException(exception.getMessage(), (Exception) exception);
+				}
+
+				propertyNames[i] = metadata.getPropertyName(slot);
+				final double averageRaceNanos = Math.max(1, raceNanos.get() / threadCount);
+				operationsPerSecond[i] = operations * (double) TimeUnit.SECONDS.toNanos(1) / averageRaceNanos;
+				problemCounts[i] = new long[] { tornValues.get(), lostUpdates.get(), unpublishedValues.get() };
+			}
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new BeanLikeTesterException("Interrupted while stressing " + metadata.getBeanLikeClass().getName(), e);
+		} finally {
+			executor.shutdownNow();
+		}
+		return new BeanLikeStressReport(metadata.getBeanLikeClass(), threadCount, iterations, propertyNames, operationsPerSecond, problemCounts);
+	}
+
+}
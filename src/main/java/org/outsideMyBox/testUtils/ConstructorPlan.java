@@ -0,0 +1,127 @@
+/**
+ * Copyright (C) 2011 Franck Valentin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.outsideMyBox.testUtils;
+
+import java.lang.reflect.Constructor;
+import java.text.MessageFormat;
+import java.util.Arrays;
+
+/**
+ * A constructor of a beanLike class resolved once, with the slots of the properties set by its parameters.<br/>
+ * Creating an instance only requires to fill the array of arguments and to call the constructor.
+ */
+final class ConstructorPlan {
+
+	// -----------------------------------  Instance variables  ------------------------------------
+
+	private final Constructor<?> constructor;
+	private final Class<?>[]     parameterTypes;
+	private final int[]          argumentSlots;
+
+	// ------------------------------------  Constructors  -------------------------------------------
+
+	/**
+	 * @param constructor Public constructor of the beanLike class.
+	 * @param argumentSlots Slots of the properties set by the constructor's parameters, in the order of the parameters.
+	 */
+	ConstructorPlan(Constructor<?> constructor, int[] argumentSlots) {
+		this.constructor = constructor;
+		this.argumentSlots = argumentSlots;
+		parameterTypes = constructor.getParameterTypes();
+		try {
+			// The constructor is public, this only avoids the access checks on each call.
+			constructor.setAccessible(true);
+		} catch (final RuntimeException e) {
+			// SecurityException or, on Java 9+, InaccessibleObjectException for a package that isn't opened:
+			// the access checks are done on each call.
+		}
+	}
+
+	// ------------------------------------  Package methods  ----------------------------------------
+
+	Constructor<?> getConstructor() {
+		return constructor;
+	}
+
+	/** @return The slots of the constructor's parameters, in the order of the parameters. The array must not be modified. */
+	int[] getArgumentSlots() {
+		return argumentSlots;
+	}
+
+	/**
+	 * Fill the array of arguments of the constructor.
+	 * @param values Values of the properties. The ones unused by the constructor are ignored.
+	 * @return Constructor's parameters.
+	 */
+	Object[] getArguments(PropertyValueVector values) {
+		final Object[] arguments = new Object[argumentSlots.length];
+		for (int i = 0; i < argumentSlots.length; i++) {
+			arguments[i] = values.get(argumentSlots[i]);
+		}
+		return arguments;
+	}
+
+	/**
+	 * Create a new instance with the values of the properties set by the constructor.
+	 * @param values Values of the properties. The ones unused by the constructor are ignored.
+	 * @return New instance.
+	 * @throws BeanLikeTesterException if the instance couldn't be created.
+	 */
+	Object newInstance(PropertyValueVector values) {
+		return newInstance(getArguments(values));
+	}
+
+	/**
+	 * Check the arguments of the constructor the way {@link Constructor#newInstance(Object...)} does, before the constructor
+	 * is called directly: only the exceptions thrown by the constructor itself are then reported as an InvocationTargetException.
+	 * @param arguments Constructor's parameters.
+	 * @throws BeanLikeTesterException wrapping an IllegalArgumentException if the number or the type of the arguments is wrong,
+	 *         like {@link #newInstance(Object[])}.
+	 */
+	void verifyArguments(Object[] arguments) {
+		IllegalArgumentException e = null;
+		if (arguments.length != parameterTypes.length) {
+			e = new IllegalArgumentException("wrong number of arguments");
+		}
+		else {
+			for (int i = 0; (i < arguments.length) && (e == null); i++) {
+				if (!ReflectionInvoker.isValidArgument(parameterTypes[i], arguments[i])) {
+					e = new IllegalArgumentException("argument type mismatch");
+				}
+			}
+		}
+		if (e != null) {
+			final String msg = MessageFormat.format("exception msg: {0} \n\tconstructor: {1} \n\tconstructorParams: {2}", e, constructor, Arrays.asList(arguments));
+			throw new BeanLikeTesterException(msg, e);
+		}
+	}
+
+	/**
+	 * Create a new instance.
+	 * @param arguments Constructor's parameters.
+	 * @return New instance.
+	 * @throws BeanLikeTesterException if the instance couldn't be created.
+	 */
+	Object newInstance(Object[] arguments) {
+		try {
+			return constructor.newInstance(arguments);
+		} catch (final Exception e) {
+			final String msg = MessageFormat.format("exception msg: {0} \n\tconstructor: {1} \n\tconstructorParams: {2}", e, constructor, Arrays.asList(arguments));
+			throw new BeanLikeTesterException(msg, e);
+		}
+	}
+
+}
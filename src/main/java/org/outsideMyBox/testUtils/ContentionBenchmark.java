@@ -0,0 +1,204 @@
+/**
+ * Copyright (C) 2011 Franck Valentin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.outsideMyBox.testUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measure how the synchronized accessors and setters of a beanLike scale when they are called from more and more threads.<br/>
+ * For each number of threads, the threads share a single instance and call in turn all the synchronized methods, each call
+ * being timed. The calls of all the threads give the throughput and the distribution of the latencies of that level.
+ * A first run with the smallest number of threads warms up the methods and isn't reported.
+ */
+final class ContentionBenchmark {
+
+	// -----------------------------------  Instance variables  ------------------------------------
+
+	private final BeanLikeMetadata metadata;
+	private final BeanInvoker      invoker;
+	private final int[]            accessorSlots;
+	private final int[]            setterSlots;
+
+	// ------------------------------------  Constructors  -------------------------------------------
+
+	/**
+	 * @param metadata Metadata of the beanLike.
+	 * @param invoker Invoker calling the accessors and setters.
+	 */
+	ContentionBenchmark(BeanLikeMetadata metadata, BeanInvoker invoker) {
+		this.metadata = metadata;
+		this.invoker = invoker;
+		accessorSlots = findSynchronizedSlots(metadata, true);
+		setterSlots = findSynchronizedSlots(metadata, false);
+	}
+
+	// ------------------------------------  Private methods  ----------------------------------------
+
+	private static int[] findSynchronizedSlots(BeanLikeMetadata metadata, boolean accessors) {
+		final int[] slots = new int[metadata.getPropertyCount()];
+		int count = 0;
+		for (int slot = 0; slot < slots.length; slot++) {
+			final Method method = accessors ? metadata.getAccessor(slot) : metadata.getSetter(slot);
+			if ((method != null) && Modifier.isSynchronized(method.getModifiers())) {
+				slots[count++] = slot;
+			}
+		}
+		return Arrays.copyOf(slots, count);
+	}
+
+	/**
+	 * Call the synchronized methods from several threads.
+	 * @return The latencies of all the calls, sorted, and the duration of the level in the last element.
+	 */
+	private long[] runLevel(ExecutorService executor, final Object beanLike, final PropertyValueVector values, int threadCount, final int iterations)
+	                       throws InterruptedException {
+		final AtomicLong start = new AtomicLong();
+		final CyclicBarrier barrier = new CyclicBarrier(threadCount, new Runnable() {
+			@Override
+			public void run() {
+				start.set(System.nanoTime());
+			}
+		});
+		final List<Future<long[]>> futures = new ArrayList<Future<long[]>>(threadCount);
+		for (int thread = 0; thread < threadCount; thread++) {
+			final int firstMethod = thread;
+			futures.add(executor.submit(new Callable<long[]>() {
+				@Override
+				public long[] call() throws InterruptedException, BrokenBarrierException {
+					return callMethods(beanLike, values, firstMethod, iterations, barrier);
+				}
+			}));
+		}
+
+		final long[] latencies = new long[threadCount * iterations + 1];
+		int thread = 0;
+		try {
+			for (final Future<long[]> future : futures) {
+				System.arraycopy(future.get(), 0, latencies, thread++ * iterations, iterations);
+			}
+		} catch (final ExecutionException e) {
+			for (final Future<long[]> future : futures) {
+				future.cancel(true);
+			}
+			final Throwable cause = e.getCause();
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw cause instanceof RuntimeException ? (RuntimeException) cause : new BeanLikeTesterException(cause.getMessage(), (Exception) cause);
+		}
+		final long duration = System.nanoTime() - start.get();
+		Arrays.sort(latencies, 0, latencies.length - 1);
+		latencies[latencies.length - 1] = duration;
+		return latencies;
+	}
+
+	/**
+	 * Script of a thread: call the synchronized accessors and setters in turn, starting from a different method in each thread.
+	 * @return The latency of each call.
+	 */
+	private long[] callMethods(Object beanLike, PropertyValueVector values, int firstMethod, int iterations, CyclicBarrier barrier)
+	                          throws InterruptedException, BrokenBarrierException {
+		final int methodCount = accessorSlots.length + setterSlots.length;
+		final long[] latencies = new long[iterations];
+		barrier.await();
+		for (int i = 0; i < iterations; i++) {
+			final int method = (firstMethod + i) % methodCount;
+			final long start = System.nanoTime();
+			if (method < accessorSlots.length) {
+				invoker.get(beanLike, accessorSlots[method]);
+			}
+			else {
+				final int slot = setterSlots[method - accessorSlots.length];
+				invoker.set(beanLike, slot, values.get(slot));
+			}
+			latencies[i] = System.nanoTime() - start;
+		}
+		return latencies;
+	}
+
+	private static long percentile(long[] sortedLatencies, int count, double percentile) {
+		final int index = (int) Math.ceil(percentile / 100 * count) - 1;
+		return sortedLatencies[Math.max(0, Math.min(count - 1, index))];
+	}
+
+	// ------------------------------------  Package methods  ----------------------------------------
+
+	/** @return The names of the synchronized accessors and setters. */
+	List<String> getSynchronizedMethodNames() {
+		final List<String> names = new ArrayList<String>(accessorSlots.length + setterSlots.length);
+		for (final int slot : accessorSlots) {
+			names.add(metadata.getAccessor(slot).getName());
+		}
+		for (final int slot : setterSlots) {
+			names.add(metadata.getSetter(slot).getName());
+		}
+		return names;
+	}
+
+	/**
+	 * @param beanLike Instance shared by the threads.
+	 * @param values Values set by the synchronized setters.
+	 * @param threadCounts Numbers of threads of each level, e.g. 1, 2, 4, 8.
+	 * @param iterations Number of calls per thread.
+	 * @return The results of each level or a report without level if there isn't any synchronized method.
+	 * @throws BeanLikeTesterException if an accessor or a setter throws an exception or the current thread is interrupted.
+	 */
+	BeanLikeContentionReport run(Object beanLike, PropertyValueVector values, int[] threadCounts, int iterations) {
+		final List<String> methodNames = getSynchronizedMethodNames();
+		if (methodNames.isEmpty()) {
+			return new BeanLikeContentionReport(metadata.getBeanLikeClass(), methodNames, new int[0], new long[0][]);
+		}
+
+		int maxThreadCount = 0;
+		int minThreadCount = Integer.MAX_VALUE;
+		for (final int threadCount : threadCounts) {
+			maxThreadCount = Math.max(maxThreadCount, threadCount);
+			minThreadCount = Math.min(minThreadCount, threadCount);
+		}
+		final long[][] levels = new long[threadCounts.length][];
+		final ExecutorService executor = Executors.newFixedThreadPool(maxThreadCount);
+		try {
+			runLevel(executor, beanLike, values, minThreadCount, iterations);
+			for (int level = 0; level < threadCounts.length; level++) {
+				final long[] latencies = runLevel(executor, beanLike, values, threadCounts[level], iterations);
+				final int count = latencies.length - 1;
+				final long duration = Math.max(1, latencies[count]);
+				levels[level] = new long[] { count * TimeUnit.SECONDS.toNanos(1) / duration, percentile(latencies, count, 50),
+				                             percentile(latencies, count, 99), percentile(latencies, count, 99.9), latencies[count - 1] };
+			}
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new BeanLikeTesterException("Interrupted while benchmarking " + metadata.getBeanLikeClass().getName(), e);
+		} finally {
+			executor.shutdownNow();
+		}
+		return new BeanLikeContentionReport(metadata.getBeanLikeClass(), methodNames, threadCounts.clone(), levels);
+	}
+
+}
@@ -0,0 +1,193 @@
+/**
+ * Copyright (C) 2011 Franck Valentin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.outsideMyBox.testUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.outsideMyBox.testUtils.BeanLikeTester.PropertiesAndValues;
+
+/**
+ * Pairs of value sets covering the branches of equals() for all the mutable properties, see
+ * {@link BeanLikeTester#createEqualsCoveringArray(Map)}.<br/>
+ * Each row is a pair of default and other values for {@link BeanLikeTester#testEqualsAndHash(PropertiesAndValues, PropertiesAndValues)}.
+ * A run compares, for each property, its default value with its other value in both directions and each value
+ * with an equal one. So a property is covered by:
+ *    <ul>
+ *    <li>a row where it is null and then not null: null/null, null/not null, not null/null and equal values,</li>
+ *    <li>a row where it has two different non null values: different values.</li>
+ *    </ul>
+ * The default value of the properties that aren't set by the first constructor is the one of the object created by the tester,
+ * so only their other value can vary: if it is null, two different non null values can't be compared.<br/>
+ * The properties are independent as the tester changes one property at a time, so the rows combine the pairs of all the
+ * properties: the array has as many rows as the most demanding property, i.e. two rows at most whatever the number of
+ * properties and candidate values, instead of one run per combination of values.
+ */
+public final class EqualsCoveringArray {
+
+	// ------------------------------------  Class variables  ----------------------------------------
+
+	/** Default and other value of a property in a row. */
+	private static final class ValuePair {
+		private final Object defaultValue;
+		private final Object otherValue;
+
+		ValuePair(Object defaultValue, Object otherValue) {
+			this.defaultValue = defaultValue;
+			this.otherValue = otherValue;
+		}
+	}
+
+	// -----------------------------------  Instance variables  ------------------------------------
+
+	private final PropertiesAndValues[] defaultValues;
+	private final PropertiesAndValues[] otherValues;
+
+	// ------------------------------------  Constructors  -------------------------------------------
+
+	/**
+	 * @param propertyNames Names of the mutable properties.
+	 * @param primitivePropertyNames Names of the properties of a primitive type, whose null candidates are ignored.
+	 * @param fixedDefaultValues Names of the properties whose default value is given by the object and this value.
+	 * @param candidateValues Property names and the values that can be used for them, including null.
+	 * @throws BeanLikeTesterException if a property doesn't have at least two different candidate values.
+	 */
+	EqualsCoveringArray(Collection<String> propertyNames, Set<String> primitivePropertyNames, Map<String, Object> fixedDefaultValues,
+	                    Map<String, ? extends Collection<?>> candidateValues) {
+		final List<List<ValuePair>> pairsPerProperty = new ArrayList<List<ValuePair>>(propertyNames.size());
+		int rowCount = 1;
+		for (final String propertyName : propertyNames) {
+			final Collection<?> candidates = candidateValues.get(propertyName);
+			if (candidates == null) {
+				throw new BeanLikeTesterException("No candidate values for the property '" + propertyName + "'");
+			}
+			final boolean isNullable = !primitivePropertyNames.contains(propertyName);
+			final List<ValuePair> pairs = fixedDefaultValues.containsKey(propertyName) ? findPairs(candidates, isNullable, fixedDefaultValues.get(propertyName))
+			                                                                          : findPairs(candidates, isNullable);
+			if (pairs.isEmpty()) {
+				throw new BeanLikeTesterException("The property '" + propertyName + "' needs at least two different candidate values: " + candidates);
+			}
+			pairsPerProperty.add(pairs);
+			rowCount = Math.max(rowCount, pairs.size());
+		}
+
+		defaultValues = new PropertiesAndValues[rowCount];
+		otherValues = new PropertiesAndValues[rowCount];
+		for (int row = 0; row < rowCount; row++) {
+			defaultValues[row] = new PropertiesAndValues();
+			otherValues[row] = new PropertiesAndValues();
+			int propertyIndex = 0;
+			for (final String propertyName : propertyNames) {
+				final List<ValuePair> pairs = pairsPerProperty.get(propertyIndex++);
+				// The properties with fewer pairs than rows repeat one of them.
+				final ValuePair pair = pairs.get(row % pairs.size());
+				defaultValues[row].put(propertyName, pair.defaultValue);
+				otherValues[row].put(propertyName, pair.otherValue);
+			}
+		}
+	}
+
+	// ------------------------------------  Private methods  ----------------------------------------
+
+	/**
+	 * @param candidates Candidate values of a property.
+	 * @param isNullable false to ignore the null candidates.
+	 * @return The pairs covering the property: null and not null, then two different values, if the candidates contain them.
+	 */
+	private static List<ValuePair> findPairs(Collection<?> candidates, boolean isNullable) {
+		boolean hasNull = false;
+		Object value = null;
+		Object differentValue = null;
+		for (final Object candidate : candidates) {
+			if (candidate == null) {
+				hasNull = isNullable;
+			}
+			else if (value == null) {
+				value = candidate;
+			}
+			else if ((differentValue == null) && BeanLikeTester.areValuesDifferent(value, candidate)) {
+				differentValue = candidate;
+			}
+		}
+
+		final List<ValuePair> pairs = new ArrayList<ValuePair>(2);
+		if (hasNull && (value != null)) {
+			pairs.add(new ValuePair(null, value));
+		}
+		if (differentValue != null) {
+			pairs.add(new ValuePair(value, differentValue));
+		}
+		return pairs;
+	}
+
+	/**
+	 * @param candidates Candidate values of a property.
+	 * @param isNullable false to ignore the null candidates.
+	 * @param defaultValue Default value of the property.
+	 * @return The pairs covering the property with its default value, if the candidates contain values different from it.
+	 */
+	private static List<ValuePair> findPairs(Collection<?> candidates, boolean isNullable, Object defaultValue) {
+		boolean hasNull = false;
+		Object differentValue = null;
+		for (final Object candidate : candidates) {
+			if (candidate == null) {
+				hasNull = isNullable;
+			}
+			else if ((differentValue == null) && BeanLikeTester.areValuesDifferent(defaultValue, candidate)) {
+				differentValue = candidate;
+			}
+		}
+
+		final List<ValuePair> pairs = new ArrayList<ValuePair>(2);
+		if (hasNull && (defaultValue != null)) {
+			pairs.add(new ValuePair(defaultValue, null));
+		}
+		if (differentValue != null) {
+			pairs.add(new ValuePair(defaultValue, differentValue));
+		}
+		return pairs;
+	}
+
+	// ------------------------------------  Public methods  -----------------------------------------
+
+	/** @return Number of rows, i.e. of runs of testEqualsAndHash(). */
+	public int size() {
+		return defaultValues.length;
+	}
+
+	/** @return A copy of the default values of a row. */
+	public PropertiesAndValues getDefaultValues(int row) {
+		return new PropertiesAndValues(defaultValues[row]);
+	}
+
+	/** @return A copy of the other values of a row. */
+	public PropertiesAndValues getOtherValues(int row) {
+		return new PropertiesAndValues(otherValues[row]);
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder sb = new StringBuilder("EqualsCoveringArray [");
+		for (int row = 0; row < defaultValues.length; row++) {
+			sb.append("\n\tdefaultValues=").append(defaultValues[row]).append(", otherValues=").append(otherValues[row]);
+		}
+		return sb.append(']').toString();
+	}
+
+}
@@ -0,0 +1,231 @@
+/**
+ * Copyright (C) 2011 Franck Valentin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.outsideMyBox.testUtils;
+
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.text.MessageFormat;
+import java.util.Arrays;
+
+/**
+ * {@link BeanInvoker} delegating to a class generated at runtime for one beanLike class by {@link InvokerClassWriter}.<br/>
+ * The generated class calls the accessors, setters and constructors directly, so each beanLike class gets its own
+ * monomorphic call sites instead of sharing the ones of the reflection API or of the method handles.<br/>
+ * A class is generated for each constructors' mapping, in its own class loader, child of the beanLike's one: it is
+ * cached with the {@link BeanLikeMetadata} of the mapping and can be unloaded with it.<br/>
+ * The calls are checked like the reflection API does; the primitive values to widen are passed to a {@link ReflectionInvoker}.
+ */
+final class GeneratedInvoker implements BeanInvoker {
+
+	// ------------------------------------  Class variables  ----------------------------------------
+
+	private static final String GENERATED_PACKAGE = "org.outsideMyBox.testUtils.generated.";
+
+	// -----------------------------------  Instance variables  ------------------------------------
+
+	private final BeanLikeMetadata  metadata;
+	private final BeanInvoker       generatedInvoker;
+	private final ReflectionInvoker reflectionInvoker;
+	private final boolean[]         isDirectSetterBySlot;
+	private final Class<?>[]        setterParameterTypes;
+	private final Class<?>[]        setterArgumentTypes;
+	private final Class<?>[][]      constructorArgumentTypes;
+
+	// ------------------------------------  Constructors  -------------------------------------------
+
+	/**
+	 * Generate and load the invoker of a beanLike class.
+	 * @param metadata Metadata of a valid beanLike class.
+	 * @throws IllegalAccessException if the class or the types of the setters' and constructors' parameters aren't public
+	 *         or if an accessor or a setter is static.
+	 * @throws LinkageError if the class couldn't be generated or loaded.
+	 */
+	GeneratedInvoker(BeanLikeMetadata metadata) throws IllegalAccessException {
+		this.metadata = metadata;
+		verifyIsAccessible(metadata);
+		reflectionInvoker = new ReflectionInvoker(metadata);
+		isDirectSetterBySlot = new boolean[metadata.getPropertyCount()];
+		setterParameterTypes = new Class<?>[metadata.getPropertyCount()];
+		setterArgumentTypes = new Class<?>[metadata.getPropertyCount()];
+		for (int slot = 0; slot < isDirectSetterBySlot.length; slot++) {
+			isDirectSetterBySlot[slot] = isDirectSetter(metadata.getSetter(slot));
+			if (isDirectSetterBySlot[slot]) {
+				setterParameterTypes[slot] = metadata.getSetter(slot).getParameterTypes()[0];
+				setterArgumentTypes[slot] = MethodType.methodType(setterParameterTypes[slot]).wrap().returnType();
+			}
+		}
+		constructorArgumentTypes = new Class<?>[metadata.getConstructorCount()][];
+		for (int index = 0; index < constructorArgumentTypes.length; index++) {
+			constructorArgumentTypes[index] = MethodType.methodType(void.class, metadata.getConstructor(index).getParameterTypes()).wrap().parameterArray();
+		}
+
+		final Class<?> beanLikeClass = metadata.getBeanLikeClass();
+		final String className = GENERATED_PACKAGE + beanLikeClass.getName().replace('.', '_').replace('$', '_') + "$Invoker";
+		final byte[] classFile = InvokerClassWriter.generate(className, metadata);
+		final Class<?> generatedClass = new InvokerClassLoader(beanLikeClass.getClassLoader()).define(className, classFile);
+		try {
+			generatedInvoker = (BeanInvoker) generatedClass.getDeclaredConstructor().newInstance();
+		} catch (final InstantiationException | InvocationTargetException | NoSuchMethodException e) {
+			throw new LinkageError(e.toString());
+		}
+	}
+
+	// ------------------------------------  Private methods  ----------------------------------------
+
+	/** Class loader of a single generated invoker, which sees the beanLike's classes and {@link BeanInvoker}. */
+	private static final class InvokerClassLoader extends ClassLoader {
+
+		InvokerClassLoader(ClassLoader parent) {
+			super(parent);
+		}
+
+		@Override
+		protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+			if (name.equals(BeanInvoker.class.getName())) {
+				return BeanInvoker.class;
+			}
+			return super.loadClass(name, resolve);
+		}
+
+		Class<?> define(String name, byte[] classFile) {
+			return defineClass(name, classFile, 0, classFile.length);
+		}
+	}
+
+	/**
+	 * Verify that the generated class, which is in another package, can access the beanLike class and
+	 * the types it casts the arguments to.
+	 * @throws IllegalAccessException if one of them isn't public or an accessor or a setter is static.
+	 */
+	private static void verifyIsAccessible(BeanLikeMetadata metadata) throws IllegalAccessException {
+		final Class<?> beanLikeClass = metadata.getBeanLikeClass();
+		verifyIsPublic(beanLikeClass);
+		if (beanLikeClass.isInterface() || Modifier.isAbstract(beanLikeClass.getModifiers())) {
+			throw new IllegalAccessException(beanLikeClass + " can't be instantiated");
+		}
+		for (int slot = 0; slot < metadata.getPropertyCount(); slot++) {
+			if (Modifier.isStatic(metadata.getAccessor(slot).getModifiers())) {
+				throw new IllegalAccessException(metadata.getAccessor(slot) + " is static");
+			}
+		}
+		for (final int slot : metadata.getSetterSlots()) {
+			if (Modifier.isStatic(metadata.getSetter(slot).getModifiers())) {
+				throw new IllegalAccessException(metadata.getSetter(slot) + " is static");
+			}
+			for (final Class<?> parameterType : metadata.getSetter(slot).getParameterTypes()) {
+				verifyIsPublic(parameterType);
+			}
+		}
+		for (int index = 0; index < metadata.getConstructorCount(); index++) {
+			for (final Class<?> parameterType : metadata.getConstructor(index).getParameterTypes()) {
+				verifyIsPublic(parameterType);
+			}
+		}
+	}
+
+	private static void verifyIsPublic(Class<?> type) throws IllegalAccessException {
+		Class<?> componentType = type;
+		while (componentType.isArray()) {
+			componentType = componentType.getComponentType();
+		}
+		if (!componentType.isPrimitive() && !Modifier.isPublic(componentType.getModifiers())) {
+			throw new IllegalAccessException(componentType + " isn't public");
+		}
+	}
+
+	/**
+	 * @param argumentType Type of a parameter, wrapped if it's a primitive.
+	 * @param argument Argument accepted by the reflection API.
+	 * @return true if the generated class converts the argument like the reflection API: the primitive values to
+	 *         widen (e.g. a Character for an int) are left to the reflection API.
+	 */
+	private static boolean isDirectArgument(Class<?> argumentType, Object argument) {
+		return (argument == null) || argumentType.isInstance(argument);
+	}
+
+	/**
+	 * Wrap an exception thrown by the generated class the same way as {@link ReflectionInvoker} does.
+	 * @param e Exception thrown by the generated class.
+	 * @return The exception to throw.
+	 */
+	private static BeanLikeTesterException toBeanLikeTesterException(Throwable e) {
+		final InvocationTargetException invocationException = new InvocationTargetException(e);
+		return new BeanLikeTesterException(invocationException.getMessage(), invocationException);
+	}
+
+	// ------------------------------------  Package methods  ----------------------------------------
+
+	/** @return true if the setter is called by the generated class, i.e. if it has exactly one parameter. */
+	static boolean isDirectSetter(Method setter) {
+		return (setter != null) && (setter.getParameterTypes().length == 1);
+	}
+
+	// ------------------------------------  Public methods  -----------------------------------------
+
+	@Override
+	public Object get(Object beanLike, int slot) {
+		ReflectionInvoker.verifyCall(metadata.getBeanLikeClass(), beanLike, null, null);
+		try {
+			return generatedInvoker.get(beanLike, slot);
+		} catch (final Throwable e) {
+			throw toBeanLikeTesterException(e);
+		}
+	}
+
+	@Override
+	public void set(Object beanLike, int slot, Object value) {
+		if (!isDirectSetterBySlot[slot]) {
+			reflectionInvoker.set(beanLike, slot, value);
+			return;
+		}
+		ReflectionInvoker.verifyCall(metadata.getBeanLikeClass(), beanLike, setterParameterTypes[slot], value);
+		if (!isDirectArgument(setterArgumentTypes[slot], value)) {
+			reflectionInvoker.set(beanLike, slot, value);
+			return;
+		}
+		try {
+			generatedInvoker.set(beanLike, slot, value);
+		} catch (final Throwable e) {
+			throw toBeanLikeTesterException(e);
+		}
+	}
+
+	@Override
+	public Object newInstance(int constructorIndex, Object[] arguments) {
+		metadata.getConstructorPlan(constructorIndex).verifyArguments(arguments);
+		final Class<?>[] argumentTypes = constructorArgumentTypes[constructorIndex];
+		for (int i = 0; i < arguments.length; i++) {
+			if (!isDirectArgument(argumentTypes[i], arguments[i])) {
+				return reflectionInvoker.newInstance(constructorIndex, arguments);
+			}
+		}
+		try {
+			return generatedInvoker.newInstance(constructorIndex, arguments);
+		} catch (final Throwable e) {
+			final Constructor<?> constructor = metadata.getConstructor(constructorIndex);
+			final InvocationTargetException invocationException = new InvocationTargetException(e);
+			final String msg = MessageFormat.format("exception msg: {0} \n\tconstructor: {1} \n\tconstructorParams: {2}",
+			                                        invocationException,
+			                                        constructor,
+			                                        Arrays.asList(arguments));
+			throw new BeanLikeTesterException(msg, invocationException);
+		}
+	}
+
+}
@@ -0,0 +1,54 @@
+/**
+ * Copyright (C) 2011 Franck Valentin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.outsideMyBox.testUtils;
+
+/**
+ * How a {@link BeanLikeTester} calls the accessors, setters and constructors of the beanLike class.<br/>
+ * When a mode isn't supported by the class or the runtime, the tester silently uses the next
+ * slower one (LAMBDA or GENERATED, then METHOD_HANDLE, then REFLECTION).<br/>
+ * Each mode is also an {@link InvocationStrategy} always selecting itself.
+ */
+public enum InvocationMode implements InvocationStrategy {
+
+	/** Calls through the reflection API ({@link java.lang.reflect.Method#invoke(Object, Object...)}). */
+	REFLECTION,
+
+	/** Calls through method handles created once per property and constructor (default mode). */
+	METHOD_HANDLE,
+
+	/**
+	 * Accessors and setters compiled into functions by {@link java.lang.invoke.LambdaMetafactory}, so that the JIT
+	 * compiler can inline them in the tests' loops. Constructors are called through method handles.<br/>
+	 * Creating the functions is more expensive than creating method handles: this mode is only worth it for
+	 * testers running many iterations (fuzzing, benchmarks).
+	 */
+	LAMBDA,
+
+	/**
+	 * Calls through a class generated at runtime for the beanLike class, which directly calls its accessors, setters
+	 * and constructors. A class is generated for each constructors' mapping the beanLike class is tested with: it is
+	 * cached with the metadata of this mapping and unloaded with it.<br/>
+	 * Like {@link #LAMBDA}, this mode is only worth it for the heaviest beans and testers running many iterations.
+	 * It requires a public beanLike class.
+	 */
+	GENERATED;
+
+	@Override
+	public InvocationMode selectMode(Class<?> beanLikeClass, long invocationCount) {
+		return this;
+	}
+
+}
@@ -0,0 +1,48 @@
+/**
+ * Copyright (C) 2011 Franck Valentin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.outsideMyBox.testUtils;
+
+/**
+ * Selects how a {@link BeanLikeTester} calls the accessors, setters and constructors of the beanLike class.<br/>
+ * Each {@link InvocationMode} is a strategy always selecting itself. Other strategies, like
+ * {@link TieredInvocationStrategy}, are consulted before each call with the number of calls already made
+ * on the class, so that they can switch to a faster mode once a class is heavily tested. Once a strategy
+ * selects a {@link #isFinalMode(InvocationMode) final mode}, a tester keeps using it without counting its calls.<br/>
+ * A strategy only chooses between the built-in {@link InvocationMode}s: it can't supply its own way of calling the methods.<br/>
+ * Implementations must be thread safe and cheap: they are called in the tests' loops.
+ */
+public interface InvocationStrategy {
+
+	/**
+	 * Select the mode of a call.
+	 * @param beanLikeClass Class whose accessor, setter or constructor is about to be called.
+	 * @param invocationCount Number of calls made on the class through non-constant strategies that hadn't selected a final mode
+	 *        (by all the testers), including this one.
+	 * @return The invocation mode used for this call.
+	 */
+	InvocationMode selectMode(Class<?> beanLikeClass, long invocationCount);
+
+	/**
+	 * Tell whether a mode selected by this strategy is never changed for the following calls.<br/>
+	 * Until a final mode is selected, each call increments a counter shared by all the testers of the class.
+	 * @param mode Mode returned by {@link #selectMode(Class, long)}.
+	 * @return true if the mode is final, false by default.
+	 */
+	default boolean isFinalMode(InvocationMode mode) {
+		return false;
+	}
+
+}
@@ -0,0 +1,476 @@
+/**
+ * Copyright (C) 2011 Franck Valentin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.outsideMyBox.testUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Minimal class file writer generating the bytecode of a {@link BeanInvoker} specialised for one beanLike class.<br/>
+ * Each method of the generated class is a <code>tableswitch</code> on the slot (or constructor index) whose cases
+ * directly call the accessor, setter or constructor (<code>invokevirtual</code>, <code>new</code> + <code>invokespecial</code>).
+ * <p>
+ * The class file version is 49 (Java 5) so that no stack map frames have to be computed: the JVM verifies it
+ * by type inference. Arguments are converted by a <code>checkcast</code> for the objects and by
+ * {@link Number}, {@link Boolean#booleanValue()} or {@link Character#charValue()} for the primitives.<br/>
+ * Exceptions aren't caught by the generated code, they are wrapped by {@link GeneratedInvoker}.
+ */
+final class InvokerClassWriter {
+
+	// ------------------------------------  Class variables  ----------------------------------------
+
+	private static final int MAGIC              = 0xCAFEBABE;
+	private static final int CLASS_FILE_VERSION = 49;
+	private static final int ACC_PUBLIC         = 0x0001;
+	private static final int ACC_FINAL          = 0x0010;
+	private static final int ACC_SUPER          = 0x0020;
+	private static final int MAX_CODE_LENGTH    = 65535;
+
+	private static final int CONSTANT_UTF8          = 1;
+	private static final int CONSTANT_CLASS         = 7;
+	private static final int CONSTANT_METHODREF     = 10;
+	private static final int CONSTANT_NAME_AND_TYPE = 12;
+
+	private static final int ICONST_0      = 0x03;
+	private static final int BIPUSH        = 0x10;
+	private static final int SIPUSH        = 0x11;
+	private static final int ILOAD_1       = 0x1b;
+	private static final int ILOAD_2       = 0x1c;
+	private static final int ALOAD_0       = 0x2a;
+	private static final int ALOAD_1       = 0x2b;
+	private static final int ALOAD_2       = 0x2c;
+	private static final int ALOAD_3       = 0x2d;
+	private static final int AALOAD        = 0x32;
+	private static final int ASTORE_3      = 0x4e;
+	private static final int DUP           = 0x59;
+	private static final int TABLESWITCH   = 0xaa;
+	private static final int ARETURN       = 0xb0;
+	private static final int RETURN        = 0xb1;
+	private static final int INVOKEVIRTUAL = 0xb6;
+	private static final int INVOKESPECIAL = 0xb7;
+	private static final int INVOKESTATIC  = 0xb8;
+	private static final int NEW           = 0xbb;
+	private static final int ATHROW        = 0xbf;
+	private static final int CHECKCAST     = 0xc0;
+
+	// -----------------------------------  Instance variables  ------------------------------------
+
+	private final BeanLikeMetadata     metadata;
+	private final String               beanLikeClassName;
+	private final ByteBuffer           constantPool = new ByteBuffer();
+	private final Map<String, Integer> constants    = new HashMap<String, Integer>();
+	private int                        constantCount = 1;
+
+	// ------------------------------------  Constructors  -------------------------------------------
+
+	private InvokerClassWriter(BeanLikeMetadata metadata) {
+		this.metadata = metadata;
+		beanLikeClassName = internalName(metadata.getBeanLikeClass());
+	}
+
+	// ------------------------------------  Private methods  ----------------------------------------
+
+	/** Growable byte array with the big-endian writes of the class file format. */
+	private static final class ByteBuffer {
+		private byte[] bytes = new byte[256];
+		private int    length;
+
+		void u1(int value) {
+			if (length == bytes.length) {
+				final byte[] newBytes = new byte[bytes.length * 2];
+				System.arraycopy(bytes, 0, newBytes, 0, length);
+				bytes = newBytes;
+			}
+			bytes[length++] = (byte) value;
+		}
+
+		void u2(int value) {
+			u1(value >>> 8);
+			u1(value);
+		}
+
+		void u4(int value) {
+			u2(value >>> 16);
+			u2(value);
+		}
+
+		void putU4(int position, int value) {
+			bytes[position] = (byte) (value >>> 24);
+			bytes[position + 1] = (byte) (value >>> 16);
+			bytes[position + 2] = (byte) (value >>> 8);
+			bytes[position + 3] = (byte) value;
+		}
+
+		void append(ByteBuffer buffer) {
+			for (int i = 0; i < buffer.length; i++) {
+				u1(buffer.bytes[i]);
+			}
+		}
+
+		int length() {
+			return length;
+		}
+
+		byte[] toByteArray() {
+			final byte[] result = new byte[length];
+			System.arraycopy(bytes, 0, result, 0, length);
+			return result;
+		}
+	}
+
+	/** @return The name of a class as used in the constant pool (e.g. 'java/lang/String' or '[I'). */
+	private static String internalName(Class<?> cls) {
+		return cls.getName().replace('.', '/');
+	}
+
+	private static String descriptor(Class<?> type) {
+		if (type == void.class) {
+			return "V";
+		}
+		if (type.isPrimitive()) {
+			return String.valueOf("ZCBSIJFD".charAt(indexOfPrimitive(type)));
+		}
+		if (type.isArray()) {
+			return internalName(type);
+		}
+		return "L" + internalName(type) + ";";
+	}
+
+	private static String descriptor(Class<?>[] parameterTypes, Class<?> returnType) {
+		final StringBuilder descriptor = new StringBuilder("(");
+		for (final Class<?> parameterType : parameterTypes) {
+			descriptor.append(descriptor(parameterType));
+		}
+		return descriptor.append(')').append(descriptor(returnType)).toString();
+	}
+
+	/** @return The index of a primitive type other than void in 'ZCBSIJFD'. */
+	private static int indexOfPrimitive(Class<?> type) {
+		final Class<?>[] primitives = { boolean.class, char.class, byte.class, short.class, int.class, long.class, float.class, double.class };
+		for (int i = 0; i < primitives.length; i++) {
+			if (primitives[i] == type) {
+				return i;
+			}
+		}
+		throw new IllegalArgumentException(type.toString());
+	}
+
+	/** @return Number of operand stack entries taken by a value of this type. */
+	private static int size(Class<?> type) {
+		return (type == long.class) || (type == double.class) ? 2 : 1;
+	}
+
+	private int constant(String key, int tag, int value1, int value2, boolean isValue2Present) {
+		final Integer cached = constants.get(key);
+		if (cached != null) {
+			return cached.intValue();
+		}
+		constantPool.u1(tag);
+		constantPool.u2(value1);
+		if (isValue2Present) {
+			constantPool.u2(value2);
+		}
+		constants.put(key, Integer.valueOf(constantCount));
+		return constantCount++;
+	}
+
+	private int utf8(String value) {
+		final String key = "U" + value;
+		final Integer cached = constants.get(key);
+		if (cached != null) {
+			return cached.intValue();
+		}
+		// Class files use the modified UTF-8 of DataOutput#writeUTF, read back by ClassFileFilter with DataInput#readUTF.
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try {
+			new DataOutputStream(bytes).writeUTF(value);
+		} catch (final IOException e) {
+			throw new ClassFormatError("The constant '" + value + "' is too long to generate an invoker for " + metadata.getBeanLikeClass());
+		}
+		constantPool.u1(CONSTANT_UTF8);
+		for (final byte b : bytes.toByteArray()) {
+			constantPool.u1(b);
+		}
+		constants.put(key, Integer.valueOf(constantCount));
+		return constantCount++;
+	}
+
+	private int classRef(String internalName) {
+		final int name = utf8(internalName);
+		return constant("C" + internalName, CONSTANT_CLASS, name, 0, false);
+	}
+
+	private int methodRef(String owner, String name, String descriptor) {
+		final int ownerIndex = classRef(owner);
+		final int nameIndex = utf8(name);
+		final int descriptorIndex = utf8(descriptor);
+		final int nameAndType = constant("T" + name + descriptor, CONSTANT_NAME_AND_TYPE, nameIndex, descriptorIndex, true);
+		return constant("M" + owner + "." + name + descriptor, CONSTANT_METHODREF, ownerIndex, nameAndType, true);
+	}
+
+	private void pushInt(ByteBuffer code, int value) {
+		if (value <= 5) {
+			code.u1(ICONST_0 + value);
+		}
+		else if (value <= Byte.MAX_VALUE) {
+			code.u1(BIPUSH);
+			code.u1(value);
+		}
+		else if (value <= Short.MAX_VALUE) {
+			code.u1(SIPUSH);
+			code.u2(value);
+		}
+		else {
+			throw new ClassFormatError("Too many properties or constructors to generate an invoker for " + metadata.getBeanLikeClass());
+		}
+	}
+
+	/** Convert the object on top of the stack into a value of 'type'. */
+	private void convert(ByteBuffer code, Class<?> type) {
+		if (type == Object.class) {
+			return;
+		}
+		if (!type.isPrimitive()) {
+			code.u1(CHECKCAST);
+			code.u2(classRef(internalName(type)));
+			return;
+		}
+		final String wrapper = type == boolean.class ? "java/lang/Boolean" : type == char.class ? "java/lang/Character" : "java/lang/Number";
+		code.u1(CHECKCAST);
+		code.u2(classRef(wrapper));
+		code.u1(INVOKEVIRTUAL);
+		code.u2(methodRef(wrapper, type.getName() + "Value", "()" + descriptor(type)));
+	}
+
+	/** Box the primitive value on top of the stack. */
+	private void box(ByteBuffer code, Class<?> type) {
+		if (type.isPrimitive()) {
+			final String wrapper = internalName(MethodType.methodType(type).wrap().returnType());
+			code.u1(INVOKESTATIC);
+			code.u2(methodRef(wrapper, "valueOf", "(" + descriptor(type) + ")L" + wrapper + ";"));
+		}
+	}
+
+	/**
+	 * Write a tableswitch on the int on top of the stack.
+	 * @return The positions of the default offset (index 0) and of the cases' offsets (index i + 1).
+	 */
+	private static int[] tableSwitch(ByteBuffer code, int caseCount) {
+		final int[] positions = new int[caseCount + 2];
+		positions[caseCount + 1] = code.length();
+		code.u1(TABLESWITCH);
+		while ((code.length() % 4) != 0) {
+			code.u1(0);
+		}
+		positions[0] = code.length();
+		code.u4(0);
+		code.u4(0);
+		code.u4(caseCount - 1);
+		for (int i = 0; i < caseCount; i++) {
+			positions[i + 1] = code.length();
+			code.u4(0);
+		}
+		return positions;
+	}
+
+	/** Make a tableswitch case (or its default) jump to the current position. */
+	private static void jumpHere(ByteBuffer code, int[] positions, int index) {
+		code.putU4(positions[index], code.length() - positions[positions.length - 1]);
+	}
+
+	/** Throw an IndexOutOfBoundsException, used by the cases that don't exist. */
+	private void throwIndexOutOfBounds(ByteBuffer code) {
+		code.u1(NEW);
+		code.u2(classRef("java/lang/IndexOutOfBoundsException"));
+		code.u1(DUP);
+		code.u1(INVOKESPECIAL);
+		code.u2(methodRef("java/lang/IndexOutOfBoundsException", "<init>", "()V"));
+		code.u1(ATHROW);
+	}
+
+	private void writeMethod(ByteBuffer methods, String name, String descriptor, int maxStack, int maxLocals, ByteBuffer code) {
+		if (code.length() > MAX_CODE_LENGTH) {
+			throw new ClassFormatError("The invoker's method '" + name + "' is too large for " + metadata.getBeanLikeClass());
+		}
+		methods.u2(ACC_PUBLIC);
+		methods.u2(utf8(name));
+		methods.u2(utf8(descriptor));
+		methods.u2(1);
+		methods.u2(utf8("Code"));
+		methods.u4(12 + code.length());
+		methods.u2(maxStack);
+		methods.u2(maxLocals);
+		methods.u4(code.length());
+		methods.append(code);
+		methods.u2(0);
+		methods.u2(0);
+	}
+
+	private ByteBuffer constructorCode() {
+		final ByteBuffer code = new ByteBuffer();
+		code.u1(ALOAD_0);
+		code.u1(INVOKESPECIAL);
+		code.u2(methodRef("java/lang/Object", "<init>", "()V"));
+		code.u1(RETURN);
+		return code;
+	}
+
+	/** Object get(Object beanLike, int slot) */
+	private ByteBuffer getCode() {
+		final ByteBuffer code = new ByteBuffer();
+		final int propertyCount = metadata.getPropertyCount();
+		if (propertyCount > 0) {
+			code.u1(ALOAD_1);
+			code.u1(CHECKCAST);
+			code.u2(classRef(beanLikeClassName));
+			code.u1(ASTORE_3);
+			code.u1(ILOAD_2);
+			final int[] positions = tableSwitch(code, propertyCount);
+			for (int slot = 0; slot < propertyCount; slot++) {
+				jumpHere(code, positions, slot + 1);
+				final Method accessor = metadata.getAccessor(slot);
+				code.u1(ALOAD_3);
+				code.u1(INVOKEVIRTUAL);
+				code.u2(methodRef(beanLikeClassName, accessor.getName(), descriptor(accessor.getParameterTypes(), accessor.getReturnType())));
+				box(code, accessor.getReturnType());
+				code.u1(ARETURN);
+			}
+			jumpHere(code, positions, 0);
+		}
+		throwIndexOutOfBounds(code);
+		return code;
+	}
+
+	/** void set(Object beanLike, int slot, Object value) */
+	private ByteBuffer setCode() {
+		final ByteBuffer code = new ByteBuffer();
+		final int propertyCount = metadata.getPropertyCount();
+		if (propertyCount > 0) {
+			code.u1(ILOAD_2);
+			final int[] positions = tableSwitch(code, propertyCount);
+			for (int slot = 0; slot < propertyCount; slot++) {
+				final Method setter = metadata.getSetter(slot);
+				if (!GeneratedInvoker.isDirectSetter(setter)) {
+					continue;
+				}
+				jumpHere(code, positions, slot + 1);
+				code.u1(ALOAD_1);
+				code.u1(CHECKCAST);
+				code.u2(classRef(beanLikeClassName));
+				code.u1(ALOAD_3);
+				convert(code, setter.getParameterTypes()[0]);
+				code.u1(INVOKEVIRTUAL);
+				code.u2(methodRef(beanLikeClassName, setter.getName(), descriptor(setter.getParameterTypes(), setter.getReturnType())));
+				code.u1(RETURN);
+			}
+			for (int slot = 0; slot < propertyCount; slot++) {
+				if (!GeneratedInvoker.isDirectSetter(metadata.getSetter(slot))) {
+					jumpHere(code, positions, slot + 1);
+				}
+			}
+			jumpHere(code, positions, 0);
+		}
+		throwIndexOutOfBounds(code);
+		return code;
+	}
+
+	/** Object newInstance(int constructorIndex, Object[] arguments) */
+	private ByteBuffer newInstanceCode(int[] maxStack) {
+		final ByteBuffer code = new ByteBuffer();
+		final int constructorCount = metadata.getConstructorCount();
+		maxStack[0] = 2;
+		if (constructorCount > 0) {
+			code.u1(ILOAD_1);
+			final int[] positions = tableSwitch(code, constructorCount);
+			for (int index = 0; index < constructorCount; index++) {
+				jumpHere(code, positions, index + 1);
+				final Constructor<?> constructor = metadata.getConstructor(index);
+				final Class<?>[] parameterTypes = constructor.getParameterTypes();
+				code.u1(NEW);
+				code.u2(classRef(beanLikeClassName));
+				code.u1(DUP);
+				int stack = 2;
+				for (int i = 0; i < parameterTypes.length; i++) {
+					code.u1(ALOAD_2);
+					pushInt(code, i);
+					code.u1(AALOAD);
+					convert(code, parameterTypes[i]);
+					maxStack[0] = Math.max(maxStack[0], stack + 2);
+					stack += size(parameterTypes[i]);
+				}
+				maxStack[0] = Math.max(maxStack[0], stack);
+				code.u1(INVOKESPECIAL);
+				code.u2(methodRef(beanLikeClassName, "<init>", descriptor(parameterTypes, void.class)));
+				code.u1(ARETURN);
+			}
+			jumpHere(code, positions, 0);
+		}
+		throwIndexOutOfBounds(code);
+		return code;
+	}
+
+	private byte[] write(String className) {
+		final String beanInvokerName = internalName(BeanInvoker.class);
+		final ByteBuffer methods = new ByteBuffer();
+		writeMethod(methods, "<init>", "()V", 1, 1, constructorCode());
+		writeMethod(methods, "get", "(Ljava/lang/Object;I)Ljava/lang/Object;", 3, 4, getCode());
+		writeMethod(methods, "set", "(Ljava/lang/Object;ILjava/lang/Object;)V", 4, 4, setCode());
+		final int[] maxStack = new int[1];
+		final ByteBuffer newInstanceCode = newInstanceCode(maxStack);
+		writeMethod(methods, "newInstance", "(I[Ljava/lang/Object;)Ljava/lang/Object;", maxStack[0], 3, newInstanceCode);
+
+		final int thisClass = classRef(className);
+		final int superClass = classRef("java/lang/Object");
+		final int beanInvoker = classRef(beanInvokerName);
+
+		final ByteBuffer classFile = new ByteBuffer();
+		classFile.u4(MAGIC);
+		classFile.u2(0);
+		classFile.u2(CLASS_FILE_VERSION);
+		classFile.u2(constantCount);
+		classFile.append(constantPool);
+		classFile.u2(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+		classFile.u2(thisClass);
+		classFile.u2(superClass);
+		classFile.u2(1);
+		classFile.u2(beanInvoker);
+		classFile.u2(0);
+		classFile.u2(4);
+		classFile.append(methods);
+		classFile.u2(0);
+		return classFile.toByteArray();
+	}
+
+	// ------------------------------------  Package methods  ----------------------------------------
+
+	/**
+	 * Generate the class file of the invoker of a beanLike class.
+	 * @param className Binary name of the class to generate.
+	 * @param metadata Metadata of a valid beanLike class.
+	 * @return The class file.
+	 * @throws ClassFormatError if the class would exceed the limits of the class file format.
+	 */
+	static byte[] generate(String className, BeanLikeMetadata metadata) {
+		return new InvokerClassWriter(metadata).write(className.replace('.', '/'));
+	}
+
+}
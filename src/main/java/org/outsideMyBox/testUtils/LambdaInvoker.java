@@ -0,0 +1,179 @@
+/**
+ * Copyright (C) 2011 Franck Valentin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.outsideMyBox.testUtils;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * {@link BeanInvoker} calling the accessors and setters through functions generated by {@link LambdaMetafactory}.<br/>
+ * Each accessor becomes a {@link Function} and each setter a {@link BiConsumer}, which the JIT compiler
+ * can inline like direct calls. Constructors, setters that don't have exactly one parameter and setters called with
+ * an argument the function doesn't take as is (null or a value to widen for a primitive, a value of another type)
+ * are called by a {@link MethodHandleInvoker}, which checks it like the reflection API.<br/>
+ * The functions are generated in this package: the beanLike class must be public and, like the types of its properties,
+ * visible from the class loader of this class. Classes of a child class loader are rejected when the invoker is created.
+ */
+final class LambdaInvoker implements BeanInvoker {
+
+	// ------------------------------------  Class variables  ----------------------------------------
+
+	private static final MethodType FUNCTION_FACTORY   = MethodType.methodType(Function.class);
+	private static final MethodType BICONSUMER_FACTORY = MethodType.methodType(BiConsumer.class);
+	private static final MethodType FUNCTION_ERASURE   = MethodType.methodType(Object.class, Object.class);
+	private static final MethodType BICONSUMER_ERASURE = MethodType.methodType(void.class, Object.class, Object.class);
+
+	// -----------------------------------  Instance variables  ------------------------------------
+
+	private final Class<?>                     beanLikeClass;
+	private final MethodHandleInvoker          methodHandleInvoker;
+	private final Function<Object, Object>[]   getters;
+	private final BiConsumer<Object, Object>[] setters;
+	private final Class<?>[]                   setterArgumentTypes;
+
+	// ------------------------------------  Constructors  -------------------------------------------
+
+	/**
+	 * Generate the functions of all the accessors and setters.
+	 * @param metadata Metadata of a valid beanLike class.
+	 * @throws IllegalAccessException if one of the methods or types isn't accessible from this class.
+	 * @throws LambdaConversionException if a function couldn't be generated.
+	 */
+	@SuppressWarnings("unchecked")
+	LambdaInvoker(BeanLikeMetadata metadata) throws IllegalAccessException, LambdaConversionException {
+		methodHandleInvoker = new MethodHandleInvoker(metadata);
+		final MethodHandles.Lookup lookup = MethodHandles.lookup();
+		beanLikeClass = metadata.getBeanLikeClass();
+		final int propertyCount = metadata.getPropertyCount();
+		checkVisible(beanLikeClass);
+
+		getters = (Function<Object, Object>[]) new Function<?, ?>[propertyCount];
+		setters = (BiConsumer<Object, Object>[]) new BiConsumer<?, ?>[propertyCount];
+		setterArgumentTypes = new Class<?>[propertyCount];
+		for (int slot = 0; slot < propertyCount; slot++) {
+			final Method accessor = metadata.getAccessor(slot);
+			checkVisible(accessor.getReturnType());
+			final MethodType instantiatedType = MethodType.methodType(MethodType.methodType(accessor.getReturnType()).wrap().returnType(), beanLikeClass);
+			getters[slot] = (Function<Object, Object>) createFunction(lookup, "apply", FUNCTION_FACTORY, FUNCTION_ERASURE, lookup.unreflect(accessor), instantiatedType);
+		}
+		for (final int slot : metadata.getSetterSlots()) {
+			final Method setter = metadata.getSetter(slot);
+			if (setter.getParameterTypes().length == 1) {
+				checkVisible(setter.getParameterTypes()[0]);
+				setterArgumentTypes[slot] = MethodType.methodType(setter.getParameterTypes()[0]).wrap().returnType();
+				final MethodType instantiatedType = MethodType.methodType(void.class, beanLikeClass, setterArgumentTypes[slot]);
+				setters[slot] = (BiConsumer<Object, Object>) createFunction(lookup, "accept", BICONSUMER_FACTORY, BICONSUMER_ERASURE, lookup.unreflect(setter), instantiatedType);
+			}
+		}
+	}
+
+	// ------------------------------------  Private methods  ----------------------------------------
+
+	/**
+	 * Check that a type is the one seen from the class loader of this class. The functions are defined in this package
+	 * and couldn't link a class of a child class loader: each call would fail with a NoClassDefFoundError.
+	 * @param type Type used by a function.
+	 * @throws IllegalAccessException if the type isn't visible from this class.
+	 */
+	private static void checkVisible(Class<?> type) throws IllegalAccessException {
+		if (type.isPrimitive()) {
+			return;
+		}
+		Class<?> visibleType;
+		try {
+			visibleType = Class.forName(type.getName(), false, LambdaInvoker.class.getClassLoader());
+		} catch (final ClassNotFoundException e) {
+			visibleType = null;
+		}
+		if (visibleType != type) {
+			throw new IllegalAccessException(type.getName() + " isn't visible from the class loader of " + LambdaInvoker.class.getName());
+		}
+	}
+
+	/**
+	 * Generate a function implemented by a method.
+	 * @param lookup Lookup of this class.
+	 * @param interfaceMethodName Name of the functional interface's method.
+	 * @param factoryType Type of the factory returning the function.
+	 * @param erasedType Erased type of the functional interface's method.
+	 * @param implementation Method implementing the function.
+	 * @param instantiatedType Type of the functional interface's method for this method.
+	 * @return The function.
+	 * @throws LambdaConversionException if the function couldn't be generated.
+	 */
+	private static Object createFunction(MethodHandles.Lookup lookup, String interfaceMethodName, MethodType factoryType, MethodType erasedType,
+	                                     MethodHandle implementation, MethodType instantiatedType) throws LambdaConversionException {
+		final CallSite callSite = LambdaMetafactory.metafactory(lookup, interfaceMethodName, factoryType, erasedType, implementation, instantiatedType);
+		try {
+			return callSite.getTarget().invoke();
+		} catch (final RuntimeException | Error e) {
+			throw e;
+		} catch (final Throwable e) {
+			throw new LambdaConversionException(e);
+		}
+	}
+
+	/**
+	 * Wrap an exception thrown by a function the same way as {@link ReflectionInvoker} does.
+	 * @param e Exception thrown by the function.
+	 * @return The exception to throw.
+	 */
+	private static BeanLikeTesterException toBeanLikeTesterException(Throwable e) {
+		final InvocationTargetException invocationException = new InvocationTargetException(e);
+		return new BeanLikeTesterException(invocationException.getMessage(), invocationException);
+	}
+
+	// ------------------------------------  Public methods  -----------------------------------------
+
+	@Override
+	public Object get(Object beanLike, int slot) {
+		ReflectionInvoker.verifyCall(beanLikeClass, beanLike, null, null);
+		try {
+			return getters[slot].apply(beanLike);
+		} catch (final Throwable e) {
+			throw toBeanLikeTesterException(e);
+		}
+	}
+
+	@Override
+	public void set(Object beanLike, int slot, Object value) {
+		final BiConsumer<Object, Object> setter = setters[slot];
+		if ((setter == null) || !setterArgumentTypes[slot].isInstance(value)) {
+			methodHandleInvoker.set(beanLike, slot, value);
+			return;
+		}
+		ReflectionInvoker.verifyCall(beanLikeClass, beanLike, null, null);
+		try {
+			setter.accept(beanLike, value);
+		} catch (final Throwable e) {
+			throw toBeanLikeTesterException(e);
+		}
+	}
+
+	@Override
+	public Object newInstance(int constructorIndex, Object[] arguments) {
+		return methodHandleInvoker.newInstance(constructorIndex, arguments);
+	}
+
+}
@@ -0,0 +1,142 @@
+/**
+ * Copyright (C) 2011 Franck Valentin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.outsideMyBox.testUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.text.MessageFormat;
+import java.util.Arrays;
+
+/**
+ * {@link BeanInvoker} using method handles.<br/>
+ * The handles are created once per property and constructor and adapted to generic signatures
+ * (<code>(Object)Object</code> for the accessors, <code>(Object, Object)void</code> for the setters and
+ * <code>(Object[])Object</code> for the constructors), so that they can be called with invokeExact()
+ * without going through the reflection layer.<br/>
+ * The arguments are converted as by the reflection API (unboxing followed by a widening conversion). The calls are checked
+ * first, so that the invalid ones are reported like by {@link ReflectionInvoker}, and only the exceptions thrown by the methods
+ * are wrapped in an {@link InvocationTargetException}.<br/>
+ * Setters that don't have exactly one parameter are called through the reflection API.
+ */
+final class MethodHandleInvoker implements BeanInvoker {
+
+	// ------------------------------------  Class variables  ----------------------------------------
+
+	private static final MethodType GETTER_TYPE      = MethodType.methodType(Object.class, Object.class);
+	private static final MethodType SETTER_TYPE      = MethodType.methodType(void.class, Object.class, Object.class);
+	private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class, Object[].class);
+
+	// -----------------------------------  Instance variables  ------------------------------------
+
+	private final BeanLikeMetadata  metadata;
+	private final ReflectionInvoker reflectionInvoker;
+	private final MethodHandle[]    getters;
+	private final MethodHandle[]    setters;
+	private final Class<?>[]        setterParameterTypes;
+	private final MethodHandle[]    constructors;
+
+	// ------------------------------------  Constructors  -------------------------------------------
+
+	/**
+	 * Create the handles of all the accessors, setters and constructors.
+	 * @param metadata Metadata of a valid beanLike class.
+	 * @throws IllegalAccessException if one of the methods isn't accessible (e.g. the class isn't public).
+	 */
+	MethodHandleInvoker(BeanLikeMetadata metadata) throws IllegalAccessException {
+		this.metadata = metadata;
+		reflectionInvoker = new ReflectionInvoker(metadata);
+		final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+		final int propertyCount = metadata.getPropertyCount();
+
+		getters = new MethodHandle[propertyCount];
+		setters = new MethodHandle[propertyCount];
+		setterParameterTypes = new Class<?>[propertyCount];
+		for (int slot = 0; slot < propertyCount; slot++) {
+			getters[slot] = lookup.unreflect(metadata.getAccessor(slot)).asType(GETTER_TYPE);
+		}
+		for (final int slot : metadata.getSetterSlots()) {
+			final Method setter = metadata.getSetter(slot);
+			if (setter.getParameterTypes().length == 1) {
+				setters[slot] = lookup.unreflect(setter).asType(SETTER_TYPE);
+				setterParameterTypes[slot] = setter.getParameterTypes()[0];
+			}
+		}
+
+		constructors = new MethodHandle[metadata.getConstructorCount()];
+		for (int index = 0; index < constructors.length; index++) {
+			final MethodHandle constructor = lookup.unreflectConstructor(metadata.getConstructor(index));
+			constructors[index] = constructor.asSpreader(Object[].class, constructor.type().parameterCount()).asType(CONSTRUCTOR_TYPE);
+		}
+	}
+
+	// ------------------------------------  Private methods  ----------------------------------------
+
+	/**
+	 * Wrap an exception thrown by a handle the same way as {@link ReflectionInvoker} does.
+	 * @param e Exception thrown by the handle.
+	 * @return The exception to throw.
+	 */
+	private static BeanLikeTesterException toBeanLikeTesterException(Throwable e) {
+		final InvocationTargetException invocationException = new InvocationTargetException(e);
+		return new BeanLikeTesterException(invocationException.getMessage(), invocationException);
+	}
+
+	// ------------------------------------  Public methods  -----------------------------------------
+
+	@Override
+	public Object get(Object beanLike, int slot) {
+		ReflectionInvoker.verifyCall(metadata.getBeanLikeClass(), beanLike, null, null);
+		try {
+			return (Object) getters[slot].invokeExact(beanLike);
+		} catch (final Throwable e) {
+			throw toBeanLikeTesterException(e);
+		}
+	}
+
+	@Override
+	public void set(Object beanLike, int slot, Object value) {
+		final MethodHandle setter = setters[slot];
+		if (setter == null) {
+			reflectionInvoker.set(beanLike, slot, value);
+			return;
+		}
+		ReflectionInvoker.verifyCall(metadata.getBeanLikeClass(), beanLike, setterParameterTypes[slot], value);
+		try {
+			setter.invokeExact(beanLike, value);
+		} catch (final Throwable e) {
+			throw toBeanLikeTesterException(e);
+		}
+	}
+
+	@Override
+	public Object newInstance(int constructorIndex, Object[] arguments) {
+		metadata.getConstructorPlan(constructorIndex).verifyArguments(arguments);
+		try {
+			return (Object) constructors[constructorIndex].invokeExact(arguments);
+		} catch (final Throwable e) {
+			final InvocationTargetException invocationException = new InvocationTargetException(e);
+			final String msg = MessageFormat.format("exception msg: {0} \n\tconstructor: {1} \n\tconstructorParams: {2}",
+			                                        invocationException,
+			                                        metadata.getConstructor(constructorIndex),
+			                                        Arrays.asList(arguments));
+			throw new BeanLikeTesterException(msg, invocationException);
+		}
+	}
+
+}
@@ -0,0 +1,285 @@
+/**
+ * Copyright (C) 2011 Franck Valentin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.outsideMyBox.testUtils;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Resolve the generic types of the methods of a beanLike class, e.g. the return type of 'T getValue()'
+ * declared by 'Holder&lt;T&gt;' is 'List&lt;Integer&gt;' for 'IntegerListHolder extends Holder&lt;List&lt;Integer&gt;&gt;'.<br/>
+ * The type variables bound by the superclasses and interfaces of the class are resolved, the other ones
+ * (e.g. the type parameters of the class itself) are kept as they are.<br/>
+ * The resolved types are equal to the ones created by the JDK for the same declarations.
+ * Instances are immutable.
+ */
+final class PropertyTypeResolver {
+
+	// ------------------------------------  Class variables  ----------------------------------------
+
+	private static final Type[] OBJECT_BOUND = new Type[] {Object.class};
+
+	// -----------------------------------  Instance variables  ------------------------------------
+
+	/** Type variables of the superclasses and interfaces and the type they are bound to by their subclass. */
+	private final Map<TypeVariable<?>, Type> typeArguments;
+
+	// ------------------------------------  Constructors  -------------------------------------------
+
+	/**
+	 * @param beanLikeClass Class whose hierarchy binds the type variables.
+	 */
+	PropertyTypeResolver(Class<?> beanLikeClass) {
+		typeArguments = new HashMap<TypeVariable<?>, Type>();
+		collectTypeArguments(beanLikeClass, new HashSet<Class<?>>());
+	}
+
+	// ------------------------------------  Private methods  ----------------------------------------
+
+	private void collectTypeArguments(Class<?> type, Set<Class<?>> visitedTypes) {
+		if ((type == null) || !visitedTypes.add(type)) {
+			return;
+		}
+		collectTypeArguments(type.getGenericSuperclass());
+		collectTypeArguments(type.getSuperclass(), visitedTypes);
+		for (final Type genericInterface : type.getGenericInterfaces()) {
+			collectTypeArguments(genericInterface);
+		}
+		for (final Class<?> implementedInterface : type.getInterfaces()) {
+			collectTypeArguments(implementedInterface, visitedTypes);
+		}
+	}
+
+	private void collectTypeArguments(Type supertype) {
+		if (supertype instanceof ParameterizedType) {
+			final ParameterizedType parameterizedType = (ParameterizedType) supertype;
+			final TypeVariable<?>[] typeVariables = ((Class<?>) parameterizedType.getRawType()).getTypeParameters();
+			final Type[] actualTypeArguments = parameterizedType.getActualTypeArguments();
+			for (int i = 0; i < typeVariables.length; i++) {
+				typeArguments.put(typeVariables[i], actualTypeArguments[i]);
+			}
+		}
+	}
+
+	private Type[] resolveAll(Type[] types) {
+		final Type[] resolvedTypes = new Type[types.length];
+		for (int i = 0; i < types.length; i++) {
+			resolvedTypes[i] = resolve(types[i]);
+		}
+		return resolvedTypes;
+	}
+
+	// ------------------------------------  Package methods  ----------------------------------------
+
+	/**
+	 * @param type Generic type of a method of the class, e.g. its generic return type.
+	 * @return The type with the type variables bound by the class hierarchy replaced by their value.
+	 */
+	Type resolve(Type type) {
+		if (type instanceof TypeVariable<?>) {
+			final Type typeArgument = typeArguments.get(type);
+			// The argument can itself be a type variable of a subclass.
+			return typeArgument == null ? type : resolve(typeArgument);
+		}
+		if (type instanceof ParameterizedType) {
+			final ParameterizedType parameterizedType = (ParameterizedType) type;
+			final Type[] typeArguments = parameterizedType.getActualTypeArguments();
+			final Type[] resolvedTypeArguments = resolveAll(typeArguments);
+			final Type ownerType = parameterizedType.getOwnerType();
+			final Type resolvedOwnerType = ownerType == null ? null : resolve(ownerType);
+			if (Arrays.equals(typeArguments, resolvedTypeArguments) && ((ownerType == null) || ownerType.equals(resolvedOwnerType))) {
+				return type;
+			}
+			return new ResolvedParameterizedType((Class<?>) parameterizedType.getRawType(), resolvedTypeArguments, resolvedOwnerType);
+		}
+		if (type instanceof GenericArrayType) {
+			final Type componentType = resolve(((GenericArrayType) type).getGenericComponentType());
+			if (componentType instanceof Class<?>) {
+				return Array.newInstance((Class<?>) componentType, 0).getClass();
+			}
+			return new ResolvedGenericArrayType(componentType);
+		}
+		if (type instanceof WildcardType) {
+			final WildcardType wildcardType = (WildcardType) type;
+			final Type[] upperBounds = wildcardType.getUpperBounds();
+			final Type[] lowerBounds = wildcardType.getLowerBounds();
+			final Type[] resolvedUpperBounds = resolveAll(upperBounds);
+			final Type[] resolvedLowerBounds = resolveAll(lowerBounds);
+			if (Arrays.equals(upperBounds, resolvedUpperBounds) && Arrays.equals(lowerBounds, resolvedLowerBounds)) {
+				return type;
+			}
+			return new ResolvedWildcardType(resolvedUpperBounds, resolvedLowerBounds);
+		}
+		return type;
+	}
+
+	/**
+	 * @param type Generic type.
+	 * @return The class erasing the type, i.e. the raw type or the first bound of a type variable or wildcard.
+	 */
+	static Class<?> getRawType(Type type) {
+		if (type instanceof Class<?>) {
+			return (Class<?>) type;
+		}
+		if (type instanceof ParameterizedType) {
+			return (Class<?>) ((ParameterizedType) type).getRawType();
+		}
+		if (type instanceof GenericArrayType) {
+			return Array.newInstance(getRawType(((GenericArrayType) type).getGenericComponentType()), 0).getClass();
+		}
+		if (type instanceof TypeVariable<?>) {
+			return getRawType(((TypeVariable<?>) type).getBounds()[0]);
+		}
+		if (type instanceof WildcardType) {
+			return getRawType(((WildcardType) type).getUpperBounds()[0]);
+		}
+		throw new BeanLikeTesterException("Unknown type: " + type);
+	}
+
+	// ------------------------------------  Types  --------------------------------------------------
+	// equals() and hashCode() follow the implementations of the JDK so that the resolved types can be compared with its ones.
+
+	private static final class ResolvedParameterizedType implements ParameterizedType {
+		private final Class<?> rawType;
+		private final Type[]   actualTypeArguments;
+		private final Type     ownerType;
+
+		ResolvedParameterizedType(Class<?> rawType, Type[] actualTypeArguments, Type ownerType) {
+			this.rawType = rawType;
+			this.actualTypeArguments = actualTypeArguments;
+			this.ownerType = ownerType;
+		}
+
+		@Override
+		public Type[] getActualTypeArguments() {
+			return actualTypeArguments.clone();
+		}
+
+		@Override
+		public Type getRawType() {
+			return rawType;
+		}
+
+		@Override
+		public Type getOwnerType() {
+			return ownerType;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof ParameterizedType)) {
+				return false;
+			}
+			final ParameterizedType other = (ParameterizedType) obj;
+			return rawType.equals(other.getRawType()) && (ownerType == null ? other.getOwnerType() == null : ownerType.equals(other.getOwnerType()))
+			       && Arrays.equals(actualTypeArguments, other.getActualTypeArguments());
+		}
+
+		@Override
+		public int hashCode() {
+			return Arrays.hashCode(actualTypeArguments) ^ (ownerType == null ? 0 : ownerType.hashCode()) ^ rawType.hashCode();
+		}
+
+		@Override
+		public String toString() {
+			final StringBuilder sb = new StringBuilder(rawType.getName()).append('<');
+			for (int i = 0; i < actualTypeArguments.length; i++) {
+				sb.append(i == 0 ? "" : ", ").append(actualTypeArguments[i].getTypeName());
+			}
+			return sb.append('>').toString();
+		}
+	}
+
+	private static final class ResolvedGenericArrayType implements GenericArrayType {
+		private final Type genericComponentType;
+
+		ResolvedGenericArrayType(Type genericComponentType) {
+			this.genericComponentType = genericComponentType;
+		}
+
+		@Override
+		public Type getGenericComponentType() {
+			return genericComponentType;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return (obj instanceof GenericArrayType) && genericComponentType.equals(((GenericArrayType) obj).getGenericComponentType());
+		}
+
+		@Override
+		public int hashCode() {
+			return genericComponentType.hashCode();
+		}
+
+		@Override
+		public String toString() {
+			return genericComponentType.getTypeName() + "[]";
+		}
+	}
+
+	private static final class ResolvedWildcardType implements WildcardType {
+		private final Type[] upperBounds;
+		private final Type[] lowerBounds;
+
+		ResolvedWildcardType(Type[] upperBounds, Type[] lowerBounds) {
+			this.upperBounds = upperBounds.length == 0 ? OBJECT_BOUND : upperBounds;
+			this.lowerBounds = lowerBounds;
+		}
+
+		@Override
+		public Type[] getUpperBounds() {
+			return upperBounds.clone();
+		}
+
+		@Override
+		public Type[] getLowerBounds() {
+			return lowerBounds.clone();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof WildcardType)) {
+				return false;
+			}
+			final WildcardType other = (WildcardType) obj;
+			return Arrays.equals(upperBounds, other.getUpperBounds()) && Arrays.equals(lowerBounds, other.getLowerBounds());
+		}
+
+		@Override
+		public int hashCode() {
+			return Arrays.hashCode(upperBounds) ^ Arrays.hashCode(lowerBounds);
+		}
+
+		@Override
+		public String toString() {
+			if (lowerBounds.length > 0) {
+				return "? super " + lowerBounds[0].getTypeName();
+			}
+			return upperBounds[0] == Object.class ? "?" : "? extends " + upperBounds[0].getTypeName();
+		}
+	}
+
+}
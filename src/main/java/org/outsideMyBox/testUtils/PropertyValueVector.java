@@ -0,0 +1,474 @@
+/**
+ * Copyright (C) 2011 Franck Valentin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.outsideMyBox.testUtils;
+
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.outsideMyBox.testUtils.BeanLikeTester.PropertiesAndValues;
+
+/**
+ * Compact and immutable alternative to {@link PropertiesAndValues}, bound to the properties of the class
+ * tested by a {@link BeanLikeTester}.<br/>
+ * The values are stored in arrays indexed by property and the values of the properties whose accessor
+ * returns a primitive are stored unboxed.
+ * <p>
+ * A vector is created by {@link BeanLikeTester#newValueVector()} or {@link BeanLikeTester#toValueVector(PropertiesAndValues)}
+ * and can only be used with testers of the same class and constructors' mapping.<br/>
+ * The 'with' methods return a new vector that shares the values of this one and only overrides one property,
+ * so deriving a vector from another one is cheap. E.g.:
+ * <pre>
+ * PropertyValueVector defaultValues = blt.newValueVector().with("property1", "defaultValue").withBoolean("property2", false);
+ * </pre>
+ */
+public final class PropertyValueVector {
+
+	// ------------------------------------  Class variables  ----------------------------------------
+
+	private static final int NO_SLOT = -1;
+
+	// -----------------------------------  Instance variables  ------------------------------------
+
+	private final BeanLikeMetadata layout;
+	private final Object[]         references;
+	private final long[]           primitives;
+	private final long[]           presentSlots;
+	private final long[]           primitiveSlots;
+
+	// Single property overriding the values of the arrays (NO_SLOT if none).
+	private final int              overriddenSlot;
+	private final Object           overridingReference;
+	private final long             overridingPrimitive;
+	private final boolean          isOverridingPrimitive;
+
+	// ------------------------------------  Constructors  -------------------------------------------
+
+	/**
+	 * Create an empty vector.
+	 * @param layout Properties of the vector.
+	 */
+	PropertyValueVector(BeanLikeMetadata layout) {
+		this.layout = layout;
+		references = new Object[layout.getPropertyCount()];
+		primitives = new long[layout.getPrimitiveCount()];
+		presentSlots = new long[(layout.getPropertyCount() + 63) >>> 6];
+		primitiveSlots = new long[presentSlots.length];
+		overriddenSlot = NO_SLOT;
+		overridingReference = null;
+		overridingPrimitive = 0L;
+		isOverridingPrimitive = false;
+	}
+
+	/**
+	 * Create a vector sharing the arrays of a vector without any overriding property.
+	 */
+	private PropertyValueVector(PropertyValueVector base, int slot, Object reference, long primitive, boolean isPrimitive) {
+		layout = base.layout;
+		references = base.references;
+		primitives = base.primitives;
+		presentSlots = base.presentSlots;
+		primitiveSlots = base.primitiveSlots;
+		overriddenSlot = slot;
+		overridingReference = reference;
+		overridingPrimitive = primitive;
+		isOverridingPrimitive = isPrimitive;
+	}
+
+	/**
+	 * Create a copy of a vector with its overriding property written into the arrays.
+	 */
+	private PropertyValueVector(PropertyValueVector vectorToFlatten) {
+		layout = vectorToFlatten.layout;
+		references = vectorToFlatten.references.clone();
+		primitives = vectorToFlatten.primitives.clone();
+		presentSlots = vectorToFlatten.presentSlots.clone();
+		primitiveSlots = vectorToFlatten.primitiveSlots.clone();
+		overriddenSlot = NO_SLOT;
+		overridingReference = null;
+		overridingPrimitive = 0L;
+		isOverridingPrimitive = false;
+		if (vectorToFlatten.overriddenSlot != NO_SLOT) {
+			store(vectorToFlatten.overriddenSlot, vectorToFlatten.overridingReference, vectorToFlatten.overridingPrimitive, vectorToFlatten.isOverridingPrimitive);
+		}
+	}
+
+	// ------------------------------------  Private methods  ----------------------------------------
+
+	private static boolean isBitSet(long[] bits, int index) {
+		return (bits[index >>> 6] & (1L << index)) != 0;
+	}
+
+	private static void setBit(long[] bits, int index, boolean value) {
+		if (value) {
+			bits[index >>> 6] |= 1L << index;
+		}
+		else {
+			bits[index >>> 6] &= ~(1L << index);
+		}
+	}
+
+	/**
+	 * Write a value into the arrays. Only used while the vector is being created or refilled (see {@link #overwrite(int, Object)}).
+	 */
+	private void store(int slot, Object reference, long primitive, boolean isPrimitive) {
+		setBit(presentSlots, slot, true);
+		setBit(primitiveSlots, slot, isPrimitive);
+		if (isPrimitive) {
+			primitives[layout.getPrimitiveIndex(slot)] = primitive;
+			references[slot] = null;
+		}
+		else {
+			references[slot] = reference;
+		}
+	}
+
+	private int getExistingSlot(String propertyName) {
+		final int slot = layout.getSlot(propertyName);
+		if (slot == NO_SLOT) {
+			throw new BeanLikeTesterException("The property '" + propertyName + "' isn't a property of " + layout.getBeanLikeClass().getName());
+		}
+		return slot;
+	}
+
+	/**
+	 * Return a vector with a property set to a primitive value, boxing it only if the property isn't of the same primitive type.
+	 */
+	private PropertyValueVector withPrimitive(String propertyName, Class<?> type, long bits) {
+		final int slot = getExistingSlot(propertyName);
+		if (layout.getPrimitiveType(slot) == type) {
+			return withSlot(slot, null, bits, true);
+		}
+		return withSlot(slot, decode(type, bits), 0L, false);
+	}
+
+	/**
+	 * Return a vector with one property overridden. The arrays are only copied if this vector already overrides a property.
+	 */
+	private PropertyValueVector withSlot(int slot, Object reference, long primitive, boolean isPrimitive) {
+		final PropertyValueVector base = overriddenSlot == NO_SLOT ? this : new PropertyValueVector(this);
+		return new PropertyValueVector(base, slot, isPrimitive ? null : reference, primitive, isPrimitive);
+	}
+
+	/**
+	 * Encode a value in a primitive slot.
+	 * @param type Primitive type of the slot.
+	 * @param value Value to encode.
+	 * @return The encoded value.
+	 */
+	private static long encode(Class<?> type, Object value) {
+		if (type == boolean.class) {
+			return ((Boolean) value).booleanValue() ? 1L : 0L;
+		}
+		if (type == char.class) {
+			return ((Character) value).charValue();
+		}
+		if (type == float.class) {
+			return Float.floatToIntBits(((Float) value).floatValue());
+		}
+		if (type == double.class) {
+			return Double.doubleToLongBits(((Double) value).doubleValue());
+		}
+		return ((Number) value).longValue();
+	}
+
+	/**
+	 * Decode and box the value of a primitive slot.
+	 * @param type Primitive type of the slot.
+	 * @param bits Encoded value.
+	 * @return The boxed value.
+	 */
+	private static Object decode(Class<?> type, long bits) {
+		if (type == int.class) {
+			return Integer.valueOf((int) bits);
+		}
+		if (type == boolean.class) {
+			return Boolean.valueOf(bits != 0);
+		}
+		if (type == long.class) {
+			return Long.valueOf(bits);
+		}
+		if (type == double.class) {
+			return Double.valueOf(Double.longBitsToDouble(bits));
+		}
+		if (type == float.class) {
+			return Float.valueOf(Float.intBitsToFloat((int) bits));
+		}
+		if (type == char.class) {
+			return Character.valueOf((char) bits);
+		}
+		if (type == short.class) {
+			return Short.valueOf((short) bits);
+		}
+		return Byte.valueOf((byte) bits);
+	}
+
+	/**
+	 * @return The wrapper class of a primitive type.
+	 */
+	private static Class<?> wrapperOf(Class<?> type) {
+		if (type == int.class) {
+			return Integer.class;
+		}
+		if (type == boolean.class) {
+			return Boolean.class;
+		}
+		if (type == long.class) {
+			return Long.class;
+		}
+		if (type == double.class) {
+			return Double.class;
+		}
+		if (type == float.class) {
+			return Float.class;
+		}
+		if (type == char.class) {
+			return Character.class;
+		}
+		if (type == short.class) {
+			return Short.class;
+		}
+		return Byte.class;
+	}
+
+	private boolean isPrimitiveValue(int slot) {
+		return slot == overriddenSlot ? isOverridingPrimitive : isBitSet(primitiveSlots, slot);
+	}
+
+	private long getPrimitiveValue(int slot) {
+		return slot == overriddenSlot ? overridingPrimitive : primitives[layout.getPrimitiveIndex(slot)];
+	}
+
+	// ------------------------------------  Package methods  ----------------------------------------
+
+	/**
+	 * Create a vector from a map of properties and values.
+	 * @param layout Properties of the vector.
+	 * @param propertiesAndValues Property names and their value.
+	 * @param ignoreUnknownProperties true to ignore the properties of the map that aren't gettable, false to throw an exception.
+	 * @return The new vector.
+	 * @throws BeanLikeTesterException if a property isn't gettable and 'ignoreUnknownProperties' is false.
+	 */
+	static PropertyValueVector of(BeanLikeMetadata layout, PropertiesAndValues propertiesAndValues, boolean ignoreUnknownProperties) {
+		final PropertyValueVector vector = new PropertyValueVector(layout);
+		for (final Entry<String, Object> entry : propertiesAndValues.entrySet()) {
+			final int slot = ignoreUnknownProperties ? layout.getSlot(entry.getKey()) : vector.getExistingSlot(entry.getKey());
+			if (slot != NO_SLOT) {
+				final Object value = entry.getValue();
+				final Class<?> primitiveType = layout.getPrimitiveType(slot);
+				final boolean isPrimitive = (primitiveType != null) && (value != null) && (value.getClass() == wrapperOf(primitiveType));
+				vector.store(slot, value, isPrimitive ? encode(primitiveType, value) : 0L, isPrimitive);
+			}
+		}
+		return vector;
+	}
+
+	/**
+	 * Replace the value of a property in place.<br/>
+	 * Vectors are immutable for the users: this is only used for the vectors refilled by a fuzzing worker for each value set,
+	 * that aren't shared with other threads nor given to the users.
+	 * @param slot Slot of the property.
+	 * @param reference New value of the property.
+	 */
+	void overwrite(int slot, Object reference) {
+		store(slot, reference, 0L, false);
+	}
+
+	/**
+	 * Same as {@link #overwrite(int, Object)} with an unboxed value.
+	 * @param slot Slot of a property whose accessor returns a primitive.
+	 * @param primitive Encoded value.
+	 */
+	void overwritePrimitive(int slot, long primitive) {
+		store(slot, null, primitive, true);
+	}
+
+	BeanLikeMetadata getLayout() {
+		return layout;
+	}
+
+	boolean contains(int slot) {
+		return (slot == overriddenSlot) || isBitSet(presentSlots, slot);
+	}
+
+	/**
+	 * @param slot Slot of the property.
+	 * @return The value of the property, boxed if it is stored as a primitive.
+	 */
+	Object get(int slot) {
+		if (isPrimitiveValue(slot)) {
+			return decode(layout.getPrimitiveType(slot), getPrimitiveValue(slot));
+		}
+		return slot == overriddenSlot ? overridingReference : references[slot];
+	}
+
+	/**
+	 * Return a vector with the property at 'slot' set to the value that the property has in another vector.
+	 * @param slot Slot of the property.
+	 * @param source Vector containing the value (with the same layout).
+	 * @return The new vector, sharing the values of this vector.
+	 */
+	PropertyValueVector withValueOf(int slot, PropertyValueVector source) {
+		if (source.isPrimitiveValue(slot)) {
+			return withSlot(slot, null, source.getPrimitiveValue(slot), true);
+		}
+		return withSlot(slot, source.get(slot), 0L, false);
+	}
+
+	/**
+	 * @param slot Slot of the property.
+	 * @return true if the value of the property is stored unboxed.
+	 */
+	boolean isStoredAsPrimitive(int slot) {
+		return isPrimitiveValue(slot);
+	}
+
+	/**
+	 * Compare the value of a property in two vectors with the same layout without boxing them.
+	 * @param slot Slot of a property stored as a primitive in both vectors.
+	 * @param other Other vector.
+	 * @return true if the values are the same in both vectors.
+	 */
+	boolean isSamePrimitiveValue(int slot, PropertyValueVector other) {
+		return getPrimitiveValue(slot) == other.getPrimitiveValue(slot);
+	}
+
+	/**
+	 * Compare the value of a property with a boxed value without boxing the value of the vector.
+	 * @param slot Slot of a property stored as a primitive.
+	 * @param value Value to compare to.
+	 * @return true if 'value' is the boxed representation of the same primitive value.
+	 */
+	boolean isSamePrimitiveValue(int slot, Object value) {
+		final Class<?> primitiveType = layout.getPrimitiveType(slot);
+		return (value != null) && (value.getClass() == wrapperOf(primitiveType)) && (encode(primitiveType, value) == getPrimitiveValue(slot));
+	}
+
+	// ------------------------------------  Public methods  -----------------------------------------
+
+	/**
+	 * @return The class whose properties are defined by this vector.
+	 */
+	public Class<?> getBeanLikeClass() {
+		return layout.getBeanLikeClass();
+	}
+
+	/**
+	 * @return The names of the properties defined in this vector, in alphabetical order.
+	 */
+	public Set<String> getPropertyNames() {
+		final Set<String> propertyNames = new TreeSet<String>();
+		for (int slot = 0; slot < layout.getPropertyCount(); slot++) {
+			if (contains(slot)) {
+				propertyNames.add(layout.getPropertyName(slot));
+			}
+		}
+		return propertyNames;
+	}
+
+	/**
+	 * @param propertyName Property name.
+	 * @return true if the property has a value in this vector.
+	 */
+	public boolean contains(String propertyName) {
+		final int slot = layout.getSlot(propertyName);
+		return (slot != NO_SLOT) && contains(slot);
+	}
+
+	/**
+	 * @param propertyName Property name.
+	 * @return The value of the property (boxed if needed) or null if it isn't defined.
+	 * @throws BeanLikeTesterException if the class doesn't have this property.
+	 */
+	public Object get(String propertyName) {
+		return get(getExistingSlot(propertyName));
+	}
+
+	/**
+	 * Return a vector with a property set to a value.
+	 * @param propertyName Property name.
+	 * @param value Value of the property.
+	 * @return The new vector, sharing the values of this vector.
+	 * @throws BeanLikeTesterException if the class doesn't have this property.
+	 */
+	public PropertyValueVector with(String propertyName, Object value) {
+		final int slot = getExistingSlot(propertyName);
+		final Class<?> primitiveType = layout.getPrimitiveType(slot);
+		if ((primitiveType != null) && (value != null) && (value.getClass() == wrapperOf(primitiveType))) {
+			return withSlot(slot, null, encode(primitiveType, value), true);
+		}
+		return withSlot(slot, value, 0L, false);
+	}
+
+	/** Same as {@link #with(String, Object)} without boxing if the property is an int. */
+	public PropertyValueVector withInt(String propertyName, int value) {
+		return withPrimitive(propertyName, int.class, value);
+	}
+
+	/** Same as {@link #with(String, Object)} without boxing if the property is a long. */
+	public PropertyValueVector withLong(String propertyName, long value) {
+		return withPrimitive(propertyName, long.class, value);
+	}
+
+	/** Same as {@link #with(String, Object)} without boxing if the property is a boolean. */
+	public PropertyValueVector withBoolean(String propertyName, boolean value) {
+		return withPrimitive(propertyName, boolean.class, value ? 1L : 0L);
+	}
+
+	/** Same as {@link #with(String, Object)} without boxing if the property is a double. */
+	public PropertyValueVector withDouble(String propertyName, double value) {
+		return withPrimitive(propertyName, double.class, Double.doubleToLongBits(value));
+	}
+
+	/** Same as {@link #with(String, Object)} without boxing if the property is a float. */
+	public PropertyValueVector withFloat(String propertyName, float value) {
+		return withPrimitive(propertyName, float.class, Float.floatToIntBits(value));
+	}
+
+	/** Same as {@link #with(String, Object)} without boxing if the property is a short. */
+	public PropertyValueVector withShort(String propertyName, short value) {
+		return withPrimitive(propertyName, short.class, value);
+	}
+
+	/** Same as {@link #with(String, Object)} without boxing if the property is a byte. */
+	public PropertyValueVector withByte(String propertyName, byte value) {
+		return withPrimitive(propertyName, byte.class, value);
+	}
+
+	/** Same as {@link #with(String, Object)} without boxing if the property is a char. */
+	public PropertyValueVector withChar(String propertyName, char value) {
+		return withPrimitive(propertyName, char.class, value);
+	}
+
+	/**
+	 * @return A new map with the properties and values of this vector.
+	 */
+	public PropertiesAndValues toPropertiesAndValues() {
+		final PropertiesAndValues propertiesAndValues = new PropertiesAndValues();
+		for (int slot = 0; slot < layout.getPropertyCount(); slot++) {
+			if (contains(slot)) {
+				propertiesAndValues.put(layout.getPropertyName(slot), get(slot));
+			}
+		}
+		return propertiesAndValues;
+	}
+
+	@Override
+	public String toString() {
+		return getBeanLikeClass().getSimpleName() + toPropertiesAndValues();
+	}
+
+}
@@ -0,0 +1,216 @@
+/**
+ * Copyright (C) 2011 Franck Valentin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.outsideMyBox.testUtils;
+
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Draw random values of the mutable properties of a beanLike class into a vector of values, for the fuzzing of
+ * {@link BeanLikeTester#fuzz(PropertyValueVector, long, int, long)}.<br/>
+ * The way to draw each property is found once from its type: primitives, their wrappers, Strings, enums, BigDecimal and BigInteger
+ * are drawn randomly, the primitive values being written unboxed in the vector. The other types are given by a
+ * {@link ValueGenerator} whose variant is drawn randomly.<br/>
+ * A drawer is used by a single worker: it reuses a buffer for the Strings so that drawing only allocates the values.
+ */
+final class RandomValueDrawer {
+
+	// ------------------------------------  Class variables  ----------------------------------------
+
+	// Ways to draw a property.
+	private static final int    GENERATED         = 0;
+	private static final int    BOOLEAN           = 1;
+	private static final int    CHAR              = 2;
+	private static final int    BYTE              = 3;
+	private static final int    SHORT             = 4;
+	private static final int    INT               = 5;
+	private static final int    LONG              = 6;
+	private static final int    FLOAT             = 7;
+	private static final int    DOUBLE            = 8;
+	private static final int    STRING            = 9;
+	private static final int    ENUM              = 10;
+	private static final int    BIG_DECIMAL       = 11;
+	private static final int    BIG_INTEGER       = 12;
+
+	private static final char[] ALPHABET          = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789".toCharArray();
+	private static final int    MAX_STRING_LENGTH = 16;
+	/** The floating point values are finite and between -FLOATING_RANGE and FLOATING_RANGE, NaN would never be equal to itself. */
+	private static final double FLOATING_RANGE    = 1e6;
+	private static final int    MAX_SCALE         = 8;
+
+	// -----------------------------------  Instance variables  ------------------------------------
+
+	private final BeanLikeMetadata metadata;
+	private final ValueGenerator   generator;
+	private final int[]            kinds;
+	private final Type[]           types;
+	private final Object[][]       enumConstants;
+	private final char[]           buffer;
+
+	// ------------------------------------  Constructors  -------------------------------------------
+
+	/**
+	 * @param metadata Properties of the class.
+	 * @param generator Generator of the values whose type can't be drawn randomly.
+	 */
+	RandomValueDrawer(BeanLikeMetadata metadata, ValueGenerator generator) {
+		this.metadata = metadata;
+		this.generator = generator;
+		final int propertyCount = metadata.getPropertyCount();
+		kinds = new int[propertyCount];
+		types = new Type[propertyCount];
+		enumConstants = new Object[propertyCount][];
+		buffer = new char[MAX_STRING_LENGTH];
+		for (final int slot : metadata.getMutableSlots()) {
+			types[slot] = metadata.getPropertyType(slot);
+			final Class<?> type = PropertyTypeResolver.getRawType(types[slot]);
+			kinds[slot] = kindOf(type);
+			if ((kinds[slot] == ENUM) && (type.getEnumConstants().length > 0)) {
+				enumConstants[slot] = type.getEnumConstants();
+			}
+			else if (kinds[slot] == ENUM) {
+				kinds[slot] = GENERATED;
+			}
+		}
+	}
+
+	// ------------------------------------  Private methods  ----------------------------------------
+
+	private static int kindOf(Class<?> type) {
+		if ((type == boolean.class) || (type == Boolean.class)) {
+			return BOOLEAN;
+		}
+		if ((type == char.class) || (type == Character.class)) {
+			return CHAR;
+		}
+		if ((type == byte.class) || (type == Byte.class)) {
+			return BYTE;
+		}
+		if ((type == short.class) || (type == Short.class)) {
+			return SHORT;
+		}
+		if ((type == int.class) || (type == Integer.class)) {
+			return INT;
+		}
+		if ((type == long.class) || (type == Long.class)) {
+			return LONG;
+		}
+		if ((type == float.class) || (type == Float.class)) {
+			return FLOAT;
+		}
+		if ((type == double.class) || (type == Double.class)) {
+			return DOUBLE;
+		}
+		if ((type == String.class) || (type == CharSequence.class) || (type == Object.class)) {
+			return STRING;
+		}
+		if (type.isEnum()) {
+			return ENUM;
+		}
+		if (type == BigDecimal.class) {
+			return BIG_DECIMAL;
+		}
+		if (type == BigInteger.class) {
+			return BIG_INTEGER;
+		}
+		return GENERATED;
+	}
+
+	private static double drawFloatingValue(SplitMix64 random) {
+		return ((random.nextDouble() * 2) - 1) * FLOATING_RANGE;
+	}
+
+	/**
+	 * @return The random value of a primitive kind, encoded like the primitive values of the vectors.
+	 */
+	private static long drawBits(int kind, SplitMix64 random) {
+		switch (kind) {
+			case BOOLEAN:
+				return random.nextBoolean() ? 1L : 0L;
+			case CHAR:
+				return random.nextInt(Character.MAX_VALUE + 1);
+			case BYTE:
+				return (byte) random.nextInt();
+			case SHORT:
+				return (short) random.nextInt();
+			case INT:
+				return random.nextInt();
+			case LONG:
+				return random.nextLong();
+			case FLOAT:
+				return Float.floatToIntBits((float) drawFloatingValue(random));
+			default:
+				return Double.doubleToLongBits(drawFloatingValue(random));
+		}
+	}
+
+	private Object drawReference(int slot, SplitMix64 random) {
+		final int kind = kinds[slot];
+		switch (kind) {
+			case BOOLEAN:
+				return Boolean.valueOf(random.nextBoolean());
+			case CHAR:
+				return Character.valueOf((char) drawBits(kind, random));
+			case BYTE:
+				return Byte.valueOf((byte) drawBits(kind, random));
+			case SHORT:
+				return Short.valueOf((short) drawBits(kind, random));
+			case INT:
+				return Integer.valueOf(random.nextInt());
+			case LONG:
+				return Long.valueOf(random.nextLong());
+			case FLOAT:
+				return Float.valueOf((float) drawFloatingValue(random));
+			case DOUBLE:
+				return Double.valueOf(drawFloatingValue(random));
+			case STRING:
+				final int length = 1 + random.nextInt(MAX_STRING_LENGTH);
+				for (int i = 0; i < length; i++) {
+					buffer[i] = ALPHABET[random.nextInt(ALPHABET.length)];
+				}
+				return new String(buffer, 0, length);
+			case ENUM:
+				final Object[] constants = enumConstants[slot];
+				return constants[random.nextInt(constants.length)];
+			case BIG_DECIMAL:
+				return BigDecimal.valueOf(random.nextLong(), random.nextInt(MAX_SCALE + 1));
+			case BIG_INTEGER:
+				return BigInteger.valueOf(random.nextLong());
+			default:
+				return generator.generateValue(types[slot], random.nextInt(2));
+		}
+	}
+
+	// ------------------------------------  Package methods  ----------------------------------------
+
+	/**
+	 * Draw a random value of a mutable property and write it in a vector.
+	 * @param random Generator of the worker.
+	 * @param slot Slot of the property.
+	 * @param values Vector receiving the value, see {@link PropertyValueVector#overwrite(int, Object)}.
+	 * @throws BeanLikeTesterException if the type of the property can't be drawn nor generated.
+	 */
+	void draw(SplitMix64 random, int slot, PropertyValueVector values) {
+		if (metadata.getPrimitiveType(slot) != null) {
+			values.overwritePrimitive(slot, drawBits(kinds[slot], random));
+		}
+		else {
+			values.overwrite(slot, drawReference(slot, random));
+		}
+	}
+
+}
@@ -0,0 +1,139 @@
+/**
+ * Copyright (C) 2011 Franck Valentin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.outsideMyBox.testUtils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link BeanInvoker} using the reflection API.<br/>
+ * It works with all the classes but each call boxes its arguments and goes through the reflection layer.<br/>
+ * It also checks the calls for the invokers calling the methods directly, so that they report invalid calls like it does.
+ */
+final class ReflectionInvoker implements BeanInvoker {
+
+	// ------------------------------------  Class variables  ----------------------------------------
+
+	/** Wrapper classes accepted for each primitive parameter: its own and the ones widened to it. */
+	private static final Map<Class<?>, Set<Class<?>>> ACCEPTED_WRAPPERS = new HashMap<Class<?>, Set<Class<?>>>();
+
+	static {
+		acceptWrappers(boolean.class, Boolean.class);
+		acceptWrappers(char.class, Character.class);
+		acceptWrappers(byte.class, Byte.class);
+		acceptWrappers(short.class, Short.class, Byte.class);
+		acceptWrappers(int.class, Integer.class, Character.class, Short.class, Byte.class);
+		acceptWrappers(long.class, Long.class, Integer.class, Character.class, Short.class, Byte.class);
+		acceptWrappers(float.class, Float.class, Long.class, Integer.class, Character.class, Short.class, Byte.class);
+		acceptWrappers(double.class, Double.class, Float.class, Long.class, Integer.class, Character.class, Short.class, Byte.class);
+	}
+
+	// -----------------------------------  Instance variables  ------------------------------------
+
+	private final BeanLikeMetadata metadata;
+
+	// ------------------------------------  Constructors  -------------------------------------------
+
+	ReflectionInvoker(BeanLikeMetadata metadata) {
+		this.metadata = metadata;
+	}
+
+	// ------------------------------------  Private methods  ----------------------------------------
+
+	private static void acceptWrappers(Class<?> primitiveType, Class<?>... wrappers) {
+		ACCEPTED_WRAPPERS.put(primitiveType, new HashSet<Class<?>>(Arrays.asList(wrappers)));
+	}
+
+	/**
+	 * Invoke an object's method.
+	 * @param object Object.
+	 * @param method Method to invoke.
+	 * @param args Method's arguments.
+	 * @return Object returned by the method invocation.
+	 * @throws BeanLikeTesterException if an exception occurred.
+	 */
+	private static Object invokeMethod(Object object, Method method, Object... args) {
+		try {
+			return method.invoke(object, args);
+		} catch (final Exception e) {
+			throw new BeanLikeTesterException(e.getMessage(), e);
+		}
+	}
+
+	// ------------------------------------  Package methods  ----------------------------------------
+
+	/**
+	 * @param parameterType Type of a parameter.
+	 * @param argument Argument of the call.
+	 * @return true if {@link Method#invoke(Object, Object...)} accepts the argument for the parameter:
+	 *         an instance of the type or null for a reference type, a value unboxed and widened to the type for a primitive.
+	 */
+	static boolean isValidArgument(Class<?> parameterType, Object argument) {
+		if (!parameterType.isPrimitive()) {
+			return (argument == null) || parameterType.isInstance(argument);
+		}
+		return (argument != null) && ACCEPTED_WRAPPERS.get(parameterType).contains(argument.getClass());
+	}
+
+	/**
+	 * Check a call the way {@link Method#invoke(Object, Object...)} does, before calling the method directly: only the
+	 * exceptions thrown by the method itself are then reported as an {@link InvocationTargetException}.
+	 * @param beanLikeClass Class declaring the method.
+	 * @param beanLike Object the method is called on.
+	 * @param parameterType Type of the single parameter of the method or null if it doesn't have any.
+	 * @param argument Argument of the call, ignored if the method doesn't have any parameter.
+	 * @throws BeanLikeTesterException wrapping a NullPointerException if 'beanLike' is null or an IllegalArgumentException
+	 *         if it isn't an instance of the class or the argument isn't valid, like {@link #invokeMethod(Object, Method, Object...)}.
+	 */
+	static void verifyCall(Class<?> beanLikeClass, Object beanLike, Class<?> parameterType, Object argument) {
+		RuntimeException e = null;
+		if (beanLike == null) {
+			e = new NullPointerException();
+		}
+		else if (!beanLikeClass.isInstance(beanLike)) {
+			e = new IllegalArgumentException("object is not an instance of declaring class");
+		}
+		else if ((parameterType != null) && !isValidArgument(parameterType, argument)) {
+			e = new IllegalArgumentException("argument type mismatch");
+		}
+		if (e != null) {
+			throw new BeanLikeTesterException(e.getMessage(), e);
+		}
+	}
+
+	// ------------------------------------  Public methods  -----------------------------------------
+
+	@Override
+	public Object get(Object beanLike, int slot) {
+		return invokeMethod(beanLike, metadata.getAccessor(slot), (Object[]) null);
+	}
+
+	@Override
+	public void set(Object beanLike, int slot, Object value) {
+		invokeMethod(beanLike, metadata.getSetter(slot), new Object[] { value });
+	}
+
+	@Override
+	public Object newInstance(int constructorIndex, Object[] arguments) {
+		return metadata.getConstructorPlan(constructorIndex).newInstance(arguments);
+	}
+
+}
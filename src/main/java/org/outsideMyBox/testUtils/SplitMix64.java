@@ -0,0 +1,111 @@
+/**
+ * Copyright (C) 2011 Franck Valentin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.outsideMyBox.testUtils;
+
+/**
+ * Splittable pseudo-random generator, with the same algorithm as {@link java.util.SplittableRandom}, that can be reseeded.<br/>
+ * The fuzzing workers get independent streams with {@link #split()} and reseed their generator for each value set,
+ * so that a value set can be reproduced from its seed without creating a generator per value set.
+ * Instances aren't thread-safe.
+ */
+final class SplitMix64 {
+
+	// ------------------------------------  Class variables  ----------------------------------------
+
+	private static final long   GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+	private static final double DOUBLE_UNIT  = 0x1.0p-53;
+
+	// -----------------------------------  Instance variables  ------------------------------------
+
+	private long       seed;
+	private final long gamma;
+
+	// ------------------------------------  Constructors  -------------------------------------------
+
+	SplitMix64(long seed) {
+		this(seed, GOLDEN_GAMMA);
+	}
+
+	private SplitMix64(long seed, long gamma) {
+		this.seed = seed;
+		this.gamma = gamma;
+	}
+
+	// ------------------------------------  Private methods  ----------------------------------------
+
+	private static long mix64(long z) {
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+
+	private static int mix32(long z) {
+		z = (z ^ (z >>> 33)) * 0x62a9d9ed799705f5L;
+		return (int) (((z ^ (z >>> 28)) * 0xcb24d0a5c88c35b3L) >>> 32);
+	}
+
+	private static long mixGamma(long z) {
+		z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+		z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+		z = (z ^ (z >>> 33)) | 1L;
+		// Avoid gammas with too few bit transitions.
+		return Long.bitCount(z ^ (z >>> 1)) < 24 ? z ^ 0xaaaaaaaaaaaaaaaaL : z;
+	}
+
+	private long nextSeed() {
+		return seed += gamma;
+	}
+
+	// ------------------------------------  Package methods  ----------------------------------------
+
+	/**
+	 * @return A new generator whose stream is independent from the one of this generator.
+	 */
+	SplitMix64 split() {
+		return new SplitMix64(nextLong(), mixGamma(nextSeed()));
+	}
+
+	/**
+	 * Restart the stream of a generator created by {@link #SplitMix64(long)}: the values are then the same as the ones of a new
+	 * generator created with this seed.
+	 */
+	void reset(long newSeed) {
+		seed = newSeed;
+	}
+
+	long nextLong() {
+		return mix64(nextSeed());
+	}
+
+	int nextInt() {
+		return mix32(nextSeed());
+	}
+
+	/** @return A value between 0 (inclusive) and 'bound' (exclusive), 'bound' being positive. */
+	int nextInt(int bound) {
+		return (int) (((nextInt() & 0xffffffffL) * bound) >>> 32);
+	}
+
+	boolean nextBoolean() {
+		return nextInt() < 0;
+	}
+
+	/** @return A value between 0 (inclusive) and 1 (exclusive). */
+	double nextDouble() {
+		return (nextLong() >>> 11) * DOUBLE_UNIT;
+	}
+
+}
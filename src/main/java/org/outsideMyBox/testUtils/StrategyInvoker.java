@@ -0,0 +1,71 @@
+/**
+ * Copyright (C) 2011 Franck Valentin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.outsideMyBox.testUtils;
+
+/**
+ * {@link BeanInvoker} asking an {@link InvocationStrategy} which invoker to use before each call.<br/>
+ * The calls are counted per beanLike class (see {@link ClassMetadata#incrementInvocationCount()}), so
+ * all the testers of a class contribute to its promotion. Once the strategy selects a final mode, its invoker
+ * is kept and the calls are no longer counted: the shared counter isn't contended by the promoted testers.
+ */
+final class StrategyInvoker implements BeanInvoker {
+
+	// -----------------------------------  Instance variables  ------------------------------------
+
+	private final BeanLikeMetadata   metadata;
+	private final InvocationStrategy strategy;
+	private volatile BeanInvoker     finalInvoker;
+
+	// ------------------------------------  Constructors  -------------------------------------------
+
+	StrategyInvoker(BeanLikeMetadata metadata, InvocationStrategy strategy) {
+		this.metadata = metadata;
+		this.strategy = strategy;
+	}
+
+	// ------------------------------------  Private methods  ----------------------------------------
+
+	private BeanInvoker selectInvoker() {
+		BeanInvoker invoker = finalInvoker;
+		if (invoker == null) {
+			final long invocationCount = metadata.getClassMetadata().incrementInvocationCount();
+			final InvocationMode mode = strategy.selectMode(metadata.getBeanLikeClass(), invocationCount);
+			invoker = metadata.getInvoker(mode);
+			if (strategy.isFinalMode(mode)) {
+				finalInvoker = invoker;
+			}
+		}
+		return invoker;
+	}
+
+	// ------------------------------------  Public methods  -----------------------------------------
+
+	@Override
+	public Object get(Object beanLike, int slot) {
+		return selectInvoker().get(beanLike, slot);
+	}
+
+	@Override
+	public void set(Object beanLike, int slot, Object value) {
+		selectInvoker().set(beanLike, slot, value);
+	}
+
+	@Override
+	public Object newInstance(int constructorIndex, Object[] arguments) {
+		return selectInvoker().newInstance(constructorIndex, arguments);
+	}
+
+}
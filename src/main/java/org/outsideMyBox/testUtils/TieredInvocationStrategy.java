@@ -0,0 +1,99 @@
+/**
+ * Copyright (C) 2011 Franck Valentin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.outsideMyBox.testUtils;
+
+/**
+ * {@link InvocationStrategy} starting with a mode that is cheap to set up and promoting a beanLike class to a
+ * compiled mode once the number of calls made on it crosses a threshold.<br/>
+ * One-off testers keep a fast startup whereas fuzzing or benchmark loops reach the throughput of the compiled mode.
+ */
+public final class TieredInvocationStrategy implements InvocationStrategy {
+
+	// ------------------------------------  Class variables  ----------------------------------------
+
+	/** Default number of calls on a class before it is promoted. */
+	public static final long DEFAULT_THRESHOLD = 10000;
+
+	// -----------------------------------  Instance variables  ------------------------------------
+
+	private final InvocationMode initialMode;
+	private final InvocationMode compiledMode;
+	private final long           threshold;
+
+	// ------------------------------------  Constructors  -------------------------------------------
+
+	/**
+	 * @param initialMode Mode used until the threshold is reached.
+	 * @param compiledMode Mode used once the threshold is reached.
+	 * @param threshold Number of calls on a class before it is promoted.
+	 */
+	public TieredInvocationStrategy(InvocationMode initialMode, InvocationMode compiledMode, long threshold) {
+		if ((initialMode == null) || (compiledMode == null)) {
+			throw new IllegalArgumentException("The invocation modes must not be null.");
+		}
+		this.initialMode = initialMode;
+		this.compiledMode = compiledMode;
+		this.threshold = threshold;
+	}
+
+	/**
+	 * Tiered strategy starting with {@link InvocationMode#REFLECTION} and promoting the classes to
+	 * {@link InvocationMode#GENERATED} after a number of calls.
+	 * @param threshold Number of calls on a class before it is promoted.
+	 */
+	public TieredInvocationStrategy(long threshold) {
+		this(InvocationMode.REFLECTION, InvocationMode.GENERATED, threshold);
+	}
+
+	/**
+	 * Tiered strategy starting with {@link InvocationMode#REFLECTION} and promoting the classes to
+	 * {@link InvocationMode#GENERATED} after {@value #DEFAULT_THRESHOLD} calls.
+	 */
+	public TieredInvocationStrategy() {
+		this(DEFAULT_THRESHOLD);
+	}
+
+	// ------------------------------------  Public methods  -----------------------------------------
+
+	@Override
+	public InvocationMode selectMode(Class<?> beanLikeClass, long invocationCount) {
+		return invocationCount <= threshold ? initialMode : compiledMode;
+	}
+
+	/** @return true for the compiled mode: the invocation count of a class only grows. */
+	@Override
+	public boolean isFinalMode(InvocationMode mode) {
+		return mode == compiledMode;
+	}
+
+	public InvocationMode getInitialMode() {
+		return initialMode;
+	}
+
+	public InvocationMode getCompiledMode() {
+		return compiledMode;
+	}
+
+	public long getThreshold() {
+		return threshold;
+	}
+
+	@Override
+	public String toString() {
+		return "TieredInvocationStrategy [initialMode=" + initialMode + ", compiledMode=" + compiledMode + ", threshold=" + threshold + "]";
+	}
+
+}
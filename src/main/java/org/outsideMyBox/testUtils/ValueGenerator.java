@@ -0,0 +1,349 @@
+/**
+ * Copyright (C) 2011 Franck Valentin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.outsideMyBox.testUtils;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Queue;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.LinkedTransferQueue;
+import java.util.concurrent.TransferQueue;
+
+/**
+ * Generate values of the properties of beanLikes from their types, see {@link BeanLikeTester#generateDefaultValues(ValueGenerator)}
+ * and {@link BeanLikeTester#generateOtherValues(ValueGenerator)}.<br/>
+ * For each type, the generator gives the default value of a field of that type (null, 0 or false) and two variants of
+ * non default values. The supported types are:
+ *    <ul>
+ *    <li>primitives and their wrappers, String, CharSequence, Object, BigDecimal, BigInteger and Date,</li>
+ *    <li>enums with at least one constant,</li>
+ *    <li>arrays of supported types,</li>
+ *    <li>collections and maps, either the interfaces (List, Set, SortedSet, Queue, Map, SortedMap...) or public classes
+ *        with a default constructor. They contain a single element generated from their type argument (e.g. an enum
+ *        constant for 'List&lt;ElementType&gt;') or a String for raw types,</li>
+ *    <li>nested beans, i.e. public concrete classes with a public default constructor, created with their default values,</li>
+ *    <li>any type registered with {@link #register(Class, Object, Object)}.</li>
+ *    </ul>
+ * Generic types (e.g. the ones returned by {@link BeanLikeTester#generateOtherValues(ValueGenerator)}) are generated as their raw type
+ * except for the elements of collections and maps; type variables and wildcards are generated as their first bound.<br/>
+ * The way to generate the values of a type is found once and cached, so a generator should be shared by all the testers.
+ * Generators are thread-safe. Mutable values (arrays, collections, beans) are created for each call.
+ */
+public final class ValueGenerator {
+
+	// ------------------------------------  Class variables  ----------------------------------------
+
+	/** Creates the values of a type. */
+	private abstract static class TypeGenerator {
+		Object defaultValue() {
+			return null;
+		}
+
+		/** @return A non default value, variant 0 or 1. The variants are different if the type has more than one non default value. */
+		abstract Object value(int variant);
+	}
+
+	/** Two immutable values of a type whose default value is null. */
+	private static final class ConstantTypeGenerator extends TypeGenerator {
+		private final Object defaultValue;
+		private final Object value0;
+		private final Object value1;
+
+		ConstantTypeGenerator(Object defaultValue, Object value0, Object value1) {
+			this.defaultValue = defaultValue;
+			this.value0 = value0;
+			this.value1 = value1;
+		}
+
+		@Override
+		Object defaultValue() {
+			return defaultValue;
+		}
+
+		@Override
+		Object value(int variant) {
+			return variant == 0 ? value0 : value1;
+		}
+	}
+
+	private static final Map<Type, TypeGenerator> BUILT_IN_GENERATORS = new HashMap<Type, TypeGenerator>();
+
+	static {
+		putBuiltIn(int.class, Integer.valueOf(0), Integer.valueOf(1), Integer.valueOf(2));
+		putBuiltIn(long.class, Long.valueOf(0), Long.valueOf(1), Long.valueOf(2));
+		putBuiltIn(short.class, Short.valueOf((short) 0), Short.valueOf((short) 1), Short.valueOf((short) 2));
+		putBuiltIn(byte.class, Byte.valueOf((byte) 0), Byte.valueOf((byte) 1), Byte.valueOf((byte) 2));
+		putBuiltIn(double.class, Double.valueOf(0), Double.valueOf(1), Double.valueOf(2));
+		putBuiltIn(float.class, Float.valueOf(0), Float.valueOf(1), Float.valueOf(2));
+		putBuiltIn(char.class, Character.valueOf('\0'), Character.valueOf('a'), Character.valueOf('b'));
+		putBuiltIn(boolean.class, Boolean.FALSE, Boolean.TRUE, Boolean.TRUE);
+		putBuiltIn(Integer.class, null, Integer.valueOf(1), Integer.valueOf(2));
+		putBuiltIn(Long.class, null, Long.valueOf(1), Long.valueOf(2));
+		putBuiltIn(Short.class, null, Short.valueOf((short) 1), Short.valueOf((short) 2));
+		putBuiltIn(Byte.class, null, Byte.valueOf((byte) 1), Byte.valueOf((byte) 2));
+		putBuiltIn(Double.class, null, Double.valueOf(1), Double.valueOf(2));
+		putBuiltIn(Float.class, null, Float.valueOf(1), Float.valueOf(2));
+		putBuiltIn(Character.class, null, Character.valueOf('a'), Character.valueOf('b'));
+		putBuiltIn(Boolean.class, null, Boolean.TRUE, Boolean.FALSE);
+		putBuiltIn(String.class, null, "value1", "value2");
+		putBuiltIn(CharSequence.class, null, "value1", "value2");
+		putBuiltIn(Object.class, null, "value1", "value2");
+		putBuiltIn(Number.class, null, Integer.valueOf(1), Integer.valueOf(2));
+		putBuiltIn(BigDecimal.class, null, BigDecimal.ONE, BigDecimal.TEN);
+		putBuiltIn(BigInteger.class, null, BigInteger.ONE, BigInteger.TEN);
+		BUILT_IN_GENERATORS.put(Date.class, new TypeGenerator() {
+			@Override
+			Object value(int variant) {
+				return new Date(1000L * (variant + 1));
+			}
+		});
+	}
+
+	// -----------------------------------  Instance variables  ------------------------------------
+
+	private final ConcurrentMap<Type, TypeGenerator> generators = new ConcurrentHashMap<Type, TypeGenerator>(BUILT_IN_GENERATORS);
+
+	// ------------------------------------  Private methods  ----------------------------------------
+
+	private static void putBuiltIn(Class<?> type, Object defaultValue, Object value0, Object value1) {
+		BUILT_IN_GENERATORS.put(type, new ConstantTypeGenerator(defaultValue, value0, value1));
+	}
+
+	private static Constructor<?> findDefaultConstructor(Class<?> type) {
+		if (!Modifier.isPublic(type.getModifiers()) || Modifier.isAbstract(type.getModifiers()) || type.isInterface()) {
+			return null;
+		}
+		try {
+			return type.getConstructor();
+		} catch (final NoSuchMethodException e) {
+			return null;
+		}
+	}
+
+	private static Object newInstance(Constructor<?> constructor) {
+		try {
+			return constructor.newInstance();
+		} catch (final Exception e) {
+			throw new BeanLikeTesterException("Unable to create a value with " + constructor, e);
+		}
+	}
+
+	/** @return The class created for a collection or map interface or null if the type isn't one of them. */
+	private static Class<?> findImplementation(Class<?> type) {
+		if ((type == List.class) || (type == Collection.class) || (type == Iterable.class)) {
+			return ArrayList.class;
+		}
+		if (type == Set.class) {
+			return LinkedHashSet.class;
+		}
+		if ((type == SortedSet.class) || (type == NavigableSet.class)) {
+			return TreeSet.class;
+		}
+		if ((type == Queue.class) || (type == Deque.class)) {
+			return LinkedList.class;
+		}
+		if (type == BlockingQueue.class) {
+			return LinkedBlockingQueue.class;
+		}
+		if (type == BlockingDeque.class) {
+			return LinkedBlockingDeque.class;
+		}
+		if (type == TransferQueue.class) {
+			return LinkedTransferQueue.class;
+		}
+		if (type == Map.class) {
+			return LinkedHashMap.class;
+		}
+		if ((type == SortedMap.class) || (type == NavigableMap.class)) {
+			return TreeMap.class;
+		}
+		return null;
+	}
+
+	/**
+	 * @param type Generic type.
+	 * @param index Index of the type argument.
+	 * @param typeArgumentCount Number of type arguments expected by the collection or map.
+	 * @return The generator of the type argument, or null for raw types (Strings are then generated).
+	 */
+	private TypeGenerator getTypeArgumentGenerator(Type type, int index, int typeArgumentCount) {
+		if (type instanceof ParameterizedType) {
+			final Type[] typeArguments = ((ParameterizedType) type).getActualTypeArguments();
+			if (typeArguments.length == typeArgumentCount) {
+				return getTypeGenerator(typeArguments[index]);
+			}
+		}
+		return null;
+	}
+
+	private TypeGenerator createTypeGenerator(final Type genericType) {
+		final Class<?> type = PropertyTypeResolver.getRawType(genericType);
+		if ((type != genericType) && !(genericType instanceof ParameterizedType)) {
+			// Generic arrays, type variables and wildcards.
+			if (type.isArray()) {
+				return createArrayGenerator(type.getComponentType(), getTypeGenerator(((GenericArrayType) genericType).getGenericComponentType()));
+			}
+			return getTypeGenerator(type);
+		}
+		if (type.isEnum()) {
+			final Object[] constants = type.getEnumConstants();
+			if (constants.length > 0) {
+				return new ConstantTypeGenerator(null, constants[0], constants[Math.min(1, constants.length - 1)]);
+			}
+			return null;
+		}
+		if (type.isArray()) {
+			return createArrayGenerator(type.getComponentType(), getTypeGenerator(type.getComponentType()));
+		}
+
+		final Class<?> implementation = findImplementation(type);
+		final Constructor<?> constructor = findDefaultConstructor(implementation != null ? implementation : type);
+		if (constructor == null) {
+			return null;
+		}
+		if (Collection.class.isAssignableFrom(implementation != null ? implementation : type)) {
+			final TypeGenerator elementGenerator = getTypeArgumentGenerator(genericType, 0, 1);
+			return new TypeGenerator() {
+				@Override
+				@SuppressWarnings("unchecked")
+				Object value(int variant) {
+					final Collection<Object> collection = (Collection<Object>) newInstance(constructor);
+					collection.add(elementGenerator == null ? "element" + (variant + 1) : elementGenerator.value(variant));
+					return collection;
+				}
+			};
+		}
+		if (Map.class.isAssignableFrom(type)) {
+			final TypeGenerator keyGenerator = getTypeArgumentGenerator(genericType, 0, 2);
+			final TypeGenerator valueGenerator = getTypeArgumentGenerator(genericType, 1, 2);
+			return new TypeGenerator() {
+				@Override
+				@SuppressWarnings("unchecked")
+				Object value(int variant) {
+					final Map<Object, Object> map = (Map<Object, Object>) newInstance(constructor);
+					map.put(keyGenerator == null ? "key" + (variant + 1) : keyGenerator.value(variant),
+					        valueGenerator == null ? "value" + (variant + 1) : valueGenerator.value(variant));
+					return map;
+				}
+			};
+		}
+		if (type.getName().startsWith("java.")) {
+			return null;
+		}
+		if (type != genericType) {
+			// Nested generic bean.
+			return getTypeGenerator(type);
+		}
+		// Nested bean.
+		return new TypeGenerator() {
+			@Override
+			Object value(int variant) {
+				return newInstance(constructor);
+			}
+		};
+	}
+
+	private static TypeGenerator createArrayGenerator(final Class<?> componentType, final TypeGenerator componentGenerator) {
+		return new TypeGenerator() {
+			@Override
+			Object value(int variant) {
+				final Object array = Array.newInstance(componentType, 1);
+				Array.set(array, 0, componentGenerator.value(variant));
+				return array;
+			}
+		};
+	}
+
+	private TypeGenerator getTypeGenerator(Type type) {
+		TypeGenerator generator = generators.get(type);
+		if (generator == null) {
+			generator = createTypeGenerator(type);
+			if (generator == null) {
+				throw new BeanLikeTesterException("No value can be generated for the type " + type.getTypeName() + ", please register values for it");
+			}
+			final TypeGenerator existingGenerator = generators.putIfAbsent(type, generator);
+			if (existingGenerator != null) {
+				generator = existingGenerator;
+			}
+		}
+		return generator;
+	}
+
+	// ------------------------------------  Public methods  -----------------------------------------
+
+	/**
+	 * Register the values of a type, e.g. a type without default constructor. The values must be immutable as they are shared.
+	 * @param type Type of the values.
+	 * @param value Non default value.
+	 * @param otherValue Another non default value, different from 'value'.
+	 */
+	public <T> void register(Class<T> type, T value, T otherValue) {
+		generators.put(type, new ConstantTypeGenerator(null, value, otherValue));
+	}
+
+	/**
+	 * @param type Type of a property, either a class or a generic type.
+	 * @return The default value of a field of this type: 0 or false for the primitives, null for the other types.
+	 * @throws BeanLikeTesterException if no value can be generated for the type.
+	 */
+	public Object generateDefaultValue(Type type) {
+		return getTypeGenerator(type).defaultValue();
+	}
+
+	/**
+	 * @param type Type of a property, either a class or a generic type.
+	 * @param variant 0 or 1. The two variants are different if the type has more than one non default value.
+	 * @return A non default value of the type.
+	 * @throws BeanLikeTesterException if no value can be generated for the type.
+	 */
+	public Object generateValue(Type type, int variant) {
+		return getTypeGenerator(type).value(variant);
+	}
+
+	@Override
+	public String toString() {
+		return "ValueGenerator [types=" + generators.size() + "]";
+	}
+
+}
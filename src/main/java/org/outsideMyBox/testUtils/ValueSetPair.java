@@ -0,0 +1,57 @@
+/**
+ * Copyright (C) 2011 Franck Valentin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.outsideMyBox.testUtils;
+
+/**
+ * Default and other values of a beanLike, checked together by the batch methods of {@link BeanLikeTester},
+ * e.g. {@link BeanLikeTester#checkBatch(BeanLikeReport.Phase, Iterable, BeanLikeBatchListener)}.<br/>
+ * Pairs sharing the same default vector (or consecutive pairs whose default values give the same object) are
+ * checked with the same default object.
+ */
+public final class ValueSetPair {
+
+	// -----------------------------------  Instance variables  ------------------------------------
+
+	private final PropertyValueVector defaultValues;
+	private final PropertyValueVector otherValues;
+
+	// ------------------------------------  Constructors  -------------------------------------------
+
+	/**
+	 * @param defaultValues Properties and their default value.
+	 * @param otherValues Properties and their value different from 'defaultValues'.
+	 */
+	public ValueSetPair(PropertyValueVector defaultValues, PropertyValueVector otherValues) {
+		this.defaultValues = defaultValues;
+		this.otherValues = otherValues;
+	}
+
+	// ------------------------------------  Public methods  -----------------------------------------
+
+	public PropertyValueVector getDefaultValues() {
+		return defaultValues;
+	}
+
+	public PropertyValueVector getOtherValues() {
+		return otherValues;
+	}
+
+	@Override
+	public String toString() {
+		return "ValueSetPair [defaultValues=" + defaultValues + ", otherValues=" + otherValues + "]";
+	}
+
+}
@@ -0,0 +1,347 @@
+/**
+ * Copyright (C) 2011 Franck Valentin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.outsideMyBox.testUtils;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.LambdaConversionException;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.outsideMyBox.testUtils.BeanLikeTester.ConstructorSignatureAndPropertiesMapping;
+import org.testng.annotations.Test;
+
+/**
+ * Test {@link MethodHandleInvoker}, {@link LambdaInvoker}, {@link GeneratedInvoker} and {@link ReflectionInvoker}
+ */
+public final class BeanInvokerTest {
+
+	private static final class NonPublicBean {
+		private int anInt;
+
+		@SuppressWarnings("unused")
+		public NonPublicBean() {
+		}
+
+		public int getAnInt() {
+			return anInt;
+		}
+
+		public void setAnInt(int anInt) {
+			this.anInt = anInt;
+		}
+	}
+
+	/** Bean only called by {@link BeanInvokerTest#testFinalModeIsKeptWithoutConsultingTheStrategy()}. */
+	public static final class PromotedBean {
+		private int anInt;
+
+		public int getAnInt() {
+			return anInt;
+		}
+
+		public void setAnInt(int anInt) {
+			this.anInt = anInt;
+		}
+	}
+
+	/** Bean whose setter rejects the negative values. */
+	public static final class BeanWithThrowingSetter {
+		private int anInt;
+
+		public int getAnInt() {
+			return anInt;
+		}
+
+		public void setAnInt(int anInt) {
+			if (anInt < 0) {
+				throw new IllegalArgumentException("negative");
+			}
+			this.anInt = anInt;
+		}
+	}
+
+	/** Bean with an 'is' method taking a parameter, introspected as an accessor. */
+	public static final class BeanWithParameterizedAccessor {
+		private int anInt;
+
+		public int getAnInt() {
+			return anInt;
+		}
+
+		public void setAnInt(int anInt) {
+			this.anInt = anInt;
+		}
+
+		public boolean isBig(int limit) {
+			return anInt > limit;
+		}
+	}
+
+	/** Bean whose property name contains a supplementary character (U+1D49C), encoded in 4 bytes by the standard UTF-8. */
+	public static final class BeanWithSupplementaryCharacter {
+		private int value;
+
+		public int getValue\uD835\uDC9C() {
+			return value;
+		}
+
+		public void setValue\uD835\uDC9C(int value) {
+			this.value = value;
+		}
+	}
+
+	/** Class loader defining its own copy of a class, the other classes being loaded by its parent. */
+	private static final class ChildFirstClassLoader extends ClassLoader {
+		private final String className;
+
+		ChildFirstClassLoader(String className) {
+			super(BeanInvokerTest.class.getClassLoader());
+			this.className = className;
+		}
+
+		@Override
+		protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+			if (!name.equals(className)) {
+				return super.loadClass(name, resolve);
+			}
+			synchronized (getClassLoadingLock(name)) {
+				final Class<?> loadedClass = findLoadedClass(name);
+				if (loadedClass != null) {
+					return loadedClass;
+				}
+				final ByteArrayOutputStream classFile = new ByteArrayOutputStream();
+				try (InputStream in = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+					final byte[] buffer = new byte[4096];
+					for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+						classFile.write(buffer, 0, read);
+					}
+				} catch (final IOException e) {
+					throw new ClassNotFoundException(name, e);
+				}
+				return defineClass(name, classFile.toByteArray(), 0, classFile.size());
+			}
+		}
+	}
+
+	private ConstructorSignatureAndPropertiesMapping returnNoArgMapping() {
+		final ConstructorSignatureAndPropertiesMapping mapping = new ConstructorSignatureAndPropertiesMapping();
+		mapping.put(Collections.<Class<?>> emptyList(), Collections.<String> emptyList());
+		return mapping;
+	}
+
+	private BeanLikeMetadata returnMetadataForValidBeanLike() {
+		return BeanLikeMetadata.of(ValidBeanLike.class, BeanLikeTesterTest.returnCorrectSignatureAndPropertiesForValidBeanLike());
+	}
+
+	private void verifyInvoker(BeanLikeMetadata metadata, BeanInvoker invoker) {
+		final int index = metadata.getConstructorIndexSettingSlot(metadata.getSlot("anInt"));
+		final Object[] arguments = metadata.getConstructorPlan(index).getArguments(PropertyValueVector.of(metadata, BeanLikeTesterTest.returnCorrectOtherValueForValidBeanLike(), true));
+		final Object beanLike = invoker.newInstance(index, arguments);
+		final int slot = metadata.getSlot("anInt");
+		assertEquals(invoker.get(beanLike, slot), BeanLikeTesterTest.returnCorrectOtherValueForValidBeanLike().get("anInt"));
+		invoker.set(beanLike, slot, Integer.valueOf(-5));
+		assertEquals(invoker.get(beanLike, slot), Integer.valueOf(-5));
+	}
+
+	@Test
+	public void testMethodHandleInvokerIsTheDefault() {
+		assertTrue(returnMetadataForValidBeanLike().getInvoker(InvocationMode.METHOD_HANDLE) instanceof MethodHandleInvoker);
+		assertSame(returnMetadataForValidBeanLike().getInvoker(InvocationMode.METHOD_HANDLE), returnMetadataForValidBeanLike().getInvoker(InvocationMode.METHOD_HANDLE));
+	}
+
+	@Test
+	public void testLambdaInvoker() throws IllegalAccessException, LambdaConversionException {
+		final BeanLikeMetadata metadata = returnMetadataForValidBeanLike();
+		assertTrue(metadata.getInvoker(InvocationMode.LAMBDA) instanceof LambdaInvoker);
+		verifyInvoker(metadata, new LambdaInvoker(metadata));
+	}
+
+	@Test
+	public void testGeneratedInvoker() throws IllegalAccessException {
+		final BeanLikeMetadata metadata = returnMetadataForValidBeanLike();
+		assertTrue(metadata.getInvoker(InvocationMode.GENERATED) instanceof GeneratedInvoker);
+		verifyInvoker(metadata, new GeneratedInvoker(metadata));
+		assertTrue(BeanLikeMetadata.of(ValidBean.class, returnNoArgMapping()).getInvoker(InvocationMode.GENERATED) instanceof GeneratedInvoker);
+	}
+
+	@Test
+	public void testGeneratedInvokerWritesModifiedUtf8() throws IllegalAccessException {
+		final BeanLikeMetadata metadata = BeanLikeMetadata.of(BeanWithSupplementaryCharacter.class, returnNoArgMapping());
+		final GeneratedInvoker invoker = new GeneratedInvoker(metadata);
+		final Object bean = invoker.newInstance(0, new Object[0]);
+		final int slot = metadata.getSlot("value\uD835\uDC9C");
+		invoker.set(bean, slot, Integer.valueOf(3));
+		assertEquals(invoker.get(bean, slot), Integer.valueOf(3));
+	}
+
+	@Test
+	public void testGeneratedInvokerFallsBackForNonPublicClasses() {
+		final BeanLikeMetadata metadata = BeanLikeMetadata.of(NonPublicBean.class, returnNoArgMapping());
+		assertTrue(metadata.getInvoker(InvocationMode.GENERATED) instanceof ReflectionInvoker);
+	}
+
+	@Test
+	public void testAccessorsWithParametersFallBackToReflection() {
+		final BeanLikeMetadata metadata = BeanLikeMetadata.of(BeanWithParameterizedAccessor.class, returnNoArgMapping());
+		for (final InvocationMode mode : InvocationMode.values()) {
+			new BeanLikeTester(BeanWithParameterizedAccessor.class, null, mode);
+			assertTrue(metadata.getInvoker(mode) instanceof ReflectionInvoker, mode.toString());
+		}
+	}
+
+	@Test
+	public void testLambdaInvokerFallsBackForClassesOfChildClassLoaders() throws ClassNotFoundException {
+		final Class<?> beanClass = new ChildFirstClassLoader(ValidBean.class.getName()).loadClass(ValidBean.class.getName());
+		assertTrue(beanClass != ValidBean.class);
+		assertTrue(BeanLikeMetadata.of(beanClass, returnNoArgMapping()).getInvoker(InvocationMode.LAMBDA) instanceof MethodHandleInvoker);
+		new BeanLikeTester(beanClass, null, InvocationMode.LAMBDA).testBeanLike(BeanLikeTesterTest.returnExpectedDefaultValuesForValidBean(),
+		                                                                         BeanLikeTesterTest.returnCorrectValuesForValidBean());
+	}
+
+	@Test
+	public void testBeanLikeWithAllInvocationModes() {
+		for (final InvocationMode mode : InvocationMode.values()) {
+			final BeanLikeTester blt = new BeanLikeTester(ValidBeanLike.class, BeanLikeTesterTest.returnCorrectSignatureAndPropertiesForValidBeanLike(), mode);
+			blt.testBeanLike(BeanLikeTesterTest.returnCorrectDefaultValueForValidBeanLike(), BeanLikeTesterTest.returnCorrectOtherValueForValidBeanLike());
+			new BeanLikeTester(ValidBean.class, null, mode).testBeanLike(BeanLikeTesterTest.returnExpectedDefaultValuesForValidBean(), BeanLikeTesterTest.returnCorrectValuesForValidBean());
+		}
+	}
+
+	@Test
+	public void testMethodHandleInvoker() throws IllegalAccessException {
+		final BeanLikeMetadata metadata = returnMetadataForValidBeanLike();
+		verifyInvoker(metadata, new MethodHandleInvoker(metadata));
+	}
+
+	@Test
+	public void testReflectionInvoker() {
+		final BeanLikeMetadata metadata = returnMetadataForValidBeanLike();
+		verifyInvoker(metadata, new ReflectionInvoker(metadata));
+	}
+
+	@Test
+	public void testTieredStrategyPromotesAfterTheThreshold() {
+		final TieredInvocationStrategy strategy = new TieredInvocationStrategy(InvocationMode.REFLECTION, InvocationMode.GENERATED, 10);
+		assertEquals(strategy.selectMode(ValidBean.class, 1), InvocationMode.REFLECTION);
+		assertEquals(strategy.selectMode(ValidBean.class, 10), InvocationMode.REFLECTION);
+		assertEquals(strategy.selectMode(ValidBean.class, 11), InvocationMode.GENERATED);
+		assertTrue(strategy.isFinalMode(InvocationMode.GENERATED));
+		assertTrue(!strategy.isFinalMode(InvocationMode.REFLECTION));
+	}
+
+	@Test
+	public void testStrategyIsConsultedWithTheClassInvocationCount() {
+		final List<Long> invocationCounts = new ArrayList<Long>();
+		final InvocationStrategy strategy = new InvocationStrategy() {
+			@Override
+			public InvocationMode selectMode(Class<?> beanLikeClass, long invocationCount) {
+				invocationCounts.add(Long.valueOf(invocationCount));
+				return new TieredInvocationStrategy(5).selectMode(beanLikeClass, invocationCounts.size());
+			}
+		};
+		final BeanLikeTester blt = new BeanLikeTester(ValidBeanLike.class, BeanLikeTesterTest.returnCorrectSignatureAndPropertiesForValidBeanLike(), strategy);
+		blt.testBeanLike(BeanLikeTesterTest.returnCorrectDefaultValueForValidBeanLike(), BeanLikeTesterTest.returnCorrectOtherValueForValidBeanLike());
+		assertTrue(invocationCounts.size() > 5);
+		for (int i = 1; i < invocationCounts.size(); i++) {
+			assertTrue(invocationCounts.get(i).longValue() > invocationCounts.get(i - 1).longValue());
+		}
+	}
+
+	@Test
+	public void testFinalModeIsKeptWithoutConsultingTheStrategy() {
+		final TieredInvocationStrategy tieredStrategy = new TieredInvocationStrategy(InvocationMode.REFLECTION, InvocationMode.METHOD_HANDLE, 5);
+		final List<InvocationMode> selectedModes = new ArrayList<InvocationMode>();
+		final InvocationStrategy strategy = new InvocationStrategy() {
+			@Override
+			public InvocationMode selectMode(Class<?> beanLikeClass, long invocationCount) {
+				final InvocationMode mode = tieredStrategy.selectMode(beanLikeClass, invocationCount);
+				selectedModes.add(mode);
+				return mode;
+			}
+
+			@Override
+			public boolean isFinalMode(InvocationMode mode) {
+				return tieredStrategy.isFinalMode(mode);
+			}
+		};
+		final BeanLikeMetadata metadata = BeanLikeMetadata.of(PromotedBean.class, returnNoArgMapping());
+		final StrategyInvoker invoker = new StrategyInvoker(metadata, strategy);
+		final PromotedBean bean = new PromotedBean();
+		for (int i = 0; i < 20; i++) {
+			invoker.set(bean, metadata.getSlot("anInt"), Integer.valueOf(i));
+		}
+		assertEquals(bean.getAnInt(), 19);
+		assertEquals(selectedModes.size(), 6);
+		assertEquals(selectedModes.get(5), InvocationMode.METHOD_HANDLE);
+	}
+
+	private void verifyInvalidCall(Runnable call, Class<? extends Throwable> expectedCause, InvocationMode mode) {
+		try {
+			call.run();
+		} catch (final BeanLikeTesterException e) {
+			assertTrue(expectedCause.isInstance(e.getCause()), mode + ": " + e.getCause());
+			return;
+		}
+		throw new AssertionError("A BeanLikeTesterException should have been thrown in mode " + mode);
+	}
+
+	@Test
+	public void testInvokersWrapExceptionsLikeReflection() {
+		final BeanLikeMetadata metadata = BeanLikeMetadata.of(BeanWithThrowingSetter.class, returnNoArgMapping());
+		final int slot = metadata.getSlot("anInt");
+		final BeanLikeMetadata beanLikeMetadata = returnMetadataForValidBeanLike();
+		final int constructorIndex = beanLikeMetadata.getConstructorIndexSettingSlot(beanLikeMetadata.getSlot("anInt"));
+		for (final InvocationMode mode : InvocationMode.values()) {
+			final BeanInvoker invoker = metadata.getInvoker(mode);
+			final BeanInvoker beanLikeInvoker = beanLikeMetadata.getInvoker(mode);
+			// Exception thrown by the setter.
+			verifyInvalidCall(new Runnable() {
+				@Override
+				public void run() {
+					invoker.set(new BeanWithThrowingSetter(), slot, Integer.valueOf(-1));
+				}
+			}, InvocationTargetException.class, mode);
+			// Arguments the methods can't be called with.
+			verifyInvalidCall(new Runnable() {
+				@Override
+				public void run() {
+					invoker.set(new BeanWithThrowingSetter(), slot, "notAnInt");
+				}
+			}, IllegalArgumentException.class, mode);
+			verifyInvalidCall(new Runnable() {
+				@Override
+				public void run() {
+					invoker.set(new BeanWithThrowingSetter(), slot, null);
+				}
+			}, IllegalArgumentException.class, mode);
+			verifyInvalidCall(new Runnable() {
+				@Override
+				public void run() {
+					beanLikeInvoker.newInstance(constructorIndex, new Object[] { "", null, "notAnInt", null });
+				}
+			}, IllegalArgumentException.class, mode);
+		}
+	}
+
+}
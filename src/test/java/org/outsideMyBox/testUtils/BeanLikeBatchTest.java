@@ -0,0 +1,161 @@
+/**
+ * Copyright (C) 2011 Franck Valentin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.outsideMyBox.testUtils;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.outsideMyBox.testUtils.BeanLikeReport.Phase;
+import org.testng.annotations.Test;
+
+/**
+ * Test {@link BeanLikeTester#checkBatch(Phase, Iterable, BeanLikeBatchListener)}.
+ */
+public final class BeanLikeBatchTest {
+
+	/** Bean counting its instances. */
+	public static final class BeanCountingInstances {
+		private static final AtomicInteger INSTANCE_COUNT = new AtomicInteger();
+
+		private String aString = "default";
+
+		public BeanCountingInstances() {
+			INSTANCE_COUNT.incrementAndGet();
+		}
+
+		public String getAString() { return aString; }
+		public void setAString(String aString) { this.aString = aString; }
+
+		@Override
+		public int hashCode() {
+			return aString == null ? 0 : aString.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof BeanCountingInstances)) {
+				return false;
+			}
+			final String otherString = ((BeanCountingInstances) obj).aString;
+			return aString == null ? otherString == null : aString.equals(otherString);
+		}
+
+		@Override
+		public String toString() {
+			return "BeanCountingInstances [aString=" + aString + "]";
+		}
+	}
+
+	/** Listener keeping the results. */
+	private static final class ResultsListener implements BeanLikeBatchListener {
+		private final List<Long>            indexes  = new ArrayList<Long>();
+		private final List<BeanLikeFailure> failures = new ArrayList<BeanLikeFailure>();
+
+		@Override
+		public void onResult(long index, ValueSetPair pair, BeanLikeFailure failure) {
+			indexes.add(Long.valueOf(index));
+			failures.add(failure);
+		}
+	}
+
+	/**
+	 * @return Pairs created one at a time, each one only when the result of the previous one has been received by the listener (if not null).
+	 */
+	private static Iterable<ValueSetPair> createLazyPairs(final BeanLikeTester blt, final ResultsListener listener, final int pairCount) {
+		final PropertyValueVector defaultValues = blt.newValueVector().with("aString", "default");
+		return new Iterable<ValueSetPair>() {
+			@Override
+			public Iterator<ValueSetPair> iterator() {
+				return new Iterator<ValueSetPair>() {
+					private int index;
+
+					@Override
+					public boolean hasNext() {
+						return index < pairCount;
+					}
+
+					@Override
+					public ValueSetPair next() {
+						if (listener != null) {
+							assertEquals(listener.indexes.size(), index);
+						}
+						// The third pair is invalid: its values aren't different.
+						final String otherValue = index == 2 ? "default" : "value" + index;
+						index++;
+						return new ValueSetPair(defaultValues, blt.newValueVector().with("aString", otherValue));
+					}
+
+					@Override
+					public void remove() {
+						throw new UnsupportedOperationException();
+					}
+				};
+			}
+		};
+	}
+
+	@Test
+	public void testResultsAreStreamedInOrder() {
+		final BeanLikeTester blt = new BeanLikeTester(BeanCountingInstances.class);
+		final ResultsListener listener = new ResultsListener();
+
+		final long failureCount = blt.checkBatch(Phase.EQUALS_AND_HASH, createLazyPairs(blt, listener, 5), listener);
+
+		assertEquals(failureCount, 1);
+		assertEquals(listener.indexes.size(), 5);
+		for (int index = 0; index < 5; index++) {
+			assertEquals(listener.indexes.get(index).longValue(), index);
+			if (index == 2) {
+				assertNotNull(listener.failures.get(index));
+			}
+			else {
+				assertNull(listener.failures.get(index));
+			}
+		}
+	}
+
+	@Test
+	public void testDefaultObjectIsReused() {
+		final BeanLikeTester blt = new BeanLikeTester(BeanCountingInstances.class);
+		final List<ValueSetPair> pairs = new ArrayList<ValueSetPair>();
+		for (int index = 0; index < 10; index++) {
+			// Different default vectors giving the same default object.
+			pairs.add(new ValueSetPair(blt.newValueVector().with("aString", "default"), blt.newValueVector().with("aString", "value" + index)));
+		}
+
+		final int instanceCountBefore = BeanCountingInstances.INSTANCE_COUNT.get();
+		blt.testBatch(Phase.EQUALS_AND_HASH, pairs);
+		// One default object, then two objects with the other value per pair.
+		assertEquals(BeanCountingInstances.INSTANCE_COUNT.get() - instanceCountBefore, 1 + (10 * 2));
+
+		blt.testBatch(Phase.TO_STRING, pairs);
+		blt.testBatch(Phase.MUTATORS_AND_ACCESSORS, pairs);
+		blt.testBatch(Phase.DEFAULT_VALUES, pairs);
+	}
+
+	@Test(expectedExceptions = BeanLikeTesterException.class, expectedExceptionsMessageRegExp = "The value of the  property 'aString' must be different in the parameters.")
+	public void testBatchStopsAtTheFirstFailure() {
+		final BeanLikeTester blt = new BeanLikeTester(BeanCountingInstances.class);
+		blt.testBatch(Phase.EQUALS_AND_HASH, createLazyPairs(blt, null, 5));
+	}
+
+}
@@ -0,0 +1,66 @@
+/**
+ * Copyright (C) 2011 Franck Valentin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.outsideMyBox.testUtils;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+import org.testng.annotations.Test;
+
+/**
+ * Test {@link BeanLikeFailure} and the check methods of {@link BeanLikeTester}.
+ */
+public final class BeanLikeFailureTest {
+
+	@Test
+	public void testCheckReturnsNullOnSuccess() {
+		final BeanLikeTester blt = new BeanLikeTester(ValidBean.class);
+		assertNull(blt.checkBeanLike(BeanLikeTesterTest.returnExpectedDefaultValuesForValidBean(), BeanLikeTesterTest.returnCorrectValuesForValidBean()));
+	}
+
+	@Test
+	public void testCheckReturnsTheFailure() {
+		final BeanLikeTester blt = new BeanLikeTester(BeanWithInvalidToString1.class);
+		final BeanLikeFailure failure = blt.checkToString(BeanLikeTesterTest.returnExpectedDefaultValuesForValidBean(), BeanLikeTesterTest.returnCorrectValuesForValidBean());
+		assertNotNull(failure);
+		assertEquals(failure.getMessage(), "The result of toString() should depend on the property 'anInt'");
+		assertEquals(failure.toException().getMessage(), failure.getMessage());
+	}
+
+	@Test
+	public void testMessageIsRenderedOnlyOnce() {
+		final Object part = new Object() {
+			private int toStringCount;
+
+			@Override
+			public String toString() {
+				return String.valueOf(++toStringCount);
+			}
+		};
+		final BeanLikeFailure failure = new BeanLikeFailure("count:", part);
+		assertEquals(failure.getMessage(), "count:1");
+		assertSame(failure.getMessage(), failure.getMessage());
+	}
+
+	@Test(expectedExceptions = BeanLikeTesterException.class, expectedExceptionsMessageRegExp = "The result of toString\\(\\) should depend on the property 'anInt'")
+	public void testTestThrowsTheFailure() {
+		final BeanLikeTester blt = new BeanLikeTester(BeanWithInvalidToString1.class);
+		blt.testToString(BeanLikeTesterTest.returnExpectedDefaultValuesForValidBean(), BeanLikeTesterTest.returnCorrectValuesForValidBean());
+	}
+
+}
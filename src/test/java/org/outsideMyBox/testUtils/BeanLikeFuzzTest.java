@@ -0,0 +1,118 @@
+/**
+ * Copyright (C) 2011 Franck Valentin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.outsideMyBox.testUtils;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.util.SplittableRandom;
+
+import org.outsideMyBox.testUtils.BeanLikeTester.PropertiesAndValues;
+import org.testng.annotations.Test;
+
+/**
+ * Test {@link BeanLikeTester#fuzz(PropertiesAndValues, long, int, long)} and {@link BeanLikeFuzzReport}.
+ */
+public final class BeanLikeFuzzTest {
+
+	/** Bean whose setter silently clamps the values above 1000. */
+	public static final class BeanWithClampingSetter {
+		private int anInt;
+
+		public int getAnInt() { return anInt; }
+		public void setAnInt(int anInt) { this.anInt = Math.min(anInt, 1000); }
+
+		@Override
+		public int hashCode() {
+			return anInt;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return (obj instanceof BeanWithClampingSetter) && (anInt == ((BeanWithClampingSetter) obj).anInt);
+		}
+	}
+
+	@Test
+	public void testStreamsAreTheOnesOfSplittableRandom() {
+		final SplitMix64 random = new SplitMix64(42L);
+		final SplittableRandom expected = new SplittableRandom(42L);
+		assertEquals(random.nextLong(), expected.nextLong());
+		assertEquals(random.nextInt(), expected.nextInt());
+		final SplitMix64 split = random.split();
+		final SplittableRandom expectedSplit = expected.split();
+		for (int i = 0; i < 10; i++) {
+			assertEquals(split.nextLong(), expectedSplit.nextLong());
+		}
+		random.reset(7L);
+		assertEquals(random.nextLong(), new SplittableRandom(7L).nextLong());
+	}
+
+	@Test
+	public void testValidBeanPassesTheFuzzing() {
+		final BeanLikeTester blt = new BeanLikeTester(ValidBean.class);
+		final BeanLikeFuzzReport report = blt.fuzz(blt.generateDefaultValues(new ValueGenerator()), 42L, 4, 250);
+
+		assertTrue(report.isSuccessful(), report.toString());
+		assertEquals(report.getWorkerCount(), 4);
+		assertEquals(report.getValueSetCount(), 1000);
+		assertEquals(report.getFailureCount(), 0);
+		report.throwIfFailed();
+	}
+
+	@Test
+	public void testFailuresAreReproducibleFromTheirSeed() {
+		final BeanLikeTester blt = new BeanLikeTester(BeanWithClampingSetter.class);
+		final PropertiesAndValues defaultValues = blt.generateDefaultValues(new ValueGenerator());
+		final BeanLikeFuzzReport report = blt.fuzz(defaultValues, 7L, 3, 1000);
+
+		assertFalse(report.isSuccessful());
+		assertEquals(report.getFailureCount(), 3);
+		for (int worker = 0; worker < report.getWorkerCount(); worker++) {
+			final BeanLikeFailure failure = blt.checkFuzzedValueSet(defaultValues, report.getFailureSeed(worker));
+			assertNotNull(failure);
+			assertEquals(failure.getMessage(), report.getFailure(worker).getMessage());
+		}
+
+		// The same seed draws the same value sets.
+		final BeanLikeFuzzReport sameSeedReport = blt.fuzz(defaultValues, 7L, 3, 1000);
+		for (int worker = 0; worker < report.getWorkerCount(); worker++) {
+			assertEquals(sameSeedReport.getFailureSeed(worker), report.getFailureSeed(worker));
+		}
+	}
+
+	@Test(expectedExceptions = BeanLikeTesterException.class, expectedExceptionsMessageRegExp = "The value set of seed -?\\d+ failed: .*")
+	public void testThrowIfFailedReportsTheSeed() {
+		final BeanLikeTester blt = new BeanLikeTester(BeanWithClampingSetter.class);
+		blt.fuzz(blt.generateDefaultValues(new ValueGenerator()), 1L, 1, 1000).throwIfFailed();
+	}
+
+	@Test
+	public void testPassingValueSetIsReproduced() {
+		final BeanLikeTester blt = new BeanLikeTester(ValidBean.class);
+		assertNull(blt.checkFuzzedValueSet(blt.generateDefaultValues(new ValueGenerator()), 123L));
+	}
+
+	@Test(expectedExceptions = BeanLikeTesterException.class, expectedExceptionsMessageRegExp = "At least 1 worker and 1 value set are needed.*")
+	public void testInvalidParametersAreRejected() {
+		final BeanLikeTester blt = new BeanLikeTester(ValidBean.class);
+		blt.fuzz(blt.generateDefaultValues(new ValueGenerator()), 1L, 0, 10);
+	}
+
+}
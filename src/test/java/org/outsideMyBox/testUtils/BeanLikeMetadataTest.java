@@ -0,0 +1,110 @@
+/**
+ * Copyright (C) 2011 Franck Valentin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.outsideMyBox.testUtils;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import org.outsideMyBox.testUtils.BeanLikeTester.ConstructorSignatureAndPropertiesMapping;
+import org.testng.annotations.Test;
+
+/**
+ * Test {@link BeanLikeMetadata} and {@link ClassMetadata}
+ */
+public final class BeanLikeMetadataTest {
+
+	private ConstructorSignatureAndPropertiesMapping returnNoArgMapping() {
+		final ConstructorSignatureAndPropertiesMapping mapping = new ConstructorSignatureAndPropertiesMapping();
+		mapping.put(Collections.<Class<?>> emptyList(), Collections.<String> emptyList());
+		return mapping;
+	}
+
+	@Test
+	public void testClassMetadataIsShared() {
+		assertSame(ClassMetadata.forClass(ValidBean.class), ClassMetadata.forClass(ValidBean.class));
+		assertNotSame(ClassMetadata.forClass(ValidBean.class), ClassMetadata.forClass(ValidBeanLike.class));
+	}
+
+	@Test
+	public void testMetadataIsSharedForEqualMappings() {
+		final BeanLikeMetadata metadata1 = BeanLikeMetadata.of(ValidBean.class, returnNoArgMapping());
+		final BeanLikeMetadata metadata2 = BeanLikeMetadata.of(ValidBean.class, returnNoArgMapping());
+		assertSame(metadata1, metadata2);
+	}
+
+	@Test
+	public void testMetadataIsNotAffectedByLaterChangesOfTheMapping() {
+		final ConstructorSignatureAndPropertiesMapping mapping = returnNoArgMapping();
+		final BeanLikeMetadata metadata = BeanLikeMetadata.of(ValidBean.class, mapping);
+
+		final List<Class<?>> signature = Arrays.<Class<?>> asList(String.class);
+		mapping.put(signature, Arrays.asList("aString"));
+
+		assertEquals(metadata.getConstructorsSignaturesAndProperties(), returnNoArgMapping());
+		assertNotSame(BeanLikeMetadata.of(ValidBean.class, mapping), metadata);
+	}
+
+	@Test
+	public void testPropertyNamesDerivedFromMethodNames() {
+		final ClassMetadata metadata = ClassMetadata.forClass(ValidBeanLike.class);
+		assertEquals(metadata.getAccessors().keySet(), new HashSet<String>(Arrays.asList("aString", "aListOfString", "anInt", "anInteger", "aBooleanPrimitive",
+		                                                                                 "aBoolean", "aReadOnlyProperty", "anotherReadOnlyProperty")));
+		assertEquals(metadata.getSetters().keySet(), new HashSet<String>(Arrays.asList("anInt", "anInteger", "aBooleanPrimitive", "aBoolean")));
+		assertEquals(metadata.getAccessors().get("aBoolean").getName(), "isABoolean");
+	}
+
+	@Test
+	public void testSlotsFollowThePropertyNamesOrder() {
+		final ConstructorSignatureAndPropertiesMapping mapping = new ConstructorSignatureAndPropertiesMapping();
+		mapping.put(Arrays.<Class<?>> asList(String.class, List.class), Arrays.asList("aString", "aListOfString"));
+		mapping.put(Arrays.<Class<?>> asList(List.class, String.class), Arrays.asList("aListOfString", "aString"));
+		mapping.put(Arrays.<Class<?>> asList(String.class, List.class, int.class, Integer.class), Arrays.asList("aString", "aListOfString", "anInt", "anInteger"));
+		final BeanLikeMetadata metadata = BeanLikeMetadata.of(ValidBeanLike.class, mapping);
+
+		assertEquals(metadata.getPropertyCount(), 8);
+		assertEquals(metadata.getPropertyName(0), "aBoolean");
+		assertEquals(metadata.getSlot("aBoolean"), 0);
+		assertEquals(metadata.getSlot("unknown"), -1);
+		assertEquals(metadata.getMutableSlots().length, 6);
+		assertEquals(metadata.getSetterSlots().length, 4);
+		for (int index = 0; index < metadata.getConstructorCount(); index++) {
+			final int[] argumentSlots = metadata.getConstructorArgumentSlots(index);
+			final Class<?>[] parameterTypes = metadata.getConstructor(index).getParameterTypes();
+			assertEquals(argumentSlots.length, parameterTypes.length);
+			for (int i = 0; i < argumentSlots.length; i++) {
+				assertEquals(metadata.getAccessor(argumentSlots[i]).getReturnType(), parameterTypes[i]);
+			}
+		}
+		assertEquals(metadata.getConstructorIndexSettingSlot(metadata.getSlot("aReadOnlyProperty")), -1);
+	}
+
+	@Test(expectedExceptions = BeanLikeTesterException.class, expectedExceptionsMessageRegExp = "The method 'getNothing' doesn't return an object")
+	public void testCachedVerificationFailureIsThrownAgain() {
+		try {
+			new BeanLikeTester(BeanWithInvalidAccessor1.class);
+		} catch (final BeanLikeTesterException e) {
+			// Expected, the second creation uses the cached result.
+		}
+		new BeanLikeTester(BeanWithInvalidAccessor1.class);
+	}
+
+}
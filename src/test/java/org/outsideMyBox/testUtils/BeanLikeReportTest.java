@@ -0,0 +1,109 @@
+/**
+ * Copyright (C) 2011 Franck Valentin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.outsideMyBox.testUtils;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.outsideMyBox.testUtils.BeanLikeReport.Phase;
+import org.outsideMyBox.testUtils.BeanLikeTester.PropertiesAndValues;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Test {@link BeanLikeReport} and the concurrent execution of testBeanLike(), testDefaultValues() and testMutatorsAndAccessors().
+ */
+public final class BeanLikeReportTest {
+
+	private ExecutorService executor;
+
+	@BeforeClass
+	public void createExecutor() {
+		executor = Executors.newFixedThreadPool(4);
+	}
+
+	@AfterClass
+	public void shutdownExecutor() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void testValidBeanLikeInParallel() {
+		final BeanLikeTester blt = new BeanLikeTester(ValidBeanLike.class, BeanLikeTesterTest.returnCorrectSignatureAndPropertiesForValidBeanLike());
+		final BeanLikeReport report = blt.checkBeanLike(BeanLikeTesterTest.returnCorrectDefaultValueForValidBeanLike(), BeanLikeTesterTest.returnCorrectOtherValueForValidBeanLike(), executor);
+		assertTrue(report.isSuccessful(), report.toString());
+		blt.testBeanLike(BeanLikeTesterTest.returnCorrectDefaultValueForValidBeanLike(), BeanLikeTesterTest.returnCorrectOtherValueForValidBeanLike(), executor);
+	}
+
+	@Test
+	public void testReportContainsTheFailureOfEachPhase() {
+		final BeanLikeTester blt = new BeanLikeTester(BeanWithInvalidToString1.class);
+		final PropertiesAndValues defaultValues = BeanLikeTesterTest.returnExpectedDefaultValuesForValidBean();
+		final PropertiesAndValues otherValues = BeanLikeTesterTest.returnCorrectValuesForValidBean();
+		final BeanLikeReport report = blt.checkBeanLike(defaultValues, otherValues, executor);
+
+		assertFalse(report.isSuccessful());
+		assertNotNull(report.getFailure(Phase.DEFAULT_VALUES));
+		assertNull(report.getFailure(Phase.MUTATORS_AND_ACCESSORS));
+		assertEquals(report.getFailure(Phase.TO_STRING).getMessage(), blt.checkToString(defaultValues, otherValues).getMessage());
+		assertNull(report.getException(Phase.TO_STRING));
+	}
+
+	@Test
+	public void testParallelAndSequentialTestsThrowTheSameException() {
+		final BeanLikeTester blt = new BeanLikeTester(BeanWithInvalidToString1.class);
+		final PropertiesAndValues defaultValues = BeanLikeTesterTest.returnExpectedDefaultValuesForValidBean();
+		final PropertiesAndValues otherValues = BeanLikeTesterTest.returnCorrectValuesForValidBean();
+		String sequentialMessage = null;
+		try {
+			blt.testBeanLike(defaultValues, otherValues);
+		} catch (final BeanLikeTesterException e) {
+			sequentialMessage = e.getMessage();
+		}
+		try {
+			blt.testBeanLike(defaultValues, otherValues, executor);
+		} catch (final BeanLikeTesterException e) {
+			assertEquals(e.getMessage(), sequentialMessage);
+			return;
+		}
+		throw new AssertionError("A BeanLikeTesterException should have been thrown.");
+	}
+
+	@Test
+	public void testEachConstructorInParallel() {
+		final BeanLikeTester blt = new BeanLikeTester(ValidBeanLike.class, BeanLikeTesterTest.returnCorrectSignatureAndPropertiesForValidBeanLike());
+		blt.testDefaultValues(BeanLikeTesterTest.returnCorrectDefaultValueForValidBeanLike(), executor);
+		blt.testMutatorsAndAccessors(BeanLikeTesterTest.returnCorrectDefaultValueForValidBeanLike(), BeanLikeTesterTest.returnCorrectOtherValueForValidBeanLike(), executor);
+	}
+
+	@Test
+	public void testEachConstructorInParallelReturnsTheSequentialFailure() {
+		final BeanLikeTester blt = new BeanLikeTester(ValidBeanLike.class, BeanLikeTesterTest.returnCorrectSignatureAndPropertiesForValidBeanLike());
+		final PropertiesAndValues defaultValues = BeanLikeTesterTest.returnCorrectDefaultValueForValidBeanLike();
+		defaultValues.put("anInt", 1);
+		final BeanLikeFailure failure = blt.checkDefaultValues(defaultValues, executor);
+		assertNotNull(failure);
+		assertEquals(failure.getMessage(), blt.checkDefaultValues(defaultValues).getMessage());
+	}
+
+}
@@ -0,0 +1,109 @@
+/**
+ * Copyright (C) 2011 Franck Valentin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.outsideMyBox.testUtils;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.testng.annotations.Test;
+
+/**
+ * Test {@link BeanLikeScanner}.
+ */
+public final class BeanLikeScannerTest {
+
+	private Path returnTestClassesDirectory() throws URISyntaxException {
+		return Paths.get(ValidBean.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+	}
+
+	private void addClass(JarOutputStream jar, Class<?> clazz) throws IOException {
+		final String entryName = clazz.getName().replace('.', '/') + ".class";
+		jar.putNextEntry(new JarEntry(entryName));
+		final InputStream classFile = clazz.getClassLoader().getResourceAsStream(entryName);
+		try {
+			final byte[] buffer = new byte[4096];
+			for (int read = classFile.read(buffer); read != -1; read = classFile.read(buffer)) {
+				jar.write(buffer, 0, read);
+			}
+		} finally {
+			classFile.close();
+		}
+		jar.closeEntry();
+	}
+
+	@Test
+	public void testScanDirectory() throws URISyntaxException {
+		final List<Class<?>> beanLikes = new BeanLikeScanner().scan(returnTestClassesDirectory());
+		assertTrue(beanLikes.contains(ValidBean.class), beanLikes.toString());
+		assertTrue(beanLikes.contains(BeanWithSynchronizedAccessors.class), beanLikes.toString());
+		assertFalse(beanLikes.contains(BeanWithInvalidAccessor1.class));
+		assertFalse(beanLikes.contains(BeanWithInvalidSetter.class));
+		// Test classes don't have any property.
+		assertFalse(beanLikes.contains(BeanLikeScannerTest.class));
+	}
+
+	@Test
+	public void testScanJar() throws IOException {
+		final File jarFile = File.createTempFile("beanLikes", ".jar");
+		jarFile.deleteOnExit();
+		final OutputStream out = Files.newOutputStream(jarFile.toPath());
+		final JarOutputStream jar = new JarOutputStream(out);
+		try {
+			addClass(jar, ValidBean.class);
+			addClass(jar, BeanWithInvalidSetter.class);
+		} finally {
+			jar.close();
+		}
+		assertEquals(new BeanLikeScanner().scan(jarFile.toPath()), Arrays.<Class<?>> asList(ValidBean.class));
+	}
+
+	@Test
+	public void testScanPackage() {
+		final List<Class<?>> beanLikes = new BeanLikeScanner().scanPackage("org.outsideMyBox.testUtils");
+		assertTrue(beanLikes.contains(ValidBean.class), beanLikes.toString());
+		assertFalse(beanLikes.contains(BeanLikeTester.class));
+		assertTrue(new BeanLikeScanner().scanPackage("org.outsideMyBox.unknown").isEmpty());
+	}
+
+	@Test
+	public void testScanRootPackage() {
+		final List<Class<?>> beanLikes = new BeanLikeScanner().scanPackage("");
+		assertTrue(beanLikes.contains(ValidBean.class), beanLikes.toString());
+	}
+
+	@Test(expectedExceptions = BeanLikeTesterException.class)
+	public void testUnreadableJar() throws IOException {
+		final File notAJar = File.createTempFile("notAJar", ".jar");
+		notAJar.deleteOnExit();
+		Files.write(notAJar.toPath(), new byte[] { 1, 2, 3 });
+		new BeanLikeScanner().scan(notAJar.toPath());
+	}
+
+}
@@ -0,0 +1,223 @@
+/**
+ * Copyright (C) 2011 Franck Valentin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.outsideMyBox.testUtils;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.outsideMyBox.testUtils.BeanLikeReport.Phase;
+import org.outsideMyBox.testUtils.BeanLikeTester.PropertiesAndValues;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Test {@link BeanLikeSuite} and {@link BeanLikeSuiteReport}.
+ */
+public final class BeanLikeSuiteTest {
+
+	/** Bean whose toString() fails with an error instead of returning a string. */
+	public static final class BeanWithFailingToString {
+		private int anInt;
+
+		public int getAnInt() {
+			return anInt;
+		}
+
+		public void setAnInt(int anInt) {
+			this.anInt = anInt;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return (obj instanceof BeanWithFailingToString) && (((BeanWithFailingToString) obj).anInt == anInt);
+		}
+
+		@Override
+		public int hashCode() {
+			return anInt;
+		}
+
+		@Override
+		public String toString() {
+			throw new AssertionError("toString() of anInt=" + anInt);
+		}
+	}
+
+	private ForkJoinPool pool;
+
+	@BeforeClass
+	public void createPool() {
+		pool = new ForkJoinPool(4);
+	}
+
+	@AfterClass
+	public void shutdownPool() {
+		pool.shutdownNow();
+	}
+
+	private BeanLikeSuite returnSuiteWithValidBeans(int count) {
+		final BeanLikeSuite suite = new BeanLikeSuite();
+		for (int i = 0; i < count; i++) {
+			suite.add(ValidBean.class, BeanLikeTesterTest.returnExpectedDefaultValuesForValidBean(), BeanLikeTesterTest.returnCorrectValuesForValidBean());
+			suite.add(ValidBeanLike.class, BeanLikeTesterTest.returnCorrectSignatureAndPropertiesForValidBeanLike(), BeanLikeTesterTest.returnCorrectDefaultValueForValidBeanLike(),
+			          BeanLikeTesterTest.returnCorrectOtherValueForValidBeanLike());
+		}
+		return suite;
+	}
+
+	@Test
+	public void testValidBeansInParallel() {
+		final BeanLikeSuite suite = returnSuiteWithValidBeans(200);
+		final BeanLikeSuiteReport report = suite.run(pool);
+		assertEquals(report.size(), 400);
+		assertTrue(report.isSuccessful(), report.toString());
+		assertEquals(report.getBeanLikeClass(1), ValidBeanLike.class);
+		assertTrue(report.getClassesPerSecond() > 0);
+		report.throwIfFailed();
+	}
+
+	@Test
+	public void testResultsAreInTheOrderOfTheSuite() {
+		final BeanLikeSuite suite = returnSuiteWithValidBeans(1);
+		suite.add(BeanWithInvalidToString1.class, BeanLikeTesterTest.returnExpectedDefaultValuesForValidBean(), BeanLikeTesterTest.returnCorrectValuesForValidBean());
+		suite.add(BeanWithInvalidAccessor1.class, BeanLikeTesterTest.returnExpectedDefaultValuesForValidBean(), BeanLikeTesterTest.returnCorrectValuesForValidBean());
+		final BeanLikeSuiteReport report = suite.run(pool);
+
+		assertFalse(report.isSuccessful());
+		assertEquals(report.getFailureCount(), 2);
+		assertTrue(report.getReport(0).isSuccessful());
+		assertSame(report.getReport(2).getBeanLikeClass(), BeanWithInvalidToString1.class);
+		assertNotNull(report.getReport(2).getFailure(Phase.TO_STRING));
+		assertNull(report.getReport(3));
+		assertEquals(report.getException(3).getMessage(), "The method 'getNothing' doesn't return an object");
+	}
+
+	@Test
+	public void testThrowIfFailedThrowsTheFirstFailure() {
+		final BeanLikeSuite suite = new BeanLikeSuite();
+		suite.add(BeanWithInvalidToString1.class, BeanLikeTesterTest.returnExpectedDefaultValuesForValidBean(), BeanLikeTesterTest.returnCorrectValuesForValidBean());
+		suite.add(BeanWithInvalidAccessor1.class, BeanLikeTesterTest.returnExpectedDefaultValuesForValidBean(), BeanLikeTesterTest.returnCorrectValuesForValidBean());
+		final BeanLikeSuiteReport report = suite.run(pool);
+		try {
+			report.throwIfFailed();
+		} catch (final BeanLikeTesterException e) {
+			assertEquals(e.getMessage(), report.getReport(0).getFailure(Phase.DEFAULT_VALUES).getMessage());
+			return;
+		}
+		throw new AssertionError("A BeanLikeTesterException should have been thrown.");
+	}
+
+	private BeanLikeSuite returnSuiteWithFailingToString() {
+		final BeanLikeSuite suite = returnSuiteWithValidBeans(1);
+		final PropertiesAndValues defaultValues = new PropertiesAndValues();
+		defaultValues.put("anInt", 0);
+		final PropertiesAndValues otherValues = new PropertiesAndValues();
+		otherValues.put("anInt", 1);
+		suite.add(BeanWithFailingToString.class, defaultValues, otherValues);
+		suite.add(ValidBean.class, BeanLikeTesterTest.returnExpectedDefaultValuesForValidBean(), BeanLikeTesterTest.returnCorrectValuesForValidBean());
+		return suite;
+	}
+
+	private void verifyErrorIsOnlyReportedForItsClass(BeanLikeSuiteReport report) {
+		assertEquals(report.size(), 4);
+		assertEquals(report.getFailureCount(), 1, report.toString());
+		assertNull(report.getReport(2));
+		assertTrue(report.getException(2) instanceof AssertionError, String.valueOf(report.getException(2)));
+		assertTrue(report.getReport(3).isSuccessful());
+		try {
+			report.throwIfFailed();
+		} catch (final AssertionError e) {
+			assertSame(e, report.getException(2));
+			return;
+		}
+		throw new AssertionError("The error of the class should have been thrown.");
+	}
+
+	@Test
+	public void testErrorsAreReportedForTheirClassOnAPool() {
+		verifyErrorIsOnlyReportedForItsClass(returnSuiteWithFailingToString().run(pool));
+	}
+
+	@Test
+	public void testErrorsAreReportedForTheirClassOnAnExecutor() {
+		verifyErrorIsOnlyReportedForItsClass(returnSuiteWithFailingToString().runOnVirtualThreads(2));
+	}
+
+	@Test
+	public void testEmptySuite() {
+		assertTrue(new BeanLikeSuite().run().isSuccessful());
+	}
+
+	@Test
+	public void testOnVirtualThreads() {
+		final BeanLikeSuiteReport report = returnSuiteWithValidBeans(100).runOnVirtualThreads(16);
+		assertEquals(report.size(), 200);
+		assertTrue(report.isSuccessful(), report.toString());
+	}
+
+	@Test
+	public void testConcurrencyIsCapped() throws Exception {
+		final BlockingQueue<Runnable> submitted = new LinkedBlockingQueue<Runnable>();
+		final Executor queueing = new Executor() {
+			@Override
+			public void execute(Runnable command) {
+				submitted.add(command);
+			}
+		};
+		final BeanLikeSuite suite = returnSuiteWithValidBeans(2);
+		final FutureTask<BeanLikeSuiteReport> run = new FutureTask<BeanLikeSuiteReport>(new Callable<BeanLikeSuiteReport>() {
+			@Override
+			public BeanLikeSuiteReport call() {
+				return suite.run(queueing, 2);
+			}
+		});
+		new Thread(run).start();
+
+		final Runnable first = submitted.poll(10, TimeUnit.SECONDS);
+		final Runnable second = submitted.poll(10, TimeUnit.SECONDS);
+		assertNotNull(second);
+		// The 2 permits are used: the third class can only be submitted once a test is over.
+		assertNull(submitted.poll(200, TimeUnit.MILLISECONDS));
+		first.run();
+		second.run();
+		while (!run.isDone()) {
+			final Runnable next = submitted.poll(100, TimeUnit.MILLISECONDS);
+			if (next != null) {
+				next.run();
+			}
+		}
+		assertTrue(run.get().isSuccessful(), run.get().toString());
+	}
+
+	@Test(expectedExceptions = BeanLikeTesterException.class)
+	public void testConcurrencyMustBePositive() {
+		returnSuiteWithValidBeans(1).runOnVirtualThreads(0);
+	}
+
+}
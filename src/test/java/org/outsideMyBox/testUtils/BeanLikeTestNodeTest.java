@@ -0,0 +1,107 @@
+/**
+ * Copyright (C) 2011 Franck Valentin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.outsideMyBox.testUtils;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.outsideMyBox.testUtils.BeanLikeTester.PropertiesAndValues;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Test {@link BeanLikeTestNode} and {@link BeanLikeTester#createTestNodes(PropertiesAndValues, PropertiesAndValues)}.
+ */
+public final class BeanLikeTestNodeTest {
+
+	private PropertiesAndValues returnValuesForWideBean(int value) {
+		final PropertiesAndValues values = new PropertiesAndValues();
+		for (int i = 0; i < 20; i++) {
+			values.put(String.format("p%02d", Integer.valueOf(i)), Integer.valueOf(value));
+		}
+		return values;
+	}
+
+	@DataProvider(name = "validBeanLikeNodes", parallel = true)
+	public Object[][] createValidBeanLikeNodes() {
+		final BeanLikeTester blt = new BeanLikeTester(ValidBeanLike.class, BeanLikeTesterTest.returnCorrectSignatureAndPropertiesForValidBeanLike());
+		return BeanLikeTestNode.toDataProvider(blt.createTestNodes(BeanLikeTesterTest.returnCorrectDefaultValueForValidBeanLike(), BeanLikeTesterTest.returnCorrectOtherValueForValidBeanLike()));
+	}
+
+	@Test(dataProvider = "validBeanLikeNodes")
+	public void testValidBeanLikeNode(BeanLikeTestNode node) {
+		node.run();
+	}
+
+	@Test
+	public void testNodesOfValidBean() {
+		final BeanLikeTester blt = new BeanLikeTester(ValidBean.class);
+		final List<BeanLikeTestNode> nodes = blt.createTestNodes(BeanLikeTesterTest.returnExpectedDefaultValuesForValidBean(), BeanLikeTesterTest.returnCorrectValuesForValidBean());
+		assertEquals(nodes.get(0).getName(), "ValidBean default values of constructor()");
+		assertEquals(nodes.get(1).getName(), "ValidBean arguments of constructor()");
+		for (final BeanLikeTestNode node : nodes) {
+			node.run();
+		}
+	}
+
+	@Test
+	public void testFailureDoesntHideTheOtherOnes() {
+		final BeanLikeTester blt = new BeanLikeTester(WideBeanWithInvalidToString.class);
+		final List<String> failingNodes = new ArrayList<String>();
+		for (final BeanLikeTestNode node : blt.createTestNodes(returnValuesForWideBean(0), returnValuesForWideBean(1))) {
+			if (node.check() != null) {
+				failingNodes.add(node.getName());
+			}
+		}
+		assertEquals(failingNodes, Arrays.asList("WideBeanWithInvalidToString toString of p05", "WideBeanWithInvalidToString toString of p17"));
+	}
+
+	@Test
+	public void testFailingNodeThrowsTheFailure() {
+		final BeanLikeTester blt = new BeanLikeTester(WideBeanWithInvalidToString.class);
+		for (final BeanLikeTestNode node : blt.createTestNodes(returnValuesForWideBean(0), returnValuesForWideBean(1))) {
+			if (node.getName().endsWith("toString of p05")) {
+				try {
+					node.run();
+				} catch (final BeanLikeTesterException e) {
+					assertEquals(e.getMessage(), "The result of toString() should depend on the property 'p05'");
+					return;
+				}
+			}
+		}
+		throw new AssertionError("A BeanLikeTesterException should have been thrown.");
+	}
+
+	@Test(expectedExceptions = BeanLikeTesterException.class)
+	public void testInvalidParametersAreReportedWhenCreatingTheNodes() {
+		// Same values for the mutable properties.
+		new BeanLikeTester(ValidBean.class).createTestNodes(BeanLikeTesterTest.returnCorrectValuesForValidBean(), BeanLikeTesterTest.returnCorrectValuesForValidBean());
+	}
+
+	@Test
+	public void testDataProviderHasOneNodePerRow() {
+		final BeanLikeTester blt = new BeanLikeTester(ValidBean.class);
+		final List<BeanLikeTestNode> nodes = blt.createTestNodes(BeanLikeTesterTest.returnExpectedDefaultValuesForValidBean(), BeanLikeTesterTest.returnCorrectValuesForValidBean());
+		final Object[][] parameters = BeanLikeTestNode.toDataProvider(nodes);
+		assertEquals(parameters.length, nodes.size());
+		assertSame(parameters[parameters.length - 1][0], nodes.get(nodes.size() - 1));
+	}
+
+}
@@ -34,7 +34,7 @@ public final class BeanLikeTesterTest {
 	// Test normal beans
 	// -------------------------------------------------------------------------
 
-	private PropertiesAndValues returnExpectedDefaultValuesForValidBean() {
+	static PropertiesAndValues returnExpectedDefaultValuesForValidBean() {
 		final PropertiesAndValues defaultValues = new PropertiesAndValues();
 		defaultValues.put("aString", null);
 		defaultValues.put("aStringWithValue", "aValue");
@@ -51,7 +51,7 @@ public final class BeanLikeTesterTest {
 		return defaultValues;
 	}
 
-	private PropertiesAndValues returnCorrectValuesForValidBean() {
+	static PropertiesAndValues returnCorrectValuesForValidBean() {
 		final PropertiesAndValues values = new PropertiesAndValues();
 		values.put("aString", "anotherValue");
 		values.put("aStringWithValue", "anotherValue");
@@ -318,7 +318,7 @@ public final class BeanLikeTesterTest {
 	// Test beanLike objects
 	// -------------------------------------------------------------------------
 
-	private ConstructorSignatureAndPropertiesMapping returnCorrectSignatureAndPropertiesForValidBeanLike() {
+	static ConstructorSignatureAndPropertiesMapping returnCorrectSignatureAndPropertiesForValidBeanLike() {
 		final ConstructorSignatureAndPropertiesMapping mapping = new ConstructorSignatureAndPropertiesMapping();
 		final List<Class<?>> signature1 = Arrays.<Class<?>> asList(String.class, List.class);
 		mapping.put(signature1, Arrays.asList("aString", "aListOfString"));
@@ -331,7 +331,7 @@ public final class BeanLikeTesterTest {
 		return mapping;
 	}
 
-	private PropertiesAndValues returnCorrectDefaultValueForValidBeanLike() {
+	static PropertiesAndValues returnCorrectDefaultValueForValidBeanLike() {
 		final PropertiesAndValues defaultValues = new PropertiesAndValues();
 		defaultValues.put("aString", null);
 		defaultValues.put("aListOfString", null);
@@ -344,7 +344,7 @@ public final class BeanLikeTesterTest {
 		return defaultValues;
 	}
 
-	private PropertiesAndValues returnCorrectOtherValueForValidBeanLike() {
+	static PropertiesAndValues returnCorrectOtherValueForValidBeanLike() {
 		final PropertiesAndValues otherValues = new PropertiesAndValues();
 		otherValues.put("aString", "aNewString");
 		otherValues.put("aListOfString", new ArrayList<String>());
@@ -450,16 +450,15 @@ public final class BeanLikeTesterTest {
 
 	// ----------- Other tests ---------------------------------------------------------------------
 
-	@Test(expectedExceptions = InvocationTargetException.class)
-	public void testCreateNewInstanceThrowingAnException() throws NoSuchMethodException, IllegalAccessException, InvocationTargetException {
-		final Method method = BeanLikeTester.class.getDeclaredMethod("createNewInstance", String.class, Class[].class, Object[].class);
-		method.setAccessible(true);
-		method.invoke(null, "java.lang.String2", new Class[] { String.class }, new Object[] { "aString" });
+	@Test(expectedExceptions = BeanLikeTesterException.class, expectedExceptionsMessageRegExp = "exception msg: .+\n\tconstructor: .+\n\tconstructorParams: .+")
+	public void testCreateNewInstanceThrowingAnException() throws NoSuchMethodException {
+		final ConstructorPlan plan = new ConstructorPlan(String.class.getConstructor(String.class), new int[] { 0 });
+		plan.newInstance(new Object[] { Integer.valueOf(1) });
 	}
 
 	@Test(expectedExceptions = InvocationTargetException.class)
 	public void testinvokeMethodThrowingAnException() throws NoSuchMethodException, IllegalAccessException, InvocationTargetException {
-		final Method method = BeanLikeTester.class.getDeclaredMethod("invokeMethod", Object.class, Method.class, Object[].class);
+		final Method method = ReflectionInvoker.class.getDeclaredMethod("invokeMethod", Object.class, Method.class, Object[].class);
 		method.setAccessible(true);
 		method.invoke(null, "", null, new Object[0]);
 	}
@@ -0,0 +1,93 @@
+/**
+ * Copyright (C) 2011 Franck Valentin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.outsideMyBox.testUtils;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A bean whose setter replaces the elements of its list one by one: the list can be read half modified.<br/>
+ * After the first element, the setter waits for {@value #CONCURRENT_SETTERS} setters called at the same time or for a
+ * read of the list (at most {@value #MAX_WAIT_MILLIS} ms): concurrent setters always mix their elements, whatever
+ * the scheduling of the threads.
+ */
+public final class BeanWithNonAtomicSetter {
+	/** Number of setters waiting for each other, i.e. the number of threads of the stress test. */
+	static final int          CONCURRENT_SETTERS = 4;
+	private static final long MAX_WAIT_MILLIS    = 1000;
+
+	private final List<String> aListOfString = new CopyOnWriteArrayList<String>();
+	private final Object       lock          = new Object();
+	private int                waitingSetters;
+	private long               releases;
+
+	public List<String> getAListOfString() {
+		final List<String> listOfString = new ArrayList<String>(aListOfString);
+		synchronized (lock) {
+			releaseWaitingSetters();
+		}
+		return listOfString;
+	}
+
+	public void setAListOfString(List<String> listOfString) {
+		aListOfString.clear();
+		final Iterator<String> elements = listOfString.iterator();
+		if (elements.hasNext()) {
+			aListOfString.add(elements.next());
+		}
+		awaitOtherSetters();
+		while (elements.hasNext()) {
+			aListOfString.add(elements.next());
+		}
+	}
+
+	private void awaitOtherSetters() {
+		synchronized (lock) {
+			final long release = releases;
+			if (++waitingSetters == CONCURRENT_SETTERS) {
+				releaseWaitingSetters();
+				return;
+			}
+			final long deadline = System.currentTimeMillis() + MAX_WAIT_MILLIS;
+			while (releases == release) {
+				final long remaining = deadline - System.currentTimeMillis();
+				if (remaining <= 0) {
+					waitingSetters--;
+					return;
+				}
+				try {
+					lock.wait(remaining);
+				} catch (final InterruptedException e) {
+					Thread.currentThread().interrupt();
+					waitingSetters--;
+					return;
+				}
+			}
+		}
+	}
+
+	/** Must be called while holding 'lock'. */
+	private void releaseWaitingSetters() {
+		if (waitingSetters > 0) {
+			waitingSetters = 0;
+			releases++;
+			lock.notifyAll();
+		}
+	}
+
+}
@@ -0,0 +1,41 @@
+/**
+ * Copyright (C) 2011 Franck Valentin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.outsideMyBox.testUtils;
+
+/**
+ * A bean with a synchronized accessor and setter and an unsynchronized property.
+ */
+public final class BeanWithSynchronizedAccessors {
+	private String aString;
+	private int    anInt;
+
+	public synchronized String getAString() {
+		return aString;
+	}
+
+	public synchronized void setAString(String string) {
+		aString = string;
+	}
+
+	public int getAnInt() {
+		return anInt;
+	}
+
+	public void setAnInt(int anInt) {
+		this.anInt = anInt;
+	}
+
+}
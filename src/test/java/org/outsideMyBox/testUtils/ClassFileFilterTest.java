@@ -0,0 +1,100 @@
+/**
+ * Copyright (C) 2011 Franck Valentin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.outsideMyBox.testUtils;
+
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+
+import org.testng.annotations.Test;
+
+/**
+ * Test {@link ClassFileFilter}.
+ */
+public final class ClassFileFilterTest {
+
+	/** Not a beanLike: not public. */
+	static final class PackageBean {
+		public String getAString() {
+			return null;
+		}
+	}
+
+	/** Not a beanLike: not static. */
+	public final class InnerBean {
+		public String getAString() {
+			return null;
+		}
+	}
+
+	/** May be a beanLike: public static nested class. */
+	public static final class NestedBean {
+		public String getAString() {
+			return null;
+		}
+	}
+
+	/** May be a beanLike: the accessors can be inherited. */
+	public static final class BeanExtendingAList extends ArrayList<String> {
+		private static final long serialVersionUID = 1L;
+	}
+
+	private byte[] readClassFile(Class<?> clazz) throws IOException {
+		final InputStream in = clazz.getClassLoader().getResourceAsStream(clazz.getName().replace('.', '/') + ".class");
+		try {
+			final ByteArrayOutputStream out = new ByteArrayOutputStream();
+			final byte[] buffer = new byte[4096];
+			for (int read = in.read(buffer); read != -1; read = in.read(buffer)) {
+				out.write(buffer, 0, read);
+			}
+			return out.toByteArray();
+		} finally {
+			in.close();
+		}
+	}
+
+	@Test
+	public void testBeansAreCandidates() throws IOException {
+		assertTrue(ClassFileFilter.isCandidate(readClassFile(ValidBean.class)));
+		assertTrue(ClassFileFilter.isCandidate(readClassFile(NestedBean.class)));
+		assertTrue(ClassFileFilter.isCandidate(readClassFile(BeanExtendingAList.class)));
+		// The validity of the accessors is checked once the class is loaded.
+		assertTrue(ClassFileFilter.isCandidate(readClassFile(BeanWithInvalidAccessor1.class)));
+	}
+
+	@Test
+	public void testNonBeansAreRejected() throws IOException {
+		// Needs a mapping of its constructors.
+		assertFalse(ClassFileFilter.isCandidate(readClassFile(ValidBeanLike.class)));
+		assertFalse(ClassFileFilter.isCandidate(readClassFile(BeanInvoker.class)));
+		assertFalse(ClassFileFilter.isCandidate(readClassFile(InvocationMode.class)));
+		assertFalse(ClassFileFilter.isCandidate(readClassFile(BeanLikeTester.class)));
+		assertFalse(ClassFileFilter.isCandidate(readClassFile(ClassFileFilterTest.class)));
+		assertFalse(ClassFileFilter.isCandidate(readClassFile(PackageBean.class)));
+		assertFalse(ClassFileFilter.isCandidate(readClassFile(InnerBean.class)));
+	}
+
+	@Test
+	public void testInvalidClassFilesAreCandidates() {
+		assertTrue(ClassFileFilter.isCandidate(new byte[] { 1, 2, 3 }));
+		assertTrue(ClassFileFilter.isCandidate(new byte[] { (byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE, 0, 0, 0, 50, 0, 9 }));
+	}
+
+}
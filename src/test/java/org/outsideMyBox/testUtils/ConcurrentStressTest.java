@@ -0,0 +1,109 @@
+/**
+ * Copyright (C) 2011 Franck Valentin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.outsideMyBox.testUtils;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.outsideMyBox.testUtils.BeanLikeTester.PropertiesAndValues;
+import org.testng.annotations.Test;
+
+/**
+ * Test {@link ConcurrentStress} and {@link BeanLikeStressReport}.
+ */
+public final class ConcurrentStressTest {
+
+	/** Bean whose setter throws an exception once, on the thread making its 20th call. */
+	public static final class BeanWithFailingSetter {
+		private final AtomicInteger setterCalls = new AtomicInteger();
+		private volatile int        anInt;
+
+		public int getAnInt() {
+			return anInt;
+		}
+
+		public void setAnInt(int anInt) {
+			if (setterCalls.incrementAndGet() == 20) {
+				throw new IllegalStateException("20th call");
+			}
+			this.anInt = anInt;
+		}
+	}
+
+	@Test
+	public void testValidBeanIsThreadSafe() {
+		final BeanLikeTester blt = new BeanLikeTester(ValidBean.class);
+		final BeanLikeStressReport report = blt.checkConcurrentMutatorsAndAccessors(BeanLikeTesterTest.returnExpectedDefaultValuesForValidBean(),
+		                                                                              BeanLikeTesterTest.returnCorrectValuesForValidBean(), 4, 200);
+		assertTrue(report.isSuccessful(), report.toString());
+		assertEquals(report.getThreadCount(), 4);
+		for (final String propertyName : report.getPropertyNames()) {
+			assertTrue(report.getOperationsPerSecond(propertyName) > 0, propertyName);
+		}
+		blt.testConcurrentMutatorsAndAccessors(BeanLikeTesterTest.returnExpectedDefaultValuesForValidBean(), BeanLikeTesterTest.returnCorrectValuesForValidBean(), 2, 10);
+	}
+
+	@Test
+	public void testNonAtomicSetterIsDetected() {
+		final BeanLikeTester blt = new BeanLikeTester(BeanWithNonAtomicSetter.class);
+		final PropertiesAndValues values = new PropertiesAndValues();
+		values.put("aListOfString", Arrays.asList("a", "b", "c", "d"));
+		final PropertiesAndValues otherValues = new PropertiesAndValues();
+		otherValues.put("aListOfString", Arrays.asList("e", "f", "g", "h"));
+
+		final BeanLikeStressReport report = blt.checkConcurrentMutatorsAndAccessors(values, otherValues, BeanWithNonAtomicSetter.CONCURRENT_SETTERS, 50);
+		assertFalse(report.isSuccessful());
+		assertEquals(report.getPropertyNames(), Arrays.asList("aListOfString"));
+		// The setters called at the same time by the lost update rounds always mix their elements.
+		assertTrue(report.getLostUpdateCount("aListOfString") > 0, report.toString());
+		assertTrue(report.getFailure().getMessage().startsWith("The property 'aListOfString' isn't thread-safe: "), report.getFailure().getMessage());
+	}
+
+	@Test(timeOut = 10000)
+	public void testFailingSetterStopsAllTheThreads() {
+		final PropertiesAndValues values = new PropertiesAndValues();
+		values.put("anInt", Integer.valueOf(1));
+		final PropertiesAndValues otherValues = new PropertiesAndValues();
+		otherValues.put("anInt", Integer.valueOf(2));
+		try {
+			new BeanLikeTester(BeanWithFailingSetter.class).checkConcurrentMutatorsAndAccessors(values, otherValues, 4, 50);
+			fail("The exception of the setter hasn't been reported");
+		} catch (final BeanLikeTesterException e) {
+			assertTrue(e.getCause() instanceof InvocationTargetException, String.valueOf(e.getCause()));
+			assertTrue(e.getCause().getCause() instanceof IllegalStateException, String.valueOf(e.getCause().getCause()));
+		}
+	}
+
+	@Test(expectedExceptions = BeanLikeTesterException.class, expectedExceptionsMessageRegExp = "At least 2 threads and 1 iteration are needed.*")
+	public void testAtLeastTwoThreadsAreNeeded() {
+		new BeanLikeTester(ValidBean.class).checkConcurrentMutatorsAndAccessors(BeanLikeTesterTest.returnExpectedDefaultValuesForValidBean(),
+		                                                                        BeanLikeTesterTest.returnCorrectValuesForValidBean(), 1, 10);
+	}
+
+	@Test(expectedExceptions = BeanLikeTesterException.class, expectedExceptionsMessageRegExp = "The property 'unknown' hasn't been stressed")
+	public void testUnknownProperty() {
+		final BeanLikeTester blt = new BeanLikeTester(ValidBean.class);
+		blt.checkConcurrentMutatorsAndAccessors(BeanLikeTesterTest.returnExpectedDefaultValuesForValidBean(), BeanLikeTesterTest.returnCorrectValuesForValidBean(), 2, 1)
+		   .getTornValueCount("unknown");
+	}
+
+}
@@ -0,0 +1,68 @@
+/**
+ * Copyright (C) 2011 Franck Valentin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.outsideMyBox.testUtils;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.outsideMyBox.testUtils.BeanLikeTester.PropertiesAndValues;
+import org.testng.annotations.Test;
+
+/**
+ * Test {@link ContentionBenchmark} and {@link BeanLikeContentionReport}.
+ */
+public final class ContentionBenchmarkTest {
+
+	private PropertiesAndValues returnValuesForBeanWithSynchronizedAccessors() {
+		final PropertiesAndValues values = new PropertiesAndValues();
+		values.put("aString", "aValue");
+		values.put("anInt", 1);
+		return values;
+	}
+
+	@Test
+	public void testSynchronizedMethodsAreBenchmarked() {
+		final BeanLikeTester blt = new BeanLikeTester(BeanWithSynchronizedAccessors.class);
+		final BeanLikeContentionReport report = blt.benchmarkSynchronizedMethods(returnValuesForBeanWithSynchronizedAccessors(), new int[] { 1, 2, 4 }, 2000);
+
+		assertEquals(report.getSynchronizedMethodNames(), Arrays.asList("getAString", "setAString"));
+		assertEquals(report.getLevelCount(), 3);
+		assertEquals(report.getThreadCount(2), 4);
+		assertEquals(report.getScalingEfficiency(0), 1.0, 0.0001);
+		for (int level = 0; level < report.getLevelCount(); level++) {
+			assertTrue(report.getCallsPerSecond(level) > 0, report.toString());
+			assertTrue(report.getMedianLatencyNanos(level) <= report.getP99LatencyNanos(level), report.toString());
+			assertTrue(report.getP99LatencyNanos(level) <= report.getP999LatencyNanos(level), report.toString());
+			assertTrue(report.getP999LatencyNanos(level) <= report.getMaxLatencyNanos(level), report.toString());
+		}
+	}
+
+	@Test
+	public void testBeanWithoutSynchronizedMethods() {
+		final BeanLikeTester blt = new BeanLikeTester(ValidBean.class);
+		final BeanLikeContentionReport report = blt.benchmarkSynchronizedMethods(BeanLikeTesterTest.returnExpectedDefaultValuesForValidBean(), new int[] { 1, 2 }, 100);
+		assertTrue(report.getSynchronizedMethodNames().isEmpty());
+		assertEquals(report.getLevelCount(), 0);
+	}
+
+	@Test(expectedExceptions = BeanLikeTesterException.class, expectedExceptionsMessageRegExp = "The numbers of threads must be strictly positive: \\[1, 0\\]")
+	public void testThreadCountsMustBePositive() {
+		new BeanLikeTester(BeanWithSynchronizedAccessors.class).benchmarkSynchronizedMethods(returnValuesForBeanWithSynchronizedAccessors(), new int[] { 1, 0 }, 10);
+	}
+
+}
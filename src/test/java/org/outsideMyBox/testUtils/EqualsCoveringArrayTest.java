@@ -0,0 +1,112 @@
+/**
+ * Copyright (C) 2011 Franck Valentin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.outsideMyBox.testUtils;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.testng.annotations.Test;
+
+/**
+ * Test {@link EqualsCoveringArray}.
+ */
+public final class EqualsCoveringArrayTest {
+
+	/** Bean whose equals() is correct as long as its property isn't null. */
+	public static final class BeanWithNullUnsafeEquals {
+		private String aString = "default";
+
+		public String getAString() { return aString; }
+		public void setAString(String aString) { this.aString = aString; }
+
+		@Override
+		public int hashCode() {
+			return aString == null ? 0 : aString.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return (obj instanceof BeanWithNullUnsafeEquals) && aString.equals(((BeanWithNullUnsafeEquals) obj).aString);
+		}
+	}
+
+	private Map<String, Collection<?>> returnCandidatesForValidBean() {
+		final Map<String, Collection<?>> candidates = new HashMap<String, Collection<?>>();
+		candidates.put("aString", Arrays.asList(null, "a", "b"));
+		candidates.put("aStringWithValue", Arrays.asList(null, "c", "d"));
+		candidates.put("aListOfString", Arrays.asList(null, Arrays.asList("a")));
+		candidates.put("anInt", Arrays.asList(null, 0, 1));
+		candidates.put("anInteger", Arrays.asList(2, 3));
+		candidates.put("aBooleanPrimitive", Arrays.asList(false, true));
+		candidates.put("aBoolean", Arrays.asList(null, true, false));
+		candidates.put("anArray", Arrays.asList(null, new String[] {"a"}, new String[] {"b"}));
+		candidates.put("anArrayOfPrimitives", Arrays.asList(new int[] {1}, new int[] {1}, new int[] {2}));
+		candidates.put("anArrayWithValues", Arrays.asList(null, new String[] {"a"}));
+		return candidates;
+	}
+
+	@Test
+	public void testRowsCoverNullAndDifferentValues() {
+		final BeanLikeTester blt = new BeanLikeTester(ValidBean.class);
+		final EqualsCoveringArray coveringArray = blt.createEqualsCoveringArray(returnCandidatesForValidBean());
+
+		assertEquals(coveringArray.size(), 2);
+		// The default value of the properties is the one of the bean: not null then null.
+		assertEquals(coveringArray.getDefaultValues(0).get("aStringWithValue"), "aValue");
+		assertNull(coveringArray.getOtherValues(0).get("aStringWithValue"));
+		assertEquals(coveringArray.getDefaultValues(1).get("aStringWithValue"), "aValue");
+		assertEquals(coveringArray.getOtherValues(1).get("aStringWithValue"), "c");
+		// Null default: only compared with a non null value.
+		assertNull(coveringArray.getDefaultValues(1).get("aString"));
+		assertEquals(coveringArray.getOtherValues(1).get("aString"), "a");
+		// The null candidates of primitives are ignored, the candidates equal to the default value are skipped.
+		assertEquals(coveringArray.getDefaultValues(0).get("anInt"), 0);
+		assertEquals(coveringArray.getOtherValues(0).get("anInt"), 1);
+		assertEquals(((int[]) coveringArray.getOtherValues(1).get("anArrayOfPrimitives"))[0], 1);
+
+		blt.testEqualsAndHash(coveringArray);
+	}
+
+	@Test(expectedExceptions = NullPointerException.class)
+	public void testNullBranchesAreCovered() {
+		final BeanLikeTester blt = new BeanLikeTester(BeanWithNullUnsafeEquals.class);
+		final Map<String, List<String>> candidates = new HashMap<String, List<String>>();
+		candidates.put("aString", Arrays.asList("a", "b"));
+		blt.testEqualsAndHash(blt.createEqualsCoveringArray(candidates));
+
+		candidates.put("aString", Arrays.asList(null, "a", "b"));
+		blt.testEqualsAndHash(blt.createEqualsCoveringArray(candidates));
+	}
+
+	@Test(expectedExceptions = BeanLikeTesterException.class, expectedExceptionsMessageRegExp = "No candidate values for the property 'aString'")
+	public void testMissingPropertyIsRejected() {
+		new BeanLikeTester(BeanWithNullUnsafeEquals.class).createEqualsCoveringArray(new HashMap<String, List<String>>());
+	}
+
+	@Test(expectedExceptions = BeanLikeTesterException.class, expectedExceptionsMessageRegExp = "The property 'aString' needs at least two different candidate values.*")
+	public void testSingleCandidateIsRejected() {
+		final Map<String, List<String>> candidates = new HashMap<String, List<String>>();
+		candidates.put("aString", Arrays.asList("default", "default"));
+		new BeanLikeTester(BeanWithNullUnsafeEquals.class).createEqualsCoveringArray(candidates);
+	}
+
+}
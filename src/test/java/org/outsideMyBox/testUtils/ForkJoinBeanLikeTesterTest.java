@@ -0,0 +1,75 @@
+/**
+ * Copyright (C) 2011 Franck Valentin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.outsideMyBox.testUtils;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.outsideMyBox.testUtils.BeanLikeTester.PropertiesAndValues;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Test the fork/join execution of testEqualsAndHash() and testToString().
+ */
+public final class ForkJoinBeanLikeTesterTest {
+
+	private ForkJoinPool pool;
+
+	@BeforeClass
+	public void createPool() {
+		pool = new ForkJoinPool(4);
+	}
+
+	@AfterClass
+	public void shutdownPool() {
+		pool.shutdownNow();
+	}
+
+	private PropertiesAndValues returnValuesForWideBean(int value) {
+		final PropertiesAndValues values = new PropertiesAndValues();
+		for (int i = 0; i < 20; i++) {
+			values.put(String.format("p%02d", Integer.valueOf(i)), Integer.valueOf(value));
+		}
+		return values;
+	}
+
+	@Test
+	public void testValidBeanWithForkJoin() {
+		final BeanLikeTester blt = new BeanLikeTester(ValidBean.class);
+		blt.testEqualsAndHash(BeanLikeTesterTest.returnExpectedDefaultValuesForValidBean(), BeanLikeTesterTest.returnCorrectValuesForValidBean(), pool);
+		blt.testToString(BeanLikeTesterTest.returnExpectedDefaultValuesForValidBean(), BeanLikeTesterTest.returnCorrectValuesForValidBean(), pool);
+	}
+
+	@Test
+	public void testWideBeanEqualsAndHashWithForkJoin() {
+		final BeanLikeTester blt = new BeanLikeTester(WideBeanWithInvalidToString.class);
+		assertNull(blt.checkEqualsAndHash(returnValuesForWideBean(0), returnValuesForWideBean(1), pool));
+	}
+
+	@Test
+	public void testLowestFailingPropertyIsReported() {
+		final BeanLikeTester blt = new BeanLikeTester(WideBeanWithInvalidToString.class);
+		final PropertiesAndValues defaultValues = returnValuesForWideBean(0);
+		final PropertiesAndValues otherValues = returnValuesForWideBean(1);
+		assertEquals(blt.checkToString(defaultValues, otherValues, pool).getMessage(), "The result of toString() should depend on the property 'p05'");
+		assertEquals(blt.checkToString(defaultValues, otherValues, pool).getMessage(), blt.checkToString(defaultValues, otherValues).getMessage());
+	}
+
+}
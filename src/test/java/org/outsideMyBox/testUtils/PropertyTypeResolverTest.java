@@ -0,0 +1,122 @@
+/**
+ * Copyright (C) 2011 Franck Valentin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.outsideMyBox.testUtils;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.lang.annotation.ElementType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.testng.annotations.Test;
+
+/**
+ * Test {@link PropertyTypeResolver} and the generic types of the properties given by {@link ClassMetadata}.
+ */
+public final class PropertyTypeResolverTest {
+
+	// Types created by the JDK the resolved types are compared with.
+	private List<Integer>                        listOfIntegers;
+	private List<List<Integer>>                  listOfIntegerLists;
+	private List<Integer>[]                      arrayOfIntegerLists;
+	private Map<String, ? extends List<Integer>> mapOfIntegerLists;
+	private List<ElementType>                    listOfElementTypes;
+
+	public abstract static class Holder<T> {
+		private T       value;
+		private List<T> values;
+
+		public T getValue() { return value; }
+		public void setValue(T value) { this.value = value; }
+		public List<T> getValues() { return values; }
+		public void setValues(List<T> values) { this.values = values; }
+		public T[] getArray() { return null; }
+		public Map<String, ? extends T> getMap() { return null; }
+	}
+
+	public static class ListHolder<E> extends Holder<List<E>> {
+	}
+
+	public static final class IntegerListHolder extends ListHolder<Integer> {
+	}
+
+	public interface Named<N> {
+		N getName();
+	}
+
+	public static final class ElementTypeHolder extends Holder<ElementType> implements Named<ElementType> {
+		@Override
+		public ElementType getName() { return null; }
+	}
+
+	private static Type getFieldType(String fieldName) throws NoSuchFieldException {
+		return PropertyTypeResolverTest.class.getDeclaredField(fieldName).getGenericType();
+	}
+
+	@Test
+	public void testTypeVariablesOfTheSuperclassesAreResolved() throws NoSuchFieldException {
+		final ClassMetadata metadata = ClassMetadata.forClass(IntegerListHolder.class);
+		assertEquals(metadata.getPropertyType("value"), getFieldType("listOfIntegers"));
+		assertEquals(metadata.getPropertyType("values"), getFieldType("listOfIntegerLists"));
+		assertEquals(getFieldType("listOfIntegerLists"), metadata.getPropertyType("values"));
+		assertEquals(metadata.getPropertyType("values").hashCode(), getFieldType("listOfIntegerLists").hashCode());
+		assertEquals(metadata.getPropertyType("array"), getFieldType("arrayOfIntegerLists"));
+		assertEquals(metadata.getPropertyType("map"), getFieldType("mapOfIntegerLists"));
+		assertEquals(metadata.getPropertyType("map").hashCode(), getFieldType("mapOfIntegerLists").hashCode());
+	}
+
+	@Test
+	public void testTypeVariablesOfTheInterfacesAreResolved() throws NoSuchFieldException {
+		final ClassMetadata metadata = ClassMetadata.forClass(ElementTypeHolder.class);
+		assertEquals(metadata.getPropertyType("name"), ElementType.class);
+		assertEquals(metadata.getPropertyType("value"), ElementType.class);
+		assertEquals(metadata.getPropertyType("values"), getFieldType("listOfElementTypes"));
+		assertEquals(metadata.getPropertyType("array"), ElementType[].class);
+	}
+
+	@Test
+	public void testUnboundTypeVariablesAreKept() {
+		final ClassMetadata metadata = ClassMetadata.forClass(Holder.class);
+		assertTrue(metadata.getPropertyType("value") instanceof TypeVariable<?>);
+		assertEquals(PropertyTypeResolver.getRawType(metadata.getPropertyType("value")), Object.class);
+		assertEquals(PropertyTypeResolver.getRawType(metadata.getPropertyType("array")), Object[].class);
+	}
+
+	@Test
+	public void testResolutionIsMemoized() {
+		final ClassMetadata metadata = ClassMetadata.forClass(IntegerListHolder.class);
+		assertSame(metadata.getPropertyType("values"), metadata.getPropertyType("values"));
+		assertNull(metadata.getPropertyType("unknown"));
+	}
+
+	@Test
+	public void testValuesAreGeneratedFromTheResolvedTypes() {
+		final BeanLikeTester blt = new BeanLikeTester(ElementTypeHolder.class);
+		final Map<String, Object> otherValues = blt.generateOtherValues(new ValueGenerator());
+		assertEquals(otherValues.get("value"), ElementType.TYPE);
+		assertEquals(otherValues.get("values"), Collections.singletonList(ElementType.TYPE));
+
+		final Object values = new BeanLikeTester(IntegerListHolder.class).generateOtherValues(new ValueGenerator()).get("values");
+		assertEquals(values, Collections.singletonList(Collections.singletonList(Integer.valueOf(1))));
+	}
+
+}
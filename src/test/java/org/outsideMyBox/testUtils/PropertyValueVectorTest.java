@@ -0,0 +1,109 @@
+/**
+ * Copyright (C) 2011 Franck Valentin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.outsideMyBox.testUtils;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import org.outsideMyBox.testUtils.BeanLikeTester.PropertiesAndValues;
+import org.testng.annotations.Test;
+
+/**
+ * Test {@link PropertyValueVector}
+ */
+public final class PropertyValueVectorTest {
+
+	@Test
+	public void testWithOverridesOnlyOneProperty() {
+		final BeanLikeTester blt = new BeanLikeTester(ValidBean.class);
+		final PropertyValueVector values = blt.toValueVector(BeanLikeTesterTest.returnExpectedDefaultValuesForValidBean());
+		final PropertyValueVector otherValues = values.withInt("anInt", 3).with("aString", "aValue");
+
+		assertEquals(values.get("anInt"), Integer.valueOf(0));
+		assertNull(values.get("aString"));
+		assertEquals(otherValues.get("anInt"), Integer.valueOf(3));
+		assertEquals(otherValues.get("aString"), "aValue");
+		assertEquals(otherValues.get("aStringWithValue"), "aValue");
+	}
+
+	@Test
+	public void testPrimitiveValueOfAnotherType() {
+		final BeanLikeTester blt = new BeanLikeTester(ValidBean.class);
+		final PropertyValueVector values = blt.newValueVector().withLong("anInt", 3L).with("aBooleanPrimitive", null);
+		assertEquals(values.get("anInt"), Long.valueOf(3L));
+		assertNull(values.get("aBooleanPrimitive"));
+		assertTrue(values.contains("aBooleanPrimitive"));
+		assertFalse(values.contains("aString"));
+	}
+
+	@Test
+	public void testConversionToPropertiesAndValues() {
+		final BeanLikeTester blt = new BeanLikeTester(ValidBeanLike.class, BeanLikeTesterTest.returnCorrectSignatureAndPropertiesForValidBeanLike());
+		final PropertiesAndValues propertiesAndValues = BeanLikeTesterTest.returnCorrectOtherValueForValidBeanLike();
+		final PropertyValueVector values = blt.toValueVector(propertiesAndValues);
+		assertEquals(values.toPropertiesAndValues(), propertiesAndValues);
+		assertEquals(values.getPropertyNames(), propertiesAndValues.keySet());
+	}
+
+	@Test(expectedExceptions = BeanLikeTesterException.class, expectedExceptionsMessageRegExp = "The property 'unknown' isn't a property of .+")
+	public void testUnknownProperty() {
+		new BeanLikeTester(ValidBean.class).newValueVector().with("unknown", null);
+	}
+
+	@Test
+	public void testBeanLikeWithVectors() {
+		final BeanLikeTester blt = new BeanLikeTester(ValidBeanLike.class, BeanLikeTesterTest.returnCorrectSignatureAndPropertiesForValidBeanLike());
+		final PropertyValueVector defaultValues = blt.toValueVector(BeanLikeTesterTest.returnCorrectDefaultValueForValidBeanLike());
+		final PropertyValueVector otherValues = blt.toValueVector(BeanLikeTesterTest.returnCorrectOtherValueForValidBeanLike());
+		blt.testBeanLike(defaultValues, otherValues);
+	}
+
+	@Test
+	public void testBeanWithVectors() {
+		final BeanLikeTester blt = new BeanLikeTester(ValidBean.class);
+		final PropertyValueVector defaultValues = blt.toValueVector(BeanLikeTesterTest.returnExpectedDefaultValuesForValidBean());
+		final PropertyValueVector otherValues = blt.toValueVector(BeanLikeTesterTest.returnCorrectValuesForValidBean());
+		blt.testMutatorsAndAccessors(defaultValues, otherValues);
+		blt.testEqualsAndHash(defaultValues, otherValues);
+		blt.testToString(defaultValues, otherValues);
+		blt.testDefaultValues(defaultValues);
+	}
+
+	@Test(expectedExceptions = BeanLikeTesterException.class, expectedExceptionsMessageRegExp = "The value of the  property 'anInt' must be different in the parameters.")
+	public void testSamePrimitiveValueInBothVectors() {
+		final BeanLikeTester blt = new BeanLikeTester(ValidBean.class);
+		final PropertyValueVector defaultValues = blt.toValueVector(BeanLikeTesterTest.returnExpectedDefaultValuesForValidBean());
+		final PropertyValueVector otherValues = blt.toValueVector(BeanLikeTesterTest.returnCorrectValuesForValidBean()).withInt("anInt", 0);
+		blt.testEqualsAndHash(defaultValues, otherValues);
+	}
+
+	@Test(expectedExceptions = BeanLikeTesterException.class, expectedExceptionsMessageRegExp = "The properties defined in parameter must at least contain all the settable properties of the object.\n.+\n.+")
+	public void testVectorWithMutablePropertiesMissing() {
+		final BeanLikeTester blt = new BeanLikeTester(ValidBean.class);
+		final PropertyValueVector values = blt.newValueVector().withInt("anInt", 1);
+		blt.testMutatorsAndAccessors(values, values);
+	}
+
+	@Test(expectedExceptions = BeanLikeTesterException.class, expectedExceptionsMessageRegExp = "The values must be created by a tester of the same class and with the same constructors' mapping.\n.+\n.+")
+	public void testVectorOfAnotherClass() {
+		final BeanLikeTester blt = new BeanLikeTester(ValidBean.class);
+		final PropertyValueVector values = new BeanLikeTester(ConstantObject.class).newValueVector();
+		blt.testDefaultValues(values);
+	}
+
+}
@@ -0,0 +1,129 @@
+/**
+ * Copyright (C) 2011 Franck Valentin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.outsideMyBox.testUtils;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.lang.annotation.ElementType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TransferQueue;
+
+import org.outsideMyBox.testUtils.BeanLikeTester.ConstructorSignatureAndPropertiesMapping;
+import org.outsideMyBox.testUtils.BeanLikeTester.PropertiesAndValues;
+import org.testng.annotations.Test;
+
+/**
+ * Test {@link ValueGenerator} and the generation of values by {@link BeanLikeTester}.
+ */
+public final class ValueGeneratorTest {
+
+	@Test
+	public void testDefaultValuesAreTheOnesOfTheFields() {
+		final ValueGenerator generator = new ValueGenerator();
+		assertEquals(generator.generateDefaultValue(int.class), Integer.valueOf(0));
+		assertEquals(generator.generateDefaultValue(boolean.class), Boolean.FALSE);
+		assertEquals(generator.generateDefaultValue(char.class), Character.valueOf('\0'));
+		assertNull(generator.generateDefaultValue(Integer.class));
+		assertNull(generator.generateDefaultValue(String.class));
+		assertNull(generator.generateDefaultValue(ElementType.class));
+		assertNull(generator.generateDefaultValue(ValidBean.class));
+	}
+
+	@Test
+	public void testGeneratedValuesOfTheSupportedTypes() {
+		final ValueGenerator generator = new ValueGenerator();
+		assertEquals(generator.generateValue(ElementType.class, 0), ElementType.TYPE);
+		assertEquals(generator.generateValue(ElementType.class, 1), ElementType.FIELD);
+		assertTrue(Arrays.equals((int[]) generator.generateValue(int[].class, 0), new int[] {1}));
+		assertEquals(generator.generateValue(List.class, 0), Collections.singletonList("element1"));
+		assertTrue(generator.generateValue(SortedSet.class, 1) instanceof SortedSet);
+		assertTrue(generator.generateValue(TreeMap.class, 0) instanceof TreeMap);
+		assertEquals(((Map<?, ?>) generator.generateValue(Map.class, 1)).get("key2"), "value2");
+		assertTrue(generator.generateValue(ValidBean.class, 0) instanceof ValidBean);
+		assertNotSame(generator.generateValue(ArrayList.class, 0), generator.generateValue(ArrayList.class, 0));
+	}
+
+	@Test
+	public void testGeneratedValuesOfTheCollectionInterfaces() {
+		final ValueGenerator generator = new ValueGenerator();
+		assertEquals(generator.generateValue(Iterable.class, 0), Collections.singletonList("element1"));
+		assertEquals(generator.generateValue(Deque.class, 1), new LinkedList<String>(Collections.singletonList("element2")));
+		assertTrue(generator.generateValue(BlockingQueue.class, 0) instanceof BlockingQueue);
+		assertEquals(((BlockingQueue<?>) generator.generateValue(BlockingQueue.class, 1)).peek(), "element2");
+		assertTrue(generator.generateValue(BlockingDeque.class, 0) instanceof BlockingDeque);
+		assertTrue(generator.generateValue(TransferQueue.class, 0) instanceof TransferQueue);
+	}
+
+	@Test
+	public void testRegisteredValues() {
+		final ValueGenerator generator = new ValueGenerator();
+		final Executor executor = new Executor() {
+			@Override
+			public void execute(Runnable command) {
+				command.run();
+			}
+		};
+		generator.register(Executor.class, executor, executor);
+		assertNull(generator.generateDefaultValue(Executor.class));
+		assertEquals(generator.generateValue(Executor.class, 1), executor);
+	}
+
+	@Test(expectedExceptions = BeanLikeTesterException.class, expectedExceptionsMessageRegExp = "No value can be generated for the type java.lang.Runnable.*")
+	public void testUnsupportedTypeIsRejected() {
+		new ValueGenerator().generateValue(Runnable.class, 0);
+	}
+
+	@Test
+	public void testGeneratedValuesOfABean() {
+		final ValueGenerator generator = new ValueGenerator();
+		final BeanLikeTester blt = new BeanLikeTester(ValidBean.class);
+		final PropertiesAndValues defaultValues = blt.generateDefaultValues(generator);
+		final PropertiesAndValues otherValues = blt.generateOtherValues(generator);
+
+		assertEquals(defaultValues.get("aStringWithValue"), "aValue");
+		assertEquals(defaultValues.get("aReadOnlyProperty"), Integer.MAX_VALUE);
+		assertEquals(otherValues.get("aBooleanPrimitive"), Boolean.TRUE);
+		assertEquals(otherValues.keySet().size(), defaultValues.size() - 2);
+		blt.testBeanLike(defaultValues, otherValues);
+	}
+
+	@Test
+	public void testGeneratedValuesOfABeanLike() {
+		final ConstructorSignatureAndPropertiesMapping mapping = new ConstructorSignatureAndPropertiesMapping();
+		mapping.put(Arrays.<Class<?>> asList(String.class, List.class), Arrays.asList("aString", "aListOfString"));
+		mapping.put(Arrays.<Class<?>> asList(List.class, String.class), Arrays.asList("aListOfString", "aString"));
+		mapping.put(Arrays.<Class<?>> asList(String.class, List.class, int.class, Integer.class), Arrays.asList("aString", "aListOfString", "anInt", "anInteger"));
+		final BeanLikeTester blt = new BeanLikeTester(ValidBeanLike.class, mapping);
+		final ValueGenerator generator = new ValueGenerator();
+
+		blt.testBeanLike(blt.generateDefaultValues(generator), blt.generateOtherValues(generator));
+	}
+
+}
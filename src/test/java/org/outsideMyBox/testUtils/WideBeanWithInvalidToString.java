@@ -0,0 +1,307 @@
+/**
+ * Copyright (C) 2011 Franck Valentin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.outsideMyBox.testUtils;
+
+/**
+ * Bean with many properties whose toString() method doesn't take account of 'p05' and 'p17'.
+ */
+public final class WideBeanWithInvalidToString {
+	private int p00;
+	private int p01;
+	private int p02;
+	private int p03;
+	private int p04;
+	private int p05;
+	private int p06;
+	private int p07;
+	private int p08;
+	private int p09;
+	private int p10;
+	private int p11;
+	private int p12;
+	private int p13;
+	private int p14;
+	private int p15;
+	private int p16;
+	private int p17;
+	private int p18;
+	private int p19;
+
+	public int getP00() {
+		return p00;
+	}
+
+	public void setP00(int p00) {
+		this.p00 = p00;
+	}
+
+	public int getP01() {
+		return p01;
+	}
+
+	public void setP01(int p01) {
+		this.p01 = p01;
+	}
+
+	public int getP02() {
+		return p02;
+	}
+
+	public void setP02(int p02) {
+		this.p02 = p02;
+	}
+
+	public int getP03() {
+		return p03;
+	}
+
+	public void setP03(int p03) {
+		this.p03 = p03;
+	}
+
+	public int getP04() {
+		return p04;
+	}
+
+	public void setP04(int p04) {
+		this.p04 = p04;
+	}
+
+	public int getP05() {
+		return p05;
+	}
+
+	public void setP05(int p05) {
+		this.p05 = p05;
+	}
+
+	public int getP06() {
+		return p06;
+	}
+
+	public void setP06(int p06) {
+		this.p06 = p06;
+	}
+
+	public int getP07() {
+		return p07;
+	}
+
+	public void setP07(int p07) {
+		this.p07 = p07;
+	}
+
+	public int getP08() {
+		return p08;
+	}
+
+	public void setP08(int p08) {
+		this.p08 = p08;
+	}
+
+	public int getP09() {
+		return p09;
+	}
+
+	public void setP09(int p09) {
+		this.p09 = p09;
+	}
+
+	public int getP10() {
+		return p10;
+	}
+
+	public void setP10(int p10) {
+		this.p10 = p10;
+	}
+
+	public int getP11() {
+		return p11;
+	}
+
+	public void setP11(int p11) {
+		this.p11 = p11;
+	}
+
+	public int getP12() {
+		return p12;
+	}
+
+	public void setP12(int p12) {
+		this.p12 = p12;
+	}
+
+	public int getP13() {
+		return p13;
+	}
+
+	public void setP13(int p13) {
+		this.p13 = p13;
+	}
+
+	public int getP14() {
+		return p14;
+	}
+
+	public void setP14(int p14) {
+		this.p14 = p14;
+	}
+
+	public int getP15() {
+		return p15;
+	}
+
+	public void setP15(int p15) {
+		this.p15 = p15;
+	}
+
+	public int getP16() {
+		return p16;
+	}
+
+	public void setP16(int p16) {
+		this.p16 = p16;
+	}
+
+	public int getP17() {
+		return p17;
+	}
+
+	public void setP17(int p17) {
+		this.p17 = p17;
+	}
+
+	public int getP18() {
+		return p18;
+	}
+
+	public void setP18(int p18) {
+		this.p18 = p18;
+	}
+
+	public int getP19() {
+		return p19;
+	}
+
+	public void setP19(int p19) {
+		this.p19 = p19;
+	}
+
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + p00;
+		result = prime * result + p01;
+		result = prime * result + p02;
+		result = prime * result + p03;
+		result = prime * result + p04;
+		result = prime * result + p05;
+		result = prime * result + p06;
+		result = prime * result + p07;
+		result = prime * result + p08;
+		result = prime * result + p09;
+		result = prime * result + p10;
+		result = prime * result + p11;
+		result = prime * result + p12;
+		result = prime * result + p13;
+		result = prime * result + p14;
+		result = prime * result + p15;
+		result = prime * result + p16;
+		result = prime * result + p17;
+		result = prime * result + p18;
+		result = prime * result + p19;
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof WideBeanWithInvalidToString)) {
+			return false;
+		}
+		final WideBeanWithInvalidToString other = (WideBeanWithInvalidToString) obj;
+		if (p00 != other.p00) {
+			return false;
+		}
+		if (p01 != other.p01) {
+			return false;
+		}
+		if (p02 != other.p02) {
+			return false;
+		}
+		if (p03 != other.p03) {
+			return false;
+		}
+		if (p04 != other.p04) {
+			return false;
+		}
+		if (p05 != other.p05) {
+			return false;
+		}
+		if (p06 != other.p06) {
+			return false;
+		}
+		if (p07 != other.p07) {
+			return false;
+		}
+		if (p08 != other.p08) {
+			return false;
+		}
+		if (p09 != other.p09) {
+			return false;
+		}
+		if (p10 != other.p10) {
+			return false;
+		}
+		if (p11 != other.p11) {
+			return false;
+		}
+		if (p12 != other.p12) {
+			return false;
+		}
+		if (p13 != other.p13) {
+			return false;
+		}
+		if (p14 != other.p14) {
+			return false;
+		}
+		if (p15 != other.p15) {
+			return false;
+		}
+		if (p16 != other.p16) {
+			return false;
+		}
+		if (p17 != other.p17) {
+			return false;
+		}
+		if (p18 != other.p18) {
+			return false;
+		}
+		if (p19 != other.p19) {
+			return false;
+		}
+		return true;
+	}
+
+	@Override
+	public String toString() {
+		return "WideBeanWithInvalidToString [" + "p00=" + p00 + ", " + "p01=" + p01 + ", " + "p02=" + p02 + ", " + "p03=" + p03 + ", " + "p04=" + p04 + ", " + "p06=" + p06 + ", " + "p07=" + p07 + ", " + "p08=" + p08 + ", " + "p09=" + p09 + ", " + "p10=" + p10 + ", " + "p11=" + p11 + ", " + "p12=" + p12 + ", " + "p13=" + p13 + ", " + "p14=" + p14 + ", " + "p15=" + p15 + ", " + "p16=" + p16 + ", " + "p18=" + p18 + ", " + "p19=" + p19 + "]";
+	}
+
+}
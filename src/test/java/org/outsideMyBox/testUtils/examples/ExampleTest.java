@@ -1,7 +1,9 @@
 package org.outsideMyBox.testUtils.examples;
 
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.outsideMyBox.testUtils.BeanLikeTester;
 import org.outsideMyBox.testUtils.BeanLikeTester.ConstructorSignatureAndPropertiesMapping;
@@ -43,11 +45,16 @@ public final class ExampleTest {
 		blt.testBeanLike(defaultValues, otherValues);
 		
 		// 5. Check the code coverage. The method equals() may not have been totally covered.
-		// In this case create another set of values and run testEqualsAndHash() against it:
-		otherValues.put("property1", null);
-		otherValues.put("property2", true);
-		otherValues.put("property3", 0L);
-		blt.testEqualsAndHash(defaultValues, otherValues);
+		// In this case give a few candidate values for each property, including null, and run
+		// testEqualsAndHash() against value sets built from them. The tester changes one property
+		// at a time, so the properties are independent: at most two runs compare each property
+		// null against a value and a value against a different one, reaching every branch of
+		// equals() handling a single property. Like in step 4, give only the properties that can
+		// be set:
+		Map<String, List<?>> candidateValues = new HashMap<String, List<?>>();
+		candidateValues.put("property1", Arrays.asList(null, "anotherValue"));
+		candidateValues.put("property2", Arrays.asList(false, true));
+		blt.testEqualsAndHash(blt.createEqualsCoveringArray(candidateValues));
 
 		// If any of the tests fails or the values given in parameter are incorrect an 
 		// exception BeanLikeTesterException is thrown.